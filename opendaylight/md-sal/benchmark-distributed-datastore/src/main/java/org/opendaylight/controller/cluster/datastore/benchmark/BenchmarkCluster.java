@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import akka.actor.ActorSystem;
+import com.google.common.base.Preconditions;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Dictionary;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.opendaylight.controller.cluster.datastore.ClusterWrapperImpl;
+import org.opendaylight.controller.cluster.datastore.Configuration;
+import org.opendaylight.controller.cluster.datastore.ConfigurationImpl;
+import org.opendaylight.controller.cluster.datastore.DatastoreContext;
+import org.opendaylight.controller.cluster.datastore.DatastoreContextIntrospector;
+import org.opendaylight.controller.cluster.datastore.DistributedDataStore;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategyFactory;
+import org.opendaylight.controller.cluster.persistence.SegmentedJournal;
+import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * A cluster of DistributedDataStore members, each with its own actor system in this JVM, connected via akka
+ * remoting on the loopback interface. All members replicate the cars and people shards. Member 1 is made the
+ * leader of both shards by giving the other members a longer election timeout.
+ */
+final class BenchmarkCluster {
+    static final String LEVELDB_JOURNAL = "leveldb";
+    static final String SEGMENTED_JOURNAL = "segmented";
+
+    private static final String SYSTEM_NAME = "datastore-benchmark";
+    private static final String DATASTORE_TYPE = "benchmark";
+    private static final int BASE_PORT = 2660;
+    private static final long FOLLOWER_ELECTION_TIMEOUT_MULTIPLIER = 5;
+
+    private final File baseDir;
+    private final List<ActorSystem> actorSystems = new ArrayList<>();
+    private final List<DistributedDataStore> dataStores = new ArrayList<>();
+
+    private BenchmarkCluster(File baseDir) {
+        this.baseDir = baseDir;
+    }
+
+    /**
+     * Starts a cluster of the given number of members.
+     *
+     * @param memberCount the number of members, 1 or 3
+     * @param journal the journal used by the shards, {@link #LEVELDB_JOURNAL} or {@link #SEGMENTED_JOURNAL}
+     * @param datastoreProperties DatastoreContext settings, named as in datastore.cfg
+     */
+    static BenchmarkCluster start(int memberCount, String journal, Dictionary<String, Object> datastoreProperties)
+            throws IOException {
+        Preconditions.checkArgument(memberCount == 1 || memberCount == 3, "Unsupported member count %s",
+                memberCount);
+        Preconditions.checkArgument(LEVELDB_JOURNAL.equals(journal) || SEGMENTED_JOURNAL.equals(journal),
+                "Unknown journal %s", journal);
+
+        BenchmarkCluster cluster = new BenchmarkCluster(new File("target/datastore-benchmark"));
+        FileUtils.deleteDirectory(cluster.baseDir);
+
+        Configuration configuration = new ConfigurationImpl("benchmark-module-shards-" + memberCount + ".conf",
+                "benchmark-modules.conf");
+        ShardStrategyFactory.setConfiguration(configuration);
+
+        SchemaContext schemaContext = SchemaContextHelper.select(SchemaContextHelper.CARS_YANG,
+                SchemaContextHelper.PEOPLE_YANG);
+
+        for(int member = 1; member <= memberCount; member++) {
+            ActorSystem actorSystem = ActorSystem.create(SYSTEM_NAME, cluster.memberConfig(member, journal));
+            cluster.actorSystems.add(actorSystem);
+
+            DistributedDataStore dataStore = new DistributedDataStore(actorSystem,
+                    new ClusterWrapperImpl(actorSystem), configuration,
+                    createDatastoreContext(member, datastoreProperties));
+            dataStore.onGlobalContextUpdated(schemaContext);
+            cluster.dataStores.add(dataStore);
+        }
+
+        return cluster;
+    }
+
+    private Config memberConfig(int member, String journal) {
+        File memberDir = new File(baseDir, "member-" + member);
+        String journalPlugin = LEVELDB_JOURNAL.equals(journal) ? "akka.persistence.journal.leveldb" :
+            SegmentedJournal.CONFIG_PATH;
+
+        Config config = ConfigFactory.parseString(
+                "akka.remote.netty.tcp.port = " + (BASE_PORT + member - 1) + "\n" +
+                "akka.cluster.seed-nodes = [\"akka.tcp://" + SYSTEM_NAME + "@127.0.0.1:" + BASE_PORT + "\"]\n" +
+                "akka.cluster.roles = [\"member-" + member + "\"]\n" +
+                "akka.persistence.journal.plugin = \"" + journalPlugin + "\"\n" +
+                "akka.persistence.journal.leveldb.dir = \"" + new File(memberDir, "journal").getPath() + "\"\n" +
+                SegmentedJournal.CONFIG_PATH + ".dir = \"" + new File(memberDir, "segmented").getPath() + "\"\n" +
+                "akka.persistence.snapshot-store.local.dir = \"" + new File(memberDir, "snapshots").getPath() +
+                "\"\n").withFallback(ConfigFactory.parseResources("datastore-benchmark.conf").getConfig(
+                        SYSTEM_NAME));
+
+        return ConfigFactory.load(config);
+    }
+
+    private static DatastoreContext createDatastoreContext(int member,
+            Dictionary<String, Object> datastoreProperties) {
+        DatastoreContextIntrospector introspector = new DatastoreContextIntrospector(DatastoreContext.newBuilder().
+                dataStoreType(DATASTORE_TYPE).build());
+        introspector.update(datastoreProperties);
+
+        DatastoreContext context = introspector.getContext();
+        DatastoreContext.Builder builder = DatastoreContext.newBuilderFrom(context).dataStoreMXBeanType(
+                context.getDataStoreMXBeanType() + "-member-" + member);
+        if(member > 1) {
+            builder.shardElectionTimeoutFactor(context.getShardElectionTimeoutFactor() *
+                    FOLLOWER_ELECTION_TIMEOUT_MULTIPLIER);
+        }
+
+        return builder.build();
+    }
+
+    int getMemberCount() {
+        return dataStores.size();
+    }
+
+    /**
+     * Returns the data store of the given member, numbered from 1.
+     */
+    DistributedDataStore getDataStore(int member) {
+        Preconditions.checkArgument(member >= 1 && member <= dataStores.size(), "Invalid member %s", member);
+        return dataStores.get(member - 1);
+    }
+
+    void shutdown() throws IOException {
+        for(DistributedDataStore dataStore: dataStores) {
+            dataStore.close();
+        }
+
+        for(ActorSystem actorSystem: actorSystems) {
+            actorSystem.shutdown();
+        }
+
+        for(ActorSystem actorSystem: actorSystems) {
+            actorSystem.awaitTermination();
+        }
+
+        FileUtils.deleteDirectory(baseDir);
+    }
+}
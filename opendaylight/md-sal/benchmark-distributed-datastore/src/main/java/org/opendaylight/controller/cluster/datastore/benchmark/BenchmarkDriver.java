@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.opendaylight.controller.cluster.datastore.DistributedDataStore;
+import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
+import org.opendaylight.controller.md.cluster.datastore.model.PeopleModel;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionChain;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drives a workload through the TransactionProxy or TransactionChainProxy of a data store from a number of
+ * submitter threads, keeping up to a given number of transactions outstanding, and records the latency of each
+ * transaction - from its creation to the completion of its commit, or of its read for read-only transactions.
+ */
+final class BenchmarkDriver {
+    private static final Logger LOG = LoggerFactory.getLogger(BenchmarkDriver.class);
+
+    private static final long PREPARE_TIMEOUT_SECONDS = 120;
+    private static final long OPERATION_TIMEOUT_SECONDS = 30;
+
+    private final DistributedDataStore dataStore;
+    private final Workload workload;
+    private final int maxOutstanding;
+    private final int readsPerWrite;
+    private final int populatedCars;
+    private final int submitters;
+    private final Semaphore outstanding;
+    private final AtomicInteger nextCarId;
+
+    private DOMStoreTransactionChain chain;
+
+    /**
+     * Constructor.
+     *
+     * @param dataStore the data store of the member the transactions are created on
+     * @param workload the workload to run
+     * @param maxOutstanding the maximum number of transactions outstanding at any time
+     * @param readsPerWrite the number of read-only transactions per write transaction, for the read-heavy workload
+     * @param populatedCars the number of cars written before the run, read by the read-heavy workload
+     * @param submitters the number of threads submitting transactions
+     */
+    BenchmarkDriver(DistributedDataStore dataStore, Workload workload, int maxOutstanding, int readsPerWrite,
+            int populatedCars, int submitters) {
+        this.dataStore = dataStore;
+        this.workload = workload;
+        this.maxOutstanding = maxOutstanding;
+        this.readsPerWrite = readsPerWrite;
+        this.populatedCars = populatedCars;
+        this.submitters = submitters;
+        this.outstanding = new Semaphore(maxOutstanding);
+        this.nextCarId = new AtomicInteger(populatedCars);
+    }
+
+    /**
+     * Writes the initial cars and people containers, retrying until the shards have elected a leader which is
+     * known to this member.
+     */
+    void prepare() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(PREPARE_TIMEOUT_SECONDS);
+        while(true) {
+            DOMStoreWriteTransaction tx = dataStore.newWriteOnlyTransaction();
+            tx.write(CarsModel.BASE_PATH, CarsModel.emptyContainer());
+            tx.write(CarsModel.CAR_LIST_PATH, CarsModel.newCarMapNode());
+            tx.write(PeopleModel.BASE_PATH, PeopleModel.emptyContainer());
+            tx.write(PeopleModel.PERSON_LIST_PATH, PeopleModel.newPersonMapNode());
+            for(int i = 0; i < populatedCars; i++) {
+                tx.write(CarsModel.newCarPath(carName(i)), CarsModel.newCarEntry(carName(i), BigInteger.valueOf(i)));
+            }
+
+            try {
+                commit(tx.ready()).get(OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                break;
+            } catch (Exception e) {
+                if(System.nanoTime() > deadline) {
+                    throw e;
+                }
+
+                LOG.info("Initial write failed, retrying: {}", e.toString());
+                Uninterruptibles.sleepUninterruptibly(1, TimeUnit.SECONDS);
+            }
+        }
+
+        if(workload == Workload.CHAINED) {
+            chain = dataStore.createTransactionChain();
+        }
+    }
+
+    /**
+     * Runs the given number of transactions, split across the submitter threads, and waits for them to complete.
+     *
+     * @return the elapsed time in nanoseconds
+     * @throws IllegalStateException if the transactions did not complete in time
+     */
+    long run(int transactions, final LatencyRecorder commitLatency, final LatencyRecorder readLatency)
+            throws InterruptedException {
+        List<Thread> threads = new ArrayList<>(submitters);
+        for(int t = 0; t < submitters; t++) {
+            final int count = transactions / submitters + (t < transactions % submitters ? 1 : 0);
+            threads.add(new Thread("benchmark-submitter-" + t) {
+                @Override
+                public void run() {
+                    try {
+                        submit(count, commitLatency, readLatency);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        for(Thread thread: threads) {
+            thread.start();
+        }
+
+        for(Thread thread: threads) {
+            thread.join();
+        }
+
+        if(!outstanding.tryAcquire(maxOutstanding, OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException(String.format("Timed out waiting for %d outstanding transactions",
+                    maxOutstanding - outstanding.availablePermits()));
+        }
+
+        long elapsed = System.nanoTime() - start;
+        outstanding.release(maxOutstanding);
+        return elapsed;
+    }
+
+    private void submit(int transactions, LatencyRecorder commitLatency, LatencyRecorder readLatency)
+            throws InterruptedException {
+        for(int i = 0; i < transactions; i++) {
+            outstanding.acquire();
+            if(workload == Workload.READ_HEAVY && i % (readsPerWrite + 1) != 0) {
+                read(readLatency);
+            } else {
+                write(commitLatency);
+            }
+        }
+    }
+
+    void close() {
+        if(chain != null) {
+            chain.close();
+            chain = null;
+        }
+    }
+
+    private void write(final LatencyRecorder latency) {
+        final long start = System.nanoTime();
+        final DOMStoreThreePhaseCommitCohort cohort;
+        if(chain != null) {
+            // A chain allows only one open transaction at a time.
+            synchronized(chain) {
+                cohort = writeCar(chain.newWriteOnlyTransaction());
+            }
+        } else {
+            cohort = writeCar(dataStore.newWriteOnlyTransaction());
+        }
+
+        Futures.addCallback(commit(cohort), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(Void notUsed) {
+                latency.record(start);
+                outstanding.release();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                onOperationFailure(latency, t);
+            }
+        });
+    }
+
+    private DOMStoreThreePhaseCommitCohort writeCar(DOMStoreWriteTransaction tx) {
+        int id = nextCarId.getAndIncrement();
+        String name = carName(id);
+        tx.write(CarsModel.newCarPath(name), CarsModel.newCarEntry(name, BigInteger.valueOf(id)));
+        if(workload == Workload.MULTI_SHARD) {
+            tx.write(PeopleModel.newPersonPath(name), PeopleModel.newPersonEntry(name));
+        }
+
+        return tx.ready();
+    }
+
+    private void read(final LatencyRecorder latency) {
+        final long start = System.nanoTime();
+        final DOMStoreReadTransaction tx = dataStore.newReadOnlyTransaction();
+        Futures.addCallback(tx.read(CarsModel.newCarPath(carName(ThreadLocalRandom.current().nextInt(Math.max(1, populatedCars))))),
+                new FutureCallback<Optional<NormalizedNode<?, ?>>>() {
+            @Override
+            public void onSuccess(Optional<NormalizedNode<?, ?>> result) {
+                tx.close();
+                latency.record(start);
+                outstanding.release();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                tx.close();
+                onOperationFailure(latency, t);
+            }
+        });
+    }
+
+    private void onOperationFailure(LatencyRecorder latency, Throwable t) {
+        if(latency.getFailures() == 0) {
+            LOG.warn("Transaction failed", t);
+        }
+
+        latency.recordFailure();
+        outstanding.release();
+    }
+
+    private static String carName(int id) {
+        return "car" + id;
+    }
+
+    private static ListenableFuture<Void> commit(final DOMStoreThreePhaseCommitCohort cohort) {
+        return Futures.transform(cohort.canCommit(), new AsyncFunction<Boolean, Void>() {
+            @Override
+            public ListenableFuture<Void> apply(Boolean canCommit) {
+                if(!canCommit) {
+                    return Futures.immediateFailedFuture(new IllegalStateException("canCommit returned false"));
+                }
+
+                return Futures.transform(cohort.preCommit(), new AsyncFunction<Void, Void>() {
+                    @Override
+                    public ListenableFuture<Void> apply(Void notUsed) {
+                        return cohort.commit();
+                    }
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Dictionary;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a workload against an in-process DistributedDataStore cluster and reports the transaction latency
+ * percentiles and throughput. Options are given as name=value arguments:
+ * <ul>
+ * <li>members - the number of cluster members, 1 or 3 (default 1)</li>
+ * <li>client-member - the member the transactions are created on, 1 being the shard leader (default 1)</li>
+ * <li>workload - write-only, read-heavy, chained or multi-shard (default write-only)</li>
+ * <li>transactions - the number of measured transactions (default 10000)</li>
+ * <li>warmup - the number of transactions run before measuring (default 2000)</li>
+ * <li>outstanding - the maximum number of outstanding transactions (default 100)</li>
+ * <li>submitters - the number of threads submitting transactions (default 1)</li>
+ * <li>reads-per-write - the number of reads per write for the read-heavy workload (default 9)</li>
+ * <li>populated-cars - the number of cars written before the run (default 1000)</li>
+ * <li>journal - leveldb or segmented (default leveldb)</li>
+ * </ul>
+ * Along with the throughput, the peak number of live threads in the JVM during the measured run is reported, to
+ * show how many threads the data store needs to sustain that throughput.
+ * <p>
+ * Any other option is applied to the DatastoreContext of each member, as if set in datastore.cfg, eg
+ * shard-batched-modification-count=100.
+ */
+public final class DatastoreBenchmark {
+    private DatastoreBenchmark() {
+        throw new UnsupportedOperationException("Main class");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+
+        int members = intOption(options, "members", 1);
+        int clientMember = intOption(options, "client-member", 1);
+        Workload workload = Workload.forName(stringOption(options, "workload", Workload.WRITE_ONLY.toString()));
+        int transactions = intOption(options, "transactions", 10000);
+        int warmup = intOption(options, "warmup", 2000);
+        int outstanding = intOption(options, "outstanding", 100);
+        int submitters = intOption(options, "submitters", 1);
+        int readsPerWrite = intOption(options, "reads-per-write", 9);
+        int populatedCars = intOption(options, "populated-cars", 1000);
+        String journal = stringOption(options, "journal", BenchmarkCluster.LEVELDB_JOURNAL);
+
+        Dictionary<String, Object> datastoreProperties = new Hashtable<>();
+        for(Map.Entry<String, String> e: options.entrySet()) {
+            datastoreProperties.put(e.getKey(), e.getValue());
+        }
+
+        System.out.println(String.format("Running %s: members=%d, client-member=%d, transactions=%d, " +
+                "outstanding=%d, submitters=%d, journal=%s, datastore properties=%s", workload, members,
+                clientMember, transactions, outstanding, submitters, journal, datastoreProperties));
+
+        BenchmarkCluster cluster = BenchmarkCluster.start(members, journal, datastoreProperties);
+        try {
+            BenchmarkDriver driver = new BenchmarkDriver(cluster.getDataStore(clientMember), workload, outstanding,
+                    readsPerWrite, populatedCars, submitters);
+            driver.prepare();
+
+            driver.run(warmup, new LatencyRecorder("warmup commit", warmup),
+                    new LatencyRecorder("warmup read", warmup));
+
+            ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            threadMXBean.resetPeakThreadCount();
+
+            LatencyRecorder commitLatency = new LatencyRecorder("commit", transactions);
+            LatencyRecorder readLatency = new LatencyRecorder("read", transactions);
+            long elapsed = driver.run(transactions, commitLatency, readLatency);
+            driver.close();
+
+            int completed = commitLatency.getCount() + readLatency.getCount();
+            System.out.println(String.format("Completed %d transactions in %d ms: %.1f tx/s, peak threads=%d",
+                    completed, TimeUnit.NANOSECONDS.toMillis(elapsed), completed * 1e9 / elapsed,
+                    threadMXBean.getPeakThreadCount()));
+            System.out.println(commitLatency.summary());
+            if(workload == Workload.READ_HEAVY) {
+                System.out.println(readLatency.summary());
+            }
+        } finally {
+            cluster.shutdown();
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for(String arg: args) {
+            // The options may be passed as a single argument, eg from the exec plugin.
+            for(String option: arg.trim().split("\\s+")) {
+                if(option.isEmpty()) {
+                    continue;
+                }
+
+                int index = option.indexOf('=');
+                if(index <= 0) {
+                    throw new IllegalArgumentException("Invalid option " + option + " - expected name=value");
+                }
+
+                options.put(option.substring(0, index), option.substring(index + 1));
+            }
+        }
+
+        return options;
+    }
+
+    private static String stringOption(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.remove(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the latencies of a fixed number of operations and reports their percentiles. Operations may complete
+ * on any thread but the summary must only be computed after all of them completed.
+ */
+final class LatencyRecorder {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final String name;
+    private final long[] latencies;
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    LatencyRecorder(String name, int capacity) {
+        this.name = name;
+        this.latencies = new long[capacity];
+    }
+
+    void record(long startNanos) {
+        long latency = System.nanoTime() - startNanos;
+        int index = count.getAndIncrement();
+        if(index < latencies.length) {
+            latencies[index] = latency;
+        }
+    }
+
+    void recordFailure() {
+        failures.incrementAndGet();
+    }
+
+    int getCount() {
+        return Math.min(count.get(), latencies.length);
+    }
+
+    int getFailures() {
+        return failures.get();
+    }
+
+    String summary() {
+        int size = getCount();
+        StringBuilder builder = new StringBuilder(name).append(" latency (us): count=").append(size).
+                append(", failed=").append(failures.get());
+        if(size == 0) {
+            return builder.toString();
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        for(double percentile: PERCENTILES) {
+            int index = (int) Math.min(size - 1, Math.ceil(percentile / 100 * size) - 1);
+            builder.append(", p").append(percentile == Math.rint(percentile) ? String.valueOf((int) percentile) :
+                String.valueOf(percentile)).append('=').append(toMicros(sorted[Math.max(0, index)]));
+        }
+
+        return builder.append(", max=").append(toMicros(sorted[size - 1])).toString();
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+/**
+ * The workloads run by the benchmark.
+ */
+enum Workload {
+    /**
+     * Each transaction is a write-only transaction writing one car.
+     */
+    WRITE_ONLY("write-only"),
+
+    /**
+     * A number of read-only transactions, each reading one car, for each write-only transaction writing one car.
+     */
+    READ_HEAVY("read-heavy"),
+
+    /**
+     * Each transaction is a write-only transaction writing one car, created from a single transaction chain.
+     */
+    CHAINED("chained"),
+
+    /**
+     * Each transaction is a write-only transaction writing one car and one person, so it spans both shards.
+     */
+    MULTI_SHARD("multi-shard");
+
+    private final String name;
+
+    private Workload(String name) {
+        this.name = name;
+    }
+
+    static Workload forName(String name) {
+        for(Workload workload: values()) {
+            if(workload.name.equals(name)) {
+                return workload;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown workload " + name);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence.benchmark;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.pattern.Patterns;
+import akka.util.Timeout;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.opendaylight.controller.cluster.persistence.SegmentedJournal;
+import org.openjdk.jmh.annotations.Param;
+import scala.concurrent.Await;
+
+/**
+ * Base class for the journal benchmarks. Each benchmark runs against an actor system configured with either
+ * the akka leveldb journal or the {@link SegmentedJournal}, both fsync'ing every write.
+ */
+public abstract class AbstractJournalBenchmark {
+    protected static final Timeout TIMEOUT = new Timeout(30, TimeUnit.SECONDS);
+
+    @Param({"leveldb", "segmented"})
+    public String journal;
+
+    @Param({"256"})
+    public int payloadSize;
+
+    protected ActorSystem system;
+    private File baseDir;
+
+    protected void createActorSystem() throws IOException {
+        baseDir = new File("target/journal-benchmark/" + journal);
+        FileUtils.deleteDirectory(baseDir);
+
+        String journalPlugin = "leveldb".equals(journal) ? "akka.persistence.journal.leveldb" :
+            SegmentedJournal.CONFIG_PATH;
+
+        Config config = ConfigFactory.parseString(
+                "akka.persistence.journal.plugin = \"" + journalPlugin + "\"\n" +
+                "akka.persistence.journal.leveldb.dir = \"" + new File(baseDir, "leveldb").getPath() + "\"\n" +
+                "akka.persistence.journal.leveldb.fsync = on\n" +
+                "akka.persistence.snapshot-store.local.dir = \"" + new File(baseDir, "snapshots").getPath() + "\"\n" +
+                SegmentedJournal.CONFIG_PATH + " {\n" +
+                "  class = \"" + SegmentedJournal.class.getName() + "\"\n" +
+                "  plugin-dispatcher = \"akka.persistence.dispatchers.default-plugin-dispatcher\"\n" +
+                "  replay-dispatcher = \"akka.persistence.dispatchers.default-replay-dispatcher\"\n" +
+                "  dir = \"" + new File(baseDir, "segmented").getPath() + "\"\n" +
+                "  fsync = on\n" +
+                "}\n").withFallback(ConfigFactory.load());
+
+        system = ActorSystem.create("journal-benchmark", config);
+    }
+
+    protected void shutdownActorSystem() throws IOException {
+        system.shutdown();
+        system.awaitTermination();
+        system = null;
+
+        FileUtils.deleteDirectory(baseDir);
+    }
+
+    protected byte[] newPayload() {
+        byte[] payload = new byte[payloadSize];
+        for(int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) i;
+        }
+
+        return payload;
+    }
+
+    protected static Object ask(ActorRef actor, Object message) throws Exception {
+        return Await.result(Patterns.ask(actor, message, TIMEOUT), TIMEOUT.duration());
+    }
+}
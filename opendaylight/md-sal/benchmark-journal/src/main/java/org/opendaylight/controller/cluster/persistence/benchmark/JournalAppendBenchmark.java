@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence.benchmark;
+
+import akka.actor.ActorRef;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of persisting a single journal entry, from the persist request to the completion
+ * callback, for each journal implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class JournalAppendBenchmark extends AbstractJournalBenchmark {
+    private ActorRef actor;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        createActorSystem();
+        actor = system.actorOf(JournalBenchmarkActor.props("append-benchmark"));
+        payload = newPayload();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        shutdownActorSystem();
+    }
+
+    @Benchmark
+    public Object append() throws Exception {
+        return ask(actor, payload);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence.benchmark;
+
+import akka.actor.ActorRef;
+import akka.actor.Props;
+import akka.japi.Procedure;
+import akka.persistence.UntypedPersistentActor;
+
+/**
+ * A persistent actor that journals the byte[] payloads sent to it and replies once each is persisted, in the
+ * same way the RaftActor journals log entries.
+ */
+public class JournalBenchmarkActor extends UntypedPersistentActor {
+    /**
+     * Asks for the number of payloads recovered from the journal. As commands are stashed during recovery, the
+     * reply is sent once recovery is complete.
+     */
+    public static final Object GET_RECOVERED_COUNT = "getRecoveredCount";
+
+    /**
+     * Persists the given number of payloads, replying once the last one is persisted.
+     */
+    public static class Populate {
+        final int count;
+        final byte[] payload;
+
+        public Populate(int count, byte[] payload) {
+            this.count = count;
+            this.payload = payload;
+        }
+    }
+
+    private final String persistenceId;
+    private long recoveredCount;
+
+    public JournalBenchmarkActor(String persistenceId) {
+        this.persistenceId = persistenceId;
+    }
+
+    public static Props props(String persistenceId) {
+        return Props.create(JournalBenchmarkActor.class, persistenceId);
+    }
+
+    @Override
+    public String persistenceId() {
+        return persistenceId;
+    }
+
+    @Override
+    public void onReceiveRecover(Object message) {
+        if(message instanceof byte[]) {
+            recoveredCount++;
+        }
+    }
+
+    @Override
+    public void onReceiveCommand(Object message) {
+        final ActorRef sender = getSender();
+        if(message instanceof byte[]) {
+            persist((byte[]) message, new Procedure<byte[]>() {
+                @Override
+                public void apply(byte[] payload) {
+                    sender.tell(payload.length, getSelf());
+                }
+            });
+        } else if(message instanceof Populate) {
+            final Populate populate = (Populate) message;
+            for(int i = 1; i <= populate.count; i++) {
+                final int n = i;
+                persist(populate.payload, new Procedure<byte[]>() {
+                    @Override
+                    public void apply(byte[] payload) {
+                        if(n == populate.count) {
+                            sender.tell(n, getSelf());
+                        }
+                    }
+                });
+            }
+        } else if(GET_RECOVERED_COUNT.equals(message)) {
+            sender.tell(recoveredCount, getSelf());
+        } else {
+            unhandled(message);
+        }
+    }
+}
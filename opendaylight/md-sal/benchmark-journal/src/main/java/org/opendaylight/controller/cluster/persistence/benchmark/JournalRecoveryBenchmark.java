@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence.benchmark;
+
+import akka.actor.ActorRef;
+import akka.pattern.Patterns;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import scala.concurrent.Await;
+
+/**
+ * Measures the time to recover a journal of a given number of entries for each journal implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class JournalRecoveryBenchmark extends AbstractJournalBenchmark {
+    private static final String PERSISTENCE_ID = "recovery-benchmark";
+
+    @Param({"10000", "100000"})
+    public int entryCount;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        createActorSystem();
+
+        ActorRef actor = system.actorOf(JournalBenchmarkActor.props(PERSISTENCE_ID));
+        ask(actor, new JournalBenchmarkActor.Populate(entryCount, newPayload()));
+        stop(actor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        shutdownActorSystem();
+    }
+
+    @Benchmark
+    public Object recover() throws Exception {
+        ActorRef actor = system.actorOf(JournalBenchmarkActor.props(PERSISTENCE_ID));
+        Object recoveredCount = ask(actor, JournalBenchmarkActor.GET_RECOVERED_COUNT);
+        stop(actor);
+        return recoveredCount;
+    }
+
+    private static void stop(ActorRef actor) throws Exception {
+        Await.result(Patterns.gracefulStop(actor, TIMEOUT.duration()), TIMEOUT.duration());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Address;
+import akka.japi.Option;
+import akka.japi.Pair;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.remote.rpc.RouteIdentifierImpl;
+import org.opendaylight.controller.sal.connector.api.RpcRouter.RouteIdentifier;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares resolving a routed RPC through the {@link RouteIndex} kept by {@link RpcRegistry} with scanning the
+ * routing table of every member. Each routed RPC instance is registered by a single member, as is the case for
+ * per-device RPCs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class RouteLookupBenchmark {
+    private static final QName RPC = QName.create("urn:opendaylight:benchmark", "2015-06-04", "routed-rpc");
+    private static final QName NODES = QName.create(RPC, "nodes");
+    private static final QName NODE = QName.create(RPC, "node");
+    private static final QName NODE_ID = QName.create(RPC, "id");
+
+    @Param({"3", "32"})
+    public int members;
+
+    @Param({"10000", "200000"})
+    public int routes;
+
+    private final Map<Address, RoutingTable> tables = new HashMap<>();
+    private final RouteIndex index = new RouteIndex();
+    private RouteIdentifier<?, ?, ?>[] routeIds;
+    private ActorSystem system;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        system = ActorSystem.create("route-lookup-benchmark");
+
+        final RoutingTable[] memberTables = new RoutingTable[members];
+        for (int i = 0; i < members; i++) {
+            memberTables[i] = new RoutingTable();
+            memberTables[i].setRouter(system.deadLetters());
+        }
+
+        routeIds = new RouteIdentifier<?, ?, ?>[routes];
+        for (int i = 0; i < routes; i++) {
+            routeIds[i] = new RouteIdentifierImpl(null, RPC, YangInstanceIdentifier.builder().node(NODES)
+                    .nodeWithKey(NODE, NODE_ID, "node-" + i).build());
+            memberTables[i % members].addRoute(routeIds[i]);
+        }
+
+        for (int i = 0; i < members; i++) {
+            final Address address = new Address("akka.tcp", "member-" + i);
+            tables.put(address, memberTables[i]);
+            index.update(address, null, memberTables[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        system.shutdown();
+    }
+
+    @Benchmark
+    public void indexedLookup(final Blackhole bh) {
+        final RouteIdentifier<?, ?, ?> routeId = nextRoute();
+        for (Address member : index.getMembers(routeId)) {
+            consume(tables.get(member).getRouterFor(routeId), bh);
+        }
+    }
+
+    @Benchmark
+    public void scanLookup(final Blackhole bh) {
+        final RouteIdentifier<?, ?, ?> routeId = nextRoute();
+        for (RoutingTable table : tables.values()) {
+            consume(table.getRouterFor(routeId), bh);
+        }
+    }
+
+    private RouteIdentifier<?, ?, ?> nextRoute() {
+        if (++next == routeIds.length) {
+            next = 0;
+        }
+        return routeIds[next];
+    }
+
+    private static void consume(final Option<Pair<ActorRef, Long>> router, final Blackhole bh) {
+        if (!router.isEmpty()) {
+            bh.consume(router.get());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.datastore.benchmark.AbstractSerializationBenchmark;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding a DataTreeCandidate into the payload replicated by the shard leader and decoding it on the
+ * followers. The candidate either writes the whole tree or modifies the top-level container, writing each of
+ * its children. This benchmark is in the datastore package as DataTreeCandidatePayload is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class DataTreeCandidatePayloadBenchmark extends AbstractSerializationBenchmark {
+    @Param({"write", "subtree-modified"})
+    public String modification;
+
+    private DataTreeCandidate candidate;
+    private DataTreeCandidatePayload payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ContainerNode node = createTree();
+        YangInstanceIdentifier path = YangInstanceIdentifier.of(node.getNodeType());
+        if("write".equals(modification)) {
+            candidate = DataTreeCandidates.fromNormalizedNode(path, node);
+        } else {
+            Collection<DataTreeCandidateNode> children = new ArrayList<>();
+            for(DataContainerChild<?, ?> child: node.getValue()) {
+                children.add(DataTreeCandidateNodes.fromNormalizedNode(child));
+            }
+
+            candidate = DataTreeCandidates.newDataTreeCandidate(path, ModifiedDataTreeCandidateNode.create(children));
+        }
+
+        payload = encode();
+        printEncodedSize(modification + " candidate", node, payload.size());
+    }
+
+    @Benchmark
+    public DataTreeCandidatePayload encode() {
+        return DataTreeCandidatePayload.create(candidate);
+    }
+
+    @Benchmark
+    public DataTreeCandidate decode() throws IOException {
+        return payload.getCandidate();
+    }
+}
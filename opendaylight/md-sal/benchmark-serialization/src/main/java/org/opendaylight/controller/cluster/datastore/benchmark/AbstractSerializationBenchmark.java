@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Base class for the serialization benchmarks. Each benchmark runs against trees of each
+ * {@link SerializationBenchmarkModel} shape, with 1, 10 and 100 top-level list entries.
+ */
+public abstract class AbstractSerializationBenchmark {
+    @Param({SerializationBenchmarkModel.INVENTORY, SerializationBenchmarkModel.TOPOLOGY})
+    public String shape;
+
+    @Param({"1", "10", "100"})
+    public int entryCount;
+
+    protected ContainerNode createTree() {
+        return SerializationBenchmarkModel.createTree(shape, entryCount);
+    }
+
+    /**
+     * Prints the encoded size of the given tree, as JMH only reports times.
+     */
+    protected void printEncodedSize(String codec, ContainerNode tree, int encodedLength) {
+        int nodeCount = SerializationBenchmarkModel.countNodes(tree);
+        System.out.println(String.format("%n%s %s/%d: %d bytes for %d nodes, %.2f bytes per node", codec, shape,
+                entryCount, encodedLength, nodeCount, (double) encodedLength / nodeCount));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputStreamReader;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeOutputStreamWriter;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the original NormalizedNode stream version with the compact version, with and without a QName
+ * dictionary. The encoded size, in bytes per node, is printed when each trial is set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class NormalizedNodeCodecBenchmark extends AbstractSerializationBenchmark {
+    @Param({"original", "compact", "dictionary"})
+    public String codec;
+
+    private ContainerNode node;
+    private QNameDictionary dictionary;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        node = createTree();
+        switch(codec) {
+            case "original":
+                dictionary = null;
+                break;
+            case "compact":
+                dictionary = QNameDictionary.EMPTY;
+                break;
+            case "dictionary":
+                dictionary = QNameDictionary.create(SerializationBenchmarkModel.MODEL_QNAMES);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown codec " + codec);
+        }
+
+        encoded = encode();
+        printEncodedSize(codec, node, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayDataOutput output = ByteStreams.newDataOutput();
+        NormalizedNodeOutputStreamWriter writer = dictionary == null ? new NormalizedNodeOutputStreamWriter(output) :
+            new NormalizedNodeOutputStreamWriter(output, dictionary);
+        writer.writeNormalizedNode(node);
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    public NormalizedNode<?, ?> decode() throws IOException {
+        return new NormalizedNodeInputStreamReader(ByteStreams.newDataInput(encoded)).readNormalizedNode();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.datastore.node.utils.serialization.NormalizedNodeSerializer;
+import org.opendaylight.controller.protobuff.messages.common.NormalizedNodeMessages;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the legacy protobuf NormalizedNodeSerializer, still used for messages to pre-Lithium peers, including
+ * the conversion to and from the protobuf wire format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ProtobufSerializerBenchmark extends AbstractSerializationBenchmark {
+    private ContainerNode node;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        node = createTree();
+        encoded = encode();
+        printEncodedSize("protobuf", node, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return NormalizedNodeSerializer.serialize(node).toByteArray();
+    }
+
+    @Benchmark
+    public NormalizedNode<?, ?> decode() throws InvalidProtocolBufferException {
+        return NormalizedNodeSerializer.deSerialize(NormalizedNodeMessages.Node.parseFrom(encoded));
+    }
+}
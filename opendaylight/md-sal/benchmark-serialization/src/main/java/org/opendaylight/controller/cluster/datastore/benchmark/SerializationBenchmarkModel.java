@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
+
+/**
+ * Builds the data trees used by the serialization benchmarks. The trees are built directly from QNames, without
+ * a SchemaContext, in two shapes:
+ * <ul>
+ * <li>inventory - shaped after the openflow inventory: a list of nodes, each with a list of connectors carrying
+ * a few leaves of the common value types.</li>
+ * <li>topology - shaped after the network topology: a topology with a list of nodes, each with a list of
+ * termination points, and a ring of links between the nodes.</li>
+ * </ul>
+ * The size of a tree is the number of nodes in it. For the benchmarks which need one, the topology shape also has
+ * a SchemaContext, parsed from a subset of the network topology model.
+ */
+public final class SerializationBenchmarkModel {
+    public static final String INVENTORY = "inventory";
+    public static final String TOPOLOGY = "topology";
+
+    public static final QName INVENTORY_QNAME = QName.create("urn:opendaylight:inventory", "2013-08-19", "nodes");
+    public static final QName NODE_QNAME = QName.create(INVENTORY_QNAME, "node");
+    public static final QName NODE_ID_QNAME = QName.create(INVENTORY_QNAME, "id");
+    public static final QName CONNECTOR_QNAME = QName.create(INVENTORY_QNAME, "node-connector");
+    public static final QName CONNECTOR_ID_QNAME = QName.create(INVENTORY_QNAME, "connector-id");
+    public static final QName PORT_NUMBER_QNAME = QName.create("urn:opendaylight:flow:inventory", "2013-08-19",
+            "port-number");
+    public static final QName CURRENT_SPEED_QNAME = QName.create(PORT_NUMBER_QNAME, "current-speed");
+    public static final QName HARDWARE_ADDRESS_QNAME = QName.create(PORT_NUMBER_QNAME, "hardware-address");
+    public static final QName ENABLED_QNAME = QName.create(PORT_NUMBER_QNAME, "enabled");
+
+    public static final QName NETWORK_TOPOLOGY_QNAME = QName.create(
+            "urn:TBD:params:xml:ns:yang:network-topology", "2013-10-21", "network-topology");
+    public static final QName TOPOLOGY_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "topology");
+    public static final QName TOPOLOGY_ID_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "topology-id");
+    public static final QName TOPOLOGY_NODE_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "node");
+    public static final QName TOPOLOGY_NODE_ID_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "node-id");
+    public static final QName TERMINATION_POINT_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "termination-point");
+    public static final QName TP_ID_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "tp-id");
+    public static final QName LINK_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "link");
+    public static final QName LINK_ID_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "link-id");
+    public static final QName SOURCE_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "source");
+    public static final QName SOURCE_NODE_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "source-node");
+    public static final QName SOURCE_TP_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "source-tp");
+    public static final QName DESTINATION_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "destination");
+    public static final QName DEST_NODE_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "dest-node");
+    public static final QName DEST_TP_QNAME = QName.create(NETWORK_TOPOLOGY_QNAME, "dest-tp");
+
+    public static final int CONNECTORS_PER_NODE = 4;
+
+    private static final String TOPOLOGY_YANG = "/benchmark-network-topology.yang";
+
+    /**
+     * The QNames of both models, in place of the ones a QNameDictionary would derive from their schemas.
+     */
+    public static final List<QName> MODEL_QNAMES = ImmutableList.of(INVENTORY_QNAME, NODE_QNAME, NODE_ID_QNAME,
+            CONNECTOR_QNAME, CONNECTOR_ID_QNAME, PORT_NUMBER_QNAME, CURRENT_SPEED_QNAME, HARDWARE_ADDRESS_QNAME,
+            ENABLED_QNAME, NETWORK_TOPOLOGY_QNAME, TOPOLOGY_QNAME, TOPOLOGY_ID_QNAME, TOPOLOGY_NODE_QNAME,
+            TOPOLOGY_NODE_ID_QNAME, TERMINATION_POINT_QNAME, TP_ID_QNAME, LINK_QNAME, LINK_ID_QNAME, SOURCE_QNAME,
+            SOURCE_NODE_QNAME, SOURCE_TP_QNAME, DESTINATION_QNAME, DEST_NODE_QNAME, DEST_TP_QNAME);
+
+    private SerializationBenchmarkModel() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Creates the SchemaContext of the topology shape.
+     */
+    public static SchemaContext createTopologySchemaContext() {
+        try {
+            return new YangParserImpl().parseSources(Collections.singleton(Resources.asByteSource(
+                    SerializationBenchmarkModel.class.getResource(TOPOLOGY_YANG))));
+        } catch (IOException | YangSyntaxErrorException e) {
+            throw new IllegalStateException("Failed to parse " + TOPOLOGY_YANG, e);
+        }
+    }
+
+    /**
+     * Creates a tree of the given shape with the given number of top-level list entries.
+     */
+    public static ContainerNode createTree(String shape, int entryCount) {
+        switch(shape) {
+            case INVENTORY:
+                return createInventory(entryCount);
+            case TOPOLOGY:
+                return createTopology(entryCount);
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+    }
+
+    /**
+     * Returns the path to a leaf in the last top-level list entry of a tree of the given shape.
+     */
+    public static YangInstanceIdentifier createLeafPath(String shape, int entryCount) {
+        String nodeId = "openflow:" + (entryCount - 1);
+        switch(shape) {
+            case INVENTORY:
+                return YangInstanceIdentifier.builder().node(INVENTORY_QNAME).node(NODE_QNAME).
+                        nodeWithKey(NODE_QNAME, NODE_ID_QNAME, nodeId).node(CONNECTOR_QNAME).
+                        nodeWithKey(CONNECTOR_QNAME, CONNECTOR_ID_QNAME, nodeId + ":0").
+                        node(PORT_NUMBER_QNAME).build();
+            case TOPOLOGY:
+                return YangInstanceIdentifier.builder().node(NETWORK_TOPOLOGY_QNAME).node(TOPOLOGY_QNAME).
+                        nodeWithKey(TOPOLOGY_QNAME, TOPOLOGY_ID_QNAME, "flow:1").node(TOPOLOGY_NODE_QNAME).
+                        nodeWithKey(TOPOLOGY_NODE_QNAME, TOPOLOGY_NODE_ID_QNAME, nodeId).
+                        node(TERMINATION_POINT_QNAME).nodeWithKey(TERMINATION_POINT_QNAME, TP_ID_QNAME,
+                                nodeId + ":0").node(TP_ID_QNAME).build();
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+    }
+
+    public static ContainerNode createInventory(int nodeCount) {
+        CollectionNodeBuilder<MapEntryNode, ?> nodes = ImmutableNodes.mapNodeBuilder(NODE_QNAME);
+        for(int i = 0; i < nodeCount; i++) {
+            nodes.withChild(createInventoryNode("openflow:" + i));
+        }
+
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(INVENTORY_QNAME)).
+                withChild(nodes.build()).build();
+    }
+
+    private static MapEntryNode createInventoryNode(String nodeId) {
+        CollectionNodeBuilder<MapEntryNode, ?> connectors = ImmutableNodes.mapNodeBuilder(CONNECTOR_QNAME);
+        for(int i = 0; i < CONNECTORS_PER_NODE; i++) {
+            String connectorId = nodeId + ":" + i;
+            connectors.withChild(ImmutableNodes.mapEntryBuilder(CONNECTOR_QNAME, CONNECTOR_ID_QNAME, connectorId).
+                    withChild(ImmutableNodes.leafNode(PORT_NUMBER_QNAME, Long.valueOf(i))).
+                    withChild(ImmutableNodes.leafNode(CURRENT_SPEED_QNAME, Integer.valueOf(10000000))).
+                    withChild(ImmutableNodes.leafNode(HARDWARE_ADDRESS_QNAME,
+                            String.format("00:00:00:00:%02x:%02x", i, nodeId.length()))).
+                    withChild(ImmutableNodes.leafNode(ENABLED_QNAME, Boolean.TRUE)).build());
+        }
+
+        return ImmutableNodes.mapEntryBuilder(NODE_QNAME, NODE_ID_QNAME, nodeId).withChild(connectors.build()).
+                build();
+    }
+
+    public static ContainerNode createTopology(int nodeCount) {
+        CollectionNodeBuilder<MapEntryNode, ?> nodes = ImmutableNodes.mapNodeBuilder(TOPOLOGY_NODE_QNAME);
+        CollectionNodeBuilder<MapEntryNode, ?> links = ImmutableNodes.mapNodeBuilder(LINK_QNAME);
+        for(int i = 0; i < nodeCount; i++) {
+            String nodeId = "openflow:" + i;
+            CollectionNodeBuilder<MapEntryNode, ?> tps = ImmutableNodes.mapNodeBuilder(TERMINATION_POINT_QNAME);
+            for(int j = 0; j < CONNECTORS_PER_NODE; j++) {
+                tps.withChild(ImmutableNodes.mapEntry(TERMINATION_POINT_QNAME, TP_ID_QNAME, nodeId + ":" + j));
+            }
+
+            nodes.withChild(ImmutableNodes.mapEntryBuilder(TOPOLOGY_NODE_QNAME, TOPOLOGY_NODE_ID_QNAME, nodeId).
+                    withChild(tps.build()).build());
+
+            String destId = "openflow:" + ((i + 1) % nodeCount);
+            links.withChild(ImmutableNodes.mapEntryBuilder(LINK_QNAME, LINK_ID_QNAME, nodeId + ":1").
+                    withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(SOURCE_QNAME)).
+                            withChild(ImmutableNodes.leafNode(SOURCE_NODE_QNAME, nodeId)).
+                            withChild(ImmutableNodes.leafNode(SOURCE_TP_QNAME, nodeId + ":1")).build()).
+                    withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(DESTINATION_QNAME)).
+                            withChild(ImmutableNodes.leafNode(DEST_NODE_QNAME, destId)).
+                            withChild(ImmutableNodes.leafNode(DEST_TP_QNAME, destId + ":2")).build()).build());
+        }
+
+        MapEntryNode topology = ImmutableNodes.mapEntryBuilder(TOPOLOGY_QNAME, TOPOLOGY_ID_QNAME, "flow:1").
+                withChild(nodes.build()).withChild(links.build()).build();
+
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(NETWORK_TOPOLOGY_QNAME)).
+                withChild(ImmutableNodes.mapNodeBuilder(TOPOLOGY_QNAME).withChild(topology).build()).build();
+    }
+
+    /**
+     * Returns the number of nodes in the given tree, including itself.
+     */
+    public static int countNodes(NormalizedNode<?, ?> node) {
+        int count = 1;
+        if(node instanceof NormalizedNodeContainer) {
+            for(Object child: ((NormalizedNodeContainer<?, ?, ?>) node).getValue()) {
+                count += countNodes((NormalizedNode<?, ?>) child);
+            }
+        }
+
+        return count;
+    }
+}
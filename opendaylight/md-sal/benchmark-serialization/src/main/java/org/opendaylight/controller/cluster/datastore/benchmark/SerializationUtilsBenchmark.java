@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.datastore.utils.SerializationUtils;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the SerializationUtils entry points used by the datastore messages and snapshots: a whole tree, as
+ * in ReadDataReply and shard snapshots, and a leaf path, as in DeleteData and the batched modifications.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class SerializationUtilsBenchmark extends AbstractSerializationBenchmark {
+    private ContainerNode node;
+    private byte[] encodedNode;
+    private YangInstanceIdentifier path;
+    private byte[] encodedPath;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        node = createTree();
+        encodedNode = serializeNode();
+        printEncodedSize("SerializationUtils", node, encodedNode.length);
+
+        path = SerializationBenchmarkModel.createLeafPath(shape, entryCount);
+        encodedPath = serializePath();
+    }
+
+    @Benchmark
+    public byte[] serializeNode() {
+        return SerializationUtils.serializeNormalizedNode(node);
+    }
+
+    @Benchmark
+    public NormalizedNode<?, ?> deserializeNode() {
+        return SerializationUtils.deserializeNormalizedNode(encodedNode);
+    }
+
+    @Benchmark
+    public byte[] serializePath() {
+        ByteArrayDataOutput output = ByteStreams.newDataOutput();
+        SerializationUtils.serializePath(path, output);
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    public YangInstanceIdentifier deserializePath() {
+        return SerializationUtils.deserializePath(ByteStreams.newDataInput(encodedPath));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import com.google.common.base.Optional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.datastore.utils.StreamingNormalizedNodeAggregator;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures merging the data read from each shard for a read of the datastore root, as done by TransactionProxy.
+ * The topology node list is partitioned across the shards and the first shard also holds the topology links, so
+ * both subtrees passed through as is and a list merged from all the shards are covered. Run with "-prof gc" to
+ * see the allocation per read.
+ * <p>
+ * {@link #aggregate()} merges the data as each shard's read completes. {@link #aggregateInDataTree()} is the
+ * previous approach for comparison: once all the reads have completed, the data is merged into a new in-memory
+ * data tree, validated against the SchemaContext, and read back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ShardReadAggregationBenchmark {
+    private static final NodeIdentifier ROOT_ID = new NodeIdentifier(SchemaContext.NAME);
+
+    @Param({"1", "12", "24"})
+    public int shardCount;
+
+    @Param({"100", "1000"})
+    public int entryCount;
+
+    private SchemaContext schemaContext;
+
+    private List<Optional<NormalizedNode<?, ?>>> shardData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        schemaContext = SerializationBenchmarkModel.createTopologySchemaContext();
+
+        ContainerNode networkTopology = SerializationBenchmarkModel.createTopology(entryCount);
+        MapEntryNode topology = ((MapNode) networkTopology.getChild(
+                new NodeIdentifier(SerializationBenchmarkModel.TOPOLOGY_QNAME)).get()).getValue().iterator().next();
+        MapNode nodes = (MapNode) topology.getChild(
+                new NodeIdentifier(SerializationBenchmarkModel.TOPOLOGY_NODE_QNAME)).get();
+        MapNode links = (MapNode) topology.getChild(new NodeIdentifier(SerializationBenchmarkModel.LINK_QNAME)).get();
+
+        List<CollectionNodeBuilder<MapEntryNode, MapNode>> partitions = new ArrayList<>(shardCount);
+        for(int i = 0; i < shardCount; i++) {
+            partitions.add(ImmutableNodes.mapNodeBuilder(SerializationBenchmarkModel.TOPOLOGY_NODE_QNAME));
+        }
+
+        int i = 0;
+        for(MapEntryNode node: nodes.getValue()) {
+            partitions.get(i++ % shardCount).withChild(node);
+        }
+
+        shardData = new ArrayList<>(shardCount);
+        for(i = 0; i < shardCount; i++) {
+            DataContainerNodeAttrBuilder<NodeIdentifierWithPredicates, MapEntryNode> topologyPartition = ImmutableNodes.mapEntryBuilder(
+                    SerializationBenchmarkModel.TOPOLOGY_QNAME, SerializationBenchmarkModel.TOPOLOGY_ID_QNAME,
+                    "flow:1").withChild(partitions.get(i).build());
+            if(i == 0) {
+                topologyPartition.withChild(links);
+            }
+
+            ContainerNode root = Builders.containerBuilder().withNodeIdentifier(ROOT_ID).withChild(
+                    Builders.containerBuilder().withNodeIdentifier(networkTopology.getIdentifier()).withChild(
+                            ImmutableNodes.mapNodeBuilder(SerializationBenchmarkModel.TOPOLOGY_QNAME).withChild(
+                                    topologyPartition.build()).build()).build()).build();
+
+            shardData.add(Optional.<NormalizedNode<?, ?>>of(root));
+        }
+    }
+
+    @Benchmark
+    public Optional<NormalizedNode<?, ?>> aggregate() {
+        StreamingNormalizedNodeAggregator aggregator = new StreamingNormalizedNodeAggregator();
+        for(Optional<NormalizedNode<?, ?>> data: shardData) {
+            aggregator.add(data);
+        }
+
+        return aggregator.getResult();
+    }
+
+    @Benchmark
+    public Optional<NormalizedNode<?, ?>> aggregateInDataTree() throws DataValidationFailedException {
+        DataTree dataTree = InMemoryDataTreeFactory.getInstance().create();
+        dataTree.setSchemaContext(schemaContext);
+
+        DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        for(Optional<NormalizedNode<?, ?>> data: shardData) {
+            if(data.isPresent()) {
+                modification.merge(YangInstanceIdentifier.EMPTY, data.get());
+            }
+        }
+
+        modification.ready();
+        dataTree.validate(modification);
+        dataTree.commit(dataTree.prepare(modification));
+
+        return dataTree.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.datastore.benchmark.AbstractSerializationBenchmark;
+import org.opendaylight.controller.cluster.datastore.node.utils.serialization.NormalizedNodeSerializer;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponse;
+import org.opendaylight.controller.remote.rpc.messages.StreamedExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.StreamedRpcResponse;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a round trip of the remote RPC messages through Java serialization, as done by Akka remoting, in a
+ * single JVM. Each benchmark builds the message from the RPC input or output, serializes and deserializes it, and
+ * returns the NormalizedNode the receiver ends up with, so the legacy ExecuteRpc and RpcResponse include their
+ * conversion to and from protobuf. Run org.openjdk.jmh.Main with "RpcMessageSerializationBenchmark -prof gc" on
+ * this module's classpath, as the exec plugin does for all the benchmarks, to compare the allocation per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class RpcMessageSerializationBenchmark extends AbstractSerializationBenchmark {
+    private DOMRpcIdentifier rpc;
+    private ContainerNode node;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        node = createTree();
+        rpc = DOMRpcIdentifier.create(SchemaPath.create(true, node.getNodeType()));
+
+        printEncodedSize("ExecuteRpc", node, serialize(ExecuteRpc.from(rpc, node)).length);
+        printEncodedSize("StreamedExecuteRpc", node,
+                serialize(new StreamedExecuteRpc(rpc.getType().getLastComponent(), node)).length);
+    }
+
+    @Benchmark
+    public NormalizedNode<?, ?> executeRpc() throws Exception {
+        ExecuteRpc message = (ExecuteRpc) deserialize(serialize(ExecuteRpc.from(rpc, node)));
+        return NormalizedNodeSerializer.deSerialize(message.getInputNormalizedNode());
+    }
+
+    @Benchmark
+    public NormalizedNode<?, ?> streamedExecuteRpc() throws Exception {
+        StreamedExecuteRpc message = (StreamedExecuteRpc) deserialize(serialize(
+                new StreamedExecuteRpc(rpc.getType().getLastComponent(), node)));
+        return message.getInput();
+    }
+
+    @Benchmark
+    public NormalizedNode<?, ?> rpcResponse() throws Exception {
+        RpcResponse message = (RpcResponse) deserialize(serialize(
+                new RpcResponse(NormalizedNodeSerializer.serialize(node))));
+        return NormalizedNodeSerializer.deSerialize(message.getResultNormalizedNode());
+    }
+
+    @Benchmark
+    public NormalizedNode<?, ?> streamedRpcResponse() throws Exception {
+        StreamedRpcResponse message = (StreamedRpcResponse) deserialize(serialize(new StreamedRpcResponse(node)));
+        return message.getResult();
+    }
+
+    private static byte[] serialize(Object message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(message);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
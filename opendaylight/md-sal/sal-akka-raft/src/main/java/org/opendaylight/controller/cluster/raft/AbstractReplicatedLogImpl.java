@@ -176,6 +176,11 @@ public abstract class AbstractReplicatedLogImpl implements ReplicatedLog {
         return dataSize;
     }
 
+    @Override
+    public void persistPendingEntries() {
+        // By default entries are persisted as they're appended so there's nothing pending.
+    }
+
     @Override
     public boolean isPresent(long logEntryIndex) {
         if (logEntryIndex > lastIndex()) {
@@ -84,4 +84,25 @@ public interface ConfigParams {
      */
     long getElectionTimeoutFactor();
 
+    /**
+     * The maximum number of AppendEntries messages with log entries that a leader may have outstanding to a
+     * follower before it waits for a reply. A value of 1 disables pipelining, ie the leader waits for the reply
+     * to each AppendEntries before sending the next batch.
+     */
+    int getMaxInFlightAppendEntries();
+
+    /**
+     * The maximum number of log entries to group-commit to the journal in a single write. A value of 1
+     * disables group commit, ie each log entry is persisted as soon as it is appended.
+     */
+    int getJournalPersistBatchSize();
+
+    /**
+     * The maximum amount of time in milliseconds that an appended log entry may wait for other entries
+     * to be group-committed with it. A value of 0 persists the batch as soon as the messages already queued
+     * to the RaftActor have been processed. Only applicable if {@link #getJournalPersistBatchSize()} is
+     * greater than 1.
+     */
+    long getJournalPersistBatchWindowInMillis();
+
 }
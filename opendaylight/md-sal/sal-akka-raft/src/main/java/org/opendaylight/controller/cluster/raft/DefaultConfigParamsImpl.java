@@ -28,6 +28,16 @@ public class DefaultConfigParamsImpl implements ConfigParams {
 
     private static final int SNAPSHOT_CHUNK_SIZE = 2048 * 1000; //2MB
 
+    /**
+     * By default the leader waits for the reply to an AppendEntries before sending the next one
+     */
+    private static final int MAX_IN_FLIGHT_APPEND_ENTRIES = 1;
+
+    /**
+     * By default each log entry is persisted to the journal on its own
+     */
+    private static final int JOURNAL_PERSIST_BATCH_SIZE = 1;
+
 
     /**
      * The interval at which a heart beat message will be sent to the remote
@@ -53,6 +63,12 @@ public class DefaultConfigParamsImpl implements ConfigParams {
 
     private long electionTimeoutFactor = 2;
 
+    private int maxInFlightAppendEntries = MAX_IN_FLIGHT_APPEND_ENTRIES;
+
+    private int journalPersistBatchSize = JOURNAL_PERSIST_BATCH_SIZE;
+
+    private long journalPersistBatchWindowInMillis = 0;
+
     public void setHeartBeatInterval(FiniteDuration heartBeatInterval) {
         this.heartBeatInterval = heartBeatInterval;
         electionTimeOutInterval = null;
@@ -83,6 +99,18 @@ public class DefaultConfigParamsImpl implements ConfigParams {
         electionTimeOutInterval = null;
     }
 
+    public void setMaxInFlightAppendEntries(int maxInFlightAppendEntries) {
+        this.maxInFlightAppendEntries = maxInFlightAppendEntries;
+    }
+
+    public void setJournalPersistBatchSize(int journalPersistBatchSize) {
+        this.journalPersistBatchSize = journalPersistBatchSize;
+    }
+
+    public void setJournalPersistBatchWindowInMillis(long journalPersistBatchWindowInMillis) {
+        this.journalPersistBatchWindowInMillis = journalPersistBatchWindowInMillis;
+    }
+
     @Override
     public long getSnapshotBatchCount() {
         return snapshotBatchCount;
@@ -132,4 +160,19 @@ public class DefaultConfigParamsImpl implements ConfigParams {
     public long getElectionTimeoutFactor() {
         return electionTimeoutFactor;
     }
+
+    @Override
+    public int getMaxInFlightAppendEntries() {
+        return maxInFlightAppendEntries;
+    }
+
+    @Override
+    public int getJournalPersistBatchSize() {
+        return journalPersistBatchSize;
+    }
+
+    @Override
+    public long getJournalPersistBatchWindowInMillis() {
+        return journalPersistBatchWindowInMillis;
+    }
 }
@@ -107,4 +107,40 @@ public interface FollowerLogInformation {
      * Sets the payload data version of the follower.
      */
     void setPayloadVersion(short payloadVersion);
+
+    /**
+     * Returns the index of the next log entry to send to the follower. If AppendEntries pipelining is enabled,
+     * this may be ahead of {@link #getNextIndex()} by the entries that have been sent but not yet acknowledged.
+     * Otherwise it is the same as {@link #getNextIndex()}.
+     */
+    long getNextSendIndex();
+
+    /**
+     * Records that an AppendEntries message was sent to the follower. If pipelining is enabled and the message
+     * carried entries, it is counted as in flight and the next send index is advanced past the last entry sent.
+     * Heartbeats are not counted so they never take up the pipeline window.
+     *
+     * @param lastSentIndex the index of the last log entry in the message or -1 if it contained no entries
+     */
+    void appendEntriesSent(long lastSentIndex);
+
+    /**
+     * Records that an AppendEntriesReply was received from the follower. The AppendEntries in flight whose
+     * entries the follower now has are no longer counted as in flight.
+     *
+     * @param followerLastLogIndex the index of the last entry in the follower's log, as given in the reply
+     */
+    void appendEntriesReplyReceived(long followerLastLogIndex);
+
+    /**
+     * Discards the AppendEntries messages that are in flight so that the next send resumes from
+     * {@link #getNextIndex()}. This is called when a reply fails or the follower becomes inactive.
+     */
+    void resetInFlightAppendEntries();
+
+    /**
+     * Returns the number of AppendEntries messages carrying entries which were sent to the follower and whose
+     * entries it has not acknowledged yet.
+     */
+    int getInFlightAppendEntriesCount();
 }
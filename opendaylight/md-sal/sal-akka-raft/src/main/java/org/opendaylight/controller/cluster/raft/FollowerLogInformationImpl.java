@@ -9,6 +9,8 @@
 package org.opendaylight.controller.cluster.raft;
 
 import com.google.common.base.Stopwatch;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.TimeUnit;
 
 public class FollowerLogInformationImpl implements FollowerLogInformation {
@@ -28,6 +30,9 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
 
     private short payloadVersion = -1;
 
+    // The index of the last entry of each AppendEntries in flight, in the order they were sent
+    private final Deque<Long> inFlightLastIndexes = new ArrayDeque<>();
+
     public FollowerLogInformationImpl(String id, long matchIndex, RaftActorContext context) {
         this.id = id;
         this.nextIndex = context.getCommitIndex();
@@ -114,8 +119,13 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
 
     @Override
     public boolean okToReplicate() {
+        // Return false if the pipeline window is full
+        if(isPipeliningEnabled() && inFlightLastIndexes.size() >= maxInFlightAppendEntries()) {
+            return false;
+        }
+
         // Return false if we are trying to send duplicate data before the heartbeat interval
-        if(getNextIndex() == lastReplicatedIndex){
+        if(getNextSendIndex() == lastReplicatedIndex){
             if(lastReplicatedStopwatch.elapsed(TimeUnit.MILLISECONDS) < context.getConfigParams()
                     .getHeartBeatInterval().toMillis()){
                 return false;
@@ -127,18 +137,62 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
     }
 
     private void resetLastReplicated(){
-        lastReplicatedIndex = getNextIndex();
+        lastReplicatedIndex = getNextSendIndex();
         if(lastReplicatedStopwatch.isRunning()){
             lastReplicatedStopwatch.reset();
         }
         lastReplicatedStopwatch.start();
     }
 
+    @Override
+    public long getNextSendIndex() {
+        if(isPipeliningEnabled() && !inFlightLastIndexes.isEmpty()) {
+            return Math.max(nextIndex, inFlightLastIndexes.peekLast() + 1);
+        }
+
+        return nextIndex;
+    }
+
+    @Override
+    public void appendEntriesSent(long lastSentIndex) {
+        if(isPipeliningEnabled() && lastSentIndex >= 0) {
+            inFlightLastIndexes.addLast(lastSentIndex);
+        }
+    }
+
+    @Override
+    public void appendEntriesReplyReceived(long followerLastLogIndex) {
+        // Replies don't identify the AppendEntries they answer, and heartbeats are answered too, so an
+        // AppendEntries is only retired once the follower's log reaches its last entry.
+        while(!inFlightLastIndexes.isEmpty() && inFlightLastIndexes.peekFirst() <= followerLastLogIndex) {
+            inFlightLastIndexes.removeFirst();
+        }
+    }
+
+    @Override
+    public void resetInFlightAppendEntries() {
+        inFlightLastIndexes.clear();
+    }
+
+    @Override
+    public int getInFlightAppendEntriesCount() {
+        return inFlightLastIndexes.size();
+    }
+
+    private int maxInFlightAppendEntries() {
+        return context.getConfigParams().getMaxInFlightAppendEntries();
+    }
+
+    private boolean isPipeliningEnabled() {
+        return maxInFlightAppendEntries() > 1;
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
         builder.append("FollowerLogInformationImpl [id=").append(id).append(", nextIndex=").append(nextIndex)
-                .append(", matchIndex=").append(matchIndex).append(", stopwatch=")
+                .append(", matchIndex=").append(matchIndex).append(", inFlightAppendEntriesCount=")
+                .append(inFlightLastIndexes.size()).append(", stopwatch=")
                 .append(stopwatch.elapsed(TimeUnit.MILLISECONDS))
                 .append(", followerTimeoutMillis=")
                 .append(context.getConfigParams().getElectionTimeOutInterval().toMillis()).append("]");
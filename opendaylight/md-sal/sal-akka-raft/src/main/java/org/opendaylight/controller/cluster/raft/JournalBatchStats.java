@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Snapshot;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains histograms of the size and latency of the log entry batches group-committed to the journal
+ * by a RaftActor.
+ */
+public class JournalBatchStats {
+    private final Histogram batchSizes = new Histogram(new ExponentiallyDecayingReservoir());
+    private final Histogram batchLatencies = new Histogram(new ExponentiallyDecayingReservoir());
+
+    /**
+     * Records a batch that was persisted.
+     *
+     * @param batchSize the number of log entries in the batch
+     * @param elapsedTimeInNanos the time from the persist request to completion of the last entry in the batch
+     */
+    void batchPersisted(int batchSize, long elapsedTimeInNanos) {
+        batchSizes.update(batchSize);
+        batchLatencies.update(TimeUnit.NANOSECONDS.toMicros(elapsedTimeInNanos));
+    }
+
+    /**
+     * Returns the number of batches persisted.
+     */
+    public long getBatchCount() {
+        return batchSizes.getCount();
+    }
+
+    /**
+     * Returns a snapshot of the number of log entries per batch.
+     */
+    public Snapshot getBatchSizeSnapshot() {
+        return batchSizes.getSnapshot();
+    }
+
+    /**
+     * Returns a snapshot of the batch persist latencies in microseconds.
+     */
+    public Snapshot getBatchLatencySnapshot() {
+        return batchLatencies.getSnapshot();
+    }
+}
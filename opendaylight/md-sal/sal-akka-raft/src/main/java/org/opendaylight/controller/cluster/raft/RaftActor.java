@@ -13,6 +13,7 @@ import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
 import akka.japi.Procedure;
 import akka.persistence.SnapshotSelectionCriteria;
+import com.codahale.metrics.Snapshot;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Objects;
 import com.google.common.base.Optional;
@@ -34,6 +35,7 @@ import org.opendaylight.controller.cluster.notifications.LeaderStateChanged;
 import org.opendaylight.controller.cluster.notifications.RoleChanged;
 import org.opendaylight.controller.cluster.raft.base.messages.ApplyJournalEntries;
 import org.opendaylight.controller.cluster.raft.base.messages.ApplyState;
+import org.opendaylight.controller.cluster.raft.base.messages.PersistJournalBatch;
 import org.opendaylight.controller.cluster.raft.base.messages.Replicate;
 import org.opendaylight.controller.cluster.raft.behaviors.AbstractLeader;
 import org.opendaylight.controller.cluster.raft.behaviors.DelegatingRaftActorBehavior;
@@ -110,8 +112,12 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
 
     private RaftActorRecoverySupport raftRecovery;
 
+    private RecoveryStats recoveryStats = RecoveryStats.EMPTY;
+
     private RaftActorSnapshotMessageSupport snapshotSupport;
 
+    private RaftActorLeadershipTransferSupport leadershipTransferSupport;
+
     private final BehaviorStateHolder reusableBehaviorStateHolder = new BehaviorStateHolder();
 
     public RaftActor(String id, Map<String, String> peerAddresses,
@@ -135,6 +141,7 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
         super.preStart();
 
         snapshotSupport = newRaftActorSnapshotMessageSupport();
+        leadershipTransferSupport = new RaftActorLeadershipTransferSupport(context, currentBehavior);
     }
 
     @Override
@@ -167,6 +174,8 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
                 deleteSnapshots(new SnapshotSelectionCriteria(scala.Long.MaxValue(), scala.Long.MaxValue()));
             }
 
+            recoveryStats = raftRecovery.getRecoveryStats();
+
             onRecoveryComplete();
 
             initializeBehavior();
@@ -225,8 +234,14 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
                 LOG.debug("{}: Persisting ApplyLogEntries with index={}", persistenceId(), applyEntries.getToIndex());
             }
 
+            // The applied entries must precede the ApplyJournalEntries in the journal.
+            replicatedLog().persistPendingEntries();
+
             persistence().persist(applyEntries, NoopProcedure.instance());
 
+        } else if (message instanceof PersistJournalBatch) {
+            replicatedLog().persistPendingEntries();
+
         } else if (message instanceof FindLeader) {
             getSender().tell(
                 new FindLeaderReply(getLeaderAddress()),
@@ -234,6 +249,8 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
             );
         } else if(message instanceof GetOnDemandRaftState) {
             onGetOnDemandRaftStats();
+        } else if(leadershipTransferSupport.handleMessage(message, getSender())) {
+            // Handled
         } else if(!snapshotSupport.handleSnapshotMessage(message)) {
             reusableBehaviorStateHolder.init(getCurrentBehavior());
 
@@ -266,8 +283,21 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
                 .snapshotIndex(replicatedLog().getSnapshotIndex())
                 .snapshotTerm(replicatedLog().getSnapshotTerm())
                 .votedFor(context.getTermInformation().getVotedFor())
+                .maxInFlightAppendEntries(context.getConfigParams().getMaxInFlightAppendEntries())
+                .recoveryStats(recoveryStats)
                 .peerAddresses(new HashMap<>(context.getPeerAddresses()));
 
+        JournalBatchStats journalBatchStats = context.getJournalBatchStats();
+        if(journalBatchStats.getBatchCount() > 0) {
+            Snapshot batchSizes = journalBatchStats.getBatchSizeSnapshot();
+            Snapshot batchLatencies = journalBatchStats.getBatchLatencySnapshot();
+            builder.journalBatchCount(journalBatchStats.getBatchCount())
+                    .journalBatchSizeMean(batchSizes.getMean())
+                    .journalBatchSizeMax(batchSizes.getMax())
+                    .journalBatchLatencyMeanInMicros(batchLatencies.getMean())
+                    .journalBatchLatency99thPercentileInMicros(batchLatencies.get99thPercentile());
+        }
+
         ReplicatedLogEntry lastLogEntry = getLastLogEntry();
         if (lastLogEntry != null) {
             builder.lastLogIndex(lastLogEntry.getIndex());
@@ -281,7 +311,8 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
             for(String id: followerIds) {
                 final FollowerLogInformation info = leader.getFollower(id);
                 followerInfoList.add(new FollowerInfo(id, info.getNextIndex(), info.getMatchIndex(),
-                        info.isFollowerActive(), DurationFormatUtils.formatDurationHMS(info.timeSinceLastActivity())));
+                        info.isFollowerActive(), DurationFormatUtils.formatDurationHMS(info.timeSinceLastActivity()),
+                        info.getInFlightAppendEntriesCount()));
             }
 
             builder.followerInfoList(followerInfoList);
@@ -310,6 +341,8 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
                         currentBehavior.getLeaderPayloadVersion()), getSelf());
             }
 
+            leadershipTransferSupport.onLeaderChanged(currentBehavior.getLeaderId());
+
             onLeaderChanged(oldBehaviorLeaderId, currentBehavior.getLeaderId());
         }
 
@@ -181,4 +181,9 @@ public interface RaftActorContext {
     void setTotalMemoryRetriever(Supplier<Long> retriever);
 
     short getPayloadVersion();
+
+    /**
+     * Returns the statistics for the log entry batches group-committed to the journal.
+     */
+    JournalBatchStats getJournalBatchStats();
 }
@@ -53,6 +53,8 @@ public class RaftActorContextImpl implements RaftActorContext {
 
     private short payloadVersion;
 
+    private final JournalBatchStats journalBatchStats = new JournalBatchStats();
+
     public RaftActorContextImpl(ActorRef actor, UntypedActorContext context, String id,
             ElectionTerm termInformation, long commitIndex, long lastApplied, Map<String, String> peerAddresses,
             ConfigParams configParams, DataPersistenceProvider persistenceProvider, Logger logger) {
@@ -202,4 +204,9 @@ public class RaftActorContextImpl implements RaftActorContext {
     public DataPersistenceProvider getPersistenceProvider() {
         return persistenceProvider;
     }
+
+    @Override
+    public JournalBatchStats getJournalBatchStats() {
+        return journalBatchStats;
+    }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+import akka.actor.ActorRef;
+import akka.actor.Cancellable;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.raft.base.messages.CheckLeadershipTransfer;
+import org.opendaylight.controller.cluster.raft.behaviors.AbstractLeader;
+import org.opendaylight.controller.cluster.raft.behaviors.DelegatingRaftActorBehavior;
+import org.opendaylight.controller.cluster.raft.behaviors.RaftActorBehavior;
+import org.opendaylight.controller.cluster.raft.client.messages.TransferLeadership;
+import org.opendaylight.controller.cluster.raft.client.messages.TransferLeadershipReply;
+import org.opendaylight.controller.cluster.raft.messages.TimeoutNow;
+import org.slf4j.Logger;
+
+/**
+ * Handles graceful leadership transfer for a RaftActor. On {@link TransferLeadership} the leader waits, checking
+ * every heartbeat interval, until the target follower's log matches its own and then sends it {@link TimeoutNow}
+ * so it starts an election which, having the most up to date log, it will win. Client requests are not paused
+ * meanwhile - if an entry sneaks in after TimeoutNow was sent the target may lose the election, in which case a
+ * regular election picks the next leader.
+ * <p>
+ * The transfer completes when a new leader is seen. It fails if it doesn't complete within twice the election
+ * timeout or if this actor isn't the leader when it is asked. Only one transfer is in progress at a time, with a
+ * single scheduled check, which is cancelled when the transfer finishes.
+ */
+class RaftActorLeadershipTransferSupport {
+    private final RaftActorContext context;
+    private final DelegatingRaftActorBehavior currentBehavior;
+    private final Logger log;
+
+    private PendingTransfer pending;
+    private Cancellable checkSchedule;
+
+    RaftActorLeadershipTransferSupport(RaftActorContext context, DelegatingRaftActorBehavior currentBehavior) {
+        this.context = context;
+        this.currentBehavior = currentBehavior;
+        this.log = context.getLogger();
+    }
+
+    boolean handleMessage(Object message, ActorRef sender) {
+        if(message instanceof TransferLeadership) {
+            onTransferLeadership(((TransferLeadership) message).getTargetId(), sender);
+            return true;
+        } else if(message instanceof CheckLeadershipTransfer) {
+            checkPendingTransfer();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Called by the RaftActor whenever the leader changes.
+     */
+    void onLeaderChanged(String newLeaderId) {
+        if(pending == null || newLeaderId == null || newLeaderId.equals(context.getId())) {
+            return;
+        }
+
+        boolean success = newLeaderId.equals(pending.targetId);
+        log.info("{}: Leadership transfer to {} {} - new leader is {}", context.getId(), pending.targetId,
+                success ? "succeeded" : "failed", newLeaderId);
+
+        finish(success, newLeaderId);
+    }
+
+    private void onTransferLeadership(String targetId, ActorRef sender) {
+        if(pending != null) {
+            log.debug("{}: Leadership transfer to {} already in progress - rejecting transfer to {}",
+                    context.getId(), pending.targetId, targetId);
+            reply(sender, false);
+            return;
+        }
+
+        if(targetId.equals(context.getId()) && isLeader()) {
+            reply(sender, true);
+            return;
+        }
+
+        if(!isLeader() || !context.getPeerAddresses().containsKey(targetId)) {
+            log.debug("{}: Cannot transfer leadership to {} - leader {}, peers {}", context.getId(), targetId,
+                    currentBehavior.getLeaderId(), context.getPeerAddresses().keySet());
+            reply(sender, false);
+            return;
+        }
+
+        log.info("{}: Transferring leadership to {}", context.getId(), targetId);
+
+        long timeout = context.getConfigParams().getElectionTimeOutInterval().toNanos() * 2;
+        pending = new PendingTransfer(targetId, sender, System.nanoTime() + timeout);
+
+        // A check scheduled for a previous transfer mustn't run alongside the checks for this one.
+        cancelCheckSchedule();
+        checkPendingTransfer();
+    }
+
+    private void checkPendingTransfer() {
+        if(pending == null) {
+            return;
+        }
+
+        if(System.nanoTime() - pending.deadline > 0) {
+            log.info("{}: Leadership transfer to {} timed out", context.getId(), pending.targetId);
+            finish(false, currentBehavior.getLeaderId());
+            return;
+        }
+
+        if(!pending.timeoutNowSent && isLeader()) {
+            FollowerLogInformation followerInfo = ((AbstractLeader) currentBehavior.getDelegate()).getFollower(
+                    pending.targetId);
+            long lastIndex = context.getReplicatedLog().lastIndex();
+            if(followerInfo != null && followerInfo.getMatchIndex() >= lastIndex) {
+                log.debug("{}: {} has caught up to index {} - sending TimeoutNow", context.getId(),
+                        pending.targetId, lastIndex);
+
+                context.getPeerActorSelection(pending.targetId).tell(
+                        new TimeoutNow(context.getTermInformation().getCurrentTerm()), context.getActor());
+                pending.timeoutNowSent = true;
+            }
+        }
+
+        cancelCheckSchedule();
+        checkSchedule = context.getActorSystem().scheduler().scheduleOnce(
+                context.getConfigParams().getHeartBeatInterval(), context.getActor(), CheckLeadershipTransfer.INSTANCE,
+                context.getActorSystem().dispatcher(), context.getActor());
+    }
+
+    private void cancelCheckSchedule() {
+        if(checkSchedule != null) {
+            checkSchedule.cancel();
+            checkSchedule = null;
+        }
+    }
+
+    private boolean isLeader() {
+        RaftActorBehavior behavior = currentBehavior.getDelegate();
+        return behavior != null && behavior.state() == RaftState.Leader;
+    }
+
+    private void finish(boolean success, String leaderId) {
+        long elapsed = System.nanoTime() - pending.startTime;
+        log.debug("{}: Leadership transfer to {} finished in {} ms", context.getId(), pending.targetId,
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+
+        cancelCheckSchedule();
+
+        ActorRef replyTo = pending.replyTo;
+        pending = null;
+        replyTo.tell(new TransferLeadershipReply(success, leaderId), context.getActor());
+    }
+
+    private void reply(ActorRef sender, boolean success) {
+        sender.tell(new TransferLeadershipReply(success, currentBehavior.getLeaderId()), context.getActor());
+    }
+
+    private static class PendingTransfer {
+        final String targetId;
+        final ActorRef replyTo;
+        final long deadline;
+        final long startTime = System.nanoTime();
+        boolean timeoutNowSent;
+
+        PendingTransfer(String targetId, ActorRef replyTo, long deadline) {
+            this.targetId = targetId;
+            this.replyTo = replyTo;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.raft;
 import akka.persistence.RecoveryCompleted;
 import akka.persistence.SnapshotOffer;
 import com.google.common.base.Stopwatch;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.raft.base.messages.ApplyJournalEntries;
 import org.opendaylight.controller.cluster.raft.base.messages.ApplyLogEntries;
 import org.opendaylight.controller.cluster.raft.base.messages.DeleteEntries;
@@ -28,6 +29,9 @@ class RaftActorRecoverySupport {
     private final RaftActorRecoveryCohort cohort;
 
     private int currentRecoveryBatchCount;
+    private long recoveredLogEntryCount;
+    private long recoveredLogEntryBytes;
+    private RecoveryStats recoveryStats = RecoveryStats.EMPTY;
 
     private Stopwatch recoveryTimer;
     private final Logger log;
@@ -120,6 +124,14 @@ class RaftActorRecoverySupport {
                     logEntry.getIndex(), logEntry.size());
         }
 
+        if(logEntry.getIndex() <= replicatedLog().lastIndex()) {
+            // With journal group commit, entries that were pending when a snapshot was saved are contained
+            // in the snapshot's unapplied entries and are also persisted after it in the journal.
+            log.debug("{}: Ignoring recovered log entry with index {} - already present in the log",
+                    context.getId(), logEntry.getIndex());
+            return;
+        }
+
         replicatedLog().append(logEntry);
     }
 
@@ -159,6 +171,8 @@ class RaftActorRecoverySupport {
         }
 
         cohort.appendRecoveredLogEntry(logEntry.getData());
+        recoveredLogEntryCount++;
+        recoveredLogEntryBytes += logEntry.size();
 
         if(++currentRecoveryBatchCount >= batchSize) {
             endCurrentLogRecoveryBatch();
@@ -179,7 +193,11 @@ class RaftActorRecoverySupport {
         if(recoveryTimer != null) {
             recoveryTimer.stop();
             recoveryTime = " in " + recoveryTimer.toString();
+            recoveryStats = new RecoveryStats(recoveredLogEntryCount, recoveredLogEntryBytes,
+                    recoveryTimer.elapsed(TimeUnit.MILLISECONDS));
             recoveryTimer = null;
+
+            log.info("{}: Recovered {}", context.getId(), recoveryStats);
         }
 
         log.info("Recovery completed" + recoveryTime + " - Switching actor to Follower - " +
@@ -188,4 +206,8 @@ class RaftActorRecoverySupport {
                  "journal-size = {}", replicatedLog().lastIndex(), replicatedLog().getSnapshotIndex(),
                  replicatedLog().getSnapshotTerm(), replicatedLog().size());
     }
+
+    RecoveryStats getRecoveryStats() {
+        return recoveryStats;
+    }
 }
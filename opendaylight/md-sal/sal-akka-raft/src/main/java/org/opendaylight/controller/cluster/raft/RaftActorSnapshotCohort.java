@@ -8,6 +8,8 @@
 package org.opendaylight.controller.cluster.raft;
 
 import akka.actor.ActorRef;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Interface for a class that participates in raft actor snapshotting.
@@ -25,9 +27,11 @@ public interface RaftActorSnapshotCohort {
     void createSnapshot(ActorRef actorRef);
 
     /**
-     * This method is called to apply a snapshot installed by the leader.
+     * This method is called to apply a snapshot installed by the leader. The state is streamed as it may be
+     * too large to be held in memory as a whole.
      *
-     * @param snapshotBytes a snapshot of the state of the actor
+     * @param snapshotState a stream of the snapshot of the state of the actor
+     * @throws IOException if the snapshot could not be read
      */
-    void applySnapshot(byte[] snapshotBytes);
+    void applySnapshot(InputStream snapshotState) throws IOException;
 }
@@ -10,6 +10,8 @@ package org.opendaylight.controller.cluster.raft;
 import akka.japi.Procedure;
 import akka.persistence.SaveSnapshotFailure;
 import akka.persistence.SaveSnapshotSuccess;
+import java.io.IOException;
+import java.io.InputStream;
 import org.opendaylight.controller.cluster.raft.base.messages.ApplySnapshot;
 import org.opendaylight.controller.cluster.raft.base.messages.CaptureSnapshotReply;
 import org.opendaylight.controller.cluster.raft.behaviors.RaftActorBehavior;
@@ -35,9 +37,9 @@ class RaftActorSnapshotMessageSupport {
         }
     };
 
-    private final Procedure<byte[]> applySnapshotProcedure = new Procedure<byte[]>() {
+    private final Procedure<InputStream> applySnapshotProcedure = new Procedure<InputStream>() {
         @Override
-        public void apply(byte[] state) {
+        public void apply(InputStream state) throws IOException {
             cohort.applySnapshot(state);
         }
     };
@@ -55,7 +57,7 @@ class RaftActorSnapshotMessageSupport {
 
     boolean handleSnapshotMessage(Object message) {
         if(message instanceof ApplySnapshot ) {
-            onApplySnapshot(((ApplySnapshot) message).getSnapshot());
+            onApplySnapshot((ApplySnapshot) message);
             return true;
         } else if (message instanceof SaveSnapshotSuccess) {
             onSaveSnapshotSuccess((SaveSnapshotSuccess) message);
@@ -95,10 +97,15 @@ class RaftActorSnapshotMessageSupport {
         context.getSnapshotManager().commit(sequenceNumber, currentBehavior);
     }
 
-    private void onApplySnapshot(Snapshot snapshot) {
+    private void onApplySnapshot(ApplySnapshot applySnapshot) {
+        Snapshot snapshot = applySnapshot.getSnapshot();
         log.info("{}: Applying snapshot on follower with snapshotIndex: {}, snapshotTerm: {}", context.getId(),
                 snapshot.getLastAppliedIndex(), snapshot.getLastAppliedTerm());
 
-        context.getSnapshotManager().apply(snapshot);
+        if(applySnapshot.getStateFile() != null) {
+            context.getSnapshotManager().apply(snapshot, applySnapshot.getStateFile(), currentBehavior);
+        } else {
+            context.getSnapshotManager().apply(snapshot);
+        }
     }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+/**
+ * Statistics of the journal log entries applied to the actor's state during persistence recovery.
+ */
+public final class RecoveryStats {
+    public static final RecoveryStats EMPTY = new RecoveryStats(0, 0, 0);
+
+    private final long logEntryCount;
+    private final long logEntryBytes;
+    private final long recoveryTimeInMillis;
+
+    RecoveryStats(long logEntryCount, long logEntryBytes, long recoveryTimeInMillis) {
+        this.logEntryCount = logEntryCount;
+        this.logEntryBytes = logEntryBytes;
+        this.recoveryTimeInMillis = recoveryTimeInMillis;
+    }
+
+    public long getLogEntryCount() {
+        return logEntryCount;
+    }
+
+    public long getLogEntryBytes() {
+        return logEntryBytes;
+    }
+
+    public long getRecoveryTimeInMillis() {
+        return recoveryTimeInMillis;
+    }
+
+    public double getLogEntriesPerSecond() {
+        return perSecond(logEntryCount);
+    }
+
+    public double getBytesPerSecond() {
+        return perSecond(logEntryBytes);
+    }
+
+    private double perSecond(long value) {
+        // Guard against a recovery too quick to measure.
+        return value * 1000.0 / Math.max(recoveryTimeInMillis, 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d log entries (%d bytes) in %d ms, %.1f entries/sec, %.1f bytes/sec", logEntryCount,
+                logEntryBytes, recoveryTimeInMillis, getLogEntriesPerSecond(), getBytesPerSecond());
+    }
+}
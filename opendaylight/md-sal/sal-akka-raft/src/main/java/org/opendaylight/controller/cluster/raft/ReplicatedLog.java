@@ -189,4 +189,11 @@ public interface ReplicatedLog {
      */
     void captureSnapshotIfReady(ReplicatedLogEntry replicatedLogEntry);
 
+    /**
+     * Persists the log entries appended via appendAndPersist that are still waiting to be group-committed
+     * to the journal. This must be called before persisting anything else to the journal that must be
+     * ordered after those entries.
+     */
+    void persistPendingEntries();
+
 }
@@ -8,10 +8,14 @@
 package org.opendaylight.controller.cluster.raft;
 
 import akka.japi.Procedure;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.raft.base.messages.DeleteEntries;
+import org.opendaylight.controller.cluster.raft.base.messages.PersistJournalBatch;
 import org.opendaylight.controller.cluster.raft.behaviors.RaftActorBehavior;
+import scala.concurrent.duration.FiniteDuration;
 
 /**
  * Implementation of ReplicatedLog used by the RaftActor.
@@ -23,6 +27,10 @@ class ReplicatedLogImpl extends AbstractReplicatedLogImpl {
     private final RaftActorContext context;
     private final RaftActorBehavior currentBehavior;
 
+    // Entries appended but not yet persisted when group commit is enabled.
+    private final List<PendingEntry> pendingEntries = new ArrayList<>();
+    private boolean persistBatchScheduled;
+
     private final Procedure<DeleteEntries> deleteProcedure = new Procedure<DeleteEntries>() {
         @Override
         public void apply(DeleteEntries notUsed) {
@@ -49,6 +57,9 @@ class ReplicatedLogImpl extends AbstractReplicatedLogImpl {
 
     @Override
     public void removeFromAndPersist(long logEntryIndex) {
+        // The DeleteEntries must follow any pending entries in the journal.
+        persistPendingEntries();
+
         // FIXME: Maybe this should be done after the command is saved
         long adjustedIndex = removeFrom(logEntryIndex);
         if(adjustedIndex >= 0) {
@@ -110,6 +121,77 @@ class ReplicatedLogImpl extends AbstractReplicatedLogImpl {
         // FIXME : By adding the replicated log entry to the in-memory journal we are not truly ensuring durability of the logs
         append(replicatedLogEntry);
 
+        if(isGroupCommitEnabled()) {
+            pendingEntries.add(new PendingEntry(replicatedLogEntry, callback));
+            if(pendingEntries.size() >= context.getConfigParams().getJournalPersistBatchSize()) {
+                persistPendingEntries();
+            } else {
+                schedulePersistBatch();
+            }
+        } else {
+            persist(replicatedLogEntry, callback, 1, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void persistPendingEntries() {
+        persistBatchScheduled = false;
+        if(pendingEntries.isEmpty()) {
+            return;
+        }
+
+        final int batchSize = pendingEntries.size();
+        if(context.getLogger().isDebugEnabled()) {
+            context.getLogger().debug("{}: Persisting batch of {} log entries", context.getId(), batchSize);
+        }
+
+        // All the events persisted while the actor is processing a single message are written to the
+        // journal by akka-persistence in one batch, which is what makes this a group commit. The callbacks
+        // are invoked in order once the write completes.
+        long startTime = System.nanoTime();
+        for(int i = 0; i < batchSize; i++) {
+            PendingEntry pending = pendingEntries.get(i);
+            persist(pending.entry, pending.callback, i == batchSize - 1 ? batchSize : 0, startTime);
+        }
+
+        pendingEntries.clear();
+    }
+
+    private boolean isGroupCommitEnabled() {
+        // Batching only helps if the entries are written to durable storage.
+        return context.getConfigParams().getJournalPersistBatchSize() > 1 &&
+                context.getPersistenceProvider().isRecoveryApplicable();
+    }
+
+    private void schedulePersistBatch() {
+        if(persistBatchScheduled) {
+            return;
+        }
+
+        persistBatchScheduled = true;
+
+        long window = context.getConfigParams().getJournalPersistBatchWindowInMillis();
+        if(window > 0) {
+            context.getActorSystem().scheduler().scheduleOnce(new FiniteDuration(window, TimeUnit.MILLISECONDS),
+                    context.getActor(), PersistJournalBatch.INSTANCE, context.getActorSystem().dispatcher(),
+                    context.getActor());
+        } else {
+            // Entries appended while processing the messages already queued to the actor will be
+            // included in the batch.
+            context.getActor().tell(PersistJournalBatch.INSTANCE, context.getActor());
+        }
+    }
+
+    /**
+     * Persists a log entry.
+     *
+     * @param batchSize if non-zero, the entry is the last of a batch of this size and the batch statistics
+     *                  are updated when the persist completes
+     * @param batchStartTime the time the batch persist was requested
+     */
+    private void persist(final ReplicatedLogEntry replicatedLogEntry,
+            final Procedure<ReplicatedLogEntry> callback, final int batchSize, final long batchStartTime) {
+
         // When persisting events with persist it is guaranteed that the
         // persistent actor will not receive further commands between the
         // persist call and the execution(s) of the associated event
@@ -124,6 +206,10 @@ class ReplicatedLogImpl extends AbstractReplicatedLogImpl {
                     int logEntrySize = replicatedLogEntry.size();
                     dataSizeSinceLastSnapshot += logEntrySize;
 
+                    if(batchSize > 0) {
+                        context.getJournalBatchStats().batchPersisted(batchSize, System.nanoTime() - batchStartTime);
+                    }
+
                     if (callback != null){
                         callback.apply(replicatedLogEntry);
                     }
@@ -131,4 +217,14 @@ class ReplicatedLogImpl extends AbstractReplicatedLogImpl {
             }
         );
     }
-}
\ No newline at end of file
+
+    private static class PendingEntry {
+        final ReplicatedLogEntry entry;
+        final Procedure<ReplicatedLogEntry> callback;
+
+        PendingEntry(ReplicatedLogEntry entry, Procedure<ReplicatedLogEntry> callback) {
+            this.entry = entry;
+            this.callback = callback;
+        }
+    }
+}
@@ -11,6 +11,11 @@ package org.opendaylight.controller.cluster.raft;
 import akka.japi.Procedure;
 import akka.persistence.SnapshotSelectionCriteria;
 import com.google.common.annotations.VisibleForTesting;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
 import java.util.List;
 import org.opendaylight.controller.cluster.raft.base.messages.CaptureSnapshot;
 import org.opendaylight.controller.cluster.raft.base.messages.SendInstallSnapshot;
@@ -38,7 +43,7 @@ public class SnapshotManager implements SnapshotState {
     private Procedure<Void> createSnapshotProcedure;
 
     private Snapshot applySnapshot;
-    private Procedure<byte[]> applySnapshotProcedure;
+    private Procedure<InputStream> applySnapshotProcedure;
 
     public SnapshotManager(RaftActorContext context, Logger logger) {
         this.context = context;
@@ -65,6 +70,11 @@ public class SnapshotManager implements SnapshotState {
         currentState.apply(snapshot);
     }
 
+    @Override
+    public void apply(Snapshot snapshot, File stateFile, RaftActorBehavior currentBehavior) {
+        currentState.apply(snapshot, stateFile, currentBehavior);
+    }
+
     @Override
     public void persist(byte[] snapshotBytes, RaftActorBehavior currentBehavior, long totalMemory) {
         currentState.persist(snapshotBytes, currentBehavior, totalMemory);
@@ -89,7 +99,7 @@ public class SnapshotManager implements SnapshotState {
         this.createSnapshotProcedure = createSnapshotProcedure;
     }
 
-    public void setApplySnapshotProcedure(Procedure<byte[]> applySnapshotProcedure) {
+    public void setApplySnapshotProcedure(Procedure<InputStream> applySnapshotProcedure) {
         this.applySnapshotProcedure = applySnapshotProcedure;
     }
 
@@ -110,6 +120,12 @@ public class SnapshotManager implements SnapshotState {
         return context.getId();
     }
 
+    private void deleteStateFile(File stateFile) {
+        if(stateFile.exists() && !stateFile.delete()) {
+            LOG.warn("{}: Failed to delete snapshot file {}", persistenceId(), stateFile);
+        }
+    }
+
     private class AbstractSnapshotState implements SnapshotState {
 
         @Override
@@ -134,6 +150,12 @@ public class SnapshotManager implements SnapshotState {
             LOG.debug("apply should not be called in state {}", this);
         }
 
+        @Override
+        public void apply(Snapshot snapshot, File stateFile, RaftActorBehavior currentBehavior) {
+            LOG.debug("apply should not be called in state {}", this);
+            deleteStateFile(stateFile);
+        }
+
         @Override
         public void persist(byte[] snapshotBytes, RaftActorBehavior currentBehavior, long totalMemory) {
             LOG.debug("persist should not be called in state {}", this);
@@ -257,6 +279,27 @@ public class SnapshotManager implements SnapshotState {
             SnapshotManager.this.currentState = PERSISTING;
         }
 
+        @Override
+        public void apply(Snapshot snapshot, File stateFile, RaftActorBehavior currentBehavior) {
+            // Unlike the in-memory state the streamed state can't be persisted before it is applied, so it is
+            // applied first and then captured back from the actor like any other snapshot.
+            try (InputStream in = new BufferedInputStream(new FileInputStream(stateFile))) {
+                applySnapshotProcedure.apply(in);
+
+                //clears the followers log, sets the snapshot index to ensure adjusted-index works
+                context.setReplicatedLog(ReplicatedLogImpl.newInstance(snapshot, context, currentBehavior));
+                context.setLastApplied(snapshot.getLastAppliedIndex());
+                context.setCommitIndex(snapshot.getLastAppliedIndex());
+            } catch (Exception e) {
+                LOG.error("{}: Error applying snapshot from {}", persistenceId(), stateFile, e);
+                return;
+            } finally {
+                deleteStateFile(stateFile);
+            }
+
+            capture(new ReplicatedLogImplEntry(snapshot.getLastIndex(), snapshot.getLastTerm(), null), -1);
+        }
+
         @Override
         public String toString() {
             return "Idle";
@@ -355,7 +398,7 @@ public class SnapshotManager implements SnapshotState {
 
             if(applySnapshot != null) {
                 try {
-                    applySnapshotProcedure.apply(applySnapshot.getState());
+                    applySnapshotProcedure.apply(new ByteArrayInputStream(applySnapshot.getState()));
 
                     //clears the followers log, sets the snapshot index to ensure adjusted-index works
                     context.setReplicatedLog(ReplicatedLogImpl.newInstance(applySnapshot, context, currentBehavior));
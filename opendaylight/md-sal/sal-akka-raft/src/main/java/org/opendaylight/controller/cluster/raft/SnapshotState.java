@@ -8,6 +8,7 @@
 
 package org.opendaylight.controller.cluster.raft;
 
+import java.io.File;
 import org.opendaylight.controller.cluster.raft.behaviors.RaftActorBehavior;
 
 public interface SnapshotState {
@@ -45,6 +46,16 @@ public interface SnapshotState {
      */
     void apply(Snapshot snapshot);
 
+    /**
+     * Applies a snapshot on a follower that was installed by the leader, streaming its state from a file.
+     * The state is applied first and then captured as a local snapshot to persist it. The file is deleted.
+     *
+     * @param snapshot the Snapshot metadata.
+     * @param stateFile the file holding the snapshot state.
+     * @param currentBehavior
+     */
+    void apply(Snapshot snapshot, File stateFile, RaftActorBehavior currentBehavior);
+
     /**
      * Persist the snapshot
      *
@@ -8,9 +8,10 @@
 
 package org.opendaylight.controller.cluster.raft.base.messages;
 
-import org.opendaylight.controller.cluster.raft.Snapshot;
-
+import java.io.File;
 import java.io.Serializable;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.raft.Snapshot;
 
 /**
  * Internal message, issued by follower to its actor
@@ -18,12 +19,27 @@ import java.io.Serializable;
 public class ApplySnapshot implements Serializable {
     private static final long serialVersionUID = 1L;
     private final Snapshot snapshot;
+    private final File stateFile;
 
     public ApplySnapshot(Snapshot snapshot) {
+        this(snapshot, null);
+    }
+
+    /**
+     * @param snapshot the snapshot metadata, its state is ignored
+     * @param stateFile the file holding the snapshot state, deleted once it has been applied
+     */
+    public ApplySnapshot(Snapshot snapshot, File stateFile) {
         this.snapshot = snapshot;
+        this.stateFile = stateFile;
     }
 
     public Snapshot getSnapshot() {
         return snapshot;
     }
+
+    @Nullable
+    public File getStateFile() {
+        return stateFile;
+    }
 }
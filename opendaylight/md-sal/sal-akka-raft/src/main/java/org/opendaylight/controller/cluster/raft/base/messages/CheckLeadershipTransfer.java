@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.base.messages;
+
+/**
+ * Message sent periodically by a RaftActor to itself while it is handing over leadership, to check whether the
+ * target has caught up or the transfer has timed out.
+ */
+public final class CheckLeadershipTransfer {
+    public static final CheckLeadershipTransfer INSTANCE = new CheckLeadershipTransfer();
+
+    private CheckLeadershipTransfer() {
+    }
+}
@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.base.messages;
+
+/**
+ * Internal message sent by the RaftActor to itself to persist the log entries that are waiting
+ * to be group-committed to the journal.
+ */
+public final class PersistJournalBatch {
+    public static final PersistJournalBatch INSTANCE = new PersistJournalBatch();
+
+    private PersistJournalBatch() {
+    }
+}
@@ -16,8 +16,12 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
+import com.google.common.io.Files;
+import com.google.common.primitives.Ints;
 import com.google.protobuf.ByteString;
+import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -143,10 +147,26 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
 
     @VisibleForTesting
     void setSnapshot(@Nullable Snapshot snapshot) {
+        closeSnapshot();
+
         if(snapshot != null) {
-            this.snapshot = Optional.of(new SnapshotHolder(snapshot));
-        } else {
-            this.snapshot = Optional.absent();
+            try {
+                this.snapshot = Optional.of(new SnapshotHolder(snapshot));
+            } catch (IOException e) {
+                LOG.error("{}: Failed to store snapshot to install", logName(), e);
+            }
+        }
+    }
+
+    @VisibleForTesting
+    Optional<SnapshotHolder> getSnapshot() {
+        return snapshot;
+    }
+
+    private void closeSnapshot() {
+        if(snapshot.isPresent()) {
+            snapshot.get().close();
+            snapshot = Optional.absent();
         }
     }
 
@@ -187,6 +207,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
 
         followerLogInformation.markFollowerActive();
         followerLogInformation.setPayloadVersion(appendEntriesReply.getPayloadVersion());
+        followerLogInformation.appendEntriesReplyReceived(appendEntriesReply.getLogLastIndex());
 
         boolean updated = false;
         if (appendEntriesReply.isSuccess()) {
@@ -194,6 +215,10 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         } else {
             LOG.debug("{}: handleAppendEntriesReply: received unsuccessful reply: {}", logName(), appendEntriesReply);
 
+            // Any pipelined AppendEntries still in flight were sent on the assumption that this one would
+            // succeed so discard them - the next send resumes from the follower's nextIndex set below.
+            followerLogInformation.resetInFlightAppendEntries();
+
             long followerLastLogIndex = appendEntriesReply.getLogLastIndex();
             ReplicatedLogEntry followersLastLogEntry = context.getReplicatedLog().get(followerLastLogIndex);
             if(followerLastLogIndex < 0 || (followersLastLogEntry != null &&
@@ -484,8 +509,14 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
 
         ActorSelection followerActor = context.getPeerActorSelection(followerId);
         if (followerActor != null) {
-            long followerNextIndex = followerLogInformation.getNextIndex();
             boolean isFollowerActive = followerLogInformation.isFollowerActive();
+            if (!isFollowerActive) {
+                // Replies to pipelined AppendEntries may have been lost so start over from the
+                // last acknowledged index.
+                followerLogInformation.resetInFlightAppendEntries();
+            }
+
+            long followerNextIndex = followerLogInformation.getNextSendIndex();
             boolean sendAppendEntries = false;
             List<ReplicatedLogEntry> entries = Collections.emptyList();
 
@@ -546,13 +577,13 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
 
             if(sendAppendEntries) {
                 sendAppendEntriesToFollower(followerActor, followerNextIndex,
-                        entries, followerId);
+                        entries, followerId, followerLogInformation);
             }
         }
     }
 
     private void sendAppendEntriesToFollower(ActorSelection followerActor, long followerNextIndex,
-        List<ReplicatedLogEntry> entries, String followerId) {
+        List<ReplicatedLogEntry> entries, String followerId, FollowerLogInformation followerLogInformation) {
         AppendEntries appendEntries = new AppendEntries(currentTerm(), context.getId(),
             prevLogIndex(followerNextIndex),
             prevLogTerm(followerNextIndex), entries,
@@ -564,6 +595,8 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         }
 
         followerActor.tell(appendEntries.toSerializable(), actor());
+
+        followerLogInformation.appendEntriesSent(entries.isEmpty() ? -1 : entries.get(entries.size() - 1).getIndex());
     }
 
     /**
@@ -623,7 +656,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
     private void sendSnapshotChunk(ActorSelection followerActor, String followerId) {
         try {
             if (snapshot.isPresent()) {
-                ByteString nextSnapshotChunk = getNextSnapshotChunk(followerId, snapshot.get().getSnapshotBytes());
+                ByteString nextSnapshotChunk = getNextSnapshotChunk(followerId, snapshot.get());
 
                 // Note: the previous call to getNextSnapshotChunk has the side-effect of adding
                 // followerId to the followerToSnapshot map.
@@ -653,13 +686,13 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
     }
 
     /**
-     * Acccepts snaphot as ByteString, enters into map for future chunks
+     * Acccepts the stored snapshot, enters into map for future chunks
      * creates and return a ByteString chunk
      */
-    private ByteString getNextSnapshotChunk(String followerId, ByteString snapshotBytes) throws IOException {
+    private ByteString getNextSnapshotChunk(String followerId, SnapshotHolder snapshotHolder) throws IOException {
         FollowerToSnapshot followerToSnapshot = mapFollowerToSnapshot.get(followerId);
         if (followerToSnapshot == null) {
-            followerToSnapshot = new FollowerToSnapshot(snapshotBytes);
+            followerToSnapshot = new FollowerToSnapshot(snapshotHolder);
             mapFollowerToSnapshot.put(followerId, followerToSnapshot);
         }
         ByteString nextChunk = followerToSnapshot.getNextChunk();
@@ -704,6 +737,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
     @Override
     public void close() throws Exception {
         stopHeartBeat();
+        closeSnapshot();
     }
 
     @Override
@@ -725,14 +759,16 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
     }
 
     /**
-     * Encapsulates the snapshot bytestring and handles the logic of sending
+     * Encapsulates the stored snapshot and handles the logic of sending
      * snapshot chunks
      */
     protected class FollowerToSnapshot {
-        private final ByteString snapshotBytes;
-        private int offset = 0;
+        // The chunks are read from the stored snapshot as they're sent, so only one chunk per follower
+        // is on the heap.
+        private final SnapshotHolder snapshotHolder;
+        private long offset = 0;
         // the next snapshot chunk is sent only if the replyReceivedForOffset matches offset
-        private int replyReceivedForOffset;
+        private long replyReceivedForOffset;
         // if replyStatus is false, the previous chunk is attempted
         private boolean replyStatus = false;
         private int chunkIndex;
@@ -740,11 +776,11 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         private int lastChunkHashCode = AbstractLeader.INITIAL_LAST_CHUNK_HASH_CODE;
         private int nextChunkHashCode = AbstractLeader.INITIAL_LAST_CHUNK_HASH_CODE;
 
-        public FollowerToSnapshot(ByteString snapshotBytes) {
-            this.snapshotBytes = snapshotBytes;
-            int size = snapshotBytes.size();
-            totalChunks = ( size / context.getConfigParams().getSnapshotChunkSize()) +
-                ((size % context.getConfigParams().getSnapshotChunkSize()) > 0 ? 1 : 0);
+        public FollowerToSnapshot(SnapshotHolder snapshotHolder) {
+            this.snapshotHolder = snapshotHolder;
+            long size = snapshotHolder.getSnapshotSize();
+            int chunkSize = context.getConfigParams().getSnapshotChunkSize();
+            totalChunks = Ints.checkedCast(size / chunkSize + (size % chunkSize > 0 ? 1 : 0));
             if(LOG.isDebugEnabled()) {
                 LOG.debug("{}: Snapshot {} bytes, total chunks to send:{}",
                         logName(), size, totalChunks);
@@ -753,11 +789,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
             chunkIndex = AbstractLeader.FIRST_CHUNK_INDEX;
         }
 
-        public ByteString getSnapshotBytes() {
-            return snapshotBytes;
-        }
-
-        public int incrementOffset() {
+        public long incrementOffset() {
             if(replyStatus) {
                 // if prev chunk failed, we would want to sent the same chunk again
                 offset = offset + context.getConfigParams().getSnapshotChunkSize();
@@ -803,23 +835,15 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
             }
         }
 
-        public ByteString getNextChunk() {
-            int snapshotLength = getSnapshotBytes().size();
-            int start = incrementOffset();
-            int size = context.getConfigParams().getSnapshotChunkSize();
-            if (context.getConfigParams().getSnapshotChunkSize() > snapshotLength) {
-                size = snapshotLength;
-            } else {
-                if ((start + context.getConfigParams().getSnapshotChunkSize()) > snapshotLength) {
-                    size = snapshotLength - start;
-                }
-            }
-
+        public ByteString getNextChunk() throws IOException {
+            long snapshotLength = snapshotHolder.getSnapshotSize();
+            long start = incrementOffset();
+            int size = (int) Math.min(context.getConfigParams().getSnapshotChunkSize(), snapshotLength - start);
 
             LOG.debug("{}: Next chunk: length={}, offset={},size={}", logName(),
                     snapshotLength, start, size);
 
-            ByteString substring = getSnapshotBytes().substring(start, start + size);
+            ByteString substring = snapshotHolder.readChunk(start, size);
             nextChunkHashCode = substring.hashCode();
             return substring;
         }
@@ -877,15 +901,32 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         return followerToLog.size();
     }
 
-    private static class SnapshotHolder {
+    /**
+     * Holds the snapshot being installed. The state is written to a file once, from which the chunks are read
+     * for each follower, so the state doesn't stay on the heap for the duration of the install.
+     */
+    protected class SnapshotHolder implements AutoCloseable {
         private final long lastIncludedTerm;
         private final long lastIncludedIndex;
-        private final ByteString snapshotBytes;
+        private final File file;
+        private final RandomAccessFile raf;
+        private final long snapshotSize;
 
-        SnapshotHolder(Snapshot snapshot) {
+        SnapshotHolder(Snapshot snapshot) throws IOException {
             this.lastIncludedTerm = snapshot.getLastAppliedTerm();
             this.lastIncludedIndex = snapshot.getLastAppliedIndex();
-            this.snapshotBytes = ByteString.copyFrom(snapshot.getState());
+
+            byte[] state = snapshot.getState();
+            this.file = createSnapshotInstallFile("snapshot-send");
+            try {
+                Files.write(state, file);
+                this.raf = new RandomAccessFile(file, "r");
+            } catch (IOException e) {
+                deleteFile();
+                throw e;
+            }
+
+            this.snapshotSize = state.length;
         }
 
         long getLastIncludedTerm() {
@@ -896,8 +937,32 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
             return lastIncludedIndex;
         }
 
-        ByteString getSnapshotBytes() {
-            return snapshotBytes;
+        long getSnapshotSize() {
+            return snapshotSize;
+        }
+
+        ByteString readChunk(long offset, int size) throws IOException {
+            byte[] chunk = new byte[size];
+            raf.seek(offset);
+            raf.readFully(chunk);
+            return ByteString.copyFrom(chunk);
+        }
+
+        @Override
+        public void close() {
+            try {
+                raf.close();
+            } catch (IOException e) {
+                LOG.debug("{}: Error closing snapshot file {}", logName(), file, e);
+            }
+
+            deleteFile();
+        }
+
+        private void deleteFile() {
+            if(file.exists() && !file.delete()) {
+                LOG.warn("{}: Failed to delete snapshot file {}", logName(), file);
+            }
         }
     }
 }
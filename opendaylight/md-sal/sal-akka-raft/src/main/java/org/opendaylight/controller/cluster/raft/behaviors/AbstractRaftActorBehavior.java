@@ -9,7 +9,11 @@
 package org.opendaylight.controller.cluster.raft.behaviors;
 
 import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
 import akka.actor.Cancellable;
+import com.typesafe.config.Config;
+import java.io.File;
+import java.io.IOException;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.raft.ClientRequestTracker;
@@ -41,6 +45,8 @@ public abstract class AbstractRaftActorBehavior implements RaftActorBehavior {
 
     protected static final ElectionTimeout ELECTION_TIMEOUT = new ElectionTimeout();
 
+    private static final String SNAPSHOT_STORE_DIR_PATH = "akka.persistence.snapshot-store.local.dir";
+
     /**
      * Information about the RaftActor whose behavior this class represents
      */
@@ -484,4 +490,22 @@ public abstract class AbstractRaftActorBehavior implements RaftActorBehavior {
         return context.getId();
     }
 
+    /**
+     * Creates a file in which the state of a snapshot being installed is spooled. The files are kept in
+     * the local snapshot store directory rather than the JVM temp dir as they can be as large as the snapshot.
+     */
+    protected File createSnapshotInstallFile(String prefix) throws IOException {
+        ActorSystem system = context.getActorSystem();
+        Config config = system != null ? system.settings().config() : null;
+        String snapshotDir = config != null && config.hasPath(SNAPSHOT_STORE_DIR_PATH) ?
+                config.getString(SNAPSHOT_STORE_DIR_PATH) : "snapshots";
+
+        File directory = new File(snapshotDir, "install");
+        if(!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            throw new IOException("Failed to create snapshot install directory " + directory);
+        }
+
+        return File.createTempFile(prefix, null, directory);
+    }
+
 }
@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.raft.behaviors;
 
 import akka.actor.ActorRef;
 import com.google.common.annotations.VisibleForTesting;
+import java.io.File;
 import java.util.ArrayList;
 import org.opendaylight.controller.cluster.raft.RaftActorContext;
 import org.opendaylight.controller.cluster.raft.RaftState;
@@ -24,6 +25,7 @@ import org.opendaylight.controller.cluster.raft.messages.InstallSnapshot;
 import org.opendaylight.controller.cluster.raft.messages.InstallSnapshotReply;
 import org.opendaylight.controller.cluster.raft.messages.RaftRPC;
 import org.opendaylight.controller.cluster.raft.messages.RequestVoteReply;
+import org.opendaylight.controller.cluster.raft.messages.TimeoutNow;
 
 /**
  * The behavior of a RaftActor in the Follower state
@@ -300,6 +302,17 @@ public class Follower extends AbstractRaftActorBehavior {
             LOG.debug("{}: Received ElectionTimeout - switching to Candidate", logName());
             return switchBehavior(new Candidate(context));
 
+        } else if (message instanceof TimeoutNow) {
+            // The leader is handing over leadership to us - start the election without waiting for the timeout.
+            long term = ((TimeoutNow) message).getTerm();
+            if (term == context.getTermInformation().getCurrentTerm()) {
+                LOG.debug("{}: Received TimeoutNow from leader {} - switching to Candidate", logName(), leaderId);
+                return switchBehavior(new Candidate(context));
+            }
+
+            LOG.debug("{}: Ignoring TimeoutNow for term {} - current term is {}", logName(), term,
+                    context.getTermInformation().getCurrentTerm());
+
         } else if (message instanceof InstallSnapshot) {
             InstallSnapshot installSnapshot = (InstallSnapshot) message;
             handleInstallSnapshot(sender, installSnapshot);
@@ -316,26 +329,33 @@ public class Follower extends AbstractRaftActorBehavior {
                     logName(), installSnapshot.getLeaderId(), installSnapshot.getData().size(),
                     installSnapshot.getChunkIndex(), installSnapshot.getTotalChunks());
 
-        if(snapshotTracker == null){
-            snapshotTracker = new SnapshotTracker(LOG, installSnapshot.getTotalChunks());
-        }
-
         updateInitialSyncStatus(installSnapshot.getLastIncludedIndex(), installSnapshot.getLeaderId());
 
         try {
+            if(snapshotTracker == null){
+                snapshotTracker = new SnapshotTracker(LOG, installSnapshot.getTotalChunks(),
+                        createSnapshotInstallFile("snapshot-install"));
+            }
+
             if(snapshotTracker.addChunk(installSnapshot.getChunkIndex(), installSnapshot.getData(),
                     installSnapshot.getLastChunkHashCode())){
-                Snapshot snapshot = Snapshot.create(snapshotTracker.getSnapshot(),
+                File snapshotFile;
+                try {
+                    snapshotFile = snapshotTracker.releaseSnapshotFile();
+                } finally {
+                    closeSnapshotTracker();
+                }
+
+                // The state stays in the file, the snapshot only carries the metadata so the actor can apply the
+                // state by streaming it from the file.
+                Snapshot snapshot = Snapshot.create(new byte[0],
                         new ArrayList<ReplicatedLogEntry>(),
                         installSnapshot.getLastIncludedIndex(),
                         installSnapshot.getLastIncludedTerm(),
                         installSnapshot.getLastIncludedIndex(),
                         installSnapshot.getLastIncludedTerm());
 
-                actor().tell(new ApplySnapshot(snapshot), actor());
-
-                snapshotTracker = null;
-
+                actor().tell(new ApplySnapshot(snapshot, snapshotFile), actor());
             }
 
             InstallSnapshotReply reply = new InstallSnapshotReply(
@@ -350,7 +370,7 @@ public class Follower extends AbstractRaftActorBehavior {
 
             sender.tell(new InstallSnapshotReply(currentTerm(), context.getId(),
                     -1, false), actor());
-            snapshotTracker = null;
+            closeSnapshotTracker();
 
         } catch (Exception e){
             LOG.error("{}: Exception in InstallSnapshot of follower", logName(), e);
@@ -362,9 +382,17 @@ public class Follower extends AbstractRaftActorBehavior {
         }
     }
 
+    private void closeSnapshotTracker() {
+        if(snapshotTracker != null) {
+            snapshotTracker.close();
+            snapshotTracker = null;
+        }
+    }
+
     @Override
     public void close() throws Exception {
         stopElection();
+        closeSnapshotTracker();
     }
 
     @VisibleForTesting
@@ -8,24 +8,38 @@
 
 package org.opendaylight.controller.cluster.raft.behaviors;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
+import com.google.common.io.ByteStreams;
 import com.google.protobuf.ByteString;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import org.slf4j.Logger;
 
 /**
- * SnapshotTracker does house keeping for a snapshot that is being installed in chunks on the Follower
+ * SnapshotTracker does house keeping for a snapshot that is being installed in chunks on the Follower.
+ * The chunks are spooled to the given file as they are received so the heap usage while a large snapshot
+ * is being transferred is bounded by the chunk size. Once complete the file is handed over to be applied
+ * from, otherwise it is deleted when the tracker is closed.
  */
-public class SnapshotTracker {
+public class SnapshotTracker implements AutoCloseable {
     private final Logger LOG;
     private final int totalChunks;
-    private ByteString collectedChunks = ByteString.EMPTY;
+    private File file;
+    private RandomAccessFile raf;
+    private long collectedSize;
     private int lastChunkIndex = AbstractLeader.FIRST_CHUNK_INDEX - 1;
     private boolean sealed = false;
     private int lastChunkHashCode = AbstractLeader.INITIAL_LAST_CHUNK_HASH_CODE;
 
-    SnapshotTracker(Logger LOG, int totalChunks){
+    SnapshotTracker(Logger LOG, int totalChunks, File file){
         this.LOG = LOG;
         this.totalChunks = totalChunks;
+        this.file = file;
     }
 
     /**
@@ -35,8 +49,10 @@ public class SnapshotTracker {
      * @param chunk
      * @return true when the lastChunk is received
      * @throws InvalidChunkException
+     * @throws IOException if the chunk could not be written to the file
      */
-    boolean addChunk(int chunkIndex, ByteString chunk, Optional<Integer> lastChunkHashCode) throws InvalidChunkException{
+    boolean addChunk(int chunkIndex, ByteString chunk, Optional<Integer> lastChunkHashCode)
+            throws InvalidChunkException, IOException {
         if(sealed){
             throw new InvalidChunkException("Invalid chunk received with chunkIndex " + chunkIndex + " all chunks already received");
         }
@@ -54,26 +70,87 @@ public class SnapshotTracker {
 
         if(LOG.isDebugEnabled()) {
             LOG.debug("Chunk={},collectedChunks.size:{}",
-                    chunkIndex, collectedChunks.size());
+                    chunkIndex, collectedSize);
         }
 
+        // Write the chunk at the current end so a chunk re-sent after a failed write simply overwrites it.
+        FileChannel channel = channel();
+        ByteBuffer buffer = chunk.asReadOnlyByteBuffer();
+        long position = collectedSize;
+        while(buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+
+        collectedSize = position;
         sealed = (chunkIndex == totalChunks);
         lastChunkIndex = chunkIndex;
-        collectedChunks = collectedChunks.concat(chunk);
         this.lastChunkHashCode = chunk.hashCode();
         return sealed;
     }
 
-    byte[] getSnapshot(){
+    private FileChannel channel() throws IOException {
+        if(raf == null) {
+            raf = new RandomAccessFile(file, "rw");
+        }
+
+        return raf.getChannel();
+    }
+
+    /**
+     * Hands the file holding the collected chunks over to the caller, who becomes responsible for deleting it.
+     *
+     * @return the file holding the complete snapshot
+     */
+    File releaseSnapshotFile() throws IOException {
         if(!sealed) {
             throw new IllegalStateException("lastChunk not received yet");
         }
 
-        return collectedChunks.toByteArray();
+        channel().force(false);
+        raf.close();
+        raf = null;
+
+        File snapshotFile = file;
+        file = null;
+        return snapshotFile;
     }
 
-    ByteString getCollectedChunks(){
-        return collectedChunks;
+    long getSnapshotSize() {
+        return collectedSize;
+    }
+
+    @VisibleForTesting
+    ByteString getCollectedChunks() throws IOException {
+        if(raf == null) {
+            return ByteString.EMPTY;
+        }
+
+        raf.seek(0);
+        return ByteString.readFrom(ByteStreams.limit(Channels.newInputStream(raf.getChannel()), collectedSize));
+    }
+
+    /**
+     * Deletes the file unless it was handed over.
+     */
+    @Override
+    public void close() {
+        if(raf != null) {
+            try {
+                raf.close();
+            } catch (IOException e) {
+                LOG.debug("Error closing snapshot file {}", file, e);
+            }
+
+            raf = null;
+        }
+
+        if(file != null) {
+            if(file.exists() && !file.delete()) {
+                LOG.warn("Failed to delete snapshot file {}", file);
+            }
+
+            file = null;
+        }
     }
 
     public static class InvalidChunkException extends Exception {
@@ -20,14 +20,18 @@ public class FollowerInfo {
     private final long matchIndex;
     private final boolean isActive;
     private final String timeSinceLastActivity;
+    private final int inFlightAppendEntries;
 
-    @ConstructorProperties({"id","nextIndex", "matchIndex", "isActive", "timeSinceLastActivity"})
-    public FollowerInfo(String id, long nextIndex, long matchIndex, boolean isActive, String timeSinceLastActivity) {
+    @ConstructorProperties({"id","nextIndex", "matchIndex", "isActive", "timeSinceLastActivity",
+            "inFlightAppendEntries"})
+    public FollowerInfo(String id, long nextIndex, long matchIndex, boolean isActive, String timeSinceLastActivity,
+            int inFlightAppendEntries) {
         this.id = id;
         this.nextIndex = nextIndex;
         this.matchIndex = matchIndex;
         this.isActive = isActive;
         this.timeSinceLastActivity = timeSinceLastActivity;
+        this.inFlightAppendEntries = inFlightAppendEntries;
     }
 
     public String getId() {
@@ -49,4 +53,8 @@ public class FollowerInfo {
     public String getTimeSinceLastActivity() {
         return timeSinceLastActivity;
     }
+
+    public int getInFlightAppendEntries() {
+        return inFlightAppendEntries;
+    }
 }
@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.raft.client.messages;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import org.opendaylight.controller.cluster.raft.RecoveryStats;
 
 /**
  * The response to a GetOnDemandRaftState message,
@@ -33,6 +34,13 @@ public class OnDemandRaftState {
     private String raftState;
     private String votedFor;
     private boolean isSnapshotCaptureInitiated;
+    private int maxInFlightAppendEntries;
+    private long journalBatchCount;
+    private double journalBatchSizeMean;
+    private long journalBatchSizeMax;
+    private double journalBatchLatencyMeanInMicros;
+    private double journalBatchLatency99thPercentileInMicros;
+    private RecoveryStats recoveryStats = RecoveryStats.EMPTY;
 
     private List<FollowerInfo> followerInfoList = Collections.emptyList();
     private Map<String, String> peerAddresses = Collections.emptyMap();
@@ -108,6 +116,46 @@ public class OnDemandRaftState {
         return isSnapshotCaptureInitiated;
     }
 
+    public int getMaxInFlightAppendEntries() {
+        return maxInFlightAppendEntries;
+    }
+
+    public long getJournalBatchCount() {
+        return journalBatchCount;
+    }
+
+    public double getJournalBatchSizeMean() {
+        return journalBatchSizeMean;
+    }
+
+    public long getJournalBatchSizeMax() {
+        return journalBatchSizeMax;
+    }
+
+    public double getJournalBatchLatencyMeanInMicros() {
+        return journalBatchLatencyMeanInMicros;
+    }
+
+    public double getJournalBatchLatency99thPercentileInMicros() {
+        return journalBatchLatency99thPercentileInMicros;
+    }
+
+    public RecoveryStats getRecoveryStats() {
+        return recoveryStats;
+    }
+
+    public long getRecoveredLogEntryCount() {
+        return recoveryStats.getLogEntryCount();
+    }
+
+    public long getRecoveredLogEntryBytes() {
+        return recoveryStats.getLogEntryBytes();
+    }
+
+    public long getRecoveryTimeInMillis() {
+        return recoveryStats.getRecoveryTimeInMillis();
+    }
+
     public List<FollowerInfo> getFollowerInfoList() {
         return followerInfoList;
     }
@@ -209,6 +257,41 @@ public class OnDemandRaftState {
             return this;
         }
 
+        public Builder maxInFlightAppendEntries(int value) {
+            stats.maxInFlightAppendEntries = value;
+            return this;
+        }
+
+        public Builder journalBatchCount(long value) {
+            stats.journalBatchCount = value;
+            return this;
+        }
+
+        public Builder journalBatchSizeMean(double value) {
+            stats.journalBatchSizeMean = value;
+            return this;
+        }
+
+        public Builder journalBatchSizeMax(long value) {
+            stats.journalBatchSizeMax = value;
+            return this;
+        }
+
+        public Builder journalBatchLatencyMeanInMicros(double value) {
+            stats.journalBatchLatencyMeanInMicros = value;
+            return this;
+        }
+
+        public Builder journalBatchLatency99thPercentileInMicros(double value) {
+            stats.journalBatchLatency99thPercentileInMicros = value;
+            return this;
+        }
+
+        public Builder recoveryStats(RecoveryStats value) {
+            stats.recoveryStats = value;
+            return this;
+        }
+
         public OnDemandRaftState build() {
             return stats;
         }
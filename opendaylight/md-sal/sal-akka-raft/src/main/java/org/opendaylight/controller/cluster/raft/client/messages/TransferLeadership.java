@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.client.messages;
+
+import com.google.common.base.Preconditions;
+import java.io.Serializable;
+
+/**
+ * Asks the leader RaftActor to hand leadership over to the given peer. Leadership is handed over once the peer
+ * has caught up with the leader's log, by telling the peer to start an election right away. The sender is replied
+ * to with a {@link TransferLeadershipReply}.
+ */
+public class TransferLeadership implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String targetId;
+
+    public TransferLeadership(String targetId) {
+        this.targetId = Preconditions.checkNotNull(targetId);
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferLeadership [targetId=" + targetId + "]";
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.client.messages;
+
+import java.io.Serializable;
+
+/**
+ * Reply to {@link TransferLeadership}, giving whether the target became the leader and the leader at the time
+ * of the reply.
+ */
+public class TransferLeadershipReply implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final boolean success;
+    private final String leaderId;
+
+    public TransferLeadershipReply(boolean success, String leaderId) {
+        this.success = success;
+        this.leaderId = leaderId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getLeaderId() {
+        return leaderId;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferLeadershipReply [success=" + success + ", leaderId=" + leaderId + "]";
+    }
+}
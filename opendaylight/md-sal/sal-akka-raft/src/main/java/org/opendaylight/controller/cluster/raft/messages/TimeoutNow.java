@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.messages;
+
+import java.io.Serializable;
+
+/**
+ * Sent by a leader which is handing over leadership to the follower taking over, telling it to start an election
+ * right away rather than waiting for its election timeout. It is ignored if the follower's term has moved on.
+ */
+public class TimeoutNow implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long term;
+
+    public TimeoutNow(long term) {
+        this.term = term;
+    }
+
+    public long getTerm() {
+        return term;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeoutNow [term=" + term + "]";
+    }
+}
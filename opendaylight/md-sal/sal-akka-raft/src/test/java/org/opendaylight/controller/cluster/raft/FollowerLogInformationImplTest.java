@@ -7,6 +7,7 @@
  */
 package org.opendaylight.controller.cluster.raft;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import com.google.common.base.Stopwatch;
@@ -80,4 +81,82 @@ public class FollowerLogInformationImplTest {
         followerLogInformation.incrNextIndex();
         assertTrue(followerLogInformation.okToReplicate());
     }
+
+    @Test
+    public void testPipelinedAppendEntries(){
+        MockRaftActorContext context = new MockRaftActorContext();
+        context.setCommitIndex(9);
+        DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl();
+        configParams.setMaxInFlightAppendEntries(2);
+        context.setConfigParams(configParams);
+
+        FollowerLogInformation followerLogInformation =
+                new FollowerLogInformationImpl("follower1", 8, context);
+
+        assertEquals(9, followerLogInformation.getNextSendIndex());
+
+        assertTrue(followerLogInformation.okToReplicate());
+        followerLogInformation.appendEntriesSent(10);
+        assertEquals(1, followerLogInformation.getInFlightAppendEntriesCount());
+        assertEquals(9, followerLogInformation.getNextIndex());
+        assertEquals(11, followerLogInformation.getNextSendIndex());
+
+        assertTrue(followerLogInformation.okToReplicate());
+        followerLogInformation.appendEntriesSent(12);
+        assertEquals(13, followerLogInformation.getNextSendIndex());
+
+        // window is full
+        assertFalse(followerLogInformation.okToReplicate());
+
+        followerLogInformation.appendEntriesReplyReceived(10);
+        followerLogInformation.setNextIndex(11);
+        assertEquals(1, followerLogInformation.getInFlightAppendEntriesCount());
+        assertEquals(13, followerLogInformation.getNextSendIndex());
+        assertTrue(followerLogInformation.okToReplicate());
+
+        followerLogInformation.resetInFlightAppendEntries();
+        assertEquals(0, followerLogInformation.getInFlightAppendEntriesCount());
+        assertEquals(11, followerLogInformation.getNextSendIndex());
+    }
+
+    @Test
+    public void testHeartbeatsNotCountedInFlight(){
+        MockRaftActorContext context = new MockRaftActorContext();
+        context.setCommitIndex(9);
+        DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl();
+        configParams.setMaxInFlightAppendEntries(2);
+        context.setConfigParams(configParams);
+
+        FollowerLogInformation followerLogInformation =
+                new FollowerLogInformationImpl("follower1", 8, context);
+
+        followerLogInformation.appendEntriesSent(-1);
+        followerLogInformation.appendEntriesSent(-1);
+        assertEquals(0, followerLogInformation.getInFlightAppendEntriesCount());
+        assertEquals(9, followerLogInformation.getNextSendIndex());
+
+        followerLogInformation.appendEntriesSent(10);
+        followerLogInformation.appendEntriesSent(-1);
+        assertEquals(1, followerLogInformation.getInFlightAppendEntriesCount());
+        assertEquals(11, followerLogInformation.getNextSendIndex());
+
+        // The reply to a heartbeat sent before the entries reached the follower doesn't retire them.
+        followerLogInformation.appendEntriesReplyReceived(8);
+        assertEquals(1, followerLogInformation.getInFlightAppendEntriesCount());
+
+        followerLogInformation.appendEntriesReplyReceived(10);
+        assertEquals(0, followerLogInformation.getInFlightAppendEntriesCount());
+    }
+
+    @Test
+    public void testAppendEntriesSentWithPipeliningDisabled(){
+        MockRaftActorContext context = new MockRaftActorContext();
+        context.setCommitIndex(9);
+        FollowerLogInformation followerLogInformation =
+                new FollowerLogInformationImpl("follower1", 8, context);
+
+        followerLogInformation.appendEntriesSent(10);
+        assertEquals(0, followerLogInformation.getInFlightAppendEntriesCount());
+        assertEquals(9, followerLogInformation.getNextSendIndex());
+    }
 }
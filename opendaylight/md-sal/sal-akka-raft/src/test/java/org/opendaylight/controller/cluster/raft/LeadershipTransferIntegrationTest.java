@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+import static org.junit.Assert.assertEquals;
+import akka.testkit.JavaTestKit;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.raft.base.messages.ApplyState;
+import org.opendaylight.controller.cluster.raft.client.messages.TransferLeadership;
+import org.opendaylight.controller.cluster.raft.client.messages.TransferLeadershipReply;
+import org.opendaylight.controller.cluster.raft.utils.MessageCollectorActor;
+
+/**
+ * Tests graceful leadership transfer via TransferLeadership end-to-end.
+ */
+public class LeadershipTransferIntegrationTest extends AbstractRaftActorIntegrationTest {
+
+    @Before
+    public void setUp() {
+        follower1Actor = newTestRaftActor(follower1Id, ImmutableMap.of(leaderId, testActorPath(leaderId),
+                follower2Id, testActorPath(follower2Id)), newFollowerConfigParams());
+
+        follower2Actor = newTestRaftActor(follower2Id, ImmutableMap.of(leaderId, testActorPath(leaderId),
+                follower1Id, testActorPath(follower1Id)), newFollowerConfigParams());
+
+        peerAddresses = ImmutableMap.<String, String>builder().
+                put(follower1Id, follower1Actor.path().toString()).
+                put(follower2Id, follower2Actor.path().toString()).build();
+
+        leaderConfigParams = newLeaderConfigParams();
+        leaderActor = newTestRaftActor(leaderId, peerAddresses, leaderConfigParams);
+
+        follower1CollectorActor = follower1Actor.underlyingActor().collectorActor();
+        leaderCollectorActor = leaderActor.underlyingActor().collectorActor();
+
+        waitUntilLeader(leaderActor);
+    }
+
+    @Test
+    public void testTransferLeadership() {
+        testLog.info("testTransferLeadership starting");
+
+        sendPayloadData(leaderActor, "zero");
+        MessageCollectorActor.expectFirstMatching(follower1CollectorActor, ApplyState.class);
+
+        JavaTestKit kit = new JavaTestKit(getSystem());
+        leaderActor.tell(new TransferLeadership(follower1Id), kit.getRef());
+
+        TransferLeadershipReply reply = kit.expectMsgClass(JavaTestKit.duration("10 seconds"),
+                TransferLeadershipReply.class);
+        assertEquals("isSuccess", true, reply.isSuccess());
+        assertEquals("getLeaderId", follower1Id, reply.getLeaderId());
+
+        assertEquals("New leader state", RaftState.Leader,
+                follower1Actor.underlyingActor().getCurrentBehavior().state());
+        assertEquals("Old leader state", RaftState.Follower,
+                leaderActor.underlyingActor().getCurrentBehavior().state());
+
+        testLog.info("testTransferLeadership ending");
+    }
+
+    @Test
+    public void testTransferLeadershipToUnknownPeer() {
+        JavaTestKit kit = new JavaTestKit(getSystem());
+        leaderActor.tell(new TransferLeadership("unknown"), kit.getRef());
+
+        TransferLeadershipReply reply = kit.expectMsgClass(TransferLeadershipReply.class);
+        assertEquals("isSuccess", false, reply.isSuccess());
+        assertEquals("getLeaderId", leaderId, reply.getLeaderId());
+    }
+
+    @Test
+    public void testTransferLeadershipFromFollower() {
+        JavaTestKit kit = new JavaTestKit(getSystem());
+        follower2Actor.tell(new TransferLeadership(follower1Id), kit.getRef());
+
+        TransferLeadershipReply reply = kit.expectMsgClass(TransferLeadershipReply.class);
+        assertEquals("isSuccess", false, reply.isSuccess());
+    }
+}
@@ -14,9 +14,11 @@ import akka.actor.ActorRef;
 import akka.actor.Props;
 import akka.japi.Creator;
 import com.google.common.base.Optional;
+import com.google.common.io.ByteStreams;
 import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.List;
@@ -223,10 +225,11 @@ public class MockRaftActor extends RaftActor implements RaftActorRecoveryCohort,
     }
 
     @Override
-    public void applySnapshot(byte [] snapshot) {
+    public void applySnapshot(InputStream snapshot) throws IOException {
         LOG.info("{}: applySnapshot called", persistenceId());
-        snapshotCohortDelegate.applySnapshot(snapshot);
-        applySnapshotBytes(snapshot);
+        byte[] bytes = ByteStreams.toByteArray(snapshot);
+        snapshotCohortDelegate.applySnapshot(new ByteArrayInputStream(bytes));
+        applySnapshotBytes(bytes);
     }
 
     @Override
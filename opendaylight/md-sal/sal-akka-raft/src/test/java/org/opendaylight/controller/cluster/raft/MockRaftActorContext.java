@@ -41,6 +41,7 @@ public class MockRaftActorContext implements RaftActorContext {
     private boolean snapshotCaptureInitiated;
     private SnapshotManager snapshotManager;
     private DataPersistenceProvider persistenceProvider = new NonPersistentDataProvider();
+    private final JournalBatchStats journalBatchStats = new JournalBatchStats();
     private short payloadVersion;
 
     public MockRaftActorContext(){
@@ -242,6 +243,11 @@ public class MockRaftActorContext implements RaftActorContext {
         this.payloadVersion = payloadVersion;
     }
 
+    @Override
+    public JournalBatchStats getJournalBatchStats() {
+        return journalBatchStats;
+    }
+
     public static class SimpleReplicatedLog extends AbstractReplicatedLogImpl {
         @Override
         public void appendAndPersist(
@@ -17,6 +17,7 @@ import akka.actor.ActorRef;
 import akka.persistence.SaveSnapshotFailure;
 import akka.persistence.SaveSnapshotSuccess;
 import akka.persistence.SnapshotMetadata;
+import java.io.File;
 import java.util.Collections;
 import org.junit.Before;
 import org.junit.Test;
@@ -102,6 +103,16 @@ public class RaftActorSnapshotMessageSupportTest {
         verify(mockSnapshotManager).apply(snapshot);
     }
 
+    @Test
+    public void testOnApplySnapshotFromFile() {
+        Snapshot snapshot = Snapshot.create(new byte[0], Collections.<ReplicatedLogEntry>emptyList(), 2, 1, 1, 1);
+        File stateFile = new File("snapshot-install");
+
+        sendMessageToSupport(new ApplySnapshot(snapshot, stateFile));
+
+        verify(mockSnapshotManager).apply(same(snapshot), same(stateFile), same(mockBehavior));
+    }
+
     @Test
     public void testOnCaptureSnapshotReply() {
 
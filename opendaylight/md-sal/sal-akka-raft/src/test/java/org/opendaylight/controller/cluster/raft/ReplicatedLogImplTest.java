@@ -8,20 +8,27 @@
 package org.opendaylight.controller.cluster.raft;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import akka.actor.ActorRef;
 import akka.japi.Procedure;
 import com.google.common.base.Supplier;
 import java.util.Collections;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -31,7 +38,9 @@ import org.opendaylight.controller.cluster.DataPersistenceProvider;
 import org.opendaylight.controller.cluster.raft.MockRaftActorContext.MockPayload;
 import org.opendaylight.controller.cluster.raft.MockRaftActorContext.MockReplicatedLogEntry;
 import org.opendaylight.controller.cluster.raft.base.messages.DeleteEntries;
+import org.opendaylight.controller.cluster.raft.base.messages.PersistJournalBatch;
 import org.opendaylight.controller.cluster.raft.behaviors.RaftActorBehavior;
+import org.opendaylight.controller.cluster.raft.utils.MessageCollectorActor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,7 +49,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author Thomas Pantelis
  */
-public class ReplicatedLogImplTest {
+public class ReplicatedLogImplTest extends AbstractActorTest {
     private static final Logger LOG = LoggerFactory.getLogger(RaftActorRecoverySupportTest.class);
 
     @Mock
@@ -51,6 +60,7 @@ public class ReplicatedLogImplTest {
 
     private RaftActorContext context;
     private final DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl();
+    private final TestActorFactory factory = new TestActorFactory(getSystem());
 
     @Before
     public void setup() {
@@ -61,6 +71,11 @@ public class ReplicatedLogImplTest {
                 -1, -1, Collections.<String,String>emptyMap(), configParams, mockPersistence, LOG);
     }
 
+    @After
+    public void tearDown() {
+        factory.close();
+    }
+
     private void verifyPersist(Object message) throws Exception {
         verifyPersist(message, new Same(message));
     }
@@ -173,6 +188,97 @@ public class ReplicatedLogImplTest {
         verifyNoMoreInteractions(mockPersistence);
     }
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void testAppendAndPersistWithGroupCommit() throws Exception {
+        configParams.setJournalPersistBatchSize(3);
+        doReturn(true).when(mockPersistence).isRecoveryApplicable();
+
+        ActorRef actor = factory.createActor(MessageCollectorActor.props());
+        context = new RaftActorContextImpl(actor, null, "test",
+                new ElectionTermImpl(mockPersistence, "test", LOG),
+                -1, -1, Collections.<String,String>emptyMap(), configParams, mockPersistence, LOG);
+
+        ReplicatedLog log = ReplicatedLogImpl.newInstance(context, mockBehavior);
+
+        MockReplicatedLogEntry logEntry1 = new MockReplicatedLogEntry(1, 0, new MockPayload("0"));
+        MockReplicatedLogEntry logEntry2 = new MockReplicatedLogEntry(1, 1, new MockPayload("1"));
+        Procedure<ReplicatedLogEntry> mockCallback = Mockito.mock(Procedure.class);
+
+        log.appendAndPersist(logEntry1, mockCallback);
+        log.appendAndPersist(logEntry2, mockCallback);
+
+        assertEquals("size", 2, log.size());
+        verify(mockPersistence, never()).persist(any(), any(Procedure.class));
+
+        // Only one flush should be scheduled for the pending batch.
+        MessageCollectorActor.expectFirstMatching(actor, PersistJournalBatch.class);
+        assertEquals("PersistJournalBatch count", 1,
+                MessageCollectorActor.getAllMatching(actor, PersistJournalBatch.class).size());
+
+        log.persistPendingEntries();
+
+        ArgumentCaptor<Procedure> procedure = ArgumentCaptor.forClass(Procedure.class);
+        InOrder inOrder = inOrder(mockPersistence);
+        inOrder.verify(mockPersistence).persist(same(logEntry1), procedure.capture());
+        inOrder.verify(mockPersistence).persist(same(logEntry2), procedure.capture());
+
+        for(Procedure p: procedure.getAllValues()) {
+            p.apply(null);
+        }
+
+        InOrder callbackOrder = inOrder(mockCallback);
+        callbackOrder.verify(mockCallback).apply(same(logEntry1));
+        callbackOrder.verify(mockCallback).apply(same(logEntry2));
+
+        assertEquals("Batch count", 1, context.getJournalBatchStats().getBatchCount());
+        assertEquals("Batch size", 2, context.getJournalBatchStats().getBatchSizeSnapshot().getMax());
+
+        // A full batch is persisted immediately.
+        reset(mockPersistence);
+        doReturn(true).when(mockPersistence).isRecoveryApplicable();
+
+        log.appendAndPersist(new MockReplicatedLogEntry(1, 2, new MockPayload("2")));
+        log.appendAndPersist(new MockReplicatedLogEntry(1, 3, new MockPayload("3")));
+        log.appendAndPersist(new MockReplicatedLogEntry(1, 4, new MockPayload("4")));
+
+        verify(mockPersistence, times(3)).persist(any(ReplicatedLogEntry.class), any(Procedure.class));
+
+        // Nothing left to persist.
+        reset(mockPersistence);
+        log.persistPendingEntries();
+        verifyNoMoreInteractions(mockPersistence);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void testRemoveFromAndPersistWithPendingEntries() throws Exception {
+        configParams.setJournalPersistBatchSize(10);
+        doReturn(true).when(mockPersistence).isRecoveryApplicable();
+
+        ActorRef actor = factory.createActor(MessageCollectorActor.props());
+        context = new RaftActorContextImpl(actor, null, "test",
+                new ElectionTermImpl(mockPersistence, "test", LOG),
+                -1, -1, Collections.<String,String>emptyMap(), configParams, mockPersistence, LOG);
+
+        ReplicatedLog log = ReplicatedLogImpl.newInstance(context, mockBehavior);
+
+        MockReplicatedLogEntry logEntry1 = new MockReplicatedLogEntry(1, 0, new MockPayload("0"));
+        MockReplicatedLogEntry logEntry2 = new MockReplicatedLogEntry(1, 1, new MockPayload("1"));
+        log.appendAndPersist(logEntry1);
+        log.appendAndPersist(logEntry2);
+
+        log.removeFromAndPersist(1);
+
+        // The pending entries must precede the DeleteEntries in the journal.
+        InOrder inOrder = inOrder(mockPersistence);
+        inOrder.verify(mockPersistence).persist(same(logEntry1), any(Procedure.class));
+        inOrder.verify(mockPersistence).persist(same(logEntry2), any(Procedure.class));
+        inOrder.verify(mockPersistence).persist(Matchers.argThat(match(new DeleteEntries(1))), any(Procedure.class));
+
+        assertEquals("size", 1, log.size());
+    }
+
     public Matcher<DeleteEntries> match(final DeleteEntries actual){
         return new BaseMatcher<DeleteEntries>() {
             @Override
@@ -18,8 +18,15 @@ import akka.japi.Procedure;
 import akka.persistence.SnapshotSelectionCriteria;
 import akka.testkit.TestActorRef;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -355,6 +362,57 @@ public class SnapshotManagerTest extends AbstractActorTest {
                                                                      // therefore maxSequenceNumber = 90
     }
 
+    @Test
+    public void testApplyFromFile() throws Exception {
+        doReturn(50L).when(mockDataPersistenceProvider).getLastSequenceNumber();
+
+        final byte[] state = {1, 2, 3, 4, 5};
+        File stateFile = File.createTempFile("snapshot-install", null);
+        Files.write(state, stateFile);
+
+        final List<byte[]> applied = new ArrayList<>();
+        snapshotManager.setApplySnapshotProcedure(new Procedure<InputStream>() {
+            @Override
+            public void apply(InputStream in) throws Exception {
+                applied.add(ByteStreams.toByteArray(in));
+            }
+        });
+
+        Snapshot snapshot = Snapshot.create(new byte[0], Collections.<ReplicatedLogEntry>emptyList(), 9, 6, 9, 6);
+        snapshotManager.apply(snapshot, stateFile, mockRaftActorBehavior);
+
+        assertEquals("Applied count", 1, applied.size());
+        assertArrayEquals("Applied state", state, applied.get(0));
+        assertFalse("State file deleted", stateFile.exists());
+
+        verify(mockRaftActorContext).setLastApplied(9L);
+        verify(mockRaftActorContext).setCommitIndex(9L);
+
+        // The applied state is captured to persist it.
+        assertTrue(snapshotManager.isCapturing());
+        verify(mockProcedure).apply(null);
+
+        CaptureSnapshot captureSnapshot = snapshotManager.getCaptureSnapshot();
+        assertEquals("getLastIndex", 9L, captureSnapshot.getLastIndex());
+        assertEquals("getLastTerm", 6L, captureSnapshot.getLastTerm());
+        assertEquals("getLastAppliedIndex", 9L, captureSnapshot.getLastAppliedIndex());
+        assertEquals("getLastAppliedTerm", 6L, captureSnapshot.getLastAppliedTerm());
+        assertFalse(captureSnapshot.isInstallSnapshotInitiated());
+    }
+
+    @Test
+    public void testApplyFromFileWhileCapturing() throws Exception {
+        snapshotManager.capture(new MockRaftActorContext.MockReplicatedLogEntry(1, 9,
+                new MockRaftActorContext.MockPayload()), -1);
+
+        File stateFile = File.createTempFile("snapshot-install", null);
+        snapshotManager.apply(Snapshot.create(new byte[0], Collections.<ReplicatedLogEntry>emptyList(), 9, 6, 9, 6),
+                stateFile, mockRaftActorBehavior);
+
+        assertFalse("State file deleted", stateFile.exists());
+        verify(mockRaftActorContext, never()).setLastApplied(anyLong());
+    }
+
     @Test
     public void testCommitBeforePersist(){
         // when replicatedToAllIndex = -1
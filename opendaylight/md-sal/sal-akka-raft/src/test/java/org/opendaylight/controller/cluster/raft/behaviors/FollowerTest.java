@@ -13,7 +13,9 @@ import akka.actor.ActorRef;
 import akka.actor.Props;
 import akka.testkit.TestActorRef;
 import com.google.common.base.Stopwatch;
+import com.google.common.io.Files;
 import com.google.protobuf.ByteString;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -36,6 +38,7 @@ import org.opendaylight.controller.cluster.raft.messages.InstallSnapshotReply;
 import org.opendaylight.controller.cluster.raft.messages.RaftRPC;
 import org.opendaylight.controller.cluster.raft.messages.RequestVote;
 import org.opendaylight.controller.cluster.raft.messages.RequestVoteReply;
+import org.opendaylight.controller.cluster.raft.messages.TimeoutNow;
 import org.opendaylight.controller.cluster.raft.utils.MessageCollectorActor;
 
 public class FollowerTest extends AbstractRaftActorBehaviorTest {
@@ -97,6 +100,21 @@ public class FollowerTest extends AbstractRaftActorBehaviorTest {
         assertTrue(raftBehavior instanceof Candidate);
     }
 
+    @Test
+    public void testHandleTimeoutNow(){
+        logStart("testHandleTimeoutNow");
+
+        MockRaftActorContext context = createActorContext();
+        context.getTermInformation().update(5, null);
+        follower = new Follower(context);
+
+        RaftActorBehavior raftBehavior = follower.handleMessage(followerActor, new TimeoutNow(4));
+        assertTrue("Expected Follower for stale term", raftBehavior instanceof Follower);
+
+        raftBehavior = follower.handleMessage(followerActor, new TimeoutNow(5));
+        assertTrue(raftBehavior instanceof Candidate);
+    }
+
     @Test
     public void testHandleRequestVoteWhenSenderTermEqualToCurrentTermAndVotedForIsNull(){
         logStart("testHandleRequestVoteWhenSenderTermEqualToCurrentTermAndVotedForIsNull");
@@ -622,7 +640,10 @@ public class FollowerTest extends AbstractRaftActorBehaviorTest {
         assertEquals("getLastAppliedIndex", lastInstallSnapshot.getLastIncludedIndex(),
                 snapshot.getLastAppliedIndex());
         assertEquals("getLastTerm", lastInstallSnapshot.getLastIncludedTerm(), snapshot.getLastTerm());
-        Assert.assertArrayEquals("getState", bsSnapshot.toByteArray(), snapshot.getState());
+        File stateFile = applySnapshot.getStateFile();
+        assertNotNull("getStateFile", stateFile);
+        Assert.assertArrayEquals("getStateFile", bsSnapshot.toByteArray(), Files.toByteArray(stateFile));
+        assertTrue("State file deleted", stateFile.delete());
 
         List<InstallSnapshotReply> replies = MessageCollectorActor.getAllMatching(
                 leaderActor, InstallSnapshotReply.class);
@@ -1,6 +1,7 @@
 package org.opendaylight.controller.cluster.raft.behaviors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import akka.actor.ActorRef;
@@ -262,6 +263,75 @@ public class LeaderTest extends AbstractLeaderTest {
         }
     }
 
+    @Test
+    public void testPipelinedAppendEntriesWithFailedReply() throws Exception {
+        logStart("testPipelinedAppendEntriesWithFailedReply");
+
+        MockRaftActorContext actorContext = createActorContextWithFollower();
+        DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl() {
+            @Override
+            public FiniteDuration getHeartBeatInterval() {
+                return FiniteDuration.apply(5, TimeUnit.SECONDS);
+            }
+        };
+        configParams.setMaxInFlightAppendEntries(3);
+        actorContext.setConfigParams(configParams);
+
+        long term = 1;
+        actorContext.getTermInformation().update(term, "");
+
+        leader = new Leader(actorContext);
+
+        // Leader will send an immediate heartbeat - ignore it.
+        MessageCollectorActor.expectFirstMatching(followerActor, AppendEntries.class);
+
+        // The follower would normally reply - simulate that explicitly here.
+        long lastIndex = actorContext.getReplicatedLog().lastIndex();
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, true, lastIndex, term, (short)0));
+
+        FollowerLogInformation followerInfo = leader.getFollower(FOLLOWER_ID);
+        assertEquals("getInFlightAppendEntriesCount", 0, followerInfo.getInFlightAppendEntriesCount());
+
+        followerActor.underlyingActor().clear();
+
+        for(int i=0;i<5;i++) {
+            sendReplicate(actorContext, lastIndex+i+1);
+        }
+
+        // We expect 3 messages to be sent without waiting for a reply - the 4th and 5th entries
+        // must wait for the pipeline window to open.
+        List<AppendEntries> allMessages = MessageCollectorActor.getAllMatching(followerActor, AppendEntries.class);
+        assertEquals("The number of append entries collected should be 3", 3, allMessages.size());
+
+        for(int i=0;i<3;i++) {
+            AppendEntries appendEntries = allMessages.get(i);
+            assertEquals("getPrevLogIndex", lastIndex + i, appendEntries.getPrevLogIndex());
+            assertEquals("Entries size", 1, appendEntries.getEntries().size());
+            assertEquals("Entry getIndex", lastIndex + i + 1, appendEntries.getEntries().get(0).getIndex());
+        }
+
+        assertEquals("getInFlightAppendEntriesCount", 3, followerInfo.getInFlightAppendEntriesCount());
+        assertEquals("getNextIndex", lastIndex + 1, followerInfo.getNextIndex());
+        assertEquals("getNextSendIndex", lastIndex + 4, followerInfo.getNextSendIndex());
+
+        followerActor.underlyingActor().clear();
+
+        // Fail the reply for the second batch - the in-flight batches should be discarded and the leader
+        // should resume from the follower's last index.
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, false, lastIndex + 1, term, (short)0));
+
+        AppendEntries appendEntries = MessageCollectorActor.expectFirstMatching(followerActor, AppendEntries.class);
+        assertEquals("getPrevLogIndex", lastIndex + 1, appendEntries.getPrevLogIndex());
+        assertEquals("Entries size", 4, appendEntries.getEntries().size());
+        assertEquals("First entry getIndex", lastIndex + 2, appendEntries.getEntries().get(0).getIndex());
+
+        assertEquals("getInFlightAppendEntriesCount", 1, followerInfo.getInFlightAppendEntriesCount());
+        assertEquals("getNextIndex", lastIndex + 2, followerInfo.getNextIndex());
+        assertEquals("getNextSendIndex", lastIndex + 6, followerInfo.getNextSendIndex());
+    }
+
     @Test
     public void testDuplicateAppendEntriesWillBeSentOnHeartBeat() throws Exception {
         logStart("testDuplicateAppendEntriesWillBeSentOnHeartBeat");
@@ -469,7 +539,7 @@ public class LeaderTest extends AbstractLeaderTest {
         ByteString bs = toByteString(leadersSnapshot);
         leader.setSnapshot(Snapshot.create(bs.toByteArray(), Collections.<ReplicatedLogEntry>emptyList(),
                 commitIndex, snapshotTerm, commitIndex, snapshotTerm));
-        FollowerToSnapshot fts = leader.new FollowerToSnapshot(bs);
+        FollowerToSnapshot fts = leader.new FollowerToSnapshot(leader.getSnapshot().get());
         leader.setFollowerSnapshot(FOLLOWER_ID, fts);
 
         //send first chunk and no InstallSnapshotReply received yet
@@ -695,7 +765,7 @@ public class LeaderTest extends AbstractLeaderTest {
         ByteString bs = toByteString(leadersSnapshot);
         leader.setSnapshot(Snapshot.create(bs.toByteArray(), Collections.<ReplicatedLogEntry>emptyList(),
                 commitIndex, snapshotTerm, commitIndex, snapshotTerm));
-        FollowerToSnapshot fts = leader.new FollowerToSnapshot(bs);
+        FollowerToSnapshot fts = leader.new FollowerToSnapshot(leader.getSnapshot().get());
         leader.setFollowerSnapshot(FOLLOWER_ID, fts);
         while(!fts.isLastChunk(fts.getChunkIndex())) {
             fts.getNextChunk();
@@ -711,6 +781,7 @@ public class LeaderTest extends AbstractLeaderTest {
         assertTrue(raftBehavior instanceof Leader);
 
         assertEquals(0, leader.followerSnapshotSize());
+        assertFalse("Snapshot released", leader.getSnapshot().isPresent());
         assertEquals(1, leader.followerLogSize());
         FollowerLogInformation fli = leader.getFollower(FOLLOWER_ID);
         assertNotNull(fli);
@@ -921,7 +992,7 @@ public class LeaderTest extends AbstractLeaderTest {
     }
 
     @Test
-    public void testFollowerToSnapshotLogic() {
+    public void testFollowerToSnapshotLogic() throws Exception {
         logStart("testFollowerToSnapshotLogic");
 
         MockRaftActorContext actorContext = createActorContext();
@@ -943,7 +1014,8 @@ public class LeaderTest extends AbstractLeaderTest {
         ByteString bs = toByteString(leadersSnapshot);
         byte[] barray = bs.toByteArray();
 
-        FollowerToSnapshot fts = leader.new FollowerToSnapshot(bs);
+        leader.setSnapshot(Snapshot.create(barray, Collections.<ReplicatedLogEntry>emptyList(), 1, 1, 1, 1));
+        FollowerToSnapshot fts = leader.new FollowerToSnapshot(leader.getSnapshot().get());
         leader.setFollowerSnapshot(FOLLOWER_ID, fts);
 
         assertEquals(bs.size(), barray.length);
@@ -1,16 +1,21 @@
 package org.opendaylight.controller.cluster.raft.behaviors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import com.google.common.base.Optional;
+import com.google.common.io.Files;
 import com.google.protobuf.ByteString;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,6 +23,9 @@ public class SnapshotTrackerTest {
 
     Logger logger = LoggerFactory.getLogger(getClass());
 
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     Map<String, String> data;
     ByteString byteString;
     ByteString chunk1;
@@ -38,15 +46,15 @@ public class SnapshotTrackerTest {
     }
 
     @Test
-    public void testAddChunk() throws SnapshotTracker.InvalidChunkException {
-        SnapshotTracker tracker1 = new SnapshotTracker(logger, 5);
+    public void testAddChunk() throws Exception {
+        SnapshotTracker tracker1 = newTracker(5);
 
         tracker1.addChunk(1, chunk1, Optional.<Integer>absent());
         tracker1.addChunk(2, chunk2, Optional.<Integer>absent());
         tracker1.addChunk(3, chunk3, Optional.<Integer>absent());
 
         // Verify that an InvalidChunkException is thrown when we try to add a chunk to a sealed tracker
-        SnapshotTracker tracker2 = new SnapshotTracker(logger, 2);
+        SnapshotTracker tracker2 = newTracker(2);
 
         tracker2.addChunk(1, chunk1, Optional.<Integer>absent());
         tracker2.addChunk(2, chunk2, Optional.<Integer>absent());
@@ -59,7 +67,7 @@ public class SnapshotTrackerTest {
         }
 
         // The first chunk's index must at least be FIRST_CHUNK_INDEX
-        SnapshotTracker tracker3 = new SnapshotTracker(logger, 2);
+        SnapshotTracker tracker3 = newTracker(2);
 
         try {
             tracker3.addChunk(AbstractLeader.FIRST_CHUNK_INDEX - 1, chunk1, Optional.<Integer>absent());
@@ -69,7 +77,7 @@ public class SnapshotTrackerTest {
         }
 
         // Out of sequence chunk indexes won't work
-        SnapshotTracker tracker4 = new SnapshotTracker(logger, 2);
+        SnapshotTracker tracker4 = newTracker(2);
 
         tracker4.addChunk(AbstractLeader.FIRST_CHUNK_INDEX, chunk1, Optional.<Integer>absent());
 
@@ -82,7 +90,7 @@ public class SnapshotTrackerTest {
 
         // No exceptions will be thrown when invalid chunk is added with the right sequence
         // If the lastChunkHashCode is missing
-        SnapshotTracker tracker5 = new SnapshotTracker(logger, 2);
+        SnapshotTracker tracker5 = newTracker(2);
 
         tracker5.addChunk(AbstractLeader.FIRST_CHUNK_INDEX, chunk1, Optional.<Integer>absent());
         // Look I can add the same chunk again
@@ -90,7 +98,7 @@ public class SnapshotTrackerTest {
 
         // An exception will be thrown when an invalid chunk is addedd with the right sequence
         // when the lastChunkHashCode is present
-        SnapshotTracker tracker6 = new SnapshotTracker(logger, 2);
+        SnapshotTracker tracker6 = newTracker(2);
 
         tracker6.addChunk(AbstractLeader.FIRST_CHUNK_INDEX, chunk1, Optional.of(-1));
 
@@ -105,33 +113,48 @@ public class SnapshotTrackerTest {
     }
 
     @Test
-    public void testGetSnapShot() throws SnapshotTracker.InvalidChunkException {
+    public void testReleaseSnapshotFile() throws Exception {
 
-        // Trying to get a snapshot before all chunks have been received will throw an exception
-        SnapshotTracker tracker1 = new SnapshotTracker(logger, 5);
+        // Trying to get the snapshot before all chunks have been received will throw an exception
+        SnapshotTracker tracker1 = newTracker(5);
 
         tracker1.addChunk(1, chunk1, Optional.<Integer>absent());
         try {
-            tracker1.getSnapshot();
+            tracker1.releaseSnapshotFile();
             Assert.fail();
         } catch(IllegalStateException e){
 
         }
 
-        SnapshotTracker tracker2 = new SnapshotTracker(logger, 3);
+        SnapshotTracker tracker2 = newTracker(3);
 
         tracker2.addChunk(1, chunk1, Optional.<Integer>absent());
         tracker2.addChunk(2, chunk2, Optional.<Integer>absent());
         tracker2.addChunk(3, chunk3, Optional.<Integer>absent());
 
-        byte[] snapshot = tracker2.getSnapshot();
+        assertEquals(byteString.size(), tracker2.getSnapshotSize());
+
+        File snapshotFile = tracker2.releaseSnapshotFile();
+        tracker2.close();
+
+        // The released file is no longer the tracker's to delete
+        assertEquals(byteString, ByteString.copyFrom(Files.toByteArray(snapshotFile)));
+    }
+
+    @Test
+    public void testCloseDeletesFile() throws Exception {
+        File file = tempFolder.newFile();
+        SnapshotTracker tracker = new SnapshotTracker(logger, 3, file);
+
+        tracker.addChunk(1, chunk1, Optional.<Integer>absent());
+        tracker.close();
 
-        assertEquals(byteString, ByteString.copyFrom(snapshot));
+        assertFalse(file.exists());
     }
 
     @Test
-    public void testGetCollectedChunks() throws SnapshotTracker.InvalidChunkException {
-        SnapshotTracker tracker1 = new SnapshotTracker(logger, 5);
+    public void testGetCollectedChunks() throws Exception {
+        SnapshotTracker tracker1 = newTracker(5);
 
         ByteString chunks = chunk1.concat(chunk2);
 
@@ -139,6 +162,12 @@ public class SnapshotTrackerTest {
         tracker1.addChunk(2, chunk2, Optional.<Integer>absent());
 
         assertEquals(chunks, tracker1.getCollectedChunks());
+
+        tracker1.close();
+    }
+
+    private SnapshotTracker newTracker(int totalChunks) throws IOException {
+        return new SnapshotTracker(logger, totalChunks, tempFolder.newFile());
     }
 
     public ByteString getNextChunk (ByteString bs, int offset, int size){
@@ -10,6 +10,7 @@
 
 package org.opendaylight.controller.cluster.datastore.node.utils.stream;
 
+import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import java.io.DataInput;
@@ -47,6 +48,9 @@ import org.slf4j.LoggerFactory;
  * This process goes in recursive manner, where each NodeTypes object signifies the start of the object, except END_NODE.
  * If a node can have children, then that node's end is calculated based on appearance of END_NODE.
  *
+ * Both the original and the compact stream versions written by NormalizedNodeOutputStreamWriter are read. A
+ * compact stream written with a {@link QNameDictionary} can only be read if the dictionary was registered in
+ * this JVM.
  */
 
 public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamReader {
@@ -59,6 +63,13 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
 
     private final Map<Integer, String> codedStringMap = new HashMap<>();
 
+    // The dictionary of a compact stream, null for the original version.
+    private QNameDictionary dictionary;
+
+    private List<QName> codedQNames;
+
+    private List<String[]> codedModules;
+
     private QName lastLeafSetQName;
 
     private NormalizedNodeAttrBuilder<YangInstanceIdentifier.NodeIdentifier,
@@ -96,10 +107,38 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
                         "Invalid signature marker: %d", marker));
             }
 
-            input.readShort(); // read the version - not currently used/needed.
+            short version = input.readShort();
+            if(version == NormalizedNodeOutputStreamWriter.COMPACT_VERSION) {
+                long fingerprint = input.readLong();
+                dictionary = QNameDictionary.lookup(fingerprint);
+                if(dictionary == null) {
+                    throw new InvalidNormalizedNodeStreamException(String.format(
+                            "Unknown QName dictionary %x", fingerprint));
+                }
+
+                codedQNames = new ArrayList<>();
+                codedModules = new ArrayList<>();
+            } else if(version > NormalizedNodeOutputStreamWriter.COMPACT_VERSION) {
+                throw new InvalidNormalizedNodeStreamException(String.format(
+                        "Unsupported stream version: %d", version));
+            }
         }
     }
 
+    private int readCount() throws IOException {
+        return dictionary == null ? input.readInt() : VarInts.readUnsignedInt(input);
+    }
+
+    private String readString() throws IOException {
+        if(dictionary == null) {
+            return input.readUTF();
+        }
+
+        byte[] bytes = new byte[VarInts.readUnsignedInt(input)];
+        input.readFully(bytes);
+        return new String(bytes, Charsets.UTF_8);
+    }
+
     private NormalizedNode<?, ?> readNormalizedNodeInternal() throws IOException {
         // each node should start with a byte
         byte nodeType = input.readByte();
@@ -213,11 +252,50 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
     }
 
     private QName readQName() throws IOException {
+        if(dictionary != null) {
+            return readCompactQName();
+        }
+
         // Read in the same sequence of writing
         String localName = readCodedString();
         String namespace = readCodedString();
         String revision = readCodedString();
 
+        return createQName(localName, namespace, revision);
+    }
+
+    private QName readCompactQName() throws IOException {
+        int code = VarInts.readUnsignedInt(input);
+        if(code == 0) {
+            String[] module = readCompactModule();
+            QName qName = createQName(readString().intern(), module[0], module[1]);
+            codedQNames.add(qName);
+            return qName;
+        }
+
+        int index = code - 1;
+        return index < dictionary.size() ? dictionary.get(index) : codedQNames.get(index - dictionary.size());
+    }
+
+    private String[] readCompactModule() throws IOException {
+        int code = VarInts.readUnsignedInt(input);
+        if(code == 0) {
+            String namespace = readString().intern();
+            String revision = input.readBoolean() ? readString().intern() : null;
+            String[] module = new String[] { namespace, revision };
+            codedModules.add(module);
+            return module;
+        }
+
+        int index = code - 1;
+        if(index < dictionary.moduleCount()) {
+            return new String[] { dictionary.moduleNamespace(index), dictionary.moduleRevision(index) };
+        }
+
+        return codedModules.get(index - dictionary.moduleCount());
+    }
+
+    private QName createQName(String localName, String namespace, String revision) {
         String qName;
         if(!Strings.isNullOrEmpty(revision)) {
             qName = reusableStringBuilder.append('(').append(namespace).append(REVISION_ARG).
@@ -233,6 +311,17 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
 
 
     private String readCodedString() throws IOException {
+        if(dictionary != null) {
+            int code = VarInts.readUnsignedInt(input);
+            if(code == 0) {
+                String value = readString().intern();
+                codedStringMap.put(Integer.valueOf(codedStringMap.size()), value);
+                return value;
+            }
+
+            return codedStringMap.get(code - 1);
+        }
+
         byte valueType = input.readByte();
         if(valueType == NormalizedNodeOutputStreamWriter.IS_CODE_VALUE) {
             return codedStringMap.get(input.readInt());
@@ -247,7 +336,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
 
     private Set<QName> readQNameSet() throws IOException{
         // Read the children count
-        int count = input.readInt();
+        int count = readCount();
         Set<QName> children = new HashSet<>(count);
         for(int i = 0; i < count; i++) {
             children.add(readQName());
@@ -256,7 +345,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
     }
 
     private Map<QName, Object> readKeyValueMap() throws IOException {
-        int count = input.readInt();
+        int count = readCount();
         Map<QName, Object> keyValueMap = new HashMap<>(count);
 
         for(int i = 0; i < count; i++) {
@@ -279,10 +368,10 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
                 return Byte.valueOf(input.readByte());
 
             case ValueTypes.INT_TYPE :
-                return Integer.valueOf(input.readInt());
+                return Integer.valueOf(dictionary == null ? input.readInt() : VarInts.readSignedInt(input));
 
             case ValueTypes.LONG_TYPE :
-                return Long.valueOf(input.readLong());
+                return Long.valueOf(dictionary == null ? input.readLong() : VarInts.readSignedLong(input));
 
             case ValueTypes.QNAME_TYPE :
                 return readQName();
@@ -291,16 +380,16 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
                 return Short.valueOf(input.readShort());
 
             case ValueTypes.STRING_TYPE :
-                return input.readUTF();
+                return readString();
 
             case ValueTypes.BIG_DECIMAL_TYPE :
-                return new BigDecimal(input.readUTF());
+                return new BigDecimal(readString());
 
             case ValueTypes.BIG_INTEGER_TYPE :
-                return new BigInteger(input.readUTF());
+                return new BigInteger(readString());
 
             case ValueTypes.BINARY_TYPE :
-                byte[] bytes = new byte[input.readInt()];
+                byte[] bytes = new byte[readCount()];
                 input.readFully(bytes);
                 return bytes;
 
@@ -318,7 +407,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
     }
 
     private YangInstanceIdentifier readYangInstanceIdentifierInternal() throws IOException {
-        int size = input.readInt();
+        int size = readCount();
 
         List<PathArgument> pathArguments = new ArrayList<>(size);
 
@@ -329,7 +418,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
     }
 
     private Set<String> readObjSet() throws IOException {
-        int count = input.readInt();
+        int count = readCount();
         Set<String> children = new HashSet<>(count);
         for(int i = 0; i < count; i++) {
             children.add(readCodedString());
@@ -10,6 +10,7 @@
 
 package org.opendaylight.controller.cluster.datastore.node.utils.stream;
 
+import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
@@ -20,6 +21,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
@@ -39,7 +41,11 @@ import org.slf4j.LoggerFactory;
  * Based on the each node, the node type is also written to the stream, that helps in reconstructing the object,
  * while reading.
  *
- *
+ * A writer created with a {@link QNameDictionary} writes the compact stream version, in which counts, lengths
+ * and integer values are variable-length encoded and QNames are written as a single code - an index into the
+ * dictionary or into the QNames previously written to the stream. This version can only be read by
+ * NormalizedNodeInputStreamReader versions that support it, so it should only be used when the reader is
+ * known to be recent enough.
  */
 
 public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWriter {
@@ -48,6 +54,7 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
 
     static final byte SIGNATURE_MARKER = (byte) 0xab;
     static final short CURRENT_VERSION = (short) 1;
+    static final short COMPACT_VERSION = (short) 2;
 
     static final byte IS_CODE_VALUE = 1;
     static final byte IS_STRING_VALUE = 2;
@@ -57,17 +64,39 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
 
     private final Map<String, Integer> stringCodeMap = new HashMap<>();
 
+    // The dictionary for the compact version, null for the original version.
+    private final QNameDictionary dictionary;
+
+    private final Map<QName, Integer> qNameCodeMap;
+
+    private final Map<QNameModule, Integer> moduleCodeMap;
+
     private NormalizedNodeWriter normalizedNodeWriter;
 
     private boolean wroteSignatureMarker;
 
     public NormalizedNodeOutputStreamWriter(OutputStream stream) throws IOException {
-        Preconditions.checkNotNull(stream);
-        output = new DataOutputStream(stream);
+        this((DataOutput) new DataOutputStream(Preconditions.checkNotNull(stream)));
     }
 
     public NormalizedNodeOutputStreamWriter(DataOutput output) {
         this.output = Preconditions.checkNotNull(output);
+        this.dictionary = null;
+        this.qNameCodeMap = null;
+        this.moduleCodeMap = null;
+    }
+
+    /**
+     * Constructs a writer of the compact stream version.
+     *
+     * @param output the output to write to
+     * @param dictionary the QNames to write as dictionary codes, QNameDictionary.EMPTY for none
+     */
+    public NormalizedNodeOutputStreamWriter(DataOutput output, QNameDictionary dictionary) {
+        this.output = Preconditions.checkNotNull(output);
+        this.dictionary = Preconditions.checkNotNull(dictionary);
+        this.qNameCodeMap = new HashMap<>();
+        this.moduleCodeMap = new HashMap<>();
     }
 
     private NormalizedNodeWriter normalizedNodeWriter() {
@@ -86,11 +115,35 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     private void writeSignatureMarkerAndVersionIfNeeded() throws IOException {
         if(!wroteSignatureMarker) {
             output.writeByte(SIGNATURE_MARKER);
-            output.writeShort(CURRENT_VERSION);
+            if(dictionary == null) {
+                output.writeShort(CURRENT_VERSION);
+            } else {
+                output.writeShort(COMPACT_VERSION);
+                output.writeLong(dictionary.getFingerprint());
+            }
+
             wroteSignatureMarker = true;
         }
     }
 
+    private void writeCount(int count) throws IOException {
+        if(dictionary == null) {
+            output.writeInt(count);
+        } else {
+            VarInts.writeUnsignedInt(output, count);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        if(dictionary == null) {
+            output.writeUTF(value);
+        } else {
+            byte[] bytes = value.getBytes(Charsets.UTF_8);
+            VarInts.writeUnsignedInt(output, bytes.length);
+            output.write(bytes);
+        }
+    }
+
     @Override
     public void leafNode(YangInstanceIdentifier.NodeIdentifier name, Object value) throws IOException, IllegalArgumentException {
         Preconditions.checkNotNull(name, "Node identifier should not be null");
@@ -226,13 +279,68 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     }
 
     private void writeQName(QName qName) throws IOException {
+        if(dictionary != null) {
+            writeCompactQName(qName);
+            return;
+        }
 
         writeCodedString(qName.getLocalName());
         writeCodedString(qName.getNamespace().toString());
         writeCodedString(qName.getFormattedRevision());
     }
 
+    /**
+     * Writes a QName as a code - 0 is followed by the module and local name of a QName not previously
+     * written, otherwise the code is one more than the index of the QName in the dictionary followed by
+     * the QNames previously written to the stream.
+     */
+    private void writeCompactQName(QName qName) throws IOException {
+        int index = dictionary.indexOf(qName);
+        if(index < 0) {
+            Integer code = qNameCodeMap.get(qName);
+            if(code == null) {
+                output.writeByte(0);
+                writeCompactModule(qName.getModule(), qName);
+                writeString(qName.getLocalName());
+                qNameCodeMap.put(qName, Integer.valueOf(qNameCodeMap.size()));
+                return;
+            }
+
+            index = dictionary.size() + code;
+        }
+
+        VarInts.writeUnsignedInt(output, index + 1);
+    }
+
+    private void writeCompactModule(QNameModule module, QName qName) throws IOException {
+        int index = dictionary.moduleIndexOf(module);
+        if(index < 0) {
+            Integer code = moduleCodeMap.get(module);
+            if(code == null) {
+                output.writeByte(0);
+                writeString(qName.getNamespace().toString());
+                String revision = qName.getFormattedRevision();
+                output.writeBoolean(revision != null);
+                if(revision != null) {
+                    writeString(revision);
+                }
+
+                moduleCodeMap.put(module, Integer.valueOf(moduleCodeMap.size()));
+                return;
+            }
+
+            index = dictionary.moduleCount() + code;
+        }
+
+        VarInts.writeUnsignedInt(output, index + 1);
+    }
+
     private void writeCodedString(String key) throws IOException {
+        if(dictionary != null) {
+            writeCompactCodedString(key);
+            return;
+        }
+
         Integer value = stringCodeMap.get(key);
         if(value != null) {
             output.writeByte(IS_CODE_VALUE);
@@ -248,9 +356,20 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
         }
     }
 
+    private void writeCompactCodedString(String key) throws IOException {
+        Integer value = stringCodeMap.get(key);
+        if(value != null) {
+            VarInts.writeUnsignedInt(output, value + 1);
+        } else {
+            output.writeByte(0);
+            stringCodeMap.put(key, Integer.valueOf(stringCodeMap.size()));
+            writeString(key);
+        }
+    }
+
     private void writeObjSet(Set<?> set) throws IOException {
         if(!set.isEmpty()){
-            output.writeInt(set.size());
+            writeCount(set.size());
             for(Object o : set){
                 if(o instanceof String){
                     writeCodedString(o.toString());
@@ -260,7 +379,7 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
                 }
             }
         } else {
-            output.writeInt(0);
+            writeCount(0);
         }
     }
 
@@ -271,7 +390,7 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
 
     private void writeYangInstanceIdentifierInternal(YangInstanceIdentifier identifier) throws IOException {
         Collection<YangInstanceIdentifier.PathArgument> pathArguments = identifier.getPathArguments();
-        output.writeInt(pathArguments.size());
+        writeCount(pathArguments.size());
 
         for(YangInstanceIdentifier.PathArgument pathArgument : pathArguments) {
             writePathArgument(pathArgument);
@@ -326,7 +445,7 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
 
     private void writeKeyValueMap(Map<QName, Object> keyValueMap) throws IOException {
         if(keyValueMap != null && !keyValueMap.isEmpty()) {
-            output.writeInt(keyValueMap.size());
+            writeCount(keyValueMap.size());
             Set<QName> qNameSet = keyValueMap.keySet();
 
             for(QName qName : qNameSet) {
@@ -334,20 +453,20 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
                 writeObject(keyValueMap.get(qName));
             }
         } else {
-            output.writeInt(0);
+            writeCount(0);
         }
     }
 
     private void writeQNameSet(Set<QName> children) throws IOException {
         // Write each child's qname separately, if list is empty send count as 0
         if(children != null && !children.isEmpty()) {
-            output.writeInt(children.size());
+            writeCount(children.size());
             for(QName qName : children) {
                 writeQName(qName);
             }
         } else {
             LOG.debug("augmentation node does not have any child");
-            output.writeInt(0);
+            writeCount(0);
         }
     }
 
@@ -365,13 +484,21 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
                 writeQName((QName) value);
                 break;
             case ValueTypes.INT_TYPE:
-                output.writeInt((Integer) value);
+                if(dictionary == null) {
+                    output.writeInt((Integer) value);
+                } else {
+                    VarInts.writeSignedInt(output, (Integer) value);
+                }
                 break;
             case ValueTypes.BYTE_TYPE:
                 output.writeByte((Byte) value);
                 break;
             case ValueTypes.LONG_TYPE:
-                output.writeLong((Long) value);
+                if(dictionary == null) {
+                    output.writeLong((Long) value);
+                } else {
+                    VarInts.writeSignedLong(output, (Long) value);
+                }
                 break;
             case ValueTypes.SHORT_TYPE:
                 output.writeShort((Short) value);
@@ -381,7 +508,7 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
                 break;
             case ValueTypes.BINARY_TYPE:
                 byte[] bytes = (byte[]) value;
-                output.writeInt(bytes.length);
+                writeCount(bytes.length);
                 output.write(bytes);
                 break;
             case ValueTypes.YANG_IDENTIFIER_TYPE:
@@ -390,7 +517,7 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
             case ValueTypes.NULL_TYPE :
                 break;
             default:
-                output.writeUTF(value.toString());
+                writeString(value.toString());
                 break;
         }
     }
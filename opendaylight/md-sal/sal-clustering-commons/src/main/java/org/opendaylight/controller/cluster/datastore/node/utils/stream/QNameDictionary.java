@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import com.google.common.base.Charsets;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * A dictionary of QNames shared by the writer and reader of a compact NormalizedNode stream. QNames
+ * in the dictionary are written as a small index instead of being spelled out in each stream, which
+ * saves most of the size of small streams, eg a DataTreeCandidate modifying a single leaf.
+ * <p>
+ * A dictionary is derived from a SchemaContext by collecting the QNames of all data schema nodes, in a
+ * deterministic order, so nodes with the same schema derive equal dictionaries. Each dictionary is
+ * identified by a fingerprint of its content which is written in the stream header. The reader resolves
+ * the fingerprint via {@link #lookup(long)} so it must have derived the dictionary from the same schema.
+ * A writer should therefore only use a dictionary the reader has advertised, by fingerprint, as known.
+ * QNames not in the dictionary are still written in full.
+ */
+public final class QNameDictionary {
+    private static final long EMPTY_FINGERPRINT = 0;
+    private static final int MAX_REGISTERED_DICTIONARIES = 32;
+
+    private static final Comparator<QName> QNAME_ORDER = new Comparator<QName>() {
+        @Override
+        public int compare(QName q1, QName q2) {
+            return q1.toString().compareTo(q2.toString());
+        }
+    };
+
+    public static final QNameDictionary EMPTY = new QNameDictionary(EMPTY_FINGERPRINT,
+            Collections.<QName>emptyList());
+
+    private static final Cache<Long, QNameDictionary> REGISTRY = CacheBuilder.newBuilder()
+            .maximumSize(MAX_REGISTERED_DICTIONARIES).build();
+
+    private final long fingerprint;
+    private final List<QName> qnames;
+    private final Map<QName, Integer> qnameIndexes;
+    private final Map<QNameModule, Integer> moduleIndexes;
+    private final String[] moduleNamespaces;
+    private final String[] moduleRevisions;
+
+    private QNameDictionary(long fingerprint, List<QName> qnames) {
+        this.fingerprint = fingerprint;
+        this.qnames = ImmutableList.copyOf(qnames);
+
+        ImmutableMap.Builder<QName, Integer> qnameIndexesBuilder = ImmutableMap.builder();
+        Map<QNameModule, QName> modules = new LinkedHashMap<>();
+        for(int i = 0; i < qnames.size(); i++) {
+            QName qname = qnames.get(i);
+            qnameIndexesBuilder.put(qname, i);
+            if(!modules.containsKey(qname.getModule())) {
+                modules.put(qname.getModule(), qname);
+            }
+        }
+
+        qnameIndexes = qnameIndexesBuilder.build();
+
+        Map<QNameModule, Integer> moduleIndexesBuilder = new HashMap<>();
+        moduleNamespaces = new String[modules.size()];
+        moduleRevisions = new String[modules.size()];
+        int index = 0;
+        for(Map.Entry<QNameModule, QName> e: modules.entrySet()) {
+            moduleIndexesBuilder.put(e.getKey(), index);
+            moduleNamespaces[index] = e.getValue().getNamespace().toString();
+            moduleRevisions[index] = e.getValue().getFormattedRevision();
+            index++;
+        }
+
+        moduleIndexes = ImmutableMap.copyOf(moduleIndexesBuilder);
+    }
+
+    /**
+     * Derives the dictionary for the given SchemaContext and registers it so streams written with it can be
+     * read.
+     */
+    public static QNameDictionary create(SchemaContext schemaContext) {
+        Set<QName> qnames = new TreeSet<>(QNAME_ORDER);
+        qnames.add(SchemaContext.NAME);
+        collectQNames(schemaContext.getChildNodes(), qnames);
+        return create(qnames);
+    }
+
+    /**
+     * Creates and registers a dictionary containing the given QNames.
+     */
+    public static QNameDictionary create(Collection<QName> qnames) {
+        List<QName> sorted = new ArrayList<>(qnames);
+        Collections.sort(sorted, QNAME_ORDER);
+
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        for(QName qname: sorted) {
+            hasher.putString(qname.toString(), Charsets.UTF_8);
+        }
+
+        long fingerprint = hasher.hash().asLong();
+        if(fingerprint == EMPTY_FINGERPRINT) {
+            fingerprint = 1;
+        }
+
+        QNameDictionary existing = REGISTRY.getIfPresent(fingerprint);
+        if(existing != null) {
+            return existing;
+        }
+
+        QNameDictionary dictionary = new QNameDictionary(fingerprint, sorted);
+        REGISTRY.put(fingerprint, dictionary);
+        return dictionary;
+    }
+
+    /**
+     * Returns the registered dictionary with the given fingerprint or null if there isn't one.
+     */
+    public static QNameDictionary lookup(long fingerprint) {
+        return fingerprint == EMPTY_FINGERPRINT ? EMPTY : REGISTRY.getIfPresent(fingerprint);
+    }
+
+    private static void collectQNames(Iterable<DataSchemaNode> nodes, Set<QName> qnames) {
+        for(DataSchemaNode node: nodes) {
+            qnames.add(node.getQName());
+            if(node instanceof DataNodeContainer) {
+                collectQNames(((DataNodeContainer) node).getChildNodes(), qnames);
+            } else if(node instanceof ChoiceSchemaNode) {
+                for(ChoiceCaseNode caseNode: ((ChoiceSchemaNode) node).getCases()) {
+                    qnames.add(caseNode.getQName());
+                    collectQNames(caseNode.getChildNodes(), qnames);
+                }
+            }
+        }
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public int size() {
+        return qnames.size();
+    }
+
+    int indexOf(QName qname) {
+        Integer index = qnameIndexes.get(qname);
+        return index != null ? index : -1;
+    }
+
+    QName get(int index) {
+        return qnames.get(index);
+    }
+
+    int moduleCount() {
+        return moduleNamespaces.length;
+    }
+
+    int moduleIndexOf(QNameModule module) {
+        Integer index = moduleIndexes.get(module);
+        return index != null ? index : -1;
+    }
+
+    String moduleNamespace(int index) {
+        return moduleNamespaces[index];
+    }
+
+    String moduleRevision(int index) {
+        return moduleRevisions[index];
+    }
+
+    @Override
+    public String toString() {
+        return "QNameDictionary [fingerprint=" + Long.toHexString(fingerprint) + ", size=" + qnames.size() + "]";
+    }
+}
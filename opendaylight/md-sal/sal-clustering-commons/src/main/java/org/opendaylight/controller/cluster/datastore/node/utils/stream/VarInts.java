@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Variable-length integer encoding used by the compact stream version. Values are written 7 bits at a
+ * time, least significant group first, with the high bit of each byte set if more bytes follow. Signed
+ * values are zig-zag encoded first so small negative values stay short.
+ */
+final class VarInts {
+    private VarInts() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static void writeUnsignedInt(DataOutput out, int value) throws IOException {
+        int v = value;
+        while((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+
+        out.writeByte(v);
+    }
+
+    static int readUnsignedInt(DataInput in) throws IOException {
+        int value = 0;
+        for(int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new InvalidNormalizedNodeStreamException("Malformed variable-length int");
+    }
+
+    static void writeUnsignedLong(DataOutput out, long value) throws IOException {
+        long v = value;
+        while((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+
+        out.writeByte((int) v);
+    }
+
+    static long readUnsignedLong(DataInput in) throws IOException {
+        long value = 0;
+        for(int shift = 0; shift < 70; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new InvalidNormalizedNodeStreamException("Malformed variable-length long");
+    }
+
+    static void writeSignedInt(DataOutput out, int value) throws IOException {
+        writeUnsignedInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    static int readSignedInt(DataInput in) throws IOException {
+        int v = readUnsignedInt(in);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    static void writeSignedLong(DataOutput out, long value) throws IOException {
+        writeUnsignedLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readSignedLong(DataInput in) throws IOException {
+        long v = readUnsignedLong(in);
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
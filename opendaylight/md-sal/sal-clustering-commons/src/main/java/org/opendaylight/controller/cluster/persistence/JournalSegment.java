@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * A single memory-mapped journal segment file. Records are appended sequentially, each framed as
+ *
+ * <pre>
+ *   int  length   - length of the data
+ *   int  crc      - CRC32 of the sequence number and data
+ *   long sequenceNr
+ *   byte[length] data
+ * </pre>
+ *
+ * The length is written last so a record only becomes visible once it is complete. A zero length marks the
+ * end of the segment. On open, a record whose checksum doesn't match (ie a torn write) and everything after
+ * it is discarded.
+ */
+final class JournalSegment {
+    static final int HEADER_SIZE = 16;
+
+    private final File file;
+    private final long firstSequenceNr;
+    private final MappedByteBuffer buffer;
+    private long lastSequenceNr;
+
+    private JournalSegment(File file, long firstSequenceNr, MappedByteBuffer buffer) {
+        this.file = file;
+        this.firstSequenceNr = firstSequenceNr;
+        this.buffer = buffer;
+        this.lastSequenceNr = firstSequenceNr - 1;
+    }
+
+    /**
+     * Creates a new, empty segment file of the given size.
+     */
+    static JournalSegment create(File file, long firstSequenceNr, int size) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(size);
+            return new JournalSegment(file, firstSequenceNr, raf.getChannel().map(
+                    FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    /**
+     * Opens an existing segment file, positioning it after the last valid record.
+     */
+    static JournalSegment open(File file, long firstSequenceNr) throws IOException {
+        JournalSegment segment;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            segment = new JournalSegment(file, firstSequenceNr, raf.getChannel().map(
+                    FileChannel.MapMode.READ_WRITE, 0, raf.length()));
+        }
+
+        segment.recover();
+        return segment;
+    }
+
+    private void recover() {
+        int position = 0;
+        while(true) {
+            long sequenceNr = readRecord(position, null);
+            if(sequenceNr < 0) {
+                break;
+            }
+
+            lastSequenceNr = sequenceNr;
+            position += HEADER_SIZE + buffer.getInt(position);
+        }
+
+        // Clear any partially written record so it isn't mistaken for a valid one after further appends.
+        if(position + HEADER_SIZE <= buffer.capacity()) {
+            buffer.putInt(position, 0);
+        }
+
+        buffer.position(position);
+    }
+
+    /**
+     * Reads and validates the record at the given position.
+     *
+     * @param data if non-null, receives the record's data
+     * @return the record's sequence number or -1 if there's no valid record at the position
+     */
+    private long readRecord(int position, ByteBuffer[] data) {
+        if(position + HEADER_SIZE > buffer.capacity()) {
+            return -1;
+        }
+
+        int length = buffer.getInt(position);
+        if(length <= 0 || length > buffer.capacity() - position - HEADER_SIZE) {
+            return -1;
+        }
+
+        ByteBuffer record = buffer.duplicate();
+        record.position(position + 8);
+        record.limit(position + HEADER_SIZE + length);
+        ByteBuffer slice = record.slice();
+
+        CRC32 crc = new CRC32();
+        crc.update(slice.duplicate());
+        if((int) crc.getValue() != buffer.getInt(position + 4)) {
+            return -1;
+        }
+
+        long sequenceNr = slice.getLong(0);
+        if(data != null) {
+            slice.position(8);
+            data[0] = slice.slice();
+        }
+
+        return sequenceNr;
+    }
+
+    private static byte[] toArray(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.remaining()];
+        buf.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Appends a record to this segment.
+     *
+     * @return false if there isn't enough room left in the segment
+     */
+    boolean append(long sequenceNr, byte[] data) {
+        int position = buffer.position();
+        if(HEADER_SIZE + data.length > buffer.capacity() - position) {
+            return false;
+        }
+
+        buffer.position(position + 8);
+        buffer.putLong(sequenceNr).put(data);
+        int next = buffer.position();
+
+        // The CRC is computed over the record in the mapped buffer rather than over a copy of it.
+        ByteBuffer record = buffer.duplicate();
+        record.position(position + 8);
+        record.limit(next);
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        buffer.putInt(position + 4, (int) crc.getValue());
+
+        // Terminate the segment after this record before making the record visible.
+        if(next + HEADER_SIZE <= buffer.capacity()) {
+            buffer.putInt(next, 0);
+        }
+
+        buffer.putInt(position, data.length);
+
+        lastSequenceNr = sequenceNr;
+        return true;
+    }
+
+    /**
+     * Passes the records with sequence numbers in the given range to the consumer.
+     *
+     * @return the number of records passed to the consumer
+     */
+    long replay(long fromSequenceNr, long toSequenceNr, long max, SegmentedLog.RecordConsumer consumer)
+            throws Exception {
+        long count = 0;
+        int position = 0;
+        ByteBuffer[] data = new ByteBuffer[1];
+        while(count < max) {
+            long sequenceNr = readRecord(position, data);
+            if(sequenceNr < 0 || sequenceNr > toSequenceNr) {
+                break;
+            }
+
+            if(sequenceNr >= fromSequenceNr) {
+                consumer.accept(sequenceNr, toArray(data[0]));
+                count++;
+            }
+
+            position += HEADER_SIZE + buffer.getInt(position);
+        }
+
+        return count;
+    }
+
+    /**
+     * Forces any changes to the segment to be written to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Deletes the segment file. The mapping itself is released when the buffer is garbage collected.
+     *
+     * @return true if the file was deleted
+     */
+    boolean delete() {
+        return file.delete();
+    }
+
+    boolean isEmpty() {
+        return lastSequenceNr < firstSequenceNr;
+    }
+
+    long getFirstSequenceNr() {
+        return firstSequenceNr;
+    }
+
+    long getLastSequenceNr() {
+        return lastSequenceNr;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalSegment [file=" + file + ", firstSequenceNr=" + firstSequenceNr + ", lastSequenceNr="
+                + lastSequenceNr + "]";
+    }
+}
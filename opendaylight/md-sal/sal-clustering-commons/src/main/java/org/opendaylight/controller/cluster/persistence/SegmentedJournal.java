@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import akka.dispatch.Futures;
+import akka.japi.Procedure;
+import akka.persistence.PersistentConfirmation;
+import akka.persistence.PersistentId;
+import akka.persistence.PersistentRepr;
+import akka.persistence.journal.japi.SyncWriteJournal;
+import akka.serialization.Serialization;
+import akka.serialization.SerializationExtension;
+import com.typesafe.config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+
+/**
+ * An akka-persistence journal plugin that stores the messages of each persistence id in an append-only
+ * {@link SegmentedLog} of memory-mapped, CRC-framed segment files. It's intended as a lighter-weight
+ * alternative to the leveldb journal for the RaftActor journal, which is strictly appended to and truncated
+ * from the front once a snapshot is saved.
+ *
+ * <p>
+ * It's enabled by setting <code>akka.persistence.journal.plugin</code> to
+ * <code>"akka.persistence.journal.segmented"</code> and supports the following settings under that path:
+ * <ul>
+ * <li><code>dir</code> - the directory in which to store the journals</li>
+ * <li><code>segment-size</code> - the size, in bytes, of each segment file</li>
+ * <li><code>fsync</code> - whether to force each batch of written messages to the storage device</li>
+ * <li><code>replay-dispatcher</code> - the dispatcher on which messages are replayed</li>
+ * </ul>
+ *
+ * <p>
+ * Deletes are always permanent. Records are only ever removed from the front of a log, by retiring the segments
+ * below a low-water mark, so deleting individual messages only deletes those continuing from the messages already
+ * deleted.
+ */
+public class SegmentedJournal extends SyncWriteJournal {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedJournal.class);
+
+    public static final String CONFIG_PATH = "akka.persistence.journal.segmented";
+
+    static final String DEFAULT_DIR = "segmented-journal";
+    static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private final Map<String, SegmentedLog> logs = new ConcurrentHashMap<>();
+    private final File directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final ExecutionContext replayDispatcher;
+    private final Serialization serialization;
+
+    public SegmentedJournal() {
+        Config config = context().system().settings().config().getConfig(CONFIG_PATH);
+
+        directory = new File(config.hasPath("dir") ? config.getString("dir") : DEFAULT_DIR);
+        segmentSize = config.hasPath("segment-size") ? config.getInt("segment-size") : DEFAULT_SEGMENT_SIZE;
+        fsync = config.hasPath("fsync") ? config.getBoolean("fsync") : true;
+        replayDispatcher = config.hasPath("replay-dispatcher") ?
+                context().system().dispatchers().lookup(config.getString("replay-dispatcher")) :
+                context().dispatcher();
+        serialization = SerializationExtension.get(context().system());
+
+        LOG.info("Segmented journal in {}: segment size {}, fsync {}", directory.getAbsolutePath(), segmentSize,
+                fsync);
+    }
+
+    private SegmentedLog getLog(String persistenceId) throws IOException {
+        SegmentedLog log = logs.get(persistenceId);
+        if(log == null) {
+            synchronized(logs) {
+                log = logs.get(persistenceId);
+                if(log == null) {
+                    log = new SegmentedLog(new File(directory, encode(persistenceId)), segmentSize);
+                    logs.put(persistenceId, log);
+                }
+            }
+        }
+
+        return log;
+    }
+
+    private static String encode(String persistenceId) throws UnsupportedEncodingException {
+        return URLEncoder.encode(persistenceId, "UTF-8");
+    }
+
+    @Override
+    public void doWriteMessages(Iterable<PersistentRepr> messages) throws Exception {
+        Set<SegmentedLog> written = new HashSet<>();
+        for(PersistentRepr repr: messages) {
+            SegmentedLog log = getLog(repr.persistenceId());
+            log.append(repr.sequenceNr(), serialization.serialize(repr).get());
+            written.add(log);
+        }
+
+        // The whole batch is made durable at once.
+        if(fsync) {
+            for(SegmentedLog log: written) {
+                log.flush();
+            }
+        }
+    }
+
+    @Override
+    public void doWriteConfirmations(Iterable<PersistentConfirmation> confirmations) {
+        // Channels aren't used so there's nothing to confirm.
+    }
+
+    @Override
+    public void doDeleteMessages(Iterable<PersistentId> messageIds, boolean permanent) throws Exception {
+        Map<String, SortedSet<Long>> sequenceNrs = new HashMap<>();
+        for(PersistentId id: messageIds) {
+            SortedSet<Long> forId = sequenceNrs.get(id.persistenceId());
+            if(forId == null) {
+                forId = new TreeSet<>();
+                sequenceNrs.put(id.persistenceId(), forId);
+            }
+
+            forId.add(id.sequenceNr());
+        }
+
+        for(Map.Entry<String, SortedSet<Long>> e: sequenceNrs.entrySet()) {
+            LOG.debug("{}: deleting messages {}", e.getKey(), e.getValue());
+
+            getLog(e.getKey()).delete(e.getValue());
+        }
+    }
+
+    @Override
+    public void doDeleteMessagesTo(String persistenceId, long toSequenceNr, boolean permanent) throws Exception {
+        LOG.debug("{}: deleting messages to {}", persistenceId, toSequenceNr);
+
+        getLog(persistenceId).deleteTo(toSequenceNr);
+    }
+
+    @Override
+    public Future<Void> doAsyncReplayMessages(final String persistenceId, final long fromSequenceNr,
+            final long toSequenceNr, final long max, final Procedure<PersistentRepr> replayCallback) {
+        return Futures.future(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                getLog(persistenceId).replay(fromSequenceNr, toSequenceNr, max, new SegmentedLog.RecordConsumer() {
+                    @Override
+                    public void accept(long sequenceNr, byte[] data) throws Exception {
+                        replayCallback.apply(serialization.deserialize(data, PersistentRepr.class).get());
+                    }
+                });
+
+                return null;
+            }
+        }, replayDispatcher);
+    }
+
+    @Override
+    public Future<Long> doAsyncReadHighestSequenceNr(final String persistenceId, long fromSequenceNr) {
+        return Futures.future(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return getLog(persistenceId).getHighestSequenceNr();
+            }
+        }, replayDispatcher);
+    }
+}
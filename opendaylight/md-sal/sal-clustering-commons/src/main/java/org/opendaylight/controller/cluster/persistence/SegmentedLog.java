@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import com.google.common.base.Preconditions;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The journal of a single persistence id, stored as a sequence of {@link JournalSegment} files in a
+ * directory. Each segment file is named after the sequence number of its first record. Only the last segment
+ * is appended to - when it fills up a new segment is started.
+ *
+ * Deleting messages up to a sequence number, as done by the RaftActor once a snapshot is saved, records the
+ * sequence number in a marker file and removes the segments that only contain deleted records. The last
+ * segment is always retained so the highest sequence number survives a restart.
+ */
+final class SegmentedLog {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedLog.class);
+
+    static final String SEGMENT_SUFFIX = ".segment";
+    private static final String DELETED_TO_FILE = "deleted-to";
+
+    /**
+     * Receives the records read from the log.
+     */
+    interface RecordConsumer {
+        void accept(long sequenceNr, byte[] data) throws Exception;
+    }
+
+    private final File directory;
+    private final int segmentSize;
+    private final List<JournalSegment> segments = new ArrayList<>();
+    private long deletedToSequenceNr;
+
+    SegmentedLog(File directory, int segmentSize) throws IOException {
+        Preconditions.checkArgument(segmentSize > JournalSegment.HEADER_SIZE, "Invalid segment size %s",
+                segmentSize);
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+
+        if(!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create journal directory " + directory);
+        }
+
+        deletedToSequenceNr = readDeletedTo();
+
+        File[] files = directory.listFiles();
+        if(files != null) {
+            for(File file: files) {
+                String name = file.getName();
+                if(name.endsWith(SEGMENT_SUFFIX)) {
+                    long firstSequenceNr = Long.parseLong(name.substring(0,
+                            name.length() - SEGMENT_SUFFIX.length()));
+                    segments.add(JournalSegment.open(file, firstSequenceNr));
+                }
+            }
+        }
+
+        Collections.sort(segments, new Comparator<JournalSegment>() {
+            @Override
+            public int compare(JournalSegment s1, JournalSegment s2) {
+                return Long.compare(s1.getFirstSequenceNr(), s2.getFirstSequenceNr());
+            }
+        });
+
+        // A previous delete may not have completed.
+        removeDeletedSegments();
+
+        LOG.debug("Opened journal {}: {} segments, highest sequence number {}", directory, segments.size(),
+                getHighestSequenceNr());
+    }
+
+    /**
+     * Appends a record to the log. The record isn't guaranteed to be durable until {@link #flush()} is called.
+     */
+    synchronized void append(long sequenceNr, byte[] data) throws IOException {
+        JournalSegment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if(active == null || !active.append(sequenceNr, data)) {
+            if(active != null) {
+                active.force();
+            }
+
+            // A record larger than the configured segment size gets a segment of its own.
+            active = JournalSegment.create(segmentFile(sequenceNr), sequenceNr,
+                    Math.max(segmentSize, JournalSegment.HEADER_SIZE + data.length));
+            segments.add(active);
+
+            Preconditions.checkState(active.append(sequenceNr, data));
+        }
+    }
+
+    /**
+     * Forces the appended records to be written to the storage device.
+     */
+    synchronized void flush() {
+        if(!segments.isEmpty()) {
+            segments.get(segments.size() - 1).force();
+        }
+    }
+
+    synchronized long getHighestSequenceNr() {
+        for(int i = segments.size() - 1; i >= 0; i--) {
+            JournalSegment segment = segments.get(i);
+            if(!segment.isEmpty()) {
+                return segment.getLastSequenceNr();
+            }
+        }
+
+        return deletedToSequenceNr;
+    }
+
+    synchronized long getDeletedToSequenceNr() {
+        return deletedToSequenceNr;
+    }
+
+    synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Passes the records with sequence numbers in the given range, up to max records, to the consumer.
+     */
+    synchronized void replay(long fromSequenceNr, long toSequenceNr, long max, RecordConsumer consumer)
+            throws Exception {
+        long from = Math.max(fromSequenceNr, deletedToSequenceNr + 1);
+        long remaining = max;
+        for(int i = 0; i < segments.size() && remaining > 0; i++) {
+            JournalSegment segment = segments.get(i);
+            if(segment.getFirstSequenceNr() > toSequenceNr) {
+                break;
+            }
+
+            if(segment.isEmpty() || segment.getLastSequenceNr() < from) {
+                continue;
+            }
+
+            remaining -= segment.replay(from, toSequenceNr, remaining, consumer);
+        }
+    }
+
+    /**
+     * Deletes the records with sequence numbers up to and including the given sequence number.
+     */
+    synchronized void deleteTo(long toSequenceNr) throws IOException {
+        long newDeletedTo = Math.min(toSequenceNr, getHighestSequenceNr());
+        if(newDeletedTo <= deletedToSequenceNr) {
+            return;
+        }
+
+        writeDeletedTo(newDeletedTo);
+        deletedToSequenceNr = newDeletedTo;
+
+        removeDeletedSegments();
+    }
+
+    /**
+     * Deletes the records with the given sequence numbers. Records can only be deleted from the front of the log
+     * so only the run of consecutive sequence numbers following the records already deleted is deleted - any
+     * beyond a gap in the run are kept.
+     */
+    synchronized void delete(SortedSet<Long> sequenceNrs) throws IOException {
+        long toSequenceNr = deletedToSequenceNr;
+        for(long sequenceNr: sequenceNrs) {
+            if(sequenceNr > toSequenceNr + 1) {
+                LOG.warn("{}: cannot delete records {} ahead of the records deleted up to {} - ignoring", directory,
+                        sequenceNrs.tailSet(sequenceNr), toSequenceNr);
+                break;
+            }
+
+            toSequenceNr = Math.max(toSequenceNr, sequenceNr);
+        }
+
+        deleteTo(toSequenceNr);
+    }
+
+    private void removeDeletedSegments() {
+        // The records in a segment end before the first record of the next segment.
+        while(segments.size() > 1 && segments.get(1).getFirstSequenceNr() - 1 <= deletedToSequenceNr) {
+            JournalSegment segment = segments.remove(0);
+            if(segment.delete()) {
+                LOG.debug("Deleted journal segment {}", segment);
+            } else {
+                LOG.warn("Failed to delete journal segment {} - it will be retried on restart", segment);
+            }
+        }
+    }
+
+    private File segmentFile(long firstSequenceNr) {
+        return new File(directory, String.format("%020d%s", firstSequenceNr, SEGMENT_SUFFIX));
+    }
+
+    private long readDeletedTo() throws IOException {
+        File file = new File(directory, DELETED_TO_FILE);
+        if(!file.exists()) {
+            return 0;
+        }
+
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readLong();
+        }
+    }
+
+    private void writeDeletedTo(long sequenceNr) throws IOException {
+        // Write to a temp file and rename so the marker is replaced atomically.
+        File tmp = new File(directory, DELETED_TO_FILE + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmp);
+                DataOutputStream out = new DataOutputStream(fos)) {
+            out.writeLong(sequenceNr);
+            out.flush();
+            fos.getFD().sync();
+        }
+
+        File file = new File(directory, DELETED_TO_FILE);
+        if(!tmp.renameTo(file)) {
+            // Some platforms don't allow renaming over an existing file.
+            if(!file.delete() || !tmp.renameTo(file)) {
+                throw new IOException("Failed to write " + file);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SegmentedLog [directory=" + directory + ", segments=" + segments.size() + ", deletedToSequenceNr="
+                + deletedToSequenceNr + "]";
+    }
+}
@@ -11,6 +11,8 @@ package org.opendaylight.controller.cluster.datastore.node.utils.stream;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import org.apache.commons.lang.SerializationUtils;
 import org.junit.Assert;
@@ -164,6 +166,55 @@ public class NormalizedNodeStreamReaderWriterTest {
         reader.readYangInstanceIdentifier();
     }
 
+    @Test
+    public void testCompactStreaming() throws IOException {
+        NormalizedNode<?, ?> testContainer = createTestContainer();
+        YangInstanceIdentifier path = YangInstanceIdentifier.builder(TestModel.TEST_PATH).
+                node(TestModel.OUTER_LIST_QNAME).nodeWithKey(
+                        TestModel.INNER_LIST_QNAME, TestModel.ID_QNAME, 10).build();
+
+        byte[] original = writeNodeAndPath(null, testContainer, path);
+        byte[] compact = writeNodeAndPath(QNameDictionary.EMPTY, testContainer, path);
+        byte[] withDictionary = writeNodeAndPath(QNameDictionary.create(TestModel.createTestContext()),
+                testContainer, path);
+
+        for(byte[] bytes: new byte[][]{compact, withDictionary}) {
+            NormalizedNodeInputStreamReader reader = new NormalizedNodeInputStreamReader(
+                    new ByteArrayInputStream(bytes));
+            Assert.assertEquals(testContainer, reader.readNormalizedNode());
+            Assert.assertEquals(path, reader.readYangInstanceIdentifier());
+        }
+
+        Assert.assertTrue("Compact stream smaller", compact.length < original.length);
+        Assert.assertTrue("Dictionary stream smaller", withDictionary.length < compact.length);
+    }
+
+    private static byte[] writeNodeAndPath(QNameDictionary dictionary, NormalizedNode<?, ?> node,
+            YangInstanceIdentifier path) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        DataOutput output = new DataOutputStream(byteArrayOutputStream);
+        NormalizedNodeOutputStreamWriter writer = dictionary == null ? new NormalizedNodeOutputStreamWriter(output) :
+            new NormalizedNodeOutputStreamWriter(output, dictionary);
+        writer.writeNormalizedNode(node);
+        writer.writeYangInstanceIdentifier(path);
+        writer.close();
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    @Test(expected=InvalidNormalizedNodeStreamException.class, timeout=10000)
+    public void testCompactStreamWithUnknownDictionary() throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(byteArrayOutputStream);
+        output.writeByte(NormalizedNodeOutputStreamWriter.SIGNATURE_MARKER);
+        output.writeShort(NormalizedNodeOutputStreamWriter.COMPACT_VERSION);
+        output.writeLong(0x1234L);
+
+        NormalizedNodeInputStreamReader reader = new NormalizedNodeInputStreamReader(
+                new ByteArrayInputStream(byteArrayOutputStream.toByteArray()));
+
+        reader.readNormalizedNode();
+    }
+
     @Test
     public void testWithSerializable() {
         NormalizedNode<?, ?> input = TestModel.createTestContainer();
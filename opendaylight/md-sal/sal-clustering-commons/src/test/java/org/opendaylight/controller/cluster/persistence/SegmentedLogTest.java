@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for SegmentedLog.
+ */
+public class SegmentedLogTest {
+    private static final int SEGMENT_SIZE = 128;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void setup() {
+        directory = new File(tempFolder.getRoot(), "test");
+    }
+
+    private static class Collector implements SegmentedLog.RecordConsumer {
+        final List<Long> sequenceNrs = new ArrayList<>();
+        final List<byte[]> data = new ArrayList<>();
+
+        @Override
+        public void accept(long sequenceNr, byte[] bytes) {
+            sequenceNrs.add(sequenceNr);
+            data.add(bytes);
+        }
+    }
+
+    private static Collector replay(SegmentedLog log, long from, long to, long max) throws Exception {
+        Collector collector = new Collector();
+        log.replay(from, to, max, collector);
+        return collector;
+    }
+
+    private static byte[] data(long sequenceNr) {
+        return ("data" + sequenceNr).getBytes();
+    }
+
+    private static void appendRange(SegmentedLog log, long from, long to) throws IOException {
+        for(long i = from; i <= to; i++) {
+            log.append(i, data(i));
+        }
+    }
+
+    private static void verifyRecords(Collector collector, long from, long to) {
+        assertEquals("Record count", to - from + 1, collector.sequenceNrs.size());
+        for(int i = 0; i < collector.sequenceNrs.size(); i++) {
+            assertEquals("Sequence number", Long.valueOf(from + i), collector.sequenceNrs.get(i));
+            assertArrayEquals("Data", data(from + i), collector.data.get(i));
+        }
+    }
+
+    @Test
+    public void testAppendAndReplay() throws Exception {
+        SegmentedLog log = new SegmentedLog(directory, SEGMENT_SIZE);
+        assertEquals("Highest sequence number", 0, log.getHighestSequenceNr());
+
+        appendRange(log, 1, 20);
+        log.flush();
+
+        assertEquals("Highest sequence number", 20, log.getHighestSequenceNr());
+        assertEquals("Segment count > 1", true, log.getSegmentCount() > 1);
+
+        verifyRecords(replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE), 1, 20);
+        verifyRecords(replay(log, 5, 12, Long.MAX_VALUE), 5, 12);
+        verifyRecords(replay(log, 5, 20, 3), 5, 7);
+    }
+
+    @Test
+    public void testRecoveryOnReopen() throws Exception {
+        SegmentedLog log = new SegmentedLog(directory, SEGMENT_SIZE);
+        appendRange(log, 1, 20);
+        log.flush();
+
+        log = new SegmentedLog(directory, SEGMENT_SIZE);
+        assertEquals("Highest sequence number", 20, log.getHighestSequenceNr());
+        verifyRecords(replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE), 1, 20);
+
+        appendRange(log, 21, 25);
+        verifyRecords(replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE), 1, 25);
+    }
+
+    @Test
+    public void testRecoveryWithTornWrite() throws Exception {
+        SegmentedLog log = new SegmentedLog(directory, 4096);
+        appendRange(log, 1, 3);
+        log.flush();
+
+        // Corrupt the data of the last record.
+        File[] files = directory.listFiles();
+        try (RandomAccessFile raf = new RandomAccessFile(files[0], "rw")) {
+            long lastRecord = 2 * (JournalSegment.HEADER_SIZE + data(1).length);
+            raf.seek(lastRecord + JournalSegment.HEADER_SIZE);
+            raf.write('X');
+        }
+
+        log = new SegmentedLog(directory, 4096);
+        assertEquals("Highest sequence number", 2, log.getHighestSequenceNr());
+        verifyRecords(replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE), 1, 2);
+
+        log.append(3, data(3));
+        log = new SegmentedLog(directory, 4096);
+        verifyRecords(replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE), 1, 3);
+    }
+
+    @Test
+    public void testDeleteTo() throws Exception {
+        SegmentedLog log = new SegmentedLog(directory, SEGMENT_SIZE);
+        appendRange(log, 1, 20);
+
+        int segmentCount = log.getSegmentCount();
+
+        log.deleteTo(15);
+
+        assertEquals("Deleted to", 15, log.getDeletedToSequenceNr());
+        assertEquals("Segments removed", true, log.getSegmentCount() < segmentCount);
+        assertEquals("Highest sequence number", 20, log.getHighestSequenceNr());
+        verifyRecords(replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE), 16, 20);
+
+        log = new SegmentedLog(directory, SEGMENT_SIZE);
+        assertEquals("Deleted to", 15, log.getDeletedToSequenceNr());
+        verifyRecords(replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE), 16, 20);
+
+        // Deleting everything retains the highest sequence number.
+        log.deleteTo(Long.MAX_VALUE);
+        assertEquals("Deleted to", 20, log.getDeletedToSequenceNr());
+        assertEquals("Segment count", 1, log.getSegmentCount());
+
+        log = new SegmentedLog(directory, SEGMENT_SIZE);
+        assertEquals("Highest sequence number", 20, log.getHighestSequenceNr());
+        assertEquals("Record count", 0, replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE).sequenceNrs.size());
+    }
+
+    @Test
+    public void testDelete() throws Exception {
+        SegmentedLog log = new SegmentedLog(directory, SEGMENT_SIZE);
+        appendRange(log, 1, 20);
+
+        log.delete(new TreeSet<>(Arrays.asList(3L, 1L, 2L)));
+        assertEquals("Deleted to", 3, log.getDeletedToSequenceNr());
+        verifyRecords(replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE), 4, 20);
+
+        // Only the run following the deleted records is deleted - 8 and 9 are beyond the gap at 6.
+        log.delete(new TreeSet<>(Arrays.asList(2L, 4L, 5L, 8L, 9L)));
+        assertEquals("Deleted to", 5, log.getDeletedToSequenceNr());
+        verifyRecords(replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE), 6, 20);
+
+        log = new SegmentedLog(directory, SEGMENT_SIZE);
+        assertEquals("Deleted to", 5, log.getDeletedToSequenceNr());
+    }
+
+    @Test
+    public void testAppendRecordLargerThanSegment() throws Exception {
+        SegmentedLog log = new SegmentedLog(directory, SEGMENT_SIZE);
+        log.append(1, data(1));
+
+        byte[] large = new byte[SEGMENT_SIZE * 2];
+        large[0] = 1;
+        log.append(2, large);
+        log.append(3, data(3));
+
+        log = new SegmentedLog(directory, SEGMENT_SIZE);
+        Collector collector = replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE);
+        assertEquals("Record count", 3, collector.sequenceNrs.size());
+        assertArrayEquals("Data", large, collector.data.get(1));
+    }
+}
@@ -19,9 +19,11 @@ import javax.annotation.Nonnull;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryShardInfo;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.ShardCreditLimiter.ShardCredits;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
+import org.opendaylight.controller.sal.core.spi.data.SnapshotBackedTransactions;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,12 +57,35 @@ abstract class AbstractTransactionContextFactory<F extends LocalTransactionFacto
                 LOG.debug("Tx {} - Creating local component for shard {} using factory {}",
                         parent.getIdentifier(), shardName, local);
             }
-            return createLocalTransactionContext(local, parent);
+            return createLocalTransactionContext(local, parent,
+                    actorContext.getShardCreditLimiter().forShard(shardName));
         }
 
         return null;
     }
 
+    private TransactionContext maybeCreateFollowerReadTransactionContext(final PrimaryShardInfo primaryShardInfo,
+            final TransactionProxy parent, final String shardName) {
+        final Optional<LocalShardReplica> replica = primaryShardInfo.getLocalReplica();
+        final DatastoreContext context = actorContext.getDatastoreContext();
+        if (parent.getType() != TransactionType.READ_ONLY || !replica.isPresent() || !isFollowerReadAllowed()
+                || !context.isFollowerReadsEnabled()) {
+            return null;
+        }
+
+        if (!replica.get().isReadable(context.getFollowerReadMaxCommitIndexLag(),
+                context.getFollowerReadMaxStalenessInMillis())) {
+            LOG.debug("Tx {} - local replica for shard {} is too stale to read: {}", parent.getIdentifier(),
+                    shardName, replica.get());
+            return null;
+        }
+
+        LOG.debug("Tx {} - Reading from local replica for shard {}", parent.getIdentifier(), shardName);
+
+        return createReadOnlyTransactionContext(SnapshotBackedTransactions.newReadTransaction(
+                parent.getIdentifier(), false, replica.get().getDataTree().takeSnapshot()), parent);
+    }
+
     private void onFindPrimaryShardSuccess(PrimaryShardInfo primaryShardInfo, TransactionProxy parent,
             String shardName, TransactionContextWrapper transactionContextWrapper) {
         if(LOG.isDebugEnabled()) {
@@ -71,6 +96,10 @@ abstract class AbstractTransactionContextFactory<F extends LocalTransactionFacto
         updateShardInfo(shardName, primaryShardInfo);
 
         TransactionContext localContext = maybeCreateLocalTransactionContext(parent, shardName);
+        if(localContext == null) {
+            localContext = maybeCreateFollowerReadTransactionContext(primaryShardInfo, parent, shardName);
+        }
+
         if(localContext != null) {
             transactionContextWrapper.executePriorTransactionOperations(localContext);
         } else {
@@ -90,7 +119,7 @@ abstract class AbstractTransactionContextFactory<F extends LocalTransactionFacto
 
     final TransactionContextWrapper newTransactionContextWrapper(final TransactionProxy parent, final String shardName) {
         final TransactionContextWrapper transactionContextWrapper =
-                new TransactionContextWrapper(parent.getIdentifier(), actorContext);
+                new TransactionContextWrapper(parent.getIdentifier(), actorContext, shardName);
 
         Future<PrimaryShardInfo> findPrimaryFuture = findPrimaryShard(shardName);
         if(findPrimaryFuture.isCompleted()) {
@@ -175,26 +204,37 @@ abstract class AbstractTransactionContextFactory<F extends LocalTransactionFacto
      */
     protected abstract <T> void onTransactionReady(@Nonnull TransactionIdentifier transaction, @Nonnull Collection<Future<T>> cohortFutures);
 
+    /**
+     * Returns whether read-only transactions may read from a local follower replica, if enabled in the
+     * DatastoreContext, rather than from the shard leader.
+     */
+    protected abstract boolean isFollowerReadAllowed();
+
+    private static TransactionContext createReadOnlyTransactionContext(final DOMStoreReadTransaction readOnly,
+            final TransactionProxy parent) {
+        return new LocalTransactionContext(readOnly, parent.getIdentifier()) {
+            @Override
+            protected DOMStoreWriteTransaction getWriteDelegate() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            protected DOMStoreReadTransaction getReadDelegate() {
+                return readOnly;
+            }
+        };
+    }
+
     private static TransactionContext createLocalTransactionContext(final LocalTransactionFactory factory,
-                                                                    final TransactionProxy parent) {
+            final TransactionProxy parent, final ShardCredits shardCredits) {
 
         switch(parent.getType()) {
             case READ_ONLY:
-                final DOMStoreReadTransaction readOnly = factory.newReadOnlyTransaction(parent.getIdentifier());
-                return new LocalTransactionContext(readOnly, parent.getIdentifier()) {
-                    @Override
-                    protected DOMStoreWriteTransaction getWriteDelegate() {
-                        throw new UnsupportedOperationException();
-                    }
-
-                    @Override
-                    protected DOMStoreReadTransaction getReadDelegate() {
-                        return readOnly;
-                    }
-                };
+                return createReadOnlyTransactionContext(factory.newReadOnlyTransaction(parent.getIdentifier()),
+                        parent);
             case READ_WRITE:
                 final DOMStoreReadWriteTransaction readWrite = factory.newReadWriteTransaction(parent.getIdentifier());
-                return new LocalTransactionContext(readWrite, parent.getIdentifier()) {
+                return new LocalTransactionContext(readWrite, parent.getIdentifier(), shardCredits) {
                     @Override
                     protected DOMStoreWriteTransaction getWriteDelegate() {
                         return readWrite;
@@ -207,7 +247,7 @@ abstract class AbstractTransactionContextFactory<F extends LocalTransactionFacto
                 };
             case WRITE_ONLY:
                 final DOMStoreWriteTransaction writeOnly = factory.newWriteOnlyTransaction(parent.getIdentifier());
-                return new LocalTransactionContext(writeOnly, parent.getIdentifier()) {
+                return new LocalTransactionContext(writeOnly, parent.getIdentifier(), shardCredits) {
                     @Override
                     protected DOMStoreWriteTransaction getWriteDelegate() {
                         return writeOnly;
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+
+/**
+ * A {@link DOMDataTreeChangeListener} which has the shard coalesce the changes it is notified of while it is busy,
+ * according to its {@link DataTreeChangeCoalescingPolicy}. It is registered like any other listener.
+ */
+public interface CoalescingDOMDataTreeChangeListener extends DOMDataTreeChangeListener {
+    /**
+     * Returns the policy applied to this listener's changes. It is read once, when the listener is registered.
+     */
+    @Nonnull DataTreeChangeCoalescingPolicy getCoalescingPolicy();
+}
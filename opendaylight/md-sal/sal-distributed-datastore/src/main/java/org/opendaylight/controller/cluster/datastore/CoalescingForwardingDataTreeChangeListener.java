@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import akka.actor.ActorSelection;
+import akka.actor.Cancellable;
+import akka.actor.Scheduler;
+import akka.dispatch.OnComplete;
+import akka.pattern.Patterns;
+import akka.util.Timeout;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
+import org.opendaylight.controller.cluster.datastore.messages.DataTreeChanged;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.DefaultDataTreeCandidate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * A variant of {@link ForwardingDataTreeChangeListener} for a {@link CoalescingDOMDataTreeChangeListener}. Only
+ * one {@link DataTreeChanged} message is outstanding to the client's {@link DataTreeChangeListenerActor} at a
+ * time - the changes published while it is being processed are queued and sent together in the next message,
+ * up to the policy's maximum batch size, once the actor has acknowledged the previous one. A change published
+ * while no message is outstanding is held back for up to the policy's maximum delay to batch it with subsequent
+ * changes.
+ */
+final class CoalescingForwardingDataTreeChangeListener implements DOMDataTreeChangeListener {
+    private static final Logger LOG = LoggerFactory.getLogger(CoalescingForwardingDataTreeChangeListener.class);
+
+    private final ActorSelection actor;
+    private final DataTreeChangeCoalescingPolicy policy;
+    private final Scheduler scheduler;
+    private final ExecutionContext executionContext;
+    private final Timeout ackTimeout;
+    private final ShardStats shardStats;
+
+    private final OnComplete<Object> onAck = new OnComplete<Object>() {
+        @Override
+        public void onComplete(final Throwable failure, final Object reply) {
+            if (failure != null) {
+                LOG.debug("Change notification to {} was not acknowledged", actor, failure);
+            }
+
+            batchDelivered();
+        }
+    };
+
+    private final Runnable scheduledSend = new Runnable() {
+        @Override
+        public void run() {
+            sendWhenDelayed();
+        }
+    };
+
+    @GuardedBy("this")
+    private final Deque<DataTreeCandidate> pending = new ArrayDeque<>();
+
+    // True while a batch is outstanding to the actor.
+    @GuardedBy("this")
+    private boolean inFlight;
+
+    @GuardedBy("this")
+    private Cancellable delayedSend;
+
+    CoalescingForwardingDataTreeChangeListener(final ActorSelection actor, final DataTreeChangeCoalescingPolicy policy,
+            final Scheduler scheduler, final ExecutionContext executionContext, final Timeout ackTimeout,
+            final ShardStats shardStats) {
+        this.actor = Preconditions.checkNotNull(actor, "actor should not be null");
+        this.policy = Preconditions.checkNotNull(policy);
+        this.scheduler = Preconditions.checkNotNull(scheduler);
+        this.executionContext = Preconditions.checkNotNull(executionContext);
+        this.ackTimeout = Preconditions.checkNotNull(ackTimeout);
+        this.shardStats = Preconditions.checkNotNull(shardStats);
+    }
+
+    @Override
+    public synchronized void onDataTreeChanged(final Collection<DataTreeCandidate> changes) {
+        pending.addAll(changes);
+        shardStats.onDataTreeChangesQueued(changes.size());
+
+        if (inFlight) {
+            // The pending changes go out when the outstanding batch is acknowledged.
+            return;
+        }
+
+        if (policy.getMaxDelayInMillis() == 0 || pending.size() >= policy.getMaxBatchSize()) {
+            sendNextBatch();
+        } else if (delayedSend == null) {
+            delayedSend = scheduler.scheduleOnce(new FiniteDuration(policy.getMaxDelayInMillis(),
+                    TimeUnit.MILLISECONDS), scheduledSend, executionContext);
+        }
+    }
+
+    private synchronized void sendWhenDelayed() {
+        delayedSend = null;
+        if (!inFlight) {
+            sendNextBatch();
+        }
+    }
+
+    private synchronized void batchDelivered() {
+        inFlight = false;
+        sendNextBatch();
+    }
+
+    @GuardedBy("this")
+    private void sendNextBatch() {
+        if (delayedSend != null) {
+            delayedSend.cancel();
+            delayedSend = null;
+        }
+
+        while (!pending.isEmpty()) {
+            final int count = Math.min(pending.size(), policy.getMaxBatchSize());
+            final List<DataTreeCandidate> batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                batch.add(pending.poll());
+            }
+
+            final Collection<DataTreeCandidate> changes = policy.isMergeChanges() ? mergeChanges(batch) : batch;
+            shardStats.onDataTreeChangeBatchTaken(count, !changes.isEmpty());
+            if (!changes.isEmpty()) {
+                LOG.debug("Sending {} changes coalesced from {} to {}", changes.size(), count, actor);
+
+                inFlight = true;
+                Patterns.ask(actor, new DataTreeChanged(changes), ackTimeout).onComplete(onAck, executionContext);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Merges each run of successive changes to the same path into the net change between the data before the
+     * first and after the last. Changes which cancel out are dropped.
+     */
+    @VisibleForTesting
+    static Collection<DataTreeCandidate> mergeChanges(final List<DataTreeCandidate> changes) {
+        final List<DataTreeCandidate> merged = new ArrayList<>(changes.size());
+        int runStart = 0;
+        while (runStart < changes.size()) {
+            final YangInstanceIdentifier path = changes.get(runStart).getRootPath();
+            int runEnd = runStart + 1;
+            while (runEnd < changes.size() && path.equals(changes.get(runEnd).getRootPath())) {
+                runEnd++;
+            }
+
+            if (runEnd - runStart == 1) {
+                merged.add(changes.get(runStart));
+            } else {
+                mergeRun(changes.subList(runStart, runEnd), merged);
+            }
+
+            runStart = runEnd;
+        }
+
+        return merged;
+    }
+
+    private static void mergeRun(final List<DataTreeCandidate> run, final List<DataTreeCandidate> merged) {
+        final DataTreeCandidateNode first = run.get(0).getRootNode();
+        final DataTreeCandidateNode last = run.get(run.size() - 1).getRootNode();
+
+        final DataTreeCandidateNode net;
+        try {
+            net = NetDataTreeCandidateNode.create(null, first.getDataBefore(), last.getDataAfter());
+        } catch (UnsupportedOperationException e) {
+            // The changes don't carry their before and after images so they can't be merged.
+            LOG.trace("Cannot merge changes to {}", run.get(0).getRootPath(), e);
+            merged.addAll(run);
+            return;
+        }
+
+        if (net.getModificationType() != ModificationType.UNMODIFIED) {
+            merged.add(new DefaultDataTreeCandidate(run.get(0).getRootPath(), net));
+        }
+    }
+
+    @VisibleForTesting
+    synchronized int getPendingCount() {
+        return pending.size();
+    }
+}
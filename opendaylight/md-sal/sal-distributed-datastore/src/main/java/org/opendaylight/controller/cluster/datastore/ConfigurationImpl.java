@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.DefaultShardStrategy;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.KeyHashShardStrategy;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.ModuleShardStrategy;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategy;
 import org.slf4j.Logger;
@@ -206,7 +207,7 @@ public class ConfigurationImpl implements Configuration {
         for(ConfigObject o : modulesConfigObjectList){
             ConfigObjectWrapper w = new ConfigObjectWrapper(o);
             b.add(new Module(w.stringValue("name"), w.stringValue(
-                "namespace"), w.stringValue("shard-strategy")));
+                "namespace"), w.stringValue("shard-strategy"), w.optionalStringValue("partitioned-list")));
         }
 
         return b.build();
@@ -280,11 +281,15 @@ public class ConfigurationImpl implements Configuration {
         private final String nameSpace;
         private final ShardStrategy shardStrategy;
 
-        Module(final String name, final String nameSpace, final String shardStrategy) {
+        Module(final String name, final String nameSpace, final String shardStrategy,
+                final String partitionedList) {
             this.name = name;
             this.nameSpace = nameSpace;
             if(ModuleShardStrategy.NAME.equals(shardStrategy)){
                 this.shardStrategy = new ModuleShardStrategy(name, ConfigurationImpl.this);
+            } else if(KeyHashShardStrategy.NAME.equals(shardStrategy)){
+                this.shardStrategy = new KeyHashShardStrategy(name, nameSpace, partitionedList,
+                        ConfigurationImpl.this);
             } else {
                 this.shardStrategy = DefaultShardStrategy.getInstance();
             }
@@ -315,5 +320,9 @@ public class ConfigurationImpl implements Configuration {
         public String stringValue(final String name){
             return configObject.get(name).unwrapped().toString();
         }
+
+        public String optionalStringValue(final String name){
+            return configObject.containsKey(name) ? stringValue(name) : null;
+        }
     }
 }
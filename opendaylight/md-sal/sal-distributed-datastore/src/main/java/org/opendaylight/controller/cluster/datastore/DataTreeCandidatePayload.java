@@ -204,6 +204,17 @@ final class DataTreeCandidatePayload extends Payload implements Externalizable {
         return serialized.length;
     }
 
+    void writeTo(final DataOutput out) throws IOException {
+        out.writeInt(serialized.length);
+        out.write(serialized);
+    }
+
+    static DataTreeCandidatePayload readFrom(final DataInput in) throws IOException {
+        final byte[] serialized = new byte[in.readInt()];
+        in.readFully(serialized);
+        return new DataTreeCandidatePayload(serialized);
+    }
+
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
         out.writeByte((byte)serialVersionUID);
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Controls how the shard batches up the changes for a {@link CoalescingDOMDataTreeChangeListener}. The shard only
+ * sends a listener its next batch of changes once the previous one has been delivered, so a listener which can't
+ * keep up gets the changes which accumulated in the meantime in one batch instead of a backlog of messages.
+ */
+public final class DataTreeChangeCoalescingPolicy {
+    private final int maxBatchSize;
+    private final long maxDelayInMillis;
+    private final boolean mergeChanges;
+
+    private DataTreeChangeCoalescingPolicy(int maxBatchSize, long maxDelayInMillis, boolean mergeChanges) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayInMillis = maxDelayInMillis;
+        this.mergeChanges = mergeChanges;
+    }
+
+    /**
+     * Creates a policy.
+     *
+     * @param maxBatchSize the maximum number of changes delivered in one batch
+     * @param maxDelayInMillis how long a change may be held back waiting for more changes to batch with it
+     *        when the listener is idle. 0 delivers it immediately.
+     * @param mergeChanges whether successive changes to the same path within a batch are merged into the net
+     *        change between the data before the first and after the last
+     */
+    public static DataTreeChangeCoalescingPolicy create(int maxBatchSize, long maxDelayInMillis,
+            boolean mergeChanges) {
+        Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+        Preconditions.checkArgument(maxDelayInMillis >= 0, "maxDelayInMillis must not be negative");
+        return new DataTreeChangeCoalescingPolicy(maxBatchSize, maxDelayInMillis, mergeChanges);
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long getMaxDelayInMillis() {
+        return maxDelayInMillis;
+    }
+
+    public boolean isMergeChanges() {
+        return mergeChanges;
+    }
+
+    @Override
+    public String toString() {
+        return "DataTreeChangeCoalescingPolicy [maxBatchSize=" + maxBatchSize + ", maxDelayInMillis=" +
+                maxDelayInMillis + ", mergeChanges=" + mergeChanges + "]";
+    }
+}
@@ -44,20 +44,20 @@ final class DataTreeChangeListenerActor extends AbstractUntypedActor {
         // Do nothing if notifications are not enabled
         if (!notificationsEnabled) {
             LOG.debug("Notifications not enabled for listener {} - dropping change notification", listener);
-            return;
-        }
-
-        LOG.debug("Sending change notification {} to listener {}", message.getChanges(), listener);
+        } else {
+            LOG.debug("Sending change notification {} to listener {}", message.getChanges(), listener);
 
-        try {
-            this.listener.onDataTreeChanged(message.getChanges());
-        } catch (Exception e) {
-            LOG.error("Error notifying listener {}", this.listener, e);
+            try {
+                this.listener.onDataTreeChanged(message.getChanges());
+            } catch (Exception e) {
+                LOG.error("Error notifying listener {}", this.listener, e);
+            }
         }
 
-        // TODO: do we really need this?
-        // It seems the sender is never null but it doesn't hurt to check. If the caller passes in
-        // a null sender (ActorRef.noSender()), akka translates that to the deadLetters actor.
+        // Always acknowledge a notification which asks for it, even if it was dropped - a coalescing
+        // sender waits for the acknowledgement before sending the next batch.
+        // If the caller passes in a null sender (ActorRef.noSender()), akka translates that to the
+        // deadLetters actor.
         if (getSender() != null && !getContext().system().deadLetters().equals(getSender())) {
             getSender().tell(DataTreeChangedReply.getInstance(), getSelf());
         }
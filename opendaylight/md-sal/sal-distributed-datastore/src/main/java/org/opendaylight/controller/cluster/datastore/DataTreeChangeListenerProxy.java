@@ -95,7 +95,8 @@ final class DataTreeChangeListenerProxy<T extends DOMDataTreeChangeListener> ext
     private void doRegistration(final ActorRef shard, final YangInstanceIdentifier path) {
 
         Future<Object> future = actorContext.executeOperationAsync(shard,
-                new RegisterDataTreeChangeListener(path, dataChangeListenerActor),
+                new RegisterDataTreeChangeListener(path, dataChangeListenerActor, coalescingPolicy(),
+                        getInstance() instanceof LocalReplicaDOMDataTreeChangeListener),
                 actorContext.getDatastoreContext().getShardInitializationTimeout());
 
         future.onComplete(new OnComplete<Object>(){
@@ -113,6 +114,12 @@ final class DataTreeChangeListenerProxy<T extends DOMDataTreeChangeListener> ext
         }, actorContext.getClientDispatcher());
     }
 
+    private DataTreeChangeCoalescingPolicy coalescingPolicy() {
+        final T listener = getInstance();
+        return listener instanceof CoalescingDOMDataTreeChangeListener ?
+                ((CoalescingDOMDataTreeChangeListener) listener).getCoalescingPolicy() : null;
+    }
+
     @VisibleForTesting
     ActorSelection getListenerRegistrationActor() {
         return listenerRegistrationActor;
@@ -9,10 +9,12 @@ package org.opendaylight.controller.cluster.datastore;
 
 import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
+import akka.util.Timeout;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.datastore.messages.EnableNotification;
 import org.opendaylight.controller.cluster.datastore.messages.RegisterDataTreeChangeListener;
 import org.opendaylight.controller.cluster.datastore.messages.RegisterDataTreeChangeListenerReply;
@@ -53,7 +55,7 @@ final class DataTreeChangeListenerSupport extends LeaderLocalDelegateFactory<Reg
 
         final ListenerRegistration<DOMDataTreeChangeListener> registration;
         final DataTreeCandidate event;
-        if (!isLeader) {
+        if (!isLeader && !registerTreeChangeListener.isLocalReplica()) {
             LOG.debug("{}: Shard is not the leader - delaying registration", persistenceId());
 
             DelayedDataTreeListenerRegistration delayedReg =
@@ -88,12 +90,27 @@ final class DataTreeChangeListenerSupport extends LeaderLocalDelegateFactory<Reg
         dataChangeListenerPath.tell(new EnableNotification(true), getSelf());
 
         // Now store a reference to the data change listener so it can be notified
-        // at a later point if notifications should be enabled or disabled
-        actors.add(dataChangeListenerPath);
+        // at a later point if notifications should be enabled or disabled. A local
+        // replica listener stays enabled across leadership changes - it is notified
+        // of the changes this replica applies, whether as leader or as follower.
+        if (!message.isLocalReplica()) {
+            actors.add(dataChangeListenerPath);
+        }
 
-        DOMDataTreeChangeListener listener = new ForwardingDataTreeChangeListener(dataChangeListenerPath);
+        final DataTreeChangeCoalescingPolicy coalescingPolicy = message.getCoalescingPolicy();
+        final DOMDataTreeChangeListener listener;
+        if (coalescingPolicy != null) {
+            final Shard shard = getShard();
+            listener = new CoalescingForwardingDataTreeChangeListener(dataChangeListenerPath, coalescingPolicy,
+                    shard.getContext().system().scheduler(), shard.getContext().dispatcher(),
+                    new Timeout(shard.getDatastoreContext().getOperationTimeoutInSeconds(), TimeUnit.SECONDS),
+                    shard.getShardMBean());
+        } else {
+            listener = new ForwardingDataTreeChangeListener(dataChangeListenerPath);
+        }
 
-        LOG.debug("{}: Registering for path {}", persistenceId(), message.getPath());
+        LOG.debug("{}: Registering for path {}, coalescing policy {}, local replica {}", persistenceId(),
+                message.getPath(), coalescingPolicy, message.isLocalReplica());
 
         return getShard().getDataStore().registerTreeChangeListener(message.getPath(), listener);
     }
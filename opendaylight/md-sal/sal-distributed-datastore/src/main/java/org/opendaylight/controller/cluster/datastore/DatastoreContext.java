@@ -44,9 +44,18 @@ public class DatastoreContext {
     public static final int DEFAULT_SHARD_SNAPSHOT_DATA_THRESHOLD_PERCENTAGE = 12;
     public static final int DEFAULT_SHARD_ELECTION_TIMEOUT_FACTOR = 2;
     public static final int DEFAULT_TX_CREATION_INITIAL_RATE_LIMIT = 100;
+    public static final int DEFAULT_TRANSACTION_CREDITS_PER_SHARD = 100;
     public static final String UNKNOWN_DATA_STORE_TYPE = "unknown";
     public static final int DEFAULT_SHARD_BATCHED_MODIFICATION_COUNT = 1000;
     public static final long DEFAULT_SHARD_COMMIT_QUEUE_EXPIRY_TIMEOUT_IN_MS = TimeUnit.MILLISECONDS.convert(2, TimeUnit.MINUTES);
+    public static final int DEFAULT_SHARD_MAX_IN_FLIGHT_APPEND_ENTRIES = 1;
+    public static final int DEFAULT_SHARD_JOURNAL_PERSIST_BATCH_SIZE = 1;
+    public static final long DEFAULT_SHARD_JOURNAL_PERSIST_BATCH_WINDOW_IN_MILLIS = 0;
+    public static final int DEFAULT_SHARD_INCREMENTAL_SNAPSHOT_COMPACTION_COUNT = 0;
+    public static final int DEFAULT_SHARD_COMMIT_PIPELINE_DEPTH = 1;
+    public static final long DEFAULT_FOLLOWER_READ_MAX_STALENESS_IN_MILLIS = 0;
+    public static final long DEFAULT_FOLLOWER_READ_MAX_COMMIT_INDEX_LAG = 0;
+    public static final long DEFAULT_SHARD_LEADER_BALANCING_INTERVAL_IN_SECONDS = 0;
 
     private static Set<String> globalDatastoreTypes = Sets.newConcurrentHashSet();
 
@@ -61,12 +70,18 @@ public class DatastoreContext {
     private boolean persistent = DEFAULT_PERSISTENT;
     private ConfigurationReader configurationReader = DEFAULT_CONFIGURATION_READER;
     private long transactionCreationInitialRateLimit = DEFAULT_TX_CREATION_INITIAL_RATE_LIMIT;
+    private int transactionCreditsPerShard = DEFAULT_TRANSACTION_CREDITS_PER_SHARD;
     private final DefaultConfigParamsImpl raftConfig = new DefaultConfigParamsImpl();
     private String dataStoreType = UNKNOWN_DATA_STORE_TYPE;
     private int shardBatchedModificationCount = DEFAULT_SHARD_BATCHED_MODIFICATION_COUNT;
     private boolean writeOnlyTransactionOptimizationsEnabled = true;
     private long shardCommitQueueExpiryTimeoutInMillis = DEFAULT_SHARD_COMMIT_QUEUE_EXPIRY_TIMEOUT_IN_MS;
     private boolean transactionDebugContextEnabled = false;
+    private int shardIncrementalSnapshotCompactionCount = DEFAULT_SHARD_INCREMENTAL_SNAPSHOT_COMPACTION_COUNT;
+    private int shardCommitPipelineDepth = DEFAULT_SHARD_COMMIT_PIPELINE_DEPTH;
+    private long followerReadMaxStalenessInMillis = DEFAULT_FOLLOWER_READ_MAX_STALENESS_IN_MILLIS;
+    private long followerReadMaxCommitIndexLag = DEFAULT_FOLLOWER_READ_MAX_COMMIT_INDEX_LAG;
+    private long shardLeaderBalancingIntervalInSeconds = DEFAULT_SHARD_LEADER_BALANCING_INTERVAL_IN_SECONDS;
 
     public static Set<String> getGlobalDatastoreTypes() {
         return globalDatastoreTypes;
@@ -79,6 +94,9 @@ public class DatastoreContext {
         setIsolatedLeaderCheckInterval(DEFAULT_ISOLATED_LEADER_CHECK_INTERVAL_IN_MILLIS);
         setSnapshotDataThresholdPercentage(DEFAULT_SHARD_SNAPSHOT_DATA_THRESHOLD_PERCENTAGE);
         setElectionTimeoutFactor(DEFAULT_SHARD_ELECTION_TIMEOUT_FACTOR);
+        setMaxInFlightAppendEntries(DEFAULT_SHARD_MAX_IN_FLIGHT_APPEND_ENTRIES);
+        setJournalPersistBatchSize(DEFAULT_SHARD_JOURNAL_PERSIST_BATCH_SIZE);
+        setJournalPersistBatchWindowInMillis(DEFAULT_SHARD_JOURNAL_PERSIST_BATCH_WINDOW_IN_MILLIS);
     }
 
     private DatastoreContext(DatastoreContext other) {
@@ -93,11 +111,17 @@ public class DatastoreContext {
         this.persistent = other.persistent;
         this.configurationReader = other.configurationReader;
         this.transactionCreationInitialRateLimit = other.transactionCreationInitialRateLimit;
+        this.transactionCreditsPerShard = other.transactionCreditsPerShard;
         this.dataStoreType = other.dataStoreType;
         this.shardBatchedModificationCount = other.shardBatchedModificationCount;
         this.writeOnlyTransactionOptimizationsEnabled = other.writeOnlyTransactionOptimizationsEnabled;
         this.shardCommitQueueExpiryTimeoutInMillis = other.shardCommitQueueExpiryTimeoutInMillis;
         this.transactionDebugContextEnabled = other.transactionDebugContextEnabled;
+        this.shardIncrementalSnapshotCompactionCount = other.shardIncrementalSnapshotCompactionCount;
+        this.shardCommitPipelineDepth = other.shardCommitPipelineDepth;
+        this.followerReadMaxStalenessInMillis = other.followerReadMaxStalenessInMillis;
+        this.followerReadMaxCommitIndexLag = other.followerReadMaxCommitIndexLag;
+        this.shardLeaderBalancingIntervalInSeconds = other.shardLeaderBalancingIntervalInSeconds;
 
         setShardJournalRecoveryLogBatchSize(other.raftConfig.getJournalRecoveryLogBatchSize());
         setSnapshotBatchCount(other.raftConfig.getSnapshotBatchCount());
@@ -105,6 +129,9 @@ public class DatastoreContext {
         setIsolatedLeaderCheckInterval(other.raftConfig.getIsolatedCheckIntervalInMillis());
         setSnapshotDataThresholdPercentage(other.raftConfig.getSnapshotDataThresholdPercentage());
         setElectionTimeoutFactor(other.raftConfig.getElectionTimeoutFactor());
+        setMaxInFlightAppendEntries(other.raftConfig.getMaxInFlightAppendEntries());
+        setJournalPersistBatchSize(other.raftConfig.getJournalPersistBatchSize());
+        setJournalPersistBatchWindowInMillis(other.raftConfig.getJournalPersistBatchWindowInMillis());
     }
 
     public static Builder newBuilder() {
@@ -167,10 +194,18 @@ public class DatastoreContext {
         return dataStoreType;
     }
 
+    /**
+     * Returns the transaction creation rate reported until commit latencies have been measured. Transactions are
+     * no longer rate limited - see {@link #getTransactionCreditsPerShard()}.
+     */
     public long getTransactionCreationInitialRateLimit() {
         return transactionCreationInitialRateLimit;
     }
 
+    public int getTransactionCreditsPerShard() {
+        return transactionCreditsPerShard;
+    }
+
     private void setHeartbeatInterval(long shardHeartbeatIntervalInMillis){
         raftConfig.setHeartBeatInterval(new FiniteDuration(shardHeartbeatIntervalInMillis,
                 TimeUnit.MILLISECONDS));
@@ -198,6 +233,18 @@ public class DatastoreContext {
         raftConfig.setSnapshotBatchCount(shardSnapshotBatchCount);
     }
 
+    private void setMaxInFlightAppendEntries(int shardMaxInFlightAppendEntries) {
+        raftConfig.setMaxInFlightAppendEntries(shardMaxInFlightAppendEntries);
+    }
+
+    private void setJournalPersistBatchSize(int shardJournalPersistBatchSize) {
+        raftConfig.setJournalPersistBatchSize(shardJournalPersistBatchSize);
+    }
+
+    private void setJournalPersistBatchWindowInMillis(long shardJournalPersistBatchWindowInMillis) {
+        raftConfig.setJournalPersistBatchWindowInMillis(shardJournalPersistBatchWindowInMillis);
+    }
+
     public int getShardBatchedModificationCount() {
         return shardBatchedModificationCount;
     }
@@ -214,6 +261,30 @@ public class DatastoreContext {
         return transactionDebugContextEnabled;
     }
 
+    public int getShardIncrementalSnapshotCompactionCount() {
+        return shardIncrementalSnapshotCompactionCount;
+    }
+
+    public int getShardCommitPipelineDepth() {
+        return shardCommitPipelineDepth;
+    }
+
+    public boolean isFollowerReadsEnabled() {
+        return followerReadMaxStalenessInMillis > 0;
+    }
+
+    public long getFollowerReadMaxStalenessInMillis() {
+        return followerReadMaxStalenessInMillis;
+    }
+
+    public long getFollowerReadMaxCommitIndexLag() {
+        return followerReadMaxCommitIndexLag;
+    }
+
+    public long getShardLeaderBalancingIntervalInSeconds() {
+        return shardLeaderBalancingIntervalInSeconds;
+    }
+
     public static class Builder {
         private final DatastoreContext datastoreContext;
         private int maxShardDataChangeExecutorPoolSize =
@@ -338,11 +409,31 @@ public class DatastoreContext {
             return this;
         }
 
+        public Builder shardMaxInFlightAppendEntries(int shardMaxInFlightAppendEntries) {
+            datastoreContext.setMaxInFlightAppendEntries(shardMaxInFlightAppendEntries);
+            return this;
+        }
+
+        public Builder shardJournalPersistBatchSize(int shardJournalPersistBatchSize) {
+            datastoreContext.setJournalPersistBatchSize(shardJournalPersistBatchSize);
+            return this;
+        }
+
+        public Builder shardJournalPersistBatchWindowInMillis(long shardJournalPersistBatchWindowInMillis) {
+            datastoreContext.setJournalPersistBatchWindowInMillis(shardJournalPersistBatchWindowInMillis);
+            return this;
+        }
+
         public Builder transactionCreationInitialRateLimit(long initialRateLimit){
             datastoreContext.transactionCreationInitialRateLimit = initialRateLimit;
             return this;
         }
 
+        public Builder transactionCreditsPerShard(int transactionCreditsPerShard){
+            datastoreContext.transactionCreditsPerShard = transactionCreditsPerShard;
+            return this;
+        }
+
         public Builder dataStoreType(String dataStoreType){
             datastoreContext.dataStoreType = dataStoreType;
             datastoreContext.dataStoreMXBeanType = "Distributed" + WordUtils.capitalize(dataStoreType) + "Datastore";
@@ -359,6 +450,31 @@ public class DatastoreContext {
             return this;
         }
 
+        public Builder shardIncrementalSnapshotCompactionCount(int shardIncrementalSnapshotCompactionCount) {
+            datastoreContext.shardIncrementalSnapshotCompactionCount = shardIncrementalSnapshotCompactionCount;
+            return this;
+        }
+
+        public Builder shardCommitPipelineDepth(int shardCommitPipelineDepth) {
+            datastoreContext.shardCommitPipelineDepth = shardCommitPipelineDepth;
+            return this;
+        }
+
+        public Builder followerReadMaxStalenessInMillis(long followerReadMaxStalenessInMillis) {
+            datastoreContext.followerReadMaxStalenessInMillis = followerReadMaxStalenessInMillis;
+            return this;
+        }
+
+        public Builder followerReadMaxCommitIndexLag(long followerReadMaxCommitIndexLag) {
+            datastoreContext.followerReadMaxCommitIndexLag = followerReadMaxCommitIndexLag;
+            return this;
+        }
+
+        public Builder shardLeaderBalancingIntervalInSeconds(long shardLeaderBalancingIntervalInSeconds) {
+            datastoreContext.shardLeaderBalancingIntervalInSeconds = shardLeaderBalancingIntervalInSeconds;
+            return this;
+        }
+
         public Builder shardCommitQueueExpiryTimeoutInMillis(long value) {
             datastoreContext.shardCommitQueueExpiryTimeoutInMillis = value;
             return this;
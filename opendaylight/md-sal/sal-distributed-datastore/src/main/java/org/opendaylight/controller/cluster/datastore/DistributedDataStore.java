@@ -12,12 +12,18 @@ import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.Collection;
+import java.util.EventListener;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.datastore.identifiers.ShardManagerIdentifier;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.DatastoreConfigurationMXBeanImpl;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.DatastoreInfoMXBeanImpl;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.KeyHashShardStrategy;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategy;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategyFactory;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.cluster.datastore.utils.Dispatchers;
@@ -31,6 +37,7 @@ import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransactio
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionChain;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTreeChangePublisher;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -125,8 +132,23 @@ public class DistributedDataStore implements DOMStore, SchemaContextListener,
 
         LOG.debug("Registering listener: {} for path: {} scope: {}", listener, path, scope);
 
-        String shardName = ShardStrategyFactory.getStrategy(path).findShard(path);
+        final List<String> shardNames = shardNamesFromIdentifier(path);
+        if (shardNames.size() > 1) {
+            final ImmutableList.Builder<ListenerRegistration<?>> registrations = ImmutableList.builder();
+            for (String shardName : shardNames) {
+                registrations.add(registerChangeListener(shardName, path, listener, scope));
+            }
+
+            return new MultiShardListenerRegistration<>(listener, registrations.build());
+        }
 
+        return registerChangeListener(shardNames.get(0), path, listener, scope);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <L extends AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>>>
+            ListenerRegistration<L> registerChangeListener(final String shardName, final YangInstanceIdentifier path,
+                    final L listener, final AsyncDataBroker.DataChangeScope scope) {
         final DataChangeListenerRegistrationProxy listenerRegistrationProxy =
                 new DataChangeListenerRegistrationProxy(shardName, actorContext, listener);
         listenerRegistrationProxy.init(path, scope);
@@ -139,9 +161,23 @@ public class DistributedDataStore implements DOMStore, SchemaContextListener,
         Preconditions.checkNotNull(treeId, "treeId should not be null");
         Preconditions.checkNotNull(listener, "listener should not be null");
 
-        final String shardName = ShardStrategyFactory.getStrategy(treeId).findShard(treeId);
-        LOG.debug("Registering tree listener: {} for tree: {} shard: {}", listener, treeId, shardName);
+        final List<String> shardNames = shardNamesFromIdentifier(treeId);
+        LOG.debug("Registering tree listener: {} for tree: {} shards: {}", listener, treeId, shardNames);
+
+        if (shardNames.size() > 1) {
+            final ImmutableList.Builder<ListenerRegistration<?>> registrations = ImmutableList.builder();
+            for (String shardName : shardNames) {
+                registrations.add(registerTreeChangeListener(shardName, treeId, listener));
+            }
+
+            return new MultiShardListenerRegistration<>(listener, registrations.build());
+        }
+
+        return registerTreeChangeListener(shardNames.get(0), treeId, listener);
+    }
 
+    private <L extends DOMDataTreeChangeListener> ListenerRegistration<L> registerTreeChangeListener(
+            final String shardName, final YangInstanceIdentifier treeId, final L listener) {
         final DataTreeChangeListenerProxy<L> listenerRegistrationProxy =
                 new DataTreeChangeListenerProxy<L>(actorContext, listener);
         listenerRegistrationProxy.init(shardName, treeId);
@@ -149,6 +185,19 @@ public class DistributedDataStore implements DOMStore, SchemaContextListener,
         return listenerRegistrationProxy;
     }
 
+    /**
+     * Returns the names of the shards holding the data at the given path, which is more than one if the path
+     * is at or above a list partitioned across shards.
+     */
+    private static List<String> shardNamesFromIdentifier(final YangInstanceIdentifier path) {
+        final ShardStrategy strategy = ShardStrategyFactory.getStrategy(path);
+        if (strategy instanceof KeyHashShardStrategy && ((KeyHashShardStrategy) strategy).spansShards(path)) {
+            return ((KeyHashShardStrategy) strategy).getShardNames();
+        }
+
+        return ImmutableList.of(strategy.findShard(path));
+    }
+
     @Override
     public DOMStoreTransactionChain createTransactionChain() {
         return txContextFactory.createTransactionChain();
@@ -161,13 +210,11 @@ public class DistributedDataStore implements DOMStore, SchemaContextListener,
 
     @Override
     public DOMStoreWriteTransaction newWriteOnlyTransaction() {
-        actorContext.acquireTxCreationPermit();
         return new TransactionProxy(txContextFactory, TransactionType.WRITE_ONLY);
     }
 
     @Override
     public DOMStoreReadWriteTransaction newReadWriteTransaction() {
-        actorContext.acquireTxCreationPermit();
         return new TransactionProxy(txContextFactory, TransactionType.READ_WRITE);
     }
 
@@ -246,4 +293,25 @@ public class DistributedDataStore implements DOMStore, SchemaContextListener,
     public CountDownLatch getWaitTillReadyCountDownLatch() {
         return waitTillReadyCountDownLatch;
     }
+
+    /**
+     * A listener registered with each of the shards a path spans. The listener is notified separately of the
+     * changes in each shard.
+     */
+    private static final class MultiShardListenerRegistration<L extends EventListener>
+            extends AbstractListenerRegistration<L> {
+        private final Collection<ListenerRegistration<?>> registrations;
+
+        MultiShardListenerRegistration(final L listener, final Collection<ListenerRegistration<?>> registrations) {
+            super(listener);
+            this.registrations = registrations;
+        }
+
+        @Override
+        protected void removeRegistration() {
+            for (ListenerRegistration<?> registration : registrations) {
+                registration.close();
+            }
+        }
+    }
 }
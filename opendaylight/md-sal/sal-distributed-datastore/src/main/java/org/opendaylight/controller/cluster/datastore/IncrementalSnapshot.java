@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.utils.SerializationUtils;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+
+/**
+ * The state of a shard snapshot: a full base image of the data tree plus the candidates committed since
+ * the base image was captured, in commit order. A full snapshot is just the base image, as serialized by
+ * {@link SerializationUtils#serializeNormalizedNode(org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode)},
+ * and is read as such so snapshots taken before incremental snapshots were introduced can still be applied.
+ * <p>
+ * An incremental snapshot persisted locally references its base image, which is kept once in a
+ * {@link SnapshotBaseStore}, and is serialized as
+ *
+ * <pre>
+ *   int    MAGIC_REFERENCED
+ *   long   base id
+ *   int    delta count
+ *   deltas - each as written by {@link DataTreeCandidatePayload#writeTo}
+ * </pre>
+ *
+ * An incremental snapshot installed on another member can't reference the local store so it embeds the base
+ * image instead:
+ *
+ * <pre>
+ *   int    MAGIC
+ *   int    base length
+ *   byte[] base image
+ *   int    delta count
+ *   deltas
+ * </pre>
+ *
+ * The first byte of the magic numbers can't start a full snapshot, which starts with a boolean or, for
+ * legacy snapshots, a protobuf field tag.
+ */
+final class IncrementalSnapshot {
+    private static final int MAGIC = 0xABD50001;
+    private static final int MAGIC_REFERENCED = 0xABD50002;
+    private static final YangInstanceIdentifier DATASTORE_ROOT = YangInstanceIdentifier.builder().build();
+
+    private final byte[] base;
+    private final long baseId;
+    private final List<DataTreeCandidatePayload> deltas;
+
+    /**
+     * Constructs a snapshot embedding the given base image.
+     */
+    IncrementalSnapshot(final byte[] base, final List<DataTreeCandidatePayload> deltas) {
+        this.base = Preconditions.checkNotNull(base);
+        this.baseId = 0;
+        this.deltas = ImmutableList.copyOf(deltas);
+    }
+
+    /**
+     * Constructs a snapshot referencing the base image with the given id in a SnapshotBaseStore.
+     */
+    IncrementalSnapshot(final long baseId, final List<DataTreeCandidatePayload> deltas) {
+        this.base = null;
+        this.baseId = baseId;
+        this.deltas = ImmutableList.copyOf(deltas);
+    }
+
+    static boolean isIncremental(final byte[] snapshotBytes) {
+        int magic = magic(snapshotBytes);
+        return magic == MAGIC || magic == MAGIC_REFERENCED;
+    }
+
+    private static int magic(final byte[] snapshotBytes) {
+        return snapshotBytes.length < 4 ? 0 : ((snapshotBytes[0] & 0xff) << 24) |
+                ((snapshotBytes[1] & 0xff) << 16) | ((snapshotBytes[2] & 0xff) << 8) | (snapshotBytes[3] & 0xff);
+    }
+
+    /**
+     * Reads a snapshot, either full or incremental.
+     */
+    static IncrementalSnapshot fromBytes(final byte[] snapshotBytes) {
+        if(!isIncremental(snapshotBytes)) {
+            return new IncrementalSnapshot(snapshotBytes, ImmutableList.<DataTreeCandidatePayload>of());
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshotBytes))) {
+            if(in.readInt() == MAGIC_REFERENCED) {
+                final long baseId = in.readLong();
+                return new IncrementalSnapshot(baseId, readDeltas(in));
+            }
+
+            final byte[] base = new byte[in.readInt()];
+            in.readFully(base);
+            return new IncrementalSnapshot(base, readDeltas(in));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Error deserializing incremental snapshot", e);
+        }
+    }
+
+    /**
+     * Reads a snapshot, either full or incremental, from a stream and applies it to the given modification as
+     * {@link #applyTo} does, without holding the serialized base image in memory. If the base image is to be
+     * kept, an embedded base image is streamed into the base store.
+     *
+     * @param baseStore the store holding the base image if it is referenced, may be null otherwise
+     * @param storeBase whether to keep the base image in the base store
+     * @return the snapshot referencing its base image in the base store, or null if the base image is not kept
+     */
+    @Nullable
+    static IncrementalSnapshot applyFrom(final InputStream stream, final DataTreeModification modification,
+            final SnapshotBaseStore baseStore, final boolean storeBase) throws IOException {
+        final DataInputStream in = new DataInputStream(stream.markSupported() ? stream :
+            new BufferedInputStream(stream));
+
+        in.mark(4);
+        final byte[] header = new byte[4];
+        final int headerLength = ByteStreams.read(in, header, 0, header.length);
+        in.reset();
+
+        final int magic = headerLength < header.length ? 0 : magic(header);
+        if(magic == MAGIC_REFERENCED) {
+            in.readInt();
+            final IncrementalSnapshot snapshot = new IncrementalSnapshot(in.readLong(), readDeltas(in));
+            snapshot.applyTo(modification, baseStore);
+            return storeBase ? snapshot : null;
+        }
+
+        // A full snapshot is just the base image, up to the end of the stream.
+        final InputStream base;
+        if(magic == MAGIC) {
+            in.readInt();
+            base = ByteStreams.limit(in, in.readInt());
+        } else {
+            base = in;
+        }
+
+        final long baseId;
+        if(storeBase && baseStore != null) {
+            baseId = baseStore.write(base);
+            modification.write(DATASTORE_ROOT, baseStore.readNode(baseId));
+        } else {
+            baseId = 0;
+            modification.write(DATASTORE_ROOT, SerializationUtils.readNormalizedNode(base));
+            ByteStreams.copy(base, ByteStreams.nullOutputStream());
+        }
+
+        final List<DataTreeCandidatePayload> deltas = magic == MAGIC ? readDeltas(in) :
+            ImmutableList.<DataTreeCandidatePayload>of();
+        for(DataTreeCandidatePayload delta: deltas) {
+            DataTreeCandidates.applyToModification(modification, delta.getCandidate());
+        }
+
+        return storeBase && baseStore != null ? new IncrementalSnapshot(baseId, deltas) : null;
+    }
+
+    private static List<DataTreeCandidatePayload> readDeltas(final DataInputStream in) throws IOException {
+        final int count = in.readInt();
+        final ImmutableList.Builder<DataTreeCandidatePayload> deltas = ImmutableList.builder();
+        for(int i = 0; i < count; i++) {
+            deltas.add(DataTreeCandidatePayload.readFrom(in));
+        }
+
+        return deltas.build();
+    }
+
+    byte[] toBytes() {
+        final int baseSize = base != null ? 4 + base.length : 8;
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream(baseSize + 8 + deltasSize());
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            if(base != null) {
+                out.writeInt(MAGIC);
+                out.writeInt(base.length);
+                out.write(base);
+            } else {
+                out.writeInt(MAGIC_REFERENCED);
+                out.writeLong(baseId);
+            }
+
+            out.writeInt(deltas.size());
+            for(DataTreeCandidatePayload delta: deltas) {
+                delta.writeTo(out);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Error serializing incremental snapshot", e);
+        }
+
+        return bos.toByteArray();
+    }
+
+    /**
+     * Writes the base image to the root of the given modification and then applies the deltas on top of it.
+     *
+     * @param baseStore the store holding the base image if it is referenced, may be null otherwise
+     */
+    void applyTo(final DataTreeModification modification, final SnapshotBaseStore baseStore) throws IOException {
+        if(base != null) {
+            modification.write(DATASTORE_ROOT, SerializationUtils.deserializeNormalizedNode(base));
+        } else {
+            if(baseStore == null) {
+                throw new IOException("Snapshot references base image " + Long.toHexString(baseId) +
+                        " but there is no base image store");
+            }
+
+            modification.write(DATASTORE_ROOT, baseStore.readNode(baseId));
+        }
+
+        for(DataTreeCandidatePayload delta: deltas) {
+            DataTreeCandidates.applyToModification(modification, delta.getCandidate());
+        }
+    }
+
+    boolean isBaseReferenced() {
+        return base == null;
+    }
+
+    /**
+     * Returns the embedded base image, or null if the base image is referenced.
+     */
+    byte[] getBase() {
+        return base;
+    }
+
+    long getBaseId() {
+        return baseId;
+    }
+
+    List<DataTreeCandidatePayload> getDeltas() {
+        return deltas;
+    }
+
+    private int deltasSize() {
+        int size = 0;
+        for(DataTreeCandidatePayload delta: deltas) {
+            size += 4 + delta.size();
+        }
+
+        return size;
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+
+/**
+ * A {@link DOMDataTreeChangeListener} which is notified of the changes applied by the shard replica on the local
+ * member, whether that replica is the shard leader or a follower. A regular listener is only notified while the
+ * local replica is the leader.
+ * <p>
+ * On a follower, a change is delivered once it has been replicated to and applied by the local replica, so it
+ * may lag the leader. Changes are delivered in the order they were applied, which is the leader's commit order.
+ * A listener registered on each member is notified of every change on each member.
+ */
+public interface LocalReplicaDOMDataTreeChangeListener extends DOMDataTreeChangeListener {
+}
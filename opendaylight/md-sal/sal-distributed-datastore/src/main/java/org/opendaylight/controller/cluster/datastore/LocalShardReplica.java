@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+
+/**
+ * The data tree of a follower shard replica along with how up to date it is with respect to the leader. It is
+ * updated by the Shard on each AppendEntries accepted from the leader and read by front-end transactions on
+ * other threads to decide whether they can serve reads from the local replica instead of the leader.
+ */
+@ThreadSafe
+public final class LocalShardReplica {
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final DataTree dataTree;
+    private volatile long lastLeaderContactNanos = NEVER;
+    private volatile long commitIndexLag;
+
+    LocalShardReplica(final DataTree dataTree) {
+        this.dataTree = Preconditions.checkNotNull(dataTree);
+    }
+
+    /**
+     * Returns the replica's DataTree. It may only be accessed in a read-only manner.
+     */
+    public DataTree getDataTree() {
+        return dataTree;
+    }
+
+    /**
+     * Records that the leader was in contact with the given commit index lag, ie the number of entries
+     * committed by the leader which have not yet been applied to this replica.
+     */
+    void onLeaderContact(final long commitIndexLag) {
+        this.commitIndexLag = Math.max(commitIndexLag, 0);
+        lastLeaderContactNanos = System.nanoTime();
+    }
+
+    /**
+     * Marks the replica as not readable, eg when the shard is no longer a follower. It stays that way until the
+     * next contact from a leader.
+     */
+    void invalidate() {
+        lastLeaderContactNanos = NEVER;
+    }
+
+    /**
+     * Determines whether reads may be served from this replica.
+     *
+     * @param maxCommitIndexLag the maximum number of committed entries the replica may lag behind the leader
+     * @param maxStalenessInMillis the maximum time since the replica's state was last confirmed by the leader
+     * @return true if the replica is within both bounds
+     */
+    public boolean isReadable(final long maxCommitIndexLag, final long maxStalenessInMillis) {
+        final long lastContact = lastLeaderContactNanos;
+        if (lastContact == NEVER || commitIndexLag > maxCommitIndexLag) {
+            return false;
+        }
+
+        return System.nanoTime() - lastContact <= TimeUnit.MILLISECONDS.toNanos(maxStalenessInMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "LocalShardReplica [commitIndexLag=" + commitIndexLag + ", lastLeaderContactNanos="
+                + lastLeaderContactNanos + "]";
+    }
+}
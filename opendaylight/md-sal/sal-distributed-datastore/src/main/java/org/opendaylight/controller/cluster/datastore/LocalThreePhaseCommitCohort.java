@@ -12,6 +12,7 @@ import akka.dispatch.OnComplete;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.ListenableFuture;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.ReadyLocalTransaction;
@@ -61,8 +62,17 @@ abstract class LocalThreePhaseCommitCohort implements DOMStoreThreePhaseCommitCo
         return actorContext;
     }
 
-    Future<ActorSelection> initiateCoordinatedCommit() {
+    /**
+     * Readies the transaction on the leader for a 3-phase commit coordinated by the front-end.
+     *
+     * @param readyReplyObserver if not null, notified of the leader's ready reply
+     */
+    Future<ActorSelection> initiateCoordinatedCommit(@Nullable final OnComplete<Object> readyReplyObserver) {
         final Future<Object> messageFuture = initiateCommit(false);
+        if (readyReplyObserver != null) {
+            messageFuture.onComplete(readyReplyObserver, actorContext.getClientDispatcher());
+        }
+
         final Future<ActorSelection> ret = TransactionReadyReplyMapper.transform(messageFuture, actorContext,
                 transaction.getIdentifier());
         ret.onComplete(new OnComplete<ActorSelection>() {
@@ -13,7 +13,9 @@ import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.SettableFuture;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.utils.ShardCreditLimiter.ShardCredits;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
@@ -29,10 +31,17 @@ import scala.concurrent.Future;
  */
 abstract class LocalTransactionContext extends AbstractTransactionContext {
     private final DOMStoreTransaction txDelegate;
+    private final ShardCredits shardCredits;
 
     LocalTransactionContext(DOMStoreTransaction txDelegate, TransactionIdentifier identifier) {
+        this(txDelegate, identifier, null);
+    }
+
+    LocalTransactionContext(DOMStoreTransaction txDelegate, TransactionIdentifier identifier,
+            @Nullable ShardCredits shardCredits) {
         super(identifier);
         this.txDelegate = Preconditions.checkNotNull(txDelegate);
+        this.shardCredits = shardCredits;
     }
 
     protected abstract DOMStoreWriteTransaction getWriteDelegate();
@@ -95,7 +104,7 @@ abstract class LocalTransactionContext extends AbstractTransactionContext {
     @Override
     public Future<ActorSelection> readyTransaction() {
         final LocalThreePhaseCommitCohort cohort = ready();
-        return cohort.initiateCoordinatedCommit();
+        return cohort.initiateCoordinatedCommit(shardCredits);
     }
 
     @Override
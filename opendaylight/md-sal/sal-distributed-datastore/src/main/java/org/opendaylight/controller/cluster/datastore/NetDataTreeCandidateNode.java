@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Optional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * A DataTreeCandidateNode describing the net change between two versions of a node, used to merge several
+ * successive changes into one. Unchanged subtrees are shared between versions of the data tree, so the children
+ * are compared by identity and only the changed ones are descended into.
+ */
+final class NetDataTreeCandidateNode implements DataTreeCandidateNode {
+    private final PathArgument identifier;
+    private final Optional<NormalizedNode<?, ?>> dataBefore;
+    private final Optional<NormalizedNode<?, ?>> dataAfter;
+    private final ModificationType type;
+    private final Collection<DataTreeCandidateNode> children;
+
+    private NetDataTreeCandidateNode(final PathArgument identifier, final Optional<NormalizedNode<?, ?>> dataBefore,
+            final Optional<NormalizedNode<?, ?>> dataAfter, final ModificationType type,
+            final Collection<DataTreeCandidateNode> children) {
+        this.identifier = identifier;
+        this.dataBefore = dataBefore;
+        this.dataAfter = dataAfter;
+        this.type = type;
+        this.children = children;
+    }
+
+    /**
+     * Creates the node for the change from dataBefore to dataAfter. The node's modification type is UNMODIFIED if
+     * the two are the same.
+     *
+     * @param identifier the node's identifier, null for a root node
+     */
+    static DataTreeCandidateNode create(@Nullable final PathArgument identifier,
+            final Optional<NormalizedNode<?, ?>> dataBefore, final Optional<NormalizedNode<?, ?>> dataAfter) {
+        final Collection<DataTreeCandidateNode> children;
+        final ModificationType type;
+        if (!dataAfter.isPresent()) {
+            type = dataBefore.isPresent() ? ModificationType.DELETE : ModificationType.UNMODIFIED;
+            children = Collections.emptyList();
+        } else if (!dataBefore.isPresent()) {
+            type = ModificationType.WRITE;
+            children = Collections.emptyList();
+        } else if (dataBefore.get() == dataAfter.get()) {
+            type = ModificationType.UNMODIFIED;
+            children = Collections.emptyList();
+        } else if (dataBefore.get() instanceof NormalizedNodeContainer &&
+                dataAfter.get() instanceof NormalizedNodeContainer) {
+            children = changedChildren(container(dataBefore.get()), container(dataAfter.get()));
+            type = children.isEmpty() ? ModificationType.UNMODIFIED : ModificationType.SUBTREE_MODIFIED;
+        } else {
+            type = dataBefore.get().getValue().equals(dataAfter.get().getValue()) ?
+                    ModificationType.UNMODIFIED : ModificationType.WRITE;
+            children = Collections.emptyList();
+        }
+
+        return new NetDataTreeCandidateNode(identifier, dataBefore, dataAfter, type, children);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> container(
+            final NormalizedNode<?, ?> node) {
+        return (NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) node;
+    }
+
+    private static Collection<DataTreeCandidateNode> changedChildren(
+            final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> before,
+            final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> after) {
+        final List<DataTreeCandidateNode> changed = new ArrayList<>();
+        for (NormalizedNode<?, ?> beforeChild : before.getValue()) {
+            final PathArgument childId = beforeChild.getIdentifier();
+            final Optional<NormalizedNode<?, ?>> afterChild = after.getChild(childId);
+            addIfChanged(changed, create(childId, Optional.<NormalizedNode<?, ?>>of(beforeChild), afterChild));
+        }
+
+        for (NormalizedNode<?, ?> afterChild : after.getValue()) {
+            final PathArgument childId = afterChild.getIdentifier();
+            if (!before.getChild(childId).isPresent()) {
+                changed.add(create(childId, Optional.<NormalizedNode<?, ?>>absent(),
+                        Optional.<NormalizedNode<?, ?>>of(afterChild)));
+            }
+        }
+
+        return changed;
+    }
+
+    private static void addIfChanged(final List<DataTreeCandidateNode> changed, final DataTreeCandidateNode node) {
+        if (node.getModificationType() != ModificationType.UNMODIFIED) {
+            changed.add(node);
+        }
+    }
+
+    @Override
+    public PathArgument getIdentifier() {
+        if (identifier == null) {
+            throw new UnsupportedOperationException("Root node does not have an identifier");
+        }
+        return identifier;
+    }
+
+    @Override
+    public Collection<DataTreeCandidateNode> getChildNodes() {
+        return children;
+    }
+
+    @Override
+    public DataTreeCandidateNode getModifiedChild(final PathArgument childIdentifier) {
+        for (DataTreeCandidateNode child : children) {
+            if (childIdentifier.equals(child.getIdentifier())) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public ModificationType getModificationType() {
+        return type;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataBefore() {
+        return dataBefore;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataAfter() {
+        return dataAfter;
+    }
+
+    @Override
+    public String toString() {
+        return "NetDataTreeCandidateNode [identifier=" + identifier + ", type=" + type + ", children=" +
+                children.size() + "]";
+    }
+}
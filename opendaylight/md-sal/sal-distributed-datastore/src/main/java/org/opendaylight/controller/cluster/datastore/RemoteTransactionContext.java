@@ -13,6 +13,7 @@ import akka.dispatch.OnComplete;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.SettableFuture;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.BatchedModifications;
 import org.opendaylight.controller.cluster.datastore.messages.CloseTransaction;
@@ -21,11 +22,13 @@ import org.opendaylight.controller.cluster.datastore.messages.DataExistsReply;
 import org.opendaylight.controller.cluster.datastore.messages.ReadData;
 import org.opendaylight.controller.cluster.datastore.messages.ReadDataReply;
 import org.opendaylight.controller.cluster.datastore.messages.SerializableMessage;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.cluster.datastore.modification.DeleteModification;
 import org.opendaylight.controller.cluster.datastore.modification.MergeModification;
 import org.opendaylight.controller.cluster.datastore.modification.Modification;
 import org.opendaylight.controller.cluster.datastore.modification.WriteModification;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.ShardCreditLimiter.ShardCredits;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -47,6 +50,7 @@ public class RemoteTransactionContext extends AbstractTransactionContext {
     private final boolean isTxActorLocal;
     private final short remoteTransactionVersion;
     private final OperationLimiter limiter;
+    private final ShardCredits shardCredits;
 
     private BatchedModifications batchedModifications;
     private int totalBatchedModificationsSent;
@@ -54,8 +58,15 @@ public class RemoteTransactionContext extends AbstractTransactionContext {
     protected RemoteTransactionContext(TransactionIdentifier identifier, ActorSelection actor,
             ActorContext actorContext, boolean isTxActorLocal,
             short remoteTransactionVersion, OperationLimiter limiter) {
+        this(identifier, actor, actorContext, isTxActorLocal, remoteTransactionVersion, limiter, null);
+    }
+
+    protected RemoteTransactionContext(TransactionIdentifier identifier, ActorSelection actor,
+            ActorContext actorContext, boolean isTxActorLocal,
+            short remoteTransactionVersion, OperationLimiter limiter, @Nullable ShardCredits shardCredits) {
         super(identifier);
         this.limiter = Preconditions.checkNotNull(limiter);
+        this.shardCredits = shardCredits;
         this.actor = actor;
         this.actorContext = actorContext;
         this.isTxActorLocal = isTxActorLocal;
@@ -64,6 +75,11 @@ public class RemoteTransactionContext extends AbstractTransactionContext {
 
     private Future<Object> completeOperation(Future<Object> operationFuture){
         operationFuture.onComplete(limiter, actorContext.getClientDispatcher());
+        if(shardCredits != null) {
+            // Picks up the load advertised by the shard in its replies.
+            operationFuture.onComplete(shardCredits, actorContext.getClientDispatcher());
+        }
+
         return operationFuture;
     }
 
@@ -237,11 +253,19 @@ public class RemoteTransactionContext extends AbstractTransactionContext {
             }
         };
 
-        Future<Object> readFuture = executeOperationAsync(new ReadData(path));
+        Future<Object> readFuture = executeOperationAsync(new ReadData(path, readDictionaryFingerprint()));
 
         readFuture.onComplete(onComplete, actorContext.getClientDispatcher());
     }
 
+    private long readDictionaryFingerprint() {
+        // Advertises the dictionary of our schema so the shard may encode the data with it. Shards before
+        // BERYLLIUM only understand the protobuf ReadData, which has no room for it.
+        QNameDictionary dictionary = actorContext.getQNameDictionary();
+        return dictionary != null && remoteTransactionVersion >= DataStoreVersions.BERYLLIUM_VERSION ?
+                dictionary.getFingerprint() : 0;
+    }
+
     @Override
     public void dataExists(final YangInstanceIdentifier path, final SettableFuture<Boolean> returnFuture) {
 
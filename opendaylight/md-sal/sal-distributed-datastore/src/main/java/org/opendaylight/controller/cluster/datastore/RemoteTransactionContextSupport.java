@@ -193,7 +193,8 @@ final class RemoteTransactionContextSupport {
                 getActorContext(), isTxActorLocal, remoteTransactionVersion, transactionContextWrapper.getLimiter());
         } else {
             ret = new RemoteTransactionContext(transactionContextWrapper.getIdentifier(), transactionActor, getActorContext(),
-                isTxActorLocal, remoteTransactionVersion, transactionContextWrapper.getLimiter());
+                isTxActorLocal, remoteTransactionVersion, transactionContextWrapper.getLimiter(),
+                transactionContextWrapper.getShardCredits());
         }
 
         if(parent.getType() == TransactionType.READ_ONLY) {
@@ -14,13 +14,18 @@ import akka.actor.Cancellable;
 import akka.actor.Props;
 import akka.japi.Creator;
 import akka.persistence.RecoveryFailure;
+import akka.persistence.SaveSnapshotFailure;
+import akka.persistence.SaveSnapshotSuccess;
 import akka.serialization.Serialization;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.net.UrlEscapers;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.typesafe.config.Config;
+import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -62,7 +67,10 @@ import org.opendaylight.controller.cluster.notifications.RoleChangeNotifier;
 import org.opendaylight.controller.cluster.raft.RaftActor;
 import org.opendaylight.controller.cluster.raft.RaftActorRecoveryCohort;
 import org.opendaylight.controller.cluster.raft.RaftActorSnapshotCohort;
+import org.opendaylight.controller.cluster.raft.RaftState;
+import org.opendaylight.controller.cluster.raft.base.messages.CaptureSnapshotReply;
 import org.opendaylight.controller.cluster.raft.base.messages.FollowerInitialSyncUpStatus;
+import org.opendaylight.controller.cluster.raft.messages.AppendEntries;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntriesReply;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.CompositeModificationByteStringPayload;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.CompositeModificationPayload;
@@ -90,9 +98,13 @@ public class Shard extends RaftActor {
     @VisibleForTesting
     static final String DEFAULT_NAME = "default";
 
+    private static final String SNAPSHOT_STORE_DIR_PATH = "akka.persistence.snapshot-store.local.dir";
+
     // The state of this Shard
     private final ShardDataTree store;
 
+    private final LocalShardReplica localReplica;
+
     /// The name of this shard
     private final String name;
 
@@ -114,6 +126,8 @@ public class Shard extends RaftActor {
 
     private final ShardSnapshotCohort snapshotCohort;
 
+    private final SnapshotBaseStore snapshotBaseStore;
+
     private final DataTreeChangeListenerSupport treeChangeSupport = new DataTreeChangeListenerSupport(this);
     private final DataChangeListenerSupport changeSupport = new DataChangeListenerSupport(this);
 
@@ -130,6 +144,7 @@ public class Shard extends RaftActor {
         LOG.info("Shard created : {}, persistent : {}", name, datastoreContext.isPersistent());
 
         store = new ShardDataTree(schemaContext);
+        localReplica = new LocalShardReplica(store.getDataTree());
 
         shardMBean = ShardMBeanFactory.getShardStatsMBean(name.toString(),
                 datastoreContext.getDataStoreMXBeanType());
@@ -141,7 +156,8 @@ public class Shard extends RaftActor {
 
         commitCoordinator = new ShardCommitCoordinator(store,
                 datastoreContext.getShardCommitQueueExpiryTimeoutInMillis(),
-                datastoreContext.getShardTransactionCommitQueueCapacity(), self(), LOG, this.name);
+                datastoreContext.getShardTransactionCommitQueueCapacity(),
+                datastoreContext.getShardCommitPipelineDepth(), self(), LOG, this.name);
 
         setTransactionCommitTimeout();
 
@@ -155,7 +171,11 @@ public class Shard extends RaftActor {
                 new Dispatchers(context().system().dispatchers()).getDispatcherPath(
                         Dispatchers.DispatcherType.Transaction), self(), getContext(), shardMBean);
 
-        snapshotCohort = new ShardSnapshotCohort(transactionActorFactory, store, LOG, this.name);
+        snapshotBaseStore = new SnapshotBaseStore(snapshotBaseDirectory());
+
+        snapshotCohort = new ShardSnapshotCohort(transactionActorFactory, store, LOG, this.name,
+                datastoreContext.getShardIncrementalSnapshotCompactionCount(), snapshotBaseStore,
+                getRaftActorContext().getSnapshotManager());
 
 
     }
@@ -266,14 +286,32 @@ public class Shard extends RaftActor {
                 context().parent().tell(message, self());
             } else if(GET_SHARD_MBEAN_MESSAGE.equals(message)){
                 sender().tell(getShardMBean(), self());
+            } else if(message instanceof AppendEntries) {
+                super.onReceiveCommand(message);
+                onAppendEntries((AppendEntries) message);
+            } else if(message instanceof CaptureSnapshotReply) {
+                snapshotCohort.onSnapshotCaptured(((CaptureSnapshotReply) message).getSnapshot());
+                super.onReceiveCommand(message);
+            } else if(message instanceof SaveSnapshotSuccess) {
+                super.onReceiveCommand(message);
+                snapshotCohort.onSnapshotSaved();
+            } else if(message instanceof SaveSnapshotFailure) {
+                super.onReceiveCommand(message);
+                snapshotCohort.onSnapshotSaveFailed();
             } else {
                 super.onReceiveCommand(message);
             }
         } finally {
+            updateCommitQueueStats();
             context.done();
         }
     }
 
+    private void updateCommitQueueStats() {
+        shardMBean.setCommitQueueState(commitCoordinator.getQueueSize(),
+                commitCoordinator.getPipelinedTransactionCount());
+    }
+
     @Override
     protected Optional<ActorRef> getRoleChangeNotifier() {
         return roleChangeNotifier;
@@ -283,13 +321,17 @@ public class Shard extends RaftActor {
     protected LeaderStateChanged newLeaderStateChanged(String memberId, String leaderId, short leaderPayloadVersion) {
         return new ShardLeaderStateChanged(memberId, leaderId,
                 isLeader() ? Optional.<DataTree>of(store.getDataTree()) : Optional.<DataTree>absent(),
-                leaderPayloadVersion);
+                leaderPayloadVersion, isLeader() ? null : localReplica);
     }
 
     private void onDatastoreContext(DatastoreContext context) {
         datastoreContext = context;
 
         commitCoordinator.setQueueCapacity(datastoreContext.getShardTransactionCommitQueueCapacity());
+        commitCoordinator.setPipelineDepth(datastoreContext.getShardCommitPipelineDepth());
+
+        snapshotCohort.setIncrementalSnapshotCompactionCount(
+                datastoreContext.getShardIncrementalSnapshotCompactionCount());
 
         setTransactionCommitTimeout();
 
@@ -302,6 +344,14 @@ public class Shard extends RaftActor {
         updateConfigParams(datastoreContext.getShardRaftConfig());
     }
 
+    private void onAppendEntries(AppendEntries appendEntries) {
+        // Only AppendEntries accepted from the current leader confirm the state of the local replica for
+        // follower reads.
+        if(getRaftState() == RaftState.Follower && appendEntries.getTerm() == getCurrentTerm()) {
+            localReplica.onLeaderContact(appendEntries.getLeaderCommit() - getLastApplied());
+        }
+    }
+
     private void handleTransactionCommitTimeoutCheck() {
         CohortEntry cohortEntry = commitCoordinator.getCurrentCohortEntry();
         if(cohortEntry != null) {
@@ -313,9 +363,30 @@ public class Shard extends RaftActor {
             }
         }
 
+        cohortEntry = commitCoordinator.getOldestPipelinedCohortEntry();
+        if(cohortEntry != null && cohortEntry.isExpired(transactionCommitTimeout)) {
+            LOG.warn("{}: Pipelined transaction {} has timed out after {} ms - aborting the commit pipeline",
+                    persistenceId(), cohortEntry.getTransactionID(), transactionCommitTimeout);
+
+            abortCommitPipeline();
+        }
+
         commitCoordinator.cleanupExpiredCohortEntries();
     }
 
+    private void abortCommitPipeline() {
+        // Clear the pipeline first so the next transaction isn't processed against the speculative tip
+        // when the current transaction is aborted.
+        commitCoordinator.abortPipelinedTransactions();
+
+        CohortEntry current = commitCoordinator.getCurrentCohortEntry();
+        if(current != null) {
+            doAbortTransaction(current.getTransactionID(), null);
+        } else {
+            commitCoordinator.cleanupExpiredCohortEntries();
+        }
+    }
+
     private static boolean isEmptyCommit(final DataTreeCandidate candidate) {
         return ModificationType.UNMODIFIED.equals(candidate.getRootNode().getModificationType());
     }
@@ -327,6 +398,11 @@ public class Shard extends RaftActor {
         // or if cohortEntry has no modifications
         // we can apply modification to the state immediately
         if ((!hasFollowers() && !persistence().isRecoveryApplicable()) || isEmptyCommit(candidate)) {
+            if(!isEmptyCommit(candidate)) {
+                // There's no payload to track for incremental snapshots.
+                snapshotCohort.onUntrackedModification();
+            }
+
             applyModificationToState(cohortEntry.getReplySender(), cohortEntry.getTransactionID(), candidate);
         } else {
             Shard.this.persistData(cohortEntry.getReplySender(), cohortEntry.getTransactionID(),
@@ -360,6 +436,11 @@ public class Shard extends RaftActor {
             LOG.error("{}, An exception occurred while committing transaction {}", persistenceId(),
                     transactionID, e);
             shardMBean.incrementFailedTransactionsCount();
+
+            // Any pipelined transactions were prepared against this transaction's candidate.
+            if(commitCoordinator.getOldestPipelinedCohortEntry() != null) {
+                abortCommitPipeline();
+            }
         } finally {
             commitCoordinator.currentTransactionComplete(transactionID, true);
         }
@@ -369,10 +450,10 @@ public class Shard extends RaftActor {
         // With persistence enabled, this method is called via applyState by the leader strategy
         // after the commit has been replicated to a majority of the followers.
 
-        CohortEntry cohortEntry = commitCoordinator.getCohortEntryIfCurrent(transactionID);
+        CohortEntry cohortEntry = commitCoordinator.getCohortEntryIfCommitting(transactionID);
         if (cohortEntry == null) {
-            // The transaction is no longer the current commit. This can happen if the transaction
-            // was aborted prior, most likely due to timeout in the front-end. We need to finish
+            // The transaction is no longer the current or a pipelined commit. This can happen if the
+            // transaction was aborted prior, most likely due to timeout in the front-end. We need to finish
             // committing the transaction though since it was successfully persisted and replicated
             // however we can't use the original cohort b/c it was already preCommitted and may
             // conflict with the current commit or may have been aborted so we commit with a new
@@ -567,6 +648,7 @@ public class Shard extends RaftActor {
     private void commitWithNewTransaction(final Modification modification) {
         ReadWriteShardDataTreeTransaction tx = store.newReadWriteTransaction(modification.toString(), null);
         modification.apply(tx.getSnapshot());
+        snapshotCohort.onUntrackedModification();
         try {
             snapshotCohort.syncCommitTransaction(tx);
             shardMBean.incrementCommittedTransactionCount();
@@ -586,6 +668,14 @@ public class Shard extends RaftActor {
         store.updateSchemaContext(schemaContext);
     }
 
+    /**
+     * Returns the number of journal entries which have been appended but not yet committed, ie which are awaiting
+     * replication consensus.
+     */
+    long getReplicationLag() {
+        return Math.max(0, getRaftActorContext().getReplicatedLog().lastIndex() - getCommitIndex());
+    }
+
     private boolean isMetricsCaptureEnabled() {
         CommonConfig config = new CommonConfig(getContext().system().settings().config());
         return config.isMetricCaptureEnabled();
@@ -600,7 +690,19 @@ public class Shard extends RaftActor {
     @Override
     @Nonnull
     protected RaftActorRecoveryCohort getRaftActorRecoveryCohort() {
-        return new ShardRecoveryCoordinator(store, store.getSchemaContext(), persistenceId(), LOG);
+        ShardRecoveryCoordinator coordinator = new ShardRecoveryCoordinator(store, store.getSchemaContext(),
+                persistenceId(), LOG);
+        coordinator.setSnapshotBaseStore(snapshotBaseStore);
+        return coordinator;
+    }
+
+    private File snapshotBaseDirectory() {
+        // The base images of incremental snapshots are kept alongside the local snapshot store.
+        Config config = getContext().system().settings().config();
+        String snapshotDir = config.hasPath(SNAPSHOT_STORE_DIR_PATH) ? config.getString(SNAPSHOT_STORE_DIR_PATH) :
+            "snapshots";
+        return new File(new File(snapshotDir, "incremental-bases"),
+                UrlEscapers.urlPathSegmentEscaper().escape(name));
     }
 
     @Override
@@ -626,11 +728,14 @@ public class Shard extends RaftActor {
                 // No clientActor indicates a replica coming from the leader
                 try {
                     store.applyForeignCandidate(identifier, ((DataTreeCandidatePayload)data).getCandidate());
+                    snapshotCohort.onPayloadApplied((DataTreeCandidatePayload)data);
                 } catch (DataValidationFailedException | IOException e) {
                     LOG.error("{}: Error applying replica {}", persistenceId(), identifier, e);
+                    snapshotCohort.onUntrackedModification();
                 }
             } else {
                 // Replication consensus reached, proceed to commit
+                snapshotCohort.onPayloadApplied((DataTreeCandidatePayload)data);
                 finishCommit(clientActor, identifier);
             }
         } else if (data instanceof ModificationPayload) {
@@ -675,6 +780,10 @@ public class Shard extends RaftActor {
         changeSupport.onLeadershipChange(isLeader);
         treeChangeSupport.onLeadershipChange(isLeader);
 
+        if(getRaftState() != RaftState.Follower) {
+            localReplica.invalidate();
+        }
+
         // If this actor is no longer the leader close all the transaction chains
         if (!isLeader) {
             if(LOG.isDebugEnabled()) {
@@ -684,6 +793,15 @@ public class Shard extends RaftActor {
             }
 
             store.closeAllTransactionChains();
+
+            // The pipelined transactions can no longer reach consensus through this shard - if they were
+            // replicated, the new leader commits them and they're applied here as foreign candidates.
+            if(commitCoordinator.getOldestPipelinedCohortEntry() != null) {
+                LOG.debug("{}: onStateChanged: Aborting the commit pipeline because shard {} is no longer the leader",
+                        persistenceId(), getId());
+
+                abortCommitPipeline();
+            }
         }
     }
 
@@ -731,6 +849,10 @@ public class Shard extends RaftActor {
         return store;
     }
 
+    DatastoreContext getDatastoreContext() {
+        return datastoreContext;
+    }
+
     @VisibleForTesting
     ShardStats getShardMBean() {
         return shardMBean;
@@ -33,7 +33,10 @@ import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFaile
 import org.slf4j.Logger;
 
 /**
- * Coordinates commits for a shard ensuring only one concurrent 3-phase commit.
+ * Coordinates commits for a shard ensuring only one concurrent 3-phase commit. If the pipeline depth is
+ * greater than 1, a transaction which has been preCommitted and is awaiting replication consensus is moved
+ * into the commit pipeline, allowing the next transaction to proceed with canCommit and preCommit against
+ * the candidate of the last pipelined transaction.
  *
  * @author Thomas Pantelis
  */
@@ -56,6 +59,11 @@ class ShardCommitCoordinator {
 
     private int queueCapacity;
 
+    // Transactions which have been preCommitted and are awaiting replication consensus, in commit order.
+    private final Queue<CohortEntry> pipelinedCohortEntries = new LinkedList<>();
+
+    private int pipelineDepth;
+
     private final Logger log;
 
     private final String name;
@@ -65,12 +73,13 @@ class ShardCommitCoordinator {
     // This is a hook for unit tests to replace or decorate the DOMStoreThreePhaseCommitCohorts.
     private CohortDecorator cohortDecorator;
 
-    private ReadyTransactionReply readyTransactionReply;
+    private String shardActorPath;
 
-    ShardCommitCoordinator(ShardDataTree dataTree,
-            long cacheExpiryTimeoutInMillis, int queueCapacity, ActorRef shardActor, Logger log, String name) {
+    ShardCommitCoordinator(ShardDataTree dataTree, long cacheExpiryTimeoutInMillis, int queueCapacity,
+            int pipelineDepth, ActorRef shardActor, Logger log, String name) {
 
         this.queueCapacity = queueCapacity;
+        this.pipelineDepth = pipelineDepth;
         this.log = log;
         this.name = name;
         this.dataTree = Preconditions.checkNotNull(dataTree);
@@ -81,12 +90,39 @@ class ShardCommitCoordinator {
         this.queueCapacity = queueCapacity;
     }
 
+    void setPipelineDepth(int pipelineDepth) {
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    /**
+     * Returns the number of readied transactions waiting in the queue to be processed.
+     */
+    int getQueueSize() {
+        return queuedCohortEntries.size();
+    }
+
+    /**
+     * Returns the number of transactions in the commit pipeline, ie preCommitted and awaiting replication
+     * consensus.
+     */
+    int getPipelinedTransactionCount() {
+        return pipelinedCohortEntries.size();
+    }
+
+    /**
+     * Returns the number of transactions which have been readied but not yet committed, which is advertised to
+     * the front-end in ready replies so it can throttle the transactions it sends to this shard.
+     */
+    int getCommitQueueSize() {
+        return queuedCohortEntries.size() + pipelinedCohortEntries.size() + (currentCohortEntry != null ? 1 : 0);
+    }
+
     private ReadyTransactionReply readyTransactionReply(Shard shard) {
-        if(readyTransactionReply == null) {
-            readyTransactionReply = new ReadyTransactionReply(Serialization.serializedActorPath(shard.self()));
+        if(shardActorPath == null) {
+            shardActorPath = Serialization.serializedActorPath(shard.self());
         }
 
-        return readyTransactionReply;
+        return new ReadyTransactionReply(shardActorPath, getCommitQueueSize(), shard.getReplicationLag());
     }
 
     private boolean queueCohortEntry(CohortEntry cohortEntry, ActorRef sender, Shard shard) {
@@ -209,7 +245,8 @@ class ShardCommitCoordinator {
                 sender.tell(readyTransactionReply(shard), shard.self());
             }
         } else {
-            sender.tell(new BatchedModificationsReply(batched.getModifications().size()), shard.self());
+            sender.tell(new BatchedModificationsReply(batched.getModifications().size(), getCommitQueueSize(),
+                    shard.getReplicationLag()), shard.self());
         }
     }
 
@@ -260,6 +297,15 @@ class ShardCommitCoordinator {
             return;
         }
 
+        if(isPipelineFull()) {
+            // The entry will get processed when the oldest pipelined entry completes.
+            if(log.isDebugEnabled()) {
+                log.debug("{}: Commit pipeline is full - skipping canCommit for {} for now", name, transactionID);
+            }
+
+            return;
+        }
+
         // No Tx commit currently in progress - check if this entry is the next one in the queue, If so make
         // it the current entry and proceed with canCommit.
         // Purposely checking reference equality here.
@@ -348,7 +394,8 @@ class ShardCommitCoordinator {
         // We perform the preCommit phase here atomically with the commit phase. This is an
         // optimization to eliminate the overhead of an extra preCommit message. We lose front-end
         // coordination of preCommit across shards in case of failure but preCommit should not
-        // normally fail since we ensure only one concurrent 3-phase commit.
+        // normally fail since we ensure only one concurrent 3-phase commit, validated against the
+        // candidate of the last pipelined transaction, if any.
 
         try {
             // We block on the future here so we don't have to worry about possibly accessing our
@@ -369,9 +416,30 @@ class ShardCommitCoordinator {
             currentTransactionComplete(cohortEntry.getTransactionID(), true);
         }
 
+        // If the commit was applied immediately it is no longer the current entry.
+        if(success && pipelineDepth > 1 && currentCohortEntry == cohortEntry) {
+            pipelineCurrentCohortEntry();
+        }
+
         return success;
     }
 
+    private void pipelineCurrentCohortEntry() {
+        // The current entry is awaiting replication consensus - subsequent transactions are validated and
+        // prepared against its candidate so they can proceed in the meantime.
+        log.debug("{}: Pipelining transaction {}", name, currentCohortEntry.getTransactionID());
+
+        pipelinedCohortEntries.offer(currentCohortEntry);
+        dataTree.setTip(currentCohortEntry.getCohort().getCandidate());
+        currentCohortEntry = null;
+
+        maybeProcessNextCohortEntry();
+    }
+
+    private boolean isPipelineFull() {
+        return pipelinedCohortEntries.size() >= pipelineDepth;
+    }
+
     /**
      * This method handles the preCommit and commit phases for a transaction.
      *
@@ -415,10 +483,60 @@ class ShardCommitCoordinator {
         return null;
     }
 
+    /**
+     * Returns the cohort entry for the given transaction if it is the current entry or is in the commit
+     * pipeline, ie it's awaiting replication consensus.
+     *
+     * @param transactionID the ID of the transaction
+     * @return the CohortEntry or null if the transaction is neither current nor pipelined.
+     */
+    public CohortEntry getCohortEntryIfCommitting(String transactionID) {
+        if(isCurrentTransaction(transactionID)) {
+            return currentCohortEntry;
+        }
+
+        for(CohortEntry pipelined: pipelinedCohortEntries) {
+            if(pipelined.getTransactionID().equals(transactionID)) {
+                return pipelined;
+            }
+        }
+
+        return null;
+    }
+
     public CohortEntry getCurrentCohortEntry() {
         return currentCohortEntry;
     }
 
+    /**
+     * Returns the oldest cohort entry in the commit pipeline, or null if the pipeline is empty.
+     */
+    public CohortEntry getOldestPipelinedCohortEntry() {
+        return pipelinedCohortEntries.peek();
+    }
+
+    /**
+     * Removes all entries from the commit pipeline and resets the data tree tip, eg when the oldest
+     * pipelined transaction has timed out or failed to commit. The entries are left in the cache so that, if
+     * replication consensus is reached later, the transactions are still committed with a new transaction.
+     * The current transaction, if any, may have been validated against a pipelined candidate so the caller
+     * should abort it as well.
+     */
+    public void abortPipelinedTransactions() {
+        if(pipelinedCohortEntries.isEmpty()) {
+            return;
+        }
+
+        log.debug("{}: Aborting {} pipelined transactions", name, pipelinedCohortEntries.size());
+
+        for(CohortEntry pipelined: pipelinedCohortEntries) {
+            pipelined.getCohort().abort();
+        }
+
+        pipelinedCohortEntries.clear();
+        dataTree.resetTip();
+    }
+
     public CohortEntry getAndRemoveCohortEntry(String transactionID) {
         return cohortCache.remove(transactionID);
     }
@@ -430,8 +548,8 @@ class ShardCommitCoordinator {
 
     /**
      * This method is called when a transaction is complete, successful or not. If the given
-     * given transaction ID matches the current in-progress transaction, the next cohort entry,
-     * if any, is dequeued and processed.
+     * given transaction ID matches the current in-progress transaction or a pipelined transaction,
+     * the next cohort entry, if any, is dequeued and processed.
      *
      * @param transactionID the ID of the completed transaction
      * @param removeCohortEntry if true the CohortEntry for the transaction is also removed from
@@ -448,7 +566,23 @@ class ShardCommitCoordinator {
             log.debug("{}: currentTransactionComplete: {}", name, transactionID);
 
             maybeProcessNextCohortEntry();
+        } else if(removePipelinedCohortEntry(transactionID)) {
+            log.debug("{}: pipelined transaction complete: {}", name, transactionID);
+
+            maybeProcessNextCohortEntry();
+        }
+    }
+
+    private boolean removePipelinedCohortEntry(String transactionID) {
+        Iterator<CohortEntry> iter = pipelinedCohortEntries.iterator();
+        while(iter.hasNext()) {
+            if(iter.next().getTransactionID().equals(transactionID)) {
+                iter.remove();
+                return true;
+            }
         }
+
+        return false;
     }
 
     private void maybeProcessNextCohortEntry() {
@@ -458,7 +592,7 @@ class ShardCommitCoordinator {
         while(iter.hasNext()) {
             CohortEntry next = iter.next();
             if(next.isReadyToCommit()) {
-                if(currentCohortEntry == null) {
+                if(currentCohortEntry == null && !isPipelineFull()) {
                     if(log.isDebugEnabled()) {
                         log.debug("{}: Next entry to canCommit {}", name, next);
                     }
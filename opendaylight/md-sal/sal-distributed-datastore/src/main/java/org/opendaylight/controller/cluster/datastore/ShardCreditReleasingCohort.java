@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import scala.concurrent.Future;
+
+/**
+ * An AbstractThreePhaseCommitCohort which returns the shard credits held by a transaction readied for several
+ * shards once its commit or abort completes, successfully or not. The front-end always finishes the three phases
+ * with one of the two, including when readying or canCommit fails.
+ */
+class ShardCreditReleasingCohort<T> extends AbstractThreePhaseCommitCohort<T> {
+    private final AbstractThreePhaseCommitCohort<T> delegate;
+    private final List<TransactionContextWrapper> contextWrappers;
+
+    ShardCreditReleasingCohort(AbstractThreePhaseCommitCohort<T> delegate,
+            Collection<Entry<String, TransactionContextWrapper>> contextWrapperEntries) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.contextWrappers = new ArrayList<>(contextWrapperEntries.size());
+        for (Entry<String, TransactionContextWrapper> e : contextWrapperEntries) {
+            contextWrappers.add(e.getValue());
+        }
+    }
+
+    private <V> ListenableFuture<V> releaseOnComplete(ListenableFuture<V> future) {
+        future.addListener(new Runnable() {
+            @Override
+            public void run() {
+                for (TransactionContextWrapper contextWrapper : contextWrappers) {
+                    contextWrapper.releaseShardCredit();
+                }
+            }
+        }, MoreExecutors.directExecutor());
+
+        return future;
+    }
+
+    @Override
+    public ListenableFuture<Boolean> canCommit() {
+        return delegate.canCommit();
+    }
+
+    @Override
+    public ListenableFuture<Void> preCommit() {
+        return delegate.preCommit();
+    }
+
+    @Override
+    public ListenableFuture<Void> commit() {
+        return releaseOnComplete(delegate.commit());
+    }
+
+    @Override
+    public ListenableFuture<Void> abort() {
+        return releaseOnComplete(delegate.abort());
+    }
+
+    @Override
+    List<Future<T>> getCohortFutures() {
+        return delegate.getCohortFutures();
+    }
+}
@@ -25,8 +25,10 @@ import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeTip;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
 import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
@@ -49,10 +51,12 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     private final ShardDataTreeChangePublisher treeChangePublisher = new ShardDataTreeChangePublisher();
     private final ListenerTree listenerTree = ListenerTree.create();
     private final TipProducingDataTree dataTree;
+    private DataTreeTip tip;
     private SchemaContext schemaContext;
 
     ShardDataTree(final SchemaContext schemaContext) {
         dataTree = InMemoryDataTreeFactory.getInstance().create();
+        tip = dataTree;
         updateSchemaContext(schemaContext);
 
     }
@@ -61,6 +65,33 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         return dataTree;
     }
 
+    /**
+     * Returns the tip against which transactions are validated and prepared. This is the data tree itself
+     * unless commits are pipelined, in which case it is the candidate of the last transaction which was
+     * preCommitted but is not yet committed.
+     */
+    DataTreeTip getTip() {
+        return tip;
+    }
+
+    void setTip(final DataTreeCandidateTip candidate) {
+        tip = Preconditions.checkNotNull(candidate);
+    }
+
+    void resetTip() {
+        tip = dataTree;
+    }
+
+    /**
+     * Invoked after the given candidate has been committed to the data tree. If it is the current tip,
+     * the tip reverts to the data tree, which now has the same state.
+     */
+    void onCandidateCommitted(final DataTreeCandidate candidate) {
+        if (tip == candidate) {
+            tip = dataTree;
+        }
+    }
+
     SchemaContext getSchemaContext() {
         return schemaContext;
     }
@@ -168,6 +199,9 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         dataTree.validate(mod);
         final DataTreeCandidate candidate = dataTree.prepare(mod);
         dataTree.commit(candidate);
+
+        // Any speculative tip was based on state which has now been superseded.
+        resetTip();
         notifyListeners(candidate);
     }
 
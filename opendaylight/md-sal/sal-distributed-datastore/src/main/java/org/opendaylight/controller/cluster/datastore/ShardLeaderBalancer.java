@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Preconditions;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Decides where shard leadership should move to even out the number of shards each member leads. A member only
+ * hands over leadership of shards it leads itself, since a leadership transfer is initiated by the leader, so every
+ * ShardManager runs the same decision from its own view of the shard leaders and only the overloaded members act.
+ * <p>
+ * A transfer is proposed when the local member leads at least two more shards than a member which hosts a replica
+ * of one of those shards and is available, so that a transfer strictly narrows the spread and leadership doesn't
+ * move back and forth.
+ */
+class ShardLeaderBalancer {
+
+    /**
+     * A proposed handover of a shard's leadership.
+     */
+    static final class Transfer {
+        private final String shardName;
+        private final String fromMemberName;
+        private final String toMemberName;
+
+        Transfer(String shardName, String fromMemberName, String toMemberName) {
+            this.shardName = shardName;
+            this.fromMemberName = fromMemberName;
+            this.toMemberName = toMemberName;
+        }
+
+        String getShardName() {
+            return shardName;
+        }
+
+        String getFromMemberName() {
+            return fromMemberName;
+        }
+
+        String getToMemberName() {
+            return toMemberName;
+        }
+
+        @Override
+        public String toString() {
+            return shardName + ": " + fromMemberName + " -> " + toMemberName;
+        }
+    }
+
+    private final String localMemberName;
+
+    ShardLeaderBalancer(String localMemberName) {
+        this.localMemberName = Preconditions.checkNotNull(localMemberName);
+    }
+
+    /**
+     * Counts the shards led by each member.
+     *
+     * @param shardLeaders the member name of the leader of each shard keyed by shard name, null if unknown
+     * @param shardMembers the names of the members hosting a replica of each shard keyed by shard name
+     * @return the number of shards each member hosting a replica leads, keyed and sorted by member name
+     */
+    Map<String, Integer> leaderCounts(Map<String, String> shardLeaders,
+            Map<String, ? extends Collection<String>> shardMembers) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for(Collection<String> members: shardMembers.values()) {
+            for(String member: members) {
+                counts.put(member, 0);
+            }
+        }
+
+        for(String leader: shardLeaders.values()) {
+            if(leader != null) {
+                Integer count = counts.get(leader);
+                counts.put(leader, count == null ? 1 : count + 1);
+            }
+        }
+
+        return counts;
+    }
+
+    /**
+     * Proposes the next leadership transfer from the local member, if any.
+     *
+     * @param shardLeaders the member name of the leader of each shard keyed by shard name, null if unknown
+     * @param shardMembers the names of the members hosting a replica of each shard keyed by shard name
+     * @param availableMembers the names of the members which may take over leadership
+     * @return the transfer or null if the local member's load is balanced
+     */
+    Transfer nextTransfer(Map<String, String> shardLeaders, Map<String, ? extends Collection<String>> shardMembers,
+            Set<String> availableMembers) {
+        Map<String, Integer> counts = leaderCounts(shardLeaders, shardMembers);
+        Integer localCount = counts.get(localMemberName);
+        if(localCount == null || localCount < 2) {
+            return null;
+        }
+
+        Transfer best = null;
+        int bestCount = localCount - 1;
+
+        // Iterate in shard name order so all members reach the same decision from the same view.
+        for(Map.Entry<String, String> e: new TreeMap<>(shardLeaders).entrySet()) {
+            Collection<String> members = shardMembers.get(e.getKey());
+            if(!localMemberName.equals(e.getValue()) || members == null) {
+                continue;
+            }
+
+            for(String member: members) {
+                if(member.equals(localMemberName) || !availableMembers.contains(member)) {
+                    continue;
+                }
+
+                int count = counts.get(member);
+                if(count < bestCount || (count == bestCount && best != null &&
+                        member.compareTo(best.getToMemberName()) < 0)) {
+                    best = new Transfer(e.getKey(), localMemberName, member);
+                    bestCount = count;
+                }
+            }
+        }
+
+        return best;
+    }
+}
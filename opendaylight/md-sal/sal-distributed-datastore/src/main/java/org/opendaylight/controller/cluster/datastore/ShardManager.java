@@ -30,11 +30,13 @@ import com.google.common.collect.Sets;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedPersistentActorWithMetering;
 import org.opendaylight.controller.cluster.datastore.exceptions.NoShardLeaderException;
 import org.opendaylight.controller.cluster.datastore.exceptions.NotInitializedException;
@@ -60,11 +62,14 @@ import org.opendaylight.controller.cluster.notifications.RegisterRoleChangeListe
 import org.opendaylight.controller.cluster.notifications.RoleChangeNotification;
 import org.opendaylight.controller.cluster.raft.RaftState;
 import org.opendaylight.controller.cluster.raft.base.messages.FollowerInitialSyncUpStatus;
+import org.opendaylight.controller.cluster.raft.client.messages.TransferLeadership;
+import org.opendaylight.controller.cluster.raft.client.messages.TransferLeadershipReply;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.duration.Duration;
+import scala.concurrent.duration.FiniteDuration;
 
 /**
  * The ShardManager has the following jobs,
@@ -109,6 +114,19 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
 
     private final PrimaryShardInfoFutureCache primaryShardInfoCache;
 
+    private final ShardLeaderBalancer leaderBalancer;
+
+    // The names of the members currently unreachable - they aren't given shard leadership.
+    private final Set<String> unreachableMembers = new HashSet<>();
+
+    private Cancellable leaderBalancingSchedule;
+
+    private long leaderBalancingIntervalInSeconds;
+
+    private ShardLeaderBalancer.Transfer pendingLeaderTransfer;
+
+    private long pendingLeaderTransferStartTime;
+
     /**
      */
     protected ShardManager(ClusterWrapper cluster, Configuration configuration,
@@ -129,6 +147,9 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
         cluster.subscribeToMemberEvents(getSelf());
 
         createLocalShards();
+
+        leaderBalancer = new ShardLeaderBalancer(cluster.getCurrentMemberName());
+        scheduleLeaderBalancing();
     }
 
     public static Props props(
@@ -151,6 +172,10 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
     public void postStop() {
         LOG.info("Stopping ShardManager");
 
+        if(leaderBalancingSchedule != null) {
+            leaderBalancingSchedule.cancel();
+        }
+
         mBean.unregisterMBean();
     }
 
@@ -182,6 +207,10 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
             onShardNotInitializedTimeout((ShardNotInitializedTimeout)message);
         } else if(message instanceof ShardLeaderStateChanged) {
             onLeaderStateChanged((ShardLeaderStateChanged)message);
+        } else if(message instanceof BalanceShardLeaders) {
+            balanceShardLeaders();
+        } else if(message instanceof TransferLeadershipReply) {
+            onTransferLeadershipReply((TransferLeadershipReply) message);
         } else {
             unknownMessage(message);
         }
@@ -203,6 +232,7 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
         ShardInformation shardInformation = findShardInformation(leaderStateChanged.getMemberId());
         if(shardInformation != null) {
             shardInformation.setLocalDataTree(leaderStateChanged.getLocalShardDataTree());
+            shardInformation.setLocalReplica(leaderStateChanged.getLocalReplica());
             shardInformation.setLeaderVersion(leaderStateChanged.getLeaderPayloadVersion());
             if(shardInformation.setLeaderId(leaderStateChanged.getLeaderId())) {
                 primaryShardInfoCache.remove(shardInformation.getShardName());
@@ -214,6 +244,87 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
         }
     }
 
+    private void scheduleLeaderBalancing() {
+        long interval = datastoreContext.getShardLeaderBalancingIntervalInSeconds();
+        if(leaderBalancingSchedule != null) {
+            if(interval == leaderBalancingIntervalInSeconds) {
+                return;
+            }
+
+            leaderBalancingSchedule.cancel();
+            leaderBalancingSchedule = null;
+        }
+
+        leaderBalancingIntervalInSeconds = interval;
+        if(interval > 0) {
+            FiniteDuration duration = FiniteDuration.create(interval, TimeUnit.SECONDS);
+            leaderBalancingSchedule = getContext().system().scheduler().schedule(duration, duration, getSelf(),
+                    BalanceShardLeaders.INSTANCE, getContext().dispatcher(), getSelf());
+        }
+    }
+
+    /**
+     * Hands leadership of one of the local leader shards over to another member if this member leads
+     * noticeably more shards than it - see {@link ShardLeaderBalancer}. Only one transfer is made at a time.
+     */
+    private void balanceShardLeaders() {
+        if(pendingLeaderTransfer != null) {
+            long timeout = datastoreContext.getShardRaftConfig().getElectionTimeOutInterval().toNanos() * 4;
+            if(System.nanoTime() - pendingLeaderTransferStartTime < timeout) {
+                return;
+            }
+
+            LOG.warn("{}: No reply to leadership transfer {}", persistenceId(), pendingLeaderTransfer);
+            mBean.addLeaderPlacementDecision(pendingLeaderTransfer + " - no reply");
+            pendingLeaderTransfer = null;
+        }
+
+        Map<String, String> shardLeaders = new HashMap<>();
+        Map<String, List<String>> shardMembers = new HashMap<>();
+        for(ShardInformation info : localShards.values()) {
+            shardMembers.put(info.getShardName(), configuration.getMembersFromShardName(info.getShardName()));
+
+            String leaderId = info.getLeaderId();
+            shardLeaders.put(info.getShardName(), leaderId == null ? null :
+                ShardIdentifier.builder().fromShardIdString(leaderId).build().getMemberName());
+        }
+
+        Set<String> availableMembers = new HashSet<>(memberNameToAddress.keySet());
+        availableMembers.removeAll(unreachableMembers);
+
+        mBean.setShardLeaderCounts(leaderBalancer.leaderCounts(shardLeaders, shardMembers));
+
+        ShardLeaderBalancer.Transfer transfer = leaderBalancer.nextTransfer(shardLeaders, shardMembers,
+                availableMembers);
+        if(transfer == null) {
+            return;
+        }
+
+        ShardInformation info = localShards.get(transfer.getShardName());
+        if(info.getActor() == null || !info.isLeader()) {
+            return;
+        }
+
+        LOG.info("{}: Balancing shard leaders - transferring leadership {}", persistenceId(), transfer);
+
+        pendingLeaderTransfer = transfer;
+        pendingLeaderTransferStartTime = System.nanoTime();
+        info.getActor().tell(new TransferLeadership(getShardIdentifier(transfer.getToMemberName(),
+                transfer.getShardName()).toString()), getSelf());
+    }
+
+    private void onTransferLeadershipReply(TransferLeadershipReply reply) {
+        if(pendingLeaderTransfer == null) {
+            return;
+        }
+
+        String outcome = reply.isSuccess() ? "succeeded" : "failed - leader is " + reply.getLeaderId();
+        LOG.info("{}: Leadership transfer {} {}", persistenceId(), pendingLeaderTransfer, outcome);
+
+        mBean.addLeaderPlacementDecision(pendingLeaderTransfer + " - " + outcome);
+        pendingLeaderTransfer = null;
+    }
+
     private void onShardNotInitializedTimeout(ShardNotInitializedTimeout message) {
         ShardInformation shardInfo = message.getShardInfo();
 
@@ -406,6 +517,7 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
                 message.member().address());
 
         memberNameToAddress.remove(message.member().roles().head());
+        unreachableMembers.remove(memberName);
     }
 
     private void memberUp(ClusterEvent.MemberUp message) {
@@ -429,6 +541,7 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
         String memberName = message.member().roles().head();
         LOG.debug("Received ReachableMember: memberName {}, address: {}", memberName, message.member().address());
 
+        unreachableMembers.remove(memberName);
         markMemberAvailable(memberName);
     }
 
@@ -436,6 +549,7 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
         String memberName = message.member().roles().head();
         LOG.debug("Received UnreachableMember: memberName {}, address: {}", memberName, message.member().address());
 
+        unreachableMembers.add(memberName);
         markMemberUnavailable(memberName);
     }
 
@@ -463,6 +577,8 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
 
     private void onDatastoreContext(DatastoreContext context) {
         datastoreContext = context;
+        scheduleLeaderBalancing();
+
         for (ShardInformation info : localShards.values()) {
             if (info.getActor() != null) {
                 info.getActor().tell(datastoreContext, getSelf());
@@ -517,7 +633,8 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
                     String primaryPath = info.getSerializedLeaderActor();
                     Object found = canReturnLocalShardState && info.isLeader() ?
                             new LocalPrimaryShardFound(primaryPath, info.getLocalShardDataTree().get()) :
-                                new RemotePrimaryShardFound(primaryPath, info.getLeaderVersion());
+                                new RemotePrimaryShardFound(primaryPath, info.getLeaderVersion(),
+                                        canReturnLocalShardState ? info.getLocalReplica() : null);
 
                     if(LOG.isDebugEnabled()) {
                         LOG.debug("{}: Found primary for {}: {}", persistenceId(), shardName, found);
@@ -657,6 +774,7 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
         private ActorPath actorPath;
         private final Map<String, String> peerAddresses;
         private Optional<DataTree> localShardDataTree;
+        private LocalShardReplica localReplica;
         private boolean leaderAvailable = false;
 
         // flag that determines if the actor is ready for business
@@ -705,6 +823,14 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
             return localShardDataTree;
         }
 
+        void setLocalReplica(LocalShardReplica localReplica) {
+            this.localReplica = localReplica;
+        }
+
+        LocalShardReplica getLocalReplica() {
+            return localReplica;
+        }
+
         Map<String, String> getPeerAddresses() {
             return peerAddresses;
         }
@@ -891,6 +1017,13 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
         }
     }
 
+    /**
+     * Message sent periodically by the ShardManager to itself to balance the shard leaders.
+     */
+    private static final class BalanceShardLeaders {
+        static final BalanceShardLeaders INSTANCE = new BalanceShardLeaders();
+    }
+
     private static class ShardNotInitializedTimeout {
         private final ActorRef sender;
         private final ShardInformation shardInfo;
@@ -8,21 +8,29 @@
 package org.opendaylight.controller.cluster.datastore;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.datastore.modification.ModificationPayload;
 import org.opendaylight.controller.cluster.datastore.modification.MutableCompositeModification;
 import org.opendaylight.controller.cluster.datastore.node.utils.transformer.NormalizedNodePruner;
 import org.opendaylight.controller.cluster.datastore.utils.PruningDataTreeModification;
-import org.opendaylight.controller.cluster.datastore.utils.SerializationUtils;
 import org.opendaylight.controller.cluster.raft.RaftActorRecoveryCohort;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.CompositeModificationByteStringPayload;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.CompositeModificationPayload;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
-import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
-import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
@@ -30,28 +38,67 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.slf4j.Logger;
 
 /**
- * Coordinates persistence recovery of journal log entries and snapshots for a shard. Each snapshot
- * and journal log entry batch are de-serialized and applied to their own write transaction
- * instance in parallel on a thread pool for faster recovery time. However the transactions are
- * committed to the data store in the order the corresponding snapshot or log batch are received
- * to preserve data store integrity.
+ * Coordinates persistence recovery of journal log entries and snapshots for a shard. Recovered journal
+ * log entry payloads are de-serialized ahead of time in parallel on a thread pool shared by all shards,
+ * while the decoded modifications are applied to the batch write transaction on the actor thread in the
+ * order the log entries are received to preserve data store integrity.
  *
  * @author Thomas Pantelis
  */
 class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
-    private static final YangInstanceIdentifier ROOT = YangInstanceIdentifier.builder().build();
+
+    private static final int DECODE_THREADS = Runtime.getRuntime().availableProcessors();
+
+    // The maximum number of payloads decoded ahead of the apply stage - this bounds the memory used by
+    // decoded modifications that haven't been applied yet.
+    private static final int MAX_PENDING_DECODES = DECODE_THREADS * 16;
+
+    private static final ExecutorService DEFAULT_DECODE_EXECUTOR;
+
+    static {
+        // The threads time out when idle so the pool costs nothing once recovery is complete.
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(DECODE_THREADS, DECODE_THREADS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactoryBuilder().setDaemon(true)
+                        .setNameFormat("shard-recovery-decoder-%d").build());
+        executor.allowCoreThreadTimeOut(true);
+        DEFAULT_DECODE_EXECUTOR = executor;
+    }
+
+    /**
+     * A decoded log entry payload.
+     */
+    private interface RecoveredModification {
+        void apply(DataTreeModification transaction);
+    }
+
     private final DataTree store;
     private final String shardName;
     private final Logger log;
     private final Set<URI> validNamespaces;
+    private final ExecutorService decodeExecutor;
+    private SnapshotBaseStore snapshotBaseStore;
+    private final Queue<Future<RecoveredModification>> pendingDecodes = new ArrayDeque<>();
     private PruningDataTreeModification transaction;
     private int size;
 
     ShardRecoveryCoordinator(ShardDataTree store, SchemaContext schemaContext, String shardName, Logger log) {
+        this(store, schemaContext, shardName, log, DEFAULT_DECODE_EXECUTOR);
+    }
+
+    ShardRecoveryCoordinator(ShardDataTree store, SchemaContext schemaContext, String shardName, Logger log,
+            ExecutorService decodeExecutor) {
         this.store = store.getDataTree();
         this.shardName = shardName;
         this.log = log;
         this.validNamespaces = NormalizedNodePruner.namespaces(schemaContext);
+        this.decodeExecutor = decodeExecutor;
+    }
+
+    /**
+     * Sets the store holding the base images referenced by incremental snapshots.
+     */
+    void setSnapshotBaseStore(SnapshotBaseStore snapshotBaseStore) {
+        this.snapshotBaseStore = snapshotBaseStore;
     }
 
     @Override
@@ -62,30 +109,68 @@ class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     }
 
     @Override
-    public void appendRecoveredLogEntry(Payload payload) {
+    public void appendRecoveredLogEntry(final Payload payload) {
         Preconditions.checkState(transaction != null, "call startLogRecovery before calling appendRecoveredLogEntry");
 
+        pendingDecodes.add(decodeExecutor.submit(new Callable<RecoveredModification>() {
+            @Override
+            public RecoveredModification call() throws IOException, ClassNotFoundException {
+                return decode(payload);
+            }
+        }));
+
+        if(pendingDecodes.size() > MAX_PENDING_DECODES) {
+            applyNextPendingDecode();
+        }
+    }
+
+    private RecoveredModification decode(Payload payload) throws IOException, ClassNotFoundException {
+        if (payload instanceof DataTreeCandidatePayload) {
+            final DataTreeCandidate candidate = ((DataTreeCandidatePayload)payload).getCandidate();
+            return new RecoveredModification() {
+                @Override
+                public void apply(DataTreeModification transaction) {
+                    DataTreeCandidates.applyToModification(transaction, candidate);
+                }
+            };
+        }
+
+        final MutableCompositeModification modification;
+        if (payload instanceof ModificationPayload) {
+            modification = MutableCompositeModification.fromSerializable(
+                    ((ModificationPayload) payload).getModification());
+        } else if (payload instanceof CompositeModificationPayload) {
+            modification = MutableCompositeModification.fromSerializable(
+                    ((CompositeModificationPayload) payload).getModification());
+        } else if (payload instanceof CompositeModificationByteStringPayload) {
+            modification = MutableCompositeModification.fromSerializable(
+                    ((CompositeModificationByteStringPayload) payload).getModification());
+        } else {
+            log.error("{}: Unknown payload {} received during recovery", shardName, payload);
+            return null;
+        }
+
+        return new RecoveredModification() {
+            @Override
+            public void apply(DataTreeModification transaction) {
+                modification.apply(transaction);
+            }
+        };
+    }
+
+    private void applyNextPendingDecode() {
+        Future<RecoveredModification> future = pendingDecodes.remove();
         try {
-            if (payload instanceof DataTreeCandidatePayload) {
-                DataTreeCandidates.applyToModification(transaction, ((DataTreeCandidatePayload)payload).getCandidate());
-                size++;
-            } else if (payload instanceof ModificationPayload) {
-                MutableCompositeModification.fromSerializable(
-                    ((ModificationPayload) payload).getModification()).apply(transaction);
-                size++;
-            } else if (payload instanceof CompositeModificationPayload) {
-                MutableCompositeModification.fromSerializable(
-                    ((CompositeModificationPayload) payload).getModification()).apply(transaction);
+            RecoveredModification modification = future.get();
+            if(modification != null) {
+                modification.apply(transaction);
                 size++;
-            } else if (payload instanceof CompositeModificationByteStringPayload) {
-                MutableCompositeModification.fromSerializable(
-                        ((CompositeModificationByteStringPayload) payload).getModification()).apply(transaction);
-                size++;
-            } else {
-                log.error("{}: Unknown payload {} received during recovery", shardName, payload);
             }
-        } catch (IOException | ClassNotFoundException e) {
-            log.error("{}: Error extracting ModificationPayload", shardName, e);
+        } catch (ExecutionException e) {
+            log.error("{}: Error extracting ModificationPayload", shardName, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("{}: Interrupted while decoding recovered log entry", shardName, e);
         }
     }
 
@@ -103,6 +188,10 @@ class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     public void applyCurrentLogRecoveryBatch() {
         Preconditions.checkState(transaction != null, "call startLogRecovery before calling applyCurrentLogRecoveryBatch");
 
+        while(!pendingDecodes.isEmpty()) {
+            applyNextPendingDecode();
+        }
+
         log.debug("{}: Applying current log recovery batch with size {}", shardName, size);
         try {
             commitTransaction(transaction);
@@ -121,12 +210,11 @@ class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     public void applyRecoverySnapshot(final byte[] snapshotBytes) {
         log.debug("{}: Applying recovered snapshot", shardName);
 
-        final NormalizedNode<?, ?> node = SerializationUtils.deserializeNormalizedNode(snapshotBytes);
         final PruningDataTreeModification tx = new PruningDataTreeModification(store.takeSnapshot().newModification(), validNamespaces);
-        tx.write(ROOT, node);
         try {
+            IncrementalSnapshot.fromBytes(snapshotBytes).applyTo(tx, snapshotBaseStore);
             commitTransaction(tx);
-        } catch (DataValidationFailedException e) {
+        } catch (DataValidationFailedException | IOException e) {
             log.error("{}: Failed to apply recovery snapshot", shardName, e);
         }
     }
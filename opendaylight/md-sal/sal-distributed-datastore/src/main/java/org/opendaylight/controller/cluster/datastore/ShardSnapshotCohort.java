@@ -9,23 +9,38 @@ package org.opendaylight.controller.cluster.datastore;
 
 import com.google.common.base.Preconditions;
 import akka.actor.ActorRef;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import org.opendaylight.controller.cluster.datastore.identifiers.ShardTransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.CreateSnapshot;
-import org.opendaylight.controller.cluster.datastore.utils.SerializationUtils;
 import org.opendaylight.controller.cluster.raft.RaftActorSnapshotCohort;
+import org.opendaylight.controller.cluster.raft.SnapshotManager;
+import org.opendaylight.controller.cluster.raft.base.messages.CaptureSnapshot;
+import org.opendaylight.controller.cluster.raft.base.messages.CaptureSnapshotReply;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
-import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
 
 /**
  * Participates in raft snapshotting on behalf of a Shard actor.
+ * <p>
+ * If incremental snapshots are enabled, the serialized image of the last full snapshot is written once to a
+ * {@link SnapshotBaseStore} and the DataTreeCandidatePayloads applied since it was captured are retained.
+ * Subsequent snapshots then reference the base image and carry only the payloads, which costs time and space
+ * proportional to the changes rather than to the size of the data tree. Only a snapshot captured to install on
+ * a follower embeds the base image, read back from the store, as the follower can't resolve the reference.
+ * A full snapshot is taken to compact the deltas into a new base image after the configured number of
+ * incremental snapshots, once the deltas grow larger than the base image or whenever the data tree is changed
+ * by something other than a tracked payload.
  *
  * @author Thomas Pantelis
  */
 class ShardSnapshotCohort implements RaftActorSnapshotCohort {
 
     private static final YangInstanceIdentifier DATASTORE_ROOT = YangInstanceIdentifier.builder().build();
+    private static final long NO_BASE = -1;
 
     private int createSnapshotTransactionCounter;
     private final ShardTransactionActorFactory transactionActorFactory;
@@ -33,16 +48,149 @@ class ShardSnapshotCohort implements RaftActorSnapshotCohort {
     private final Logger log;
     private final String logId;
 
+    private int incrementalSnapshotCompactionCount;
+    private int incrementalSnapshotCount;
+    private boolean awaitingFullSnapshot;
+    private final SnapshotBaseStore baseStore;
+    private final SnapshotManager snapshotManager;
+    private long baseId;
+    private long baseSize = NO_BASE;
+    private final List<DataTreeCandidatePayload> deltas = new ArrayList<>();
+    private long deltasSize;
+
+    // The base image referenced by the snapshot being saved, if any.
+    private long savingBaseId;
+    private boolean savingReferencedSnapshot;
+
     ShardSnapshotCohort(ShardTransactionActorFactory transactionActorFactory, ShardDataTree store,
             Logger log, String logId) {
+        this(transactionActorFactory, store, log, logId, 0, null, null);
+    }
+
+    ShardSnapshotCohort(ShardTransactionActorFactory transactionActorFactory, ShardDataTree store,
+            Logger log, String logId, int incrementalSnapshotCompactionCount, SnapshotBaseStore baseStore,
+            SnapshotManager snapshotManager) {
         this.transactionActorFactory = transactionActorFactory;
         this.store = Preconditions.checkNotNull(store);
         this.log = log;
         this.logId = logId;
+        this.baseStore = baseStore;
+        this.snapshotManager = snapshotManager;
+        this.incrementalSnapshotCompactionCount = baseStore != null ? incrementalSnapshotCompactionCount : 0;
+    }
+
+    void setIncrementalSnapshotCompactionCount(int incrementalSnapshotCompactionCount) {
+        this.incrementalSnapshotCompactionCount = baseStore != null ? incrementalSnapshotCompactionCount : 0;
+        if(incrementalSnapshotCompactionCount <= 0) {
+            resetIncrementalState();
+        }
+    }
+
+    /**
+     * Records a payload applied to the data tree so it can be included in the next incremental snapshot.
+     */
+    void onPayloadApplied(DataTreeCandidatePayload payload) {
+        if(baseSize == NO_BASE && !awaitingFullSnapshot) {
+            return;
+        }
+
+        deltas.add(payload);
+        deltasSize += payload.size();
+
+        // Once the deltas outgrow the base image a full snapshot is cheaper so stop accumulating them.
+        if(baseSize != NO_BASE && deltasSize > baseSize) {
+            log.debug("{}: Size of snapshot deltas {} exceeds base snapshot size {}", logId, deltasSize,
+                    baseSize);
+            resetIncrementalState();
+        }
+    }
+
+    /**
+     * Notifies that the data tree was changed by something other than a payload passed to
+     * {@link #onPayloadApplied}, so the next snapshot must be a full snapshot.
+     */
+    void onUntrackedModification() {
+        resetIncrementalState();
+    }
+
+    /**
+     * Notifies that a snapshot was captured, as sent via CaptureSnapshotReply to the shard.
+     */
+    void onSnapshotCaptured(byte[] snapshotBytes) {
+        if(awaitingFullSnapshot) {
+            awaitingFullSnapshot = false;
+            setBase(snapshotBytes);
+        }
+    }
+
+    /**
+     * Notifies that the last snapshot captured has been saved. Once a snapshot referencing a base image is
+     * saved the base images older snapshots reference are no longer needed.
+     */
+    void onSnapshotSaved() {
+        if(savingReferencedSnapshot) {
+            savingReferencedSnapshot = false;
+            baseStore.onSnapshotSaved(savingBaseId);
+        }
+    }
+
+    /**
+     * Notifies that saving the last snapshot captured failed.
+     */
+    void onSnapshotSaveFailed() {
+        savingReferencedSnapshot = false;
+    }
+
+    private void setBase(byte[] base) {
+        try {
+            baseId = baseStore.write(base);
+            baseSize = base.length;
+        } catch (IOException e) {
+            log.warn("{}: Failed to store snapshot base image - the next snapshot will be a full snapshot", logId,
+                    e);
+            resetIncrementalState();
+        }
+    }
+
+    private void resetIncrementalState() {
+        awaitingFullSnapshot = false;
+        baseSize = NO_BASE;
+        deltas.clear();
+        deltasSize = 0;
+        incrementalSnapshotCount = 0;
+    }
+
+    private boolean canCreateIncrementalSnapshot() {
+        return incrementalSnapshotCompactionCount > 0 && baseSize != NO_BASE &&
+                incrementalSnapshotCount < incrementalSnapshotCompactionCount;
     }
 
     @Override
     public void createSnapshot(ActorRef actorRef) {
+        savingReferencedSnapshot = false;
+
+        if(canCreateIncrementalSnapshot()) {
+            incrementalSnapshotCount++;
+
+            log.debug("{}: Creating incremental snapshot {} with {} deltas of size {}", logId,
+                    incrementalSnapshotCount, deltas.size(), deltasSize);
+
+            try {
+                IncrementalSnapshot snapshot = newIncrementalSnapshot();
+                savingReferencedSnapshot = snapshot.isBaseReferenced();
+                savingBaseId = baseId;
+
+                actorRef.tell(new CaptureSnapshotReply(snapshot.toBytes()), ActorRef.noSender());
+                return;
+            } catch (IOException e) {
+                log.warn("{}: Failed to read snapshot base image - taking a full snapshot", logId, e);
+            }
+        }
+
+        // Take a full snapshot. Any payloads applied from here on are deltas on top of it.
+        resetIncrementalState();
+        awaitingFullSnapshot = incrementalSnapshotCompactionCount > 0;
+
         // Create a transaction actor. We are really going to treat the transaction as a worker
         // so that this actor does not get block building the snapshot. THe transaction actor will
         // after processing the CreateSnapshot message.
@@ -56,26 +204,46 @@ class ShardSnapshotCohort implements RaftActorSnapshotCohort {
         createSnapshotTransaction.tell(CreateSnapshot.INSTANCE, actorRef);
     }
 
+    private IncrementalSnapshot newIncrementalSnapshot() throws IOException {
+        CaptureSnapshot captureSnapshot = snapshotManager.getCaptureSnapshot();
+        if(captureSnapshot != null && captureSnapshot.isInstallSnapshotInitiated()) {
+            return new IncrementalSnapshot(baseStore.read(baseId), deltas);
+        }
+
+        return new IncrementalSnapshot(baseId, deltas);
+    }
+
     @Override
-    public void applySnapshot(byte[] snapshotBytes) {
+    public void applySnapshot(InputStream snapshotState) {
         // Since this will be done only on Recovery or when this actor is a Follower
-        // we can safely commit everything in here. We not need to worry about event notifications
-        // as they would have already been disabled on the follower
+        // we can safely commit everything in here. Only local replica tree change listeners
+        // are notified - notifications are disabled for the others on the follower
 
         log.info("{}: Applying snapshot", logId);
 
+        resetIncrementalState();
+
         try {
             ReadWriteShardDataTreeTransaction transaction = store.newReadWriteTransaction("snapshot-" + logId, null);
 
-            NormalizedNode<?, ?> node = SerializationUtils.deserializeNormalizedNode(snapshotBytes);
-
             // delete everything first
             transaction.getSnapshot().delete(DATASTORE_ROOT);
 
-            // Add everything from the remote node back
-            transaction.getSnapshot().write(DATASTORE_ROOT, node);
+            // Add everything from the remote node back, streaming an embedded base image into the base store
+            // so we can carry on from the installed snapshot's base image and deltas.
+            IncrementalSnapshot snapshot = IncrementalSnapshot.applyFrom(snapshotState, transaction.getSnapshot(),
+                    baseStore, incrementalSnapshotCompactionCount > 0);
             syncCommitTransaction(transaction);
-        } catch (InterruptedException | ExecutionException e) {
+
+            if(snapshot != null) {
+                baseId = snapshot.getBaseId();
+                baseSize = baseStore.size(baseId);
+
+                for(DataTreeCandidatePayload delta: snapshot.getDeltas()) {
+                    onPayloadApplied(delta);
+                }
+            }
+        } catch (InterruptedException | ExecutionException | IOException e) {
             log.error("{}: An exception occurred when applying snapshot", logId, e);
         } finally {
             log.info("{}: Done applying snapshot", logId);
@@ -24,6 +24,7 @@ import org.opendaylight.controller.cluster.datastore.messages.DataExists;
 import org.opendaylight.controller.cluster.datastore.messages.DataExistsReply;
 import org.opendaylight.controller.cluster.datastore.messages.ReadData;
 import org.opendaylight.controller.cluster.datastore.messages.ReadDataReply;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -128,10 +129,18 @@ public abstract class ShardTransaction extends AbstractUntypedActorWithMetering
 
         final YangInstanceIdentifier path = message.getPath();
         Optional<NormalizedNode<?, ?>> optional = transaction.getSnapshot().readNode(path);
-        ReadDataReply readDataReply = new ReadDataReply(optional.orNull(), clientTxVersion);
+        ReadDataReply readDataReply = new ReadDataReply(optional.orNull(), clientTxVersion,
+                replyDictionary(message.getDictionaryFingerprint()));
         sender().tell((returnSerialized ? readDataReply.toSerializable(): readDataReply), self());
     }
 
+    private QNameDictionary replyDictionary(long fingerprint) {
+        // Only a dictionary advertised by the reader can be used. If it was derived from a schema this member
+        // doesn't have, the reply falls back to the encoding without a dictionary.
+        QNameDictionary dictionary = fingerprint != 0 ? QNameDictionary.lookup(fingerprint) : null;
+        return dictionary != null ? dictionary : QNameDictionary.EMPTY;
+    }
+
     protected void dataExists(AbstractShardDataTreeTransaction<?> transaction, DataExists message,
         final boolean returnSerialized) {
 
@@ -45,7 +45,7 @@ final class SimpleShardDataTreeCohort extends ShardDataTreeCohort {
     public ListenableFuture<Boolean> canCommit() {
         DataTreeModification modification = dataTreeModification();
         try {
-            dataTree.getDataTree().validate(modification);
+            dataTree.getTip().validate(modification);
             LOG.trace("Transaction {} validated", transaction);
             return TRUE_FUTURE;
         }
@@ -69,7 +69,7 @@ final class SimpleShardDataTreeCohort extends ShardDataTreeCohort {
     @Override
     public ListenableFuture<Void> preCommit() {
         try {
-            candidate = dataTree.getDataTree().prepare(dataTreeModification());
+            candidate = dataTree.getTip().prepare(dataTreeModification());
             /*
              * FIXME: this is the place where we should be interacting with persistence, specifically by invoking
              *        persist on the candidate (which gives us a Future).
@@ -105,6 +105,8 @@ final class SimpleShardDataTreeCohort extends ShardDataTreeCohort {
             return Futures.immediateFailedFuture(e);
         }
 
+        dataTree.onCandidateCommitted(candidate);
+
         LOG.trace("Transaction {} committed, proceeding to notify", transaction);
         dataTree.notifyListeners(candidate);
         return VOID_FUTURE;
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.ByteStreams;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.opendaylight.controller.cluster.datastore.utils.SerializationUtils;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the base images referenced by incremental shard snapshots, one file per image, next to the snapshot
+ * store. An image is written once, when the full snapshot it comes from is captured, and is then referenced
+ * by id from each incremental snapshot built on it rather than being copied into them.
+ * <p>
+ * Images are only removed once a snapshot referencing an image is known to have been saved, keeping that
+ * image and the last one written, which a snapshot still being saved may reference. Until then, e.g. after a
+ * restart or while saves fail, all images are kept so the last saved snapshot can always be recovered.
+ */
+final class SnapshotBaseStore {
+    private static final Logger LOG = LoggerFactory.getLogger(SnapshotBaseStore.class);
+
+    private static final String BASE_PREFIX = "base-";
+
+    private final File directory;
+    private long currentId;
+    private boolean hasCurrent;
+
+    SnapshotBaseStore(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Writes a base image and makes it durable.
+     *
+     * @return the id by which snapshots reference the image
+     */
+    long write(byte[] base) throws IOException {
+        long id = Hashing.murmur3_128().hashBytes(base).asLong();
+        File file = baseFile(id);
+        if(!file.exists()) {
+            if(!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Failed to create snapshot base directory " + directory);
+            }
+
+            // Write to a temp file and rename so a torn write never leaves a partial image behind.
+            File tmp = new File(directory, file.getName() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(tmp)) {
+                out.write(base);
+                out.getFD().sync();
+            }
+
+            if(!tmp.renameTo(file)) {
+                throw new IOException("Failed to write " + file);
+            }
+        }
+
+        setCurrent(id);
+        return id;
+    }
+
+    /**
+     * Writes a base image read from a stream, without holding it in memory, and makes it durable.
+     *
+     * @return the id by which snapshots reference the image
+     */
+    long write(InputStream base) throws IOException {
+        if(!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create snapshot base directory " + directory);
+        }
+
+        // The id is only known once the whole image has been read so it is hashed while it is written.
+        File tmp = File.createTempFile(BASE_PREFIX, ".tmp", directory);
+        try {
+            HashingInputStream in = new HashingInputStream(Hashing.murmur3_128(), base);
+            try (FileOutputStream out = new FileOutputStream(tmp)) {
+                ByteStreams.copy(in, out);
+                out.getFD().sync();
+            }
+
+            long id = in.hash().asLong();
+            File file = baseFile(id);
+            if(!file.exists() && !tmp.renameTo(file)) {
+                throw new IOException("Failed to write " + file);
+            }
+
+            setCurrent(id);
+            return id;
+        } finally {
+            if(tmp.exists() && !tmp.delete()) {
+                LOG.warn("Failed to delete {}", tmp);
+            }
+        }
+    }
+
+    private void setCurrent(long id) {
+        currentId = id;
+        hasCurrent = true;
+    }
+
+    /**
+     * Notifies that a snapshot referencing the image with the given id has been saved, so no older snapshot
+     * needs any other image but the last one written.
+     */
+    void onSnapshotSaved(long id) {
+        File[] files = directory.listFiles();
+        if(files == null) {
+            return;
+        }
+
+        String saved = baseFile(id).getName();
+        String current = hasCurrent ? baseFile(currentId).getName() : saved;
+        for(File file: files) {
+            String name = file.getName();
+            if(name.startsWith(BASE_PREFIX) && !name.equals(saved) && !name.equals(current)) {
+                if(!file.delete()) {
+                    LOG.warn("Failed to delete stale snapshot base image {}", file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the size of the serialized base image with the given id.
+     */
+    long size(long id) {
+        return baseFile(id).length();
+    }
+
+    /**
+     * Reads the base image with the given id, streaming it from its file.
+     */
+    NormalizedNode<?, ?> readNode(long id) throws IOException {
+        File file = baseFile(id);
+        if(!file.isFile()) {
+            throw new IOException("Snapshot base image " + file + " does not exist");
+        }
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return SerializationUtils.readNormalizedNode(in);
+        }
+    }
+
+    /**
+     * Reads the serialized base image with the given id, to embed it in a snapshot sent to another member.
+     */
+    byte[] read(long id) throws IOException {
+        File file = baseFile(id);
+        byte[] base = new byte[(int) file.length()];
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            in.readFully(base);
+        }
+
+        return base;
+    }
+
+    private File baseFile(long id) {
+        return new File(directory, BASE_PREFIX + Long.toHexString(id));
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotBaseStore [directory=" + directory + "]";
+    }
+}
@@ -139,13 +139,11 @@ final class TransactionChainProxy extends AbstractTransactionContextFactory<Loca
 
     @Override
     public DOMStoreReadWriteTransaction newReadWriteTransaction() {
-        getActorContext().acquireTxCreationPermit();
         return allocateWriteTransaction(TransactionType.READ_WRITE);
     }
 
     @Override
     public DOMStoreWriteTransaction newWriteOnlyTransaction() {
-        getActorContext().acquireTxCreationPermit();
         return allocateWriteTransaction(TransactionType.WRITE_ONLY);
     }
 
@@ -259,4 +257,10 @@ final class TransactionChainProxy extends AbstractTransactionContextFactory<Loca
     protected TransactionIdentifier nextIdentifier() {
         return transactionChainId.newTransactionIdentifier();
     }
+
+    @Override
+    protected boolean isFollowerReadAllowed() {
+        // Reads in a chain must observe the chain's prior transactions, which only the leader has.
+        return false;
+    }
 }
@@ -54,6 +54,11 @@ final class TransactionContextFactory extends AbstractTransactionContextFactory<
         // Transactions are disconnected, this is a no-op
     }
 
+    @Override
+    protected boolean isFollowerReadAllowed() {
+        return true;
+    }
+
     DOMStoreTransactionChain createTransactionChain() {
         return new TransactionChainProxy(this);
     }
@@ -9,17 +9,21 @@ package org.opendaylight.controller.cluster.datastore;
 
 import akka.actor.ActorSelection;
 import akka.dispatch.Futures;
+import akka.dispatch.OnComplete;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.ShardCreditLimiter.ShardCredits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.Future;
+import scala.concurrent.ExecutionContext;
 import scala.concurrent.Promise;
 
 /**
@@ -47,11 +51,24 @@ class TransactionContextWrapper {
 
     private final OperationLimiter limiter;
 
-    TransactionContextWrapper(TransactionIdentifier identifier, final ActorContext actorContext) {
+    /**
+     * The flow control credits of the transaction's shard, of which one is held from the time the transaction is
+     * readied for the shard until its commit completes or fails.
+     */
+    private final ShardCredits shardCredits;
+
+    private final AtomicBoolean shardCreditHeld = new AtomicBoolean();
+
+    private final ExecutionContext clientDispatcher;
+
+    TransactionContextWrapper(TransactionIdentifier identifier, final ActorContext actorContext,
+            final String shardName) {
         this.identifier = Preconditions.checkNotNull(identifier);
         this.limiter = new OperationLimiter(identifier,
                 actorContext.getDatastoreContext().getShardBatchedModificationCount() + 1, // 1 extra permit for the ready operation
                 actorContext.getDatastoreContext().getOperationTimeoutInSeconds());
+        this.shardCredits = actorContext.getShardCreditLimiter().forShard(shardName);
+        this.clientDispatcher = actorContext.getClientDispatcher();
     }
 
     TransactionContext getTransactionContext() {
@@ -154,5 +171,44 @@ class TransactionContextWrapper {
         return limiter;
     }
 
+    ShardCredits getShardCredits() {
+        return shardCredits;
+    }
+
+    /**
+     * Takes a credit from the shard's window, if not already held, blocking while the shard's window is used up.
+     * If the window stays used up for the acquire timeout, the transaction proceeds without a credit.
+     */
+    void acquireShardCredit() {
+        if (shardCreditHeld.get()) {
+            return;
+        }
 
+        if (!shardCredits.acquire()) {
+            LOG.debug("Tx {} proceeding without a credit for shard {}", identifier, shardCredits.getShardName());
+        } else if (!shardCreditHeld.compareAndSet(false, true)) {
+            shardCredits.release();
+        }
+    }
+
+    /**
+     * Returns the shard credit, if held.
+     */
+    void releaseShardCredit() {
+        if (shardCreditHeld.compareAndSet(true, false)) {
+            shardCredits.release();
+        }
+    }
+
+    /**
+     * Returns the shard credit, if held, once the given direct commit Future completes, successfully or not.
+     */
+    void releaseShardCreditOnComplete(final Future<?> future) {
+        future.onComplete(new OnComplete<Object>() {
+            @Override
+            public void onComplete(final Throwable failure, final Object success) {
+                releaseShardCredit();
+            }
+        }, clientDispatcher);
+    }
 }
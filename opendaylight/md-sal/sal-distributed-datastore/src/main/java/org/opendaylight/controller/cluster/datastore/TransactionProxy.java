@@ -14,6 +14,7 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
@@ -24,17 +25,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.KeyHashShardStrategy;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategy;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategyFactory;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
-import org.opendaylight.controller.cluster.datastore.utils.NormalizedNodeAggregator;
+import org.opendaylight.controller.cluster.datastore.utils.StreamingNormalizedNodeAggregator;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.sal.core.spi.data.AbstractDOMStoreTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
 import org.opendaylight.yangtools.util.concurrent.MappingCheckedFuture;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
-import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.Future;
@@ -72,8 +75,18 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
         LOG.debug("Tx {} exists {}", getIdentifier(), path);
 
+        final KeyHashShardStrategy partitionedStrategy = partitionedStrategyFor(path);
+        if (partitionedStrategy != null) {
+            return multiShardExists(partitionedStrategy.getShardNames(), path);
+        }
+
+        return MappingCheckedFuture.create(singleShardExists(shardNameFromIdentifier(path), path),
+                ReadFailedException.MAPPER);
+    }
+
+    private ListenableFuture<Boolean> singleShardExists(final String shardName, final YangInstanceIdentifier path) {
         final SettableFuture<Boolean> proxyFuture = SettableFuture.create();
-        TransactionContextWrapper contextWrapper = getContextWrapper(path);
+        TransactionContextWrapper contextWrapper = getContextWrapper(shardName);
         contextWrapper.maybeExecuteTransactionOperation(new TransactionOperation() {
             @Override
             public void invoke(TransactionContext transactionContext) {
@@ -81,7 +94,25 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
             }
         });
 
-        return MappingCheckedFuture.create(proxyFuture, ReadFailedException.MAPPER);
+        return proxyFuture;
+    }
+
+    private CheckedFuture<Boolean, ReadFailedException> multiShardExists(final Collection<String> shardNames,
+            final YangInstanceIdentifier path) {
+        final Collection<ListenableFuture<Boolean>> futures = new ArrayList<>(shardNames.size());
+        for (String shardName : shardNames) {
+            futures.add(singleShardExists(shardName, path));
+        }
+
+        final ListenableFuture<Boolean> aggregateFuture = Futures.transform(Futures.allAsList(futures),
+                new Function<List<Boolean>, Boolean>() {
+            @Override
+            public Boolean apply(final List<Boolean> input) {
+                return input.contains(Boolean.TRUE);
+            }
+        });
+
+        return MappingCheckedFuture.create(aggregateFuture, ReadFailedException.MAPPER);
     }
 
     @Override
@@ -92,9 +123,14 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
         if (YangInstanceIdentifier.EMPTY.equals(path)) {
             return readAllData();
-        } else {
-            return singleShardRead(shardNameFromIdentifier(path), path);
         }
+
+        final KeyHashShardStrategy partitionedStrategy = partitionedStrategyFor(path);
+        if (partitionedStrategy != null) {
+            return multiShardRead(partitionedStrategy.getShardNames(), path);
+        }
+
+        return singleShardRead(shardNameFromIdentifier(path), path);
     }
 
     private CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> singleShardRead(
@@ -113,25 +149,37 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
     private CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> readAllData() {
         final Set<String> allShardNames = txContextFactory.getActorContext().getConfiguration().getAllShardNames();
-        final Collection<CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>> futures = new ArrayList<>(allShardNames.size());
+        return multiShardRead(allShardNames, YangInstanceIdentifier.EMPTY);
+    }
 
-        for (String shardName : allShardNames) {
-            futures.add(singleShardRead(shardName, YangInstanceIdentifier.EMPTY));
+    private CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> multiShardRead(
+            final Collection<String> shardNames, final YangInstanceIdentifier path) {
+        // Each shard's data is merged as it arrives so the result is ready as soon as the last shard replies.
+        final StreamingNormalizedNodeAggregator aggregator = new StreamingNormalizedNodeAggregator();
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> aggregateFuture = SettableFuture.create();
+        final AtomicInteger outstanding = new AtomicInteger(shardNames.size());
+        if (shardNames.isEmpty()) {
+            aggregateFuture.set(aggregator.getResult());
         }
 
-        final ListenableFuture<List<Optional<NormalizedNode<?, ?>>>> listFuture = Futures.allAsList(futures);
-        final ListenableFuture<Optional<NormalizedNode<?, ?>>> aggregateFuture;
-
-        aggregateFuture = Futures.transform(listFuture, new Function<List<Optional<NormalizedNode<?, ?>>>, Optional<NormalizedNode<?, ?>>>() {
+        final FutureCallback<Optional<NormalizedNode<?, ?>>> callback = new FutureCallback<Optional<NormalizedNode<?, ?>>>() {
             @Override
-            public Optional<NormalizedNode<?, ?>> apply(final List<Optional<NormalizedNode<?, ?>>> input) {
-                try {
-                    return NormalizedNodeAggregator.aggregate(YangInstanceIdentifier.EMPTY, input, txContextFactory.getActorContext().getSchemaContext());
-                } catch (DataValidationFailedException e) {
-                    throw new IllegalArgumentException("Failed to aggregate", e);
+            public void onSuccess(final Optional<NormalizedNode<?, ?>> result) {
+                aggregator.add(result);
+                if (outstanding.decrementAndGet() == 0) {
+                    aggregateFuture.set(aggregator.getResult());
                 }
             }
-        });
+
+            @Override
+            public void onFailure(final Throwable t) {
+                aggregateFuture.setException(t);
+            }
+        };
+
+        for (String shardName : shardNames) {
+            Futures.addCallback(singleShardRead(shardName, path), callback);
+        }
 
         return MappingCheckedFuture.create(aggregateFuture, ReadFailedException.MAPPER);
     }
@@ -142,7 +190,18 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
         LOG.debug("Tx {} delete {}", getIdentifier(), path);
 
-        TransactionContextWrapper contextWrapper = getContextWrapper(path);
+        final KeyHashShardStrategy partitionedStrategy = partitionedStrategyFor(path);
+        if (partitionedStrategy != null) {
+            for (String shardName : partitionedStrategy.getShardNames()) {
+                delete(shardName, path);
+            }
+        } else {
+            delete(shardNameFromIdentifier(path), path);
+        }
+    }
+
+    private void delete(final String shardName, final YangInstanceIdentifier path) {
+        TransactionContextWrapper contextWrapper = getContextWrapper(shardName);
         contextWrapper.maybeExecuteTransactionOperation(new TransactionOperation() {
             @Override
             public void invoke(TransactionContext transactionContext) {
@@ -157,7 +216,18 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
         LOG.debug("Tx {} merge {}", getIdentifier(), path);
 
-        TransactionContextWrapper contextWrapper = getContextWrapper(path);
+        final KeyHashShardStrategy partitionedStrategy = partitionedStrategyFor(path);
+        if (partitionedStrategy != null) {
+            for (Entry<String, NormalizedNode<?, ?>> e : partitionedStrategy.partitionData(path, data).entrySet()) {
+                merge(e.getKey(), path, e.getValue());
+            }
+        } else {
+            merge(shardNameFromIdentifier(path), path, data);
+        }
+    }
+
+    private void merge(final String shardName, final YangInstanceIdentifier path, final NormalizedNode<?, ?> data) {
+        TransactionContextWrapper contextWrapper = getContextWrapper(shardName);
         contextWrapper.maybeExecuteTransactionOperation(new TransactionOperation() {
             @Override
             public void invoke(TransactionContext transactionContext) {
@@ -172,7 +242,18 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
         LOG.debug("Tx {} write {}", getIdentifier(), path);
 
-        TransactionContextWrapper contextWrapper = getContextWrapper(path);
+        final KeyHashShardStrategy partitionedStrategy = partitionedStrategyFor(path);
+        if (partitionedStrategy != null) {
+            for (Entry<String, NormalizedNode<?, ?>> e : partitionedStrategy.partitionData(path, data).entrySet()) {
+                write(e.getKey(), path, e.getValue());
+            }
+        } else {
+            write(shardNameFromIdentifier(path), path, data);
+        }
+    }
+
+    private void write(final String shardName, final YangInstanceIdentifier path, final NormalizedNode<?, ?> data) {
+        TransactionContextWrapper contextWrapper = getContextWrapper(shardName);
         contextWrapper.maybeExecuteTransactionOperation(new TransactionOperation() {
             @Override
             public void invoke(TransactionContext transactionContext) {
@@ -252,6 +333,8 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
         LOG.debug("Tx {} Readying transaction for shard {}", getIdentifier(), shardName);
 
+        contextWrapper.acquireShardCredit();
+
         final OperationCallback.Reference operationCallbackRef =
                 new OperationCallback.Reference(OperationCallback.NO_OP_CALLBACK);
 
@@ -271,6 +354,8 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
             future = getReadyOrDirectCommitFuture(transactionContext, operationCallbackRef);
         }
 
+        contextWrapper.releaseShardCreditOnComplete(future);
+
         return new SingleCommitCohortProxy(txContextFactory.getActorContext(), future, getIdentifier().toString(),
                 operationCallbackRef);
     }
@@ -295,18 +380,28 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
         for (Entry<String, TransactionContextWrapper> e : txContextWrapperEntries) {
             LOG.debug("Tx {} Readying transaction for shard {}", getIdentifier(), e.getKey());
 
+            e.getValue().acquireShardCredit();
             cohortFutures.add(e.getValue().readyTransaction());
         }
 
-        return new ThreePhaseCommitCohortProxy(txContextFactory.getActorContext(), cohortFutures, getIdentifier().toString());
+        return new ShardCreditReleasingCohort<>(new ThreePhaseCommitCohortProxy(txContextFactory.getActorContext(),
+                cohortFutures, getIdentifier().toString()), txContextWrapperEntries);
     }
 
     private static String shardNameFromIdentifier(final YangInstanceIdentifier path) {
         return ShardStrategyFactory.getStrategy(path).findShard(path);
     }
 
-    private TransactionContextWrapper getContextWrapper(final YangInstanceIdentifier path) {
-        return getContextWrapper(shardNameFromIdentifier(path));
+    /**
+     * Returns the strategy of the given path if its data is partitioned across shards, null otherwise.
+     */
+    private static KeyHashShardStrategy partitionedStrategyFor(final YangInstanceIdentifier path) {
+        final ShardStrategy strategy = ShardStrategyFactory.getStrategy(path);
+        if (strategy instanceof KeyHashShardStrategy && ((KeyHashShardStrategy) strategy).spansShards(path)) {
+            return (KeyHashShardStrategy) strategy;
+        }
+
+        return null;
     }
 
     private TransactionContextWrapper getContextWrapper(final String shardName) {
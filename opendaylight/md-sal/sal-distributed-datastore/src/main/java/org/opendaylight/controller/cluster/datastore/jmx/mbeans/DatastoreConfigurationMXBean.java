@@ -44,6 +44,8 @@ public interface DatastoreConfigurationMXBean {
 
     long getTransactionCreationInitialRateLimit();
 
+    int getTransactionCreditsPerShard();
+
     boolean getTransactionContextDebugEnabled();
 
     int getMaxShardDataChangeExecutorPoolSize();
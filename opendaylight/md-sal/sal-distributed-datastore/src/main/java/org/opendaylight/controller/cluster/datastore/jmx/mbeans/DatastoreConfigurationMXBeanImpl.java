@@ -104,6 +104,11 @@ public class DatastoreConfigurationMXBeanImpl extends AbstractMXBean implements
         return context.getTransactionCreationInitialRateLimit();
     }
 
+    @Override
+    public int getTransactionCreditsPerShard() {
+        return context.getTransactionCreditsPerShard();
+    }
+
     @Override
     public boolean getTransactionContextDebugEnabled() {
         return context.isTransactionDebugContextEnabled();
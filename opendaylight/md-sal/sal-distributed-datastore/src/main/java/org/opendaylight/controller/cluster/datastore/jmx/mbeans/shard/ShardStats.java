@@ -79,6 +79,19 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
 
     private long lastLeadershipChangeTime;
 
+    private int txCommitQueueSize;
+
+    private int pipelinedTransactionCount;
+
+    private int maxPipelinedTransactionCount;
+
+    // Updated from the threads delivering coalesced data tree change notifications.
+    private final AtomicLong dataTreeChangeQueueDepth = new AtomicLong();
+
+    private final AtomicLong coalescedDataTreeChangeCount = new AtomicLong();
+
+    private final AtomicLong dataTreeChangeBatchCount = new AtomicLong();
+
     public ShardStats(final String shardName, final String mxBeanType) {
         super(shardName, mxBeanType, JMX_CATEGORY_SHARD);
     }
@@ -280,6 +293,51 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
         return getOnDemandRaftState().getInMemoryJournalLogSize();
     }
 
+    @Override
+    public long getJournalBatchCount() {
+        return getOnDemandRaftState().getJournalBatchCount();
+    }
+
+    @Override
+    public double getJournalBatchSizeMean() {
+        return getOnDemandRaftState().getJournalBatchSizeMean();
+    }
+
+    @Override
+    public long getJournalBatchSizeMax() {
+        return getOnDemandRaftState().getJournalBatchSizeMax();
+    }
+
+    @Override
+    public double getJournalBatchLatencyMeanInMicros() {
+        return getOnDemandRaftState().getJournalBatchLatencyMeanInMicros();
+    }
+
+    @Override
+    public double getJournalBatchLatency99thPercentileInMicros() {
+        return getOnDemandRaftState().getJournalBatchLatency99thPercentileInMicros();
+    }
+
+    @Override
+    public long getRecoveredLogEntryCount() {
+        return getOnDemandRaftState().getRecoveredLogEntryCount();
+    }
+
+    @Override
+    public long getRecoveryTimeInMillis() {
+        return getOnDemandRaftState().getRecoveryTimeInMillis();
+    }
+
+    @Override
+    public double getRecoveryLogEntriesPerSecond() {
+        return getOnDemandRaftState().getRecoveryStats().getLogEntriesPerSecond();
+    }
+
+    @Override
+    public double getRecoveryBytesPerSecond() {
+        return getOnDemandRaftState().getRecoveryStats().getBytesPerSecond();
+    }
+
     /**
      * resets the counters related to transactions
      */
@@ -301,6 +359,7 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
 
         abortTransactionsCount = 0;
 
+        maxPipelinedTransactionCount = pipelinedTransactionCount;
     }
 
     public void setDataStore(final InMemoryDOMDataStore store) {
@@ -362,4 +421,61 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
     public String getLastLeadershipChangeTime() {
         return DATE_FORMAT.format(new Date(lastLeadershipChangeTime));
     }
+
+    @Override
+    public int getTxCommitQueueSize() {
+        return txCommitQueueSize;
+    }
+
+    @Override
+    public int getPipelinedTransactionCount() {
+        return pipelinedTransactionCount;
+    }
+
+    @Override
+    public int getMaxPipelinedTransactionCount() {
+        return maxPipelinedTransactionCount;
+    }
+
+    /**
+     * Sets the number of transactions waiting in the commit queue and the number of transactions
+     * committing in the pipeline, ie preCommitted and awaiting replication consensus.
+     */
+    public void setCommitQueueState(int txCommitQueueSize, int pipelinedTransactionCount) {
+        this.txCommitQueueSize = txCommitQueueSize;
+        this.pipelinedTransactionCount = pipelinedTransactionCount;
+        maxPipelinedTransactionCount = Math.max(maxPipelinedTransactionCount, pipelinedTransactionCount);
+    }
+
+    @Override
+    public long getDataTreeChangeQueueDepth() {
+        return dataTreeChangeQueueDepth.get();
+    }
+
+    @Override
+    public double getDataTreeChangeCoalescingRatio() {
+        long batches = dataTreeChangeBatchCount.get();
+        return batches == 0 ? 0 : (double) coalescedDataTreeChangeCount.get() / batches;
+    }
+
+    /**
+     * Records changes queued for delivery to coalescing data tree change listeners.
+     */
+    public void onDataTreeChangesQueued(int count) {
+        dataTreeChangeQueueDepth.addAndGet(count);
+    }
+
+    /**
+     * Records a batch of changes taken off the queue for a coalescing data tree change listener.
+     *
+     * @param count the number of queued changes taken into the batch, before any merging
+     * @param sent whether the batch was sent, ie it wasn't empty after merging
+     */
+    public void onDataTreeChangeBatchTaken(int count, boolean sent) {
+        dataTreeChangeQueueDepth.addAndGet(-count);
+        coalescedDataTreeChangeCount.addAndGet(count);
+        if(sent) {
+            dataTreeChangeBatchCount.incrementAndGet();
+        }
+    }
 }
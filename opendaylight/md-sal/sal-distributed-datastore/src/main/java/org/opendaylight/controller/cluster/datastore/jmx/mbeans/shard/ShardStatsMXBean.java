@@ -64,6 +64,24 @@ public interface ShardStatsMXBean {
 
    long getInMemoryJournalLogSize();
 
+   long getJournalBatchCount();
+
+   double getJournalBatchSizeMean();
+
+   long getJournalBatchSizeMax();
+
+   double getJournalBatchLatencyMeanInMicros();
+
+   double getJournalBatchLatency99thPercentileInMicros();
+
+   long getRecoveredLogEntryCount();
+
+   long getRecoveryTimeInMillis();
+
+   double getRecoveryLogEntriesPerSecond();
+
+   double getRecoveryBytesPerSecond();
+
    boolean getFollowerInitialSyncStatus();
 
    List<FollowerInfo> getFollowerInfo();
@@ -73,4 +91,14 @@ public interface ShardStatsMXBean {
    long getLeadershipChangeCount();
 
    String getLastLeadershipChangeTime();
+
+   int getTxCommitQueueSize();
+
+   int getPipelinedTransactionCount();
+
+   int getMaxPipelinedTransactionCount();
+
+   long getDataTreeChangeQueueDepth();
+
+   double getDataTreeChangeCoalescingRatio();
 }
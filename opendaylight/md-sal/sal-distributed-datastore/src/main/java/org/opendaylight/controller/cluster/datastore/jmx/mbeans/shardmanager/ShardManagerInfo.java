@@ -8,18 +8,28 @@
 
 package org.opendaylight.controller.cluster.datastore.jmx.mbeans.shardmanager;
 
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
-
+import java.util.Map;
 import org.opendaylight.controller.md.sal.common.util.jmx.AbstractMXBean;
 
 public class ShardManagerInfo extends AbstractMXBean implements ShardManagerInfoMBean {
 
     public static String JMX_CATEGORY_SHARD_MANAGER = "ShardManager";
 
+    private static final int MAX_LEADER_PLACEMENT_DECISIONS = 20;
+
     private final List<String> localShards;
 
     private boolean syncStatus = false;
 
+    private volatile Map<String, Integer> shardLeaderCounts = ImmutableMap.of();
+
+    private final Deque<String> leaderPlacementDecisions = new ArrayDeque<>();
+
     public ShardManagerInfo(String name, String mxBeanType, List<String> localShards) {
         super(name, mxBeanType, JMX_CATEGORY_SHARD_MANAGER);
         this.localShards = localShards;
@@ -47,4 +57,33 @@ public class ShardManagerInfo extends AbstractMXBean implements ShardManagerInfo
     public void setSyncStatus(boolean syncStatus){
         this.syncStatus = syncStatus;
     }
+
+    @Override
+    public Map<String, Integer> getShardLeaderCounts() {
+        return shardLeaderCounts;
+    }
+
+    public void setShardLeaderCounts(Map<String, Integer> shardLeaderCounts) {
+        this.shardLeaderCounts = ImmutableMap.copyOf(shardLeaderCounts);
+    }
+
+    @Override
+    public List<String> getLeaderPlacementDecisions() {
+        synchronized(leaderPlacementDecisions) {
+            return new ArrayList<>(leaderPlacementDecisions);
+        }
+    }
+
+    /**
+     * Records a leader placement decision, keeping the most recent ones.
+     */
+    public void addLeaderPlacementDecision(String decision) {
+        synchronized(leaderPlacementDecisions) {
+            if(leaderPlacementDecisions.size() >= MAX_LEADER_PLACEMENT_DECISIONS) {
+                leaderPlacementDecisions.removeFirst();
+            }
+
+            leaderPlacementDecisions.addLast(decision);
+        }
+    }
 }
@@ -9,8 +9,19 @@
 package org.opendaylight.controller.cluster.datastore.jmx.mbeans.shardmanager;
 
 import java.util.List;
+import java.util.Map;
 
 public interface ShardManagerInfoMBean {
     List<String> getLocalShards();
     boolean getSyncStatus();
+
+    /**
+     * Returns the number of shards led by each member, as last seen by the leader balancer.
+     */
+    Map<String, Integer> getShardLeaderCounts();
+
+    /**
+     * Returns the most recent leadership transfers made by the leader balancer and their outcome, oldest first.
+     */
+    List<String> getLeaderPlacementDecisions();
 }
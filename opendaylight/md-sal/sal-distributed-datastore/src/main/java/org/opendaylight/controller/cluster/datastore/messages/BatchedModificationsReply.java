@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.datastore.messages;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
 
 /**
  * The reply for the BatchedModifications message.
@@ -20,6 +21,8 @@ public class BatchedModificationsReply extends VersionedExternalizableMessage {
     private static final long serialVersionUID = 1L;
 
     private int numBatched;
+    private int commitQueueSize = -1;
+    private long replicationLag = -1;
 
     public BatchedModificationsReply() {
     }
@@ -28,20 +31,50 @@ public class BatchedModificationsReply extends VersionedExternalizableMessage {
         this.numBatched = numBatched;
     }
 
+    public BatchedModificationsReply(int numBatched, int commitQueueSize, long replicationLag) {
+        this.numBatched = numBatched;
+        this.commitQueueSize = commitQueueSize;
+        this.replicationLag = replicationLag;
+    }
+
     public int getNumBatched() {
         return numBatched;
     }
 
+    /**
+     * Returns the number of transactions queued for commit on the shard when the reply was sent, or -1 if the
+     * shard did not advertise it.
+     */
+    public int getCommitQueueSize() {
+        return commitQueueSize;
+    }
+
+    /**
+     * Returns the number of journal entries on the shard awaiting replication consensus when the reply was sent,
+     * or -1 if the shard did not advertise it.
+     */
+    public long getReplicationLag() {
+        return replicationLag;
+    }
+
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
         super.readExternal(in);
         numBatched = in.readInt();
+        if(getVersion() >= DataStoreVersions.BERYLLIUM_VERSION) {
+            commitQueueSize = in.readInt();
+            replicationLag = in.readLong();
+        }
     }
 
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
         super.writeExternal(out);
         out.writeInt(numBatched);
+        if(getVersion() >= DataStoreVersions.BERYLLIUM_VERSION) {
+            out.writeInt(commitQueueSize);
+            out.writeLong(replicationLag);
+        }
     }
 
     @Override
@@ -52,7 +85,8 @@ public class BatchedModificationsReply extends VersionedExternalizableMessage {
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
-        builder.append("BatchedModificationsReply [numBatched=").append(numBatched).append("]");
+        builder.append("BatchedModificationsReply [numBatched=").append(numBatched).append(", commitQueueSize=").append(
+                commitQueueSize).append(", replicationLag=").append(replicationLag).append("]");
         return builder.toString();
     }
 }
@@ -11,6 +11,7 @@ import akka.actor.ActorSelection;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.datastore.LocalShardReplica;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 
 /**
@@ -22,12 +23,19 @@ public class PrimaryShardInfo {
     private final ActorSelection primaryShardActor;
     private final short primaryShardVersion;
     private final Optional<DataTree> localShardDataTree;
+    private final Optional<LocalShardReplica> localReplica;
 
     public PrimaryShardInfo(@Nonnull ActorSelection primaryShardActor, short primaryShardVersion,
             @Nonnull Optional<DataTree> localShardDataTree) {
+        this(primaryShardActor, primaryShardVersion, localShardDataTree, Optional.<LocalShardReplica>absent());
+    }
+
+    public PrimaryShardInfo(@Nonnull ActorSelection primaryShardActor, short primaryShardVersion,
+            @Nonnull Optional<DataTree> localShardDataTree, @Nonnull Optional<LocalShardReplica> localReplica) {
         this.primaryShardActor = Preconditions.checkNotNull(primaryShardActor);
         this.primaryShardVersion = primaryShardVersion;
         this.localShardDataTree = Preconditions.checkNotNull(localShardDataTree);
+        this.localReplica = Preconditions.checkNotNull(localReplica);
     }
 
     /**
@@ -51,4 +59,12 @@ public class PrimaryShardInfo {
     public @Nonnull Optional<DataTree> getLocalShardDataTree() {
         return localShardDataTree;
     }
+
+    /**
+     * Returns an Optional whose value contains the shard's local follower replica if the primary shard is
+     * remote but the caller is co-located with a replica. Otherwise the Optional value is absent.
+     */
+    public @Nonnull Optional<LocalShardReplica> getLocalReplica() {
+        return localReplica;
+    }
 }
@@ -8,24 +8,66 @@
 
 package org.opendaylight.controller.cluster.datastore.messages;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import org.opendaylight.controller.cluster.datastore.util.InstanceIdentifierUtils;
+import org.opendaylight.controller.cluster.datastore.utils.SerializationUtils;
 import org.opendaylight.controller.protobuff.messages.transaction.ShardTransactionMessages;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 
-public class ReadData implements SerializableMessage {
+/**
+ * Reads the data at a path. A reader at BERYLLIUM_VERSION or later may advertise the fingerprint of the
+ * QNameDictionary it knows, in which case the message is sent in Externalizable form rather than as protobuf and
+ * the shard may encode the reply with that dictionary. A fingerprint of 0 advertises no dictionary.
+ */
+public class ReadData implements SerializableMessage, Externalizable {
+  private static final long serialVersionUID = 1L;
+
   public static final Class<ShardTransactionMessages.ReadData> SERIALIZABLE_CLASS =
           ShardTransactionMessages.ReadData.class;
-  private final YangInstanceIdentifier path;
+  private YangInstanceIdentifier path;
+  private long dictionaryFingerprint;
+
+  public ReadData() {
+  }
 
   public ReadData(final YangInstanceIdentifier path) {
+    this(path, 0);
+  }
+
+  public ReadData(final YangInstanceIdentifier path, final long dictionaryFingerprint) {
     this.path = path;
+    this.dictionaryFingerprint = dictionaryFingerprint;
   }
 
   public YangInstanceIdentifier getPath() {
     return path;
   }
 
+  public long getDictionaryFingerprint() {
+    return dictionaryFingerprint;
+  }
+
+  @Override
+  public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+    dictionaryFingerprint = in.readLong();
+    path = SerializationUtils.deserializePath(in);
+  }
+
+  @Override
+  public void writeExternal(ObjectOutput out) throws IOException {
+    out.writeLong(dictionaryFingerprint);
+    SerializationUtils.serializePath(path, out);
+  }
+
+  @Override
   public Object toSerializable(){
+    if(dictionaryFingerprint != 0) {
+      return this;
+    }
+
     return ShardTransactionMessages.ReadData.newBuilder()
         .setInstanceIdentifierPathArguments(InstanceIdentifierUtils.toSerializable(path))
         .build();
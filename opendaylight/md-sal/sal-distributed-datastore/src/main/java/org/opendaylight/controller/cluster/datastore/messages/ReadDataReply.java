@@ -8,12 +8,14 @@
 
 package org.opendaylight.controller.cluster.datastore.messages;
 
+import com.google.common.base.Preconditions;
 import com.google.protobuf.ByteString;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
 import org.opendaylight.controller.cluster.datastore.node.NormalizedNodeToNodeCodec;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.cluster.datastore.utils.SerializationUtils;
 import org.opendaylight.controller.protobuff.messages.transaction.ShardTransactionMessages;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -24,13 +26,23 @@ public class ReadDataReply extends VersionedExternalizableMessage {
     public static final Class<ReadDataReply> SERIALIZABLE_CLASS = ReadDataReply.class;
 
     private NormalizedNode<?, ?> normalizedNode;
+    private transient QNameDictionary dictionary = QNameDictionary.EMPTY;
 
     public ReadDataReply() {
     }
 
     public ReadDataReply(NormalizedNode<?, ?> normalizedNode, short version) {
+        this(normalizedNode, version, QNameDictionary.EMPTY);
+    }
+
+    /**
+     * Constructs an instance which, for a reader at BERYLLIUM_VERSION or later, encodes the node with the
+     * given dictionary. The dictionary must be one the reader advertised as known.
+     */
+    public ReadDataReply(NormalizedNode<?, ?> normalizedNode, short version, QNameDictionary dictionary) {
         super(version);
         this.normalizedNode = normalizedNode;
+        this.dictionary = Preconditions.checkNotNull(dictionary);
     }
 
     public NormalizedNode<?, ?> getNormalizedNode() {
@@ -46,7 +58,11 @@ public class ReadDataReply extends VersionedExternalizableMessage {
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
         super.writeExternal(out);
-        SerializationUtils.serializeNormalizedNode(normalizedNode, out);
+        if(getVersion() >= DataStoreVersions.BERYLLIUM_VERSION) {
+            SerializationUtils.serializeNormalizedNode(normalizedNode, out, dictionary);
+        } else {
+            SerializationUtils.serializeNormalizedNode(normalizedNode, out);
+        }
     }
 
     @Override
@@ -21,6 +21,8 @@ public class ReadyTransactionReply extends VersionedExternalizableMessage {
             ShardTransactionMessages.ReadyTransactionReply.class;
 
     private String cohortPath;
+    private int commitQueueSize = -1;
+    private long replicationLag = -1;
 
     public ReadyTransactionReply() {
     }
@@ -34,20 +36,50 @@ public class ReadyTransactionReply extends VersionedExternalizableMessage {
         this.cohortPath = cohortPath;
     }
 
+    public ReadyTransactionReply(String cohortPath, int commitQueueSize, long replicationLag) {
+        this(cohortPath, DataStoreVersions.CURRENT_VERSION);
+        this.commitQueueSize = commitQueueSize;
+        this.replicationLag = replicationLag;
+    }
+
     public String getCohortPath() {
         return cohortPath;
     }
 
+    /**
+     * Returns the number of transactions queued for commit on the shard when the reply was sent, or -1 if the
+     * shard did not advertise it.
+     */
+    public int getCommitQueueSize() {
+        return commitQueueSize;
+    }
+
+    /**
+     * Returns the number of journal entries on the shard awaiting replication consensus when the reply was sent,
+     * or -1 if the shard did not advertise it.
+     */
+    public long getReplicationLag() {
+        return replicationLag;
+    }
+
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
         super.readExternal(in);
         cohortPath = in.readUTF();
+        if(getVersion() >= DataStoreVersions.BERYLLIUM_VERSION) {
+            commitQueueSize = in.readInt();
+            replicationLag = in.readLong();
+        }
     }
 
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
         super.writeExternal(out);
         out.writeUTF(cohortPath);
+        if(getVersion() >= DataStoreVersions.BERYLLIUM_VERSION) {
+            out.writeInt(commitQueueSize);
+            out.writeLong(replicationLag);
+        }
     }
 
     @Override
@@ -13,6 +13,9 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
+import org.opendaylight.controller.cluster.datastore.DataTreeChangeCoalescingPolicy;
 import org.opendaylight.controller.cluster.datastore.utils.SerializationUtils;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 
@@ -24,10 +27,31 @@ public final class RegisterDataTreeChangeListener implements Externalizable {
     private static final long serialVersionUID = 1L;
     private ActorRef dataTreeChangeListenerPath;
     private YangInstanceIdentifier path;
+    private DataTreeChangeCoalescingPolicy coalescingPolicy;
+    private boolean localReplica;
+    private short version = DataStoreVersions.CURRENT_VERSION;
+
+    public RegisterDataTreeChangeListener() {
+        // For Externalizable
+    }
 
     public RegisterDataTreeChangeListener(final YangInstanceIdentifier path, final ActorRef dataTreeChangeListenerPath) {
+        this(path, dataTreeChangeListenerPath, null, false);
+    }
+
+    public RegisterDataTreeChangeListener(final YangInstanceIdentifier path, final ActorRef dataTreeChangeListenerPath,
+            @Nullable final DataTreeChangeCoalescingPolicy coalescingPolicy, final boolean localReplica) {
+        this(path, dataTreeChangeListenerPath, coalescingPolicy, localReplica, DataStoreVersions.CURRENT_VERSION);
+    }
+
+    public RegisterDataTreeChangeListener(final YangInstanceIdentifier path, final ActorRef dataTreeChangeListenerPath,
+            @Nullable final DataTreeChangeCoalescingPolicy coalescingPolicy, final boolean localReplica,
+            final short version) {
         this.path = Preconditions.checkNotNull(path);
         this.dataTreeChangeListenerPath = Preconditions.checkNotNull(dataTreeChangeListenerPath);
+        this.coalescingPolicy = coalescingPolicy;
+        this.localReplica = localReplica;
+        this.version = version;
     }
 
     public YangInstanceIdentifier getPath() {
@@ -38,15 +62,61 @@ public final class RegisterDataTreeChangeListener implements Externalizable {
         return dataTreeChangeListenerPath;
     }
 
+    /**
+     * Returns the policy for coalescing the listener's changes, or null if each change is to be delivered as it
+     * happens.
+     */
+    @Nullable
+    public DataTreeChangeCoalescingPolicy getCoalescingPolicy() {
+        return coalescingPolicy;
+    }
+
+    /**
+     * Returns whether the listener is to be notified of the changes applied by the receiving shard replica
+     * even while it is not the leader.
+     */
+    public boolean isLocalReplica() {
+        return localReplica;
+    }
+
+    public short getVersion() {
+        return version;
+    }
+
     @Override
     public void writeExternal(final ObjectOutput out) throws IOException {
         out.writeObject(dataTreeChangeListenerPath);
         SerializationUtils.serializePath(path, out);
+
+        // Versions before BERYLLIUM wrote nothing after the path - the version follows it so they can still
+        // read the message.
+        if(version >= DataStoreVersions.BERYLLIUM_VERSION) {
+            out.writeShort(version);
+            out.writeBoolean(coalescingPolicy != null);
+            if(coalescingPolicy != null) {
+                out.writeInt(coalescingPolicy.getMaxBatchSize());
+                out.writeLong(coalescingPolicy.getMaxDelayInMillis());
+                out.writeBoolean(coalescingPolicy.isMergeChanges());
+            }
+
+            out.writeBoolean(localReplica);
+        }
     }
 
     @Override
     public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
         dataTreeChangeListenerPath = (ActorRef) in.readObject();
         path = SerializationUtils.deserializePath(in);
+
+        // A message from a version before BERYLLIUM ends with the path.
+        version = in.available() > 0 ? in.readShort() : DataStoreVersions.LITHIUM_VERSION;
+        if(version >= DataStoreVersions.BERYLLIUM_VERSION) {
+            if(in.readBoolean()) {
+                coalescingPolicy = DataTreeChangeCoalescingPolicy.create(in.readInt(), in.readLong(),
+                        in.readBoolean());
+            }
+
+            localReplica = in.readBoolean();
+        }
     }
 }
@@ -9,6 +9,8 @@
 package org.opendaylight.controller.cluster.datastore.messages;
 
 import java.io.Serializable;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.LocalShardReplica;
 
 /**
  * Local or remote message sent in reply to FindPrimaryShard to indicate the primary shard is remote to the caller.
@@ -19,9 +21,18 @@ public class RemotePrimaryShardFound implements Serializable {
     private final String primaryPath;
     private final short primaryVersion;
 
+    // Only set in replies from the local ShardManager.
+    private final transient LocalShardReplica localReplica;
+
     public RemotePrimaryShardFound(final String primaryPath, short primaryVersion) {
+        this(primaryPath, primaryVersion, null);
+    }
+
+    public RemotePrimaryShardFound(final String primaryPath, short primaryVersion,
+            @Nullable LocalShardReplica localReplica) {
         this.primaryPath = primaryPath;
         this.primaryVersion = primaryVersion;
+        this.localReplica = localReplica;
     }
 
     public String getPrimaryPath() {
@@ -32,6 +43,13 @@ public class RemotePrimaryShardFound implements Serializable {
         return primaryVersion;
     }
 
+    /**
+     * Returns the local follower replica of the shard, if the caller is co-located with one.
+     */
+    public @Nullable LocalShardReplica getLocalReplica() {
+        return localReplica;
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
@@ -10,6 +10,8 @@ package org.opendaylight.controller.cluster.datastore.messages;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.LocalShardReplica;
 import org.opendaylight.controller.cluster.notifications.LeaderStateChanged;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 
@@ -23,14 +25,29 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 public class ShardLeaderStateChanged extends LeaderStateChanged {
 
     private final Optional<DataTree> localShardDataTree;
+    private final LocalShardReplica localReplica;
 
     public ShardLeaderStateChanged(@Nonnull String memberId, @Nonnull String leaderId,
             @Nonnull Optional<DataTree> localShardDataTree, short leaderPayloadVersion) {
+        this(memberId, leaderId, localShardDataTree, leaderPayloadVersion, null);
+    }
+
+    public ShardLeaderStateChanged(@Nonnull String memberId, @Nonnull String leaderId,
+            @Nonnull Optional<DataTree> localShardDataTree, short leaderPayloadVersion,
+            @Nullable LocalShardReplica localReplica) {
         super(memberId, leaderId, leaderPayloadVersion);
         this.localShardDataTree = Preconditions.checkNotNull(localShardDataTree);
+        this.localReplica = localReplica;
     }
 
     public @Nonnull Optional<DataTree> getLocalShardDataTree() {
         return localShardDataTree;
     }
+
+    /**
+     * Returns the shard's replica which may serve follower reads, if any.
+     */
+    public @Nullable LocalShardReplica getLocalReplica() {
+        return localReplica;
+    }
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.shardstrategy;
+
+import com.google.common.base.Functions;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.opendaylight.controller.cluster.datastore.Configuration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+
+/**
+ * A ShardStrategy which spreads the entries of one list of a module across all the shards configured for the
+ * module, picking the shard of an entry by hashing its key. The list is given as the slash-separated names of
+ * the nodes leading to it from the top of the module, eg "nodes/node". Data of the module outside the list lives
+ * in the module's first shard.
+ * <p>
+ * A path at or above the list, ie the list itself or one of its ancestors in the module, spans all the shards.
+ * Such paths are only meaningful to callers which fan out across {@link #getShardNames()} - {@link #findShard}
+ * returns the first shard for them.
+ * <p>
+ * The list must be unordered - the order a user gives the entries of an ordered-by-user list can't be kept once
+ * the entries are spread across shards, so such a list can't be partitioned.
+ */
+public class KeyHashShardStrategy implements ShardStrategy {
+
+    public static final String NAME = "key-hash";
+
+    private final String moduleName;
+    private final String namespace;
+    private final List<String> listPathNames;
+    private final Configuration configuration;
+
+    public KeyHashShardStrategy(String moduleName, String namespace, String partitionedList,
+            Configuration configuration) {
+        this.moduleName = Preconditions.checkNotNull(moduleName);
+        this.namespace = Preconditions.checkNotNull(namespace);
+        this.listPathNames = ImmutableList.copyOf(Splitter.on('/').omitEmptyStrings().trimResults().split(
+                Preconditions.checkNotNull(partitionedList, "partitioned-list must be set for module %s", moduleName)));
+        this.configuration = configuration;
+
+        Preconditions.checkArgument(!listPathNames.isEmpty(), "Invalid partitioned-list \"%s\" for module %s",
+                partitionedList, moduleName);
+    }
+
+    @Override
+    public String findShard(YangInstanceIdentifier path) {
+        List<String> shardNames = getShardNames();
+        if (shardNames.isEmpty()) {
+            return DefaultShardStrategy.DEFAULT_SHARD;
+        }
+
+        if (shardNames.size() > 1) {
+            List<PathArgument> pathArguments = path.getPathArguments();
+            if (pathArguments.size() > listPathNames.size() && matchesListPath(pathArguments, listPathNames.size())) {
+                PathArgument entry = pathArguments.get(listPathNames.size());
+                if (entry instanceof NodeIdentifierWithPredicates) {
+                    return shardNameForEntry((NodeIdentifierWithPredicates) entry, shardNames);
+                }
+            }
+        }
+
+        return shardNames.get(0);
+    }
+
+    /**
+     * Returns the names of the shards the module's data is spread across, the first being the one holding the
+     * data outside the partitioned list.
+     */
+    public List<String> getShardNames() {
+        return configuration.getShardNamesFromModuleName(moduleName);
+    }
+
+    /**
+     * Determines whether the data at the given path may be in more than one shard, ie whether the path is the
+     * partitioned list or one of its ancestors and the module has more than one shard.
+     */
+    public boolean spansShards(YangInstanceIdentifier path) {
+        List<PathArgument> pathArguments = path.getPathArguments();
+        return !pathArguments.isEmpty() && pathArguments.size() <= listPathNames.size() &&
+                matchesListPath(pathArguments, pathArguments.size()) && getShardNames().size() > 1;
+    }
+
+    /**
+     * Splits data to be written or merged at a path which spans shards into the data each shard should get at
+     * that path. Every shard gets an entry, so that a write replaces the list entries held by all the shards.
+     *
+     * @param path a path for which {@link #spansShards} returns true
+     * @param data the data at the path
+     * @return the data for each shard, keyed by shard name
+     * @throws IllegalArgumentException if the data at or above the partitioned list is not made of containers
+     *         and an unordered keyed list
+     */
+    public Map<String, NormalizedNode<?, ?>> partitionData(YangInstanceIdentifier path, NormalizedNode<?, ?> data) {
+        Preconditions.checkArgument(spansShards(path), "Path %s does not span the shards of module %s", path,
+                moduleName);
+        return partition(data, path.getPathArguments().size(), getShardNames());
+    }
+
+    private Map<String, NormalizedNode<?, ?>> partition(NormalizedNode<?, ?> node, int depth,
+            List<String> shardNames) {
+        Map<String, NormalizedNode<?, ?>> partitions = new LinkedHashMap<>();
+        if (depth == listPathNames.size()) {
+            Preconditions.checkArgument(node instanceof MapNode, "Expected a keyed list at %s but was %s",
+                    listPathNames, node.getClass());
+            Preconditions.checkArgument(!(node instanceof OrderedMapNode),
+                    "The list at %s is ordered by user - its order can't be kept across shards", listPathNames);
+            MapNode mapNode = (MapNode) node;
+
+            Map<String, CollectionNodeBuilder<MapEntryNode, MapNode>> builders = new LinkedHashMap<>();
+            for (String shardName : shardNames) {
+                builders.put(shardName, Builders.mapBuilder().withNodeIdentifier(mapNode.getIdentifier()));
+            }
+
+            for (MapEntryNode entry : mapNode.getValue()) {
+                builders.get(shardNameForEntry(entry.getIdentifier(), shardNames)).withChild(entry);
+            }
+
+            for (Map.Entry<String, CollectionNodeBuilder<MapEntryNode, MapNode>> e : builders.entrySet()) {
+                partitions.put(e.getKey(), e.getValue().build());
+            }
+
+            return partitions;
+        }
+
+        Preconditions.checkArgument(node instanceof ContainerNode, "Expected a container at %s but was %s",
+                listPathNames.subList(0, depth), node.getClass());
+        ContainerNode container = (ContainerNode) node;
+
+        DataContainerChild<? extends PathArgument, ?> child = null;
+        for (DataContainerChild<? extends PathArgument, ?> c : container.getValue()) {
+            if (matches(c.getIdentifier(), listPathNames.get(depth))) {
+                child = c;
+                break;
+            }
+        }
+
+        String homeShard = shardNames.get(0);
+        if (child == null) {
+            // None of the list is in the data - the other shards get an empty container.
+            for (String shardName : shardNames) {
+                partitions.put(shardName, shardName.equals(homeShard) ? container :
+                    Builders.containerBuilder().withNodeIdentifier(container.getIdentifier()).build());
+            }
+
+            return partitions;
+        }
+
+        for (Map.Entry<String, NormalizedNode<?, ?>> e : partition(child, depth + 1, shardNames).entrySet()) {
+            DataContainerChild<? extends PathArgument, ?> partitionedChild =
+                    (DataContainerChild<? extends PathArgument, ?>) e.getValue();
+            if (e.getKey().equals(homeShard)) {
+                partitions.put(e.getKey(), Builders.containerBuilder(container).withChild(partitionedChild).build());
+            } else {
+                partitions.put(e.getKey(), Builders.containerBuilder().withNodeIdentifier(
+                        container.getIdentifier()).withChild(partitionedChild).build());
+            }
+        }
+
+        return partitions;
+    }
+
+    private boolean matchesListPath(List<PathArgument> pathArguments, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!matches(pathArguments.get(i), listPathNames.get(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean matches(PathArgument pathArgument, String name) {
+        // The configuration has no revision so only the namespace and local name are compared.
+        if (pathArgument instanceof AugmentationIdentifier) {
+            return false;
+        }
+
+        QName nodeType = pathArgument.getNodeType();
+        return name.equals(nodeType.getLocalName()) && namespace.equals(nodeType.getNamespace().toString());
+    }
+
+    private static String shardNameForEntry(NodeIdentifierWithPredicates entry, List<String> shardNames) {
+        // All members must agree on the shard of an entry, so the hash is computed over a canonical form of the
+        // key - the key values sorted by QName, each written as its string form - rather than over hash codes or
+        // the iteration order of the key values map, neither of which is guaranteed to be the same on every member.
+        Hasher hasher = Hashing.murmur3_32().newHasher();
+        for (Map.Entry<QName, Object> e : new TreeMap<>(entry.getKeyValues()).entrySet()) {
+            hasher.putString(e.getKey().toString(), StandardCharsets.UTF_8);
+            putKeyValue(hasher, e.getValue());
+        }
+
+        return shardNames.get(Hashing.consistentHash(hasher.hash(), shardNames.size()));
+    }
+
+    private static void putKeyValue(Hasher hasher, Object value) {
+        if (value instanceof byte[]) {
+            hasher.putBytes((byte[]) value);
+        } else if (value instanceof Set) {
+            // bits values - the set has no defined order
+            for (String bit : new TreeSet<>(Collections2.transform((Set<?>) value, Functions.toStringFunction()))) {
+                hasher.putString(bit, StandardCharsets.UTF_8);
+            }
+        } else {
+            hasher.putString(String.valueOf(value), StandardCharsets.UTF_8);
+        }
+
+        // Separates the values so that eg "ab","c" and "a","bc" hash differently
+        hasher.putByte((byte) 0);
+    }
+}
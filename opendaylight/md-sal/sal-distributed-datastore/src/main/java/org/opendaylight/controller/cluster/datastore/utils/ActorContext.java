@@ -29,11 +29,11 @@ import org.opendaylight.controller.cluster.datastore.ClusterWrapper;
 import org.opendaylight.controller.cluster.datastore.Configuration;
 import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
 import org.opendaylight.controller.cluster.datastore.DatastoreContext;
+import org.opendaylight.controller.cluster.datastore.LocalShardReplica;
 import org.opendaylight.controller.cluster.datastore.exceptions.LocalShardNotFoundException;
 import org.opendaylight.controller.cluster.datastore.exceptions.NoShardLeaderException;
 import org.opendaylight.controller.cluster.datastore.exceptions.NotInitializedException;
 import org.opendaylight.controller.cluster.datastore.exceptions.PrimaryNotFoundException;
-import org.opendaylight.controller.cluster.datastore.exceptions.TimeoutException;
 import org.opendaylight.controller.cluster.datastore.exceptions.UnknownMessageException;
 import org.opendaylight.controller.cluster.datastore.messages.FindLocalShard;
 import org.opendaylight.controller.cluster.datastore.messages.FindPrimary;
@@ -43,12 +43,12 @@ import org.opendaylight.controller.cluster.datastore.messages.LocalShardNotFound
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryShardInfo;
 import org.opendaylight.controller.cluster.datastore.messages.RemotePrimaryShardFound;
 import org.opendaylight.controller.cluster.datastore.messages.UpdateSchemaContext;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.cluster.reporting.MetricsReporter;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import scala.concurrent.Await;
 import scala.concurrent.ExecutionContext;
 import scala.concurrent.Future;
 import scala.concurrent.duration.Duration;
@@ -90,12 +90,13 @@ public class ActorContext {
     private FiniteDuration operationDuration;
     private Timeout operationTimeout;
     private final String selfAddressHostPort;
-    private TransactionRateLimiter txRateLimiter;
+    private ShardCreditLimiter shardCreditLimiter;
     private Timeout transactionCommitOperationTimeout;
     private Timeout shardInitializationTimeout;
     private final Dispatchers dispatchers;
 
     private volatile SchemaContext schemaContext;
+    private volatile QNameDictionary qnameDictionary;
     private volatile boolean updated;
     private final MetricRegistry metricRegistry = MetricsReporter.getInstance(DatastoreContext.METRICS_DOMAIN).getMetricsRegistry();
 
@@ -130,8 +131,6 @@ public class ActorContext {
     }
 
     private void setCachedProperties() {
-        txRateLimiter = new TransactionRateLimiter(this);
-
         operationDuration = Duration.create(datastoreContext.getOperationTimeoutInSeconds(), TimeUnit.SECONDS);
         operationTimeout = new Timeout(operationDuration);
 
@@ -139,6 +138,15 @@ public class ActorContext {
                 datastoreContext.getShardTransactionCommitTimeoutInSeconds(), TimeUnit.SECONDS));
 
         shardInitializationTimeout = new Timeout(datastoreContext.getShardInitializationTimeout().duration().$times(2));
+
+        // The limiter is kept across context updates as it tracks the credits of in-flight transactions.
+        if(shardCreditLimiter == null) {
+            shardCreditLimiter = new ShardCreditLimiter(datastoreContext.getTransactionCreditsPerShard(),
+                    datastoreContext.getOperationTimeoutInSeconds(), TimeUnit.SECONDS);
+        } else {
+            shardCreditLimiter.setLimits(datastoreContext.getTransactionCreditsPerShard(),
+                    datastoreContext.getOperationTimeoutInSeconds(), TimeUnit.SECONDS);
+        }
     }
 
     public DatastoreContext getDatastoreContext() {
@@ -163,6 +171,7 @@ public class ActorContext {
 
     public void setSchemaContext(SchemaContext schemaContext) {
         this.schemaContext = schemaContext;
+        this.qnameDictionary = QNameDictionary.create(schemaContext);
 
         if(shardManager != null) {
             shardManager.tell(new UpdateSchemaContext(schemaContext), ActorRef.noSender());
@@ -191,6 +200,14 @@ public class ActorContext {
         return schemaContext;
     }
 
+    /**
+     * Returns the QNameDictionary derived from the current SchemaContext, which this front-end advertises to
+     * shards as readable, or null if no SchemaContext has been set yet.
+     */
+    public QNameDictionary getQNameDictionary() {
+        return qnameDictionary;
+    }
+
     public Future<PrimaryShardInfo> findPrimaryShardAsync(final String shardName) {
         Future<PrimaryShardInfo> ret = primaryShardInfoCache.getIfPresent(shardName);
         if(ret != null){
@@ -205,12 +222,13 @@ public class ActorContext {
                 if(response instanceof RemotePrimaryShardFound) {
                     LOG.debug("findPrimaryShardAsync received: {}", response);
                     RemotePrimaryShardFound found = (RemotePrimaryShardFound)response;
-                    return onPrimaryShardFound(shardName, found.getPrimaryPath(), found.getPrimaryVersion(), null);
+                    return onPrimaryShardFound(shardName, found.getPrimaryPath(), found.getPrimaryVersion(), null,
+                            found.getLocalReplica());
                 } else if(response instanceof LocalPrimaryShardFound) {
                     LOG.debug("findPrimaryShardAsync received: {}", response);
                     LocalPrimaryShardFound found = (LocalPrimaryShardFound)response;
                     return onPrimaryShardFound(shardName, found.getPrimaryPath(), DataStoreVersions.CURRENT_VERSION,
-                            found.getLocalShardDataTree());
+                            found.getLocalShardDataTree(), null);
                 } else if(response instanceof NotInitializedException) {
                     throw (NotInitializedException)response;
                 } else if(response instanceof PrimaryNotFoundException) {
@@ -226,33 +244,14 @@ public class ActorContext {
     }
 
     private PrimaryShardInfo onPrimaryShardFound(String shardName, String primaryActorPath,
-            short primaryVersion, DataTree localShardDataTree) {
+            short primaryVersion, DataTree localShardDataTree, LocalShardReplica localReplica) {
         ActorSelection actorSelection = actorSystem.actorSelection(primaryActorPath);
         PrimaryShardInfo info = new PrimaryShardInfo(actorSelection, primaryVersion,
-                Optional.fromNullable(localShardDataTree));
+                Optional.fromNullable(localShardDataTree), Optional.fromNullable(localReplica));
         primaryShardInfoCache.putSuccessful(shardName, info);
         return info;
     }
 
-    /**
-     * Finds a local shard given its shard name and return it's ActorRef
-     *
-     * @param shardName the name of the local shard that needs to be found
-     * @return a reference to a local shard actor which represents the shard
-     *         specified by the shardName
-     */
-    public Optional<ActorRef> findLocalShard(String shardName) {
-        Object result = executeOperation(shardManager, new FindLocalShard(shardName, false));
-
-        if (result instanceof LocalShardFound) {
-            LocalShardFound found = (LocalShardFound) result;
-            LOG.debug("Local shard found {}", found.getPath());
-            return Optional.of(found.getPath());
-        }
-
-        return Optional.absent();
-    }
-
     /**
      * Finds a local shard async given its shard name and return a Future from which to obtain the
      * ActorRef.
@@ -283,24 +282,6 @@ public class ActorContext {
         }, getClientDispatcher());
     }
 
-    /**
-     * Executes an operation on a local actor and wait for it's response
-     *
-     * @param actor
-     * @param message
-     * @return The response of the operation
-     */
-    public Object executeOperation(ActorRef actor, Object message) {
-        Future<Object> future = executeOperationAsync(actor, message, operationTimeout);
-
-        try {
-            return Await.result(future, operationDuration);
-        } catch (Exception e) {
-            throw new TimeoutException("Sending message " + message.getClass().toString() +
-                    " to actor " + actor.toString() + " failed. Try again later.", e);
-        }
-    }
-
     public Future<Object> executeOperationAsync(ActorRef actor, Object message, Timeout timeout) {
         Preconditions.checkArgument(actor != null, "actor must not be null");
         Preconditions.checkArgument(message != null, "message must not be null");
@@ -309,24 +290,6 @@ public class ActorContext {
         return doAsk(actor, message, timeout);
     }
 
-    /**
-     * Execute an operation on a remote actor and wait for it's response
-     *
-     * @param actor
-     * @param message
-     * @return
-     */
-    public Object executeOperation(ActorSelection actor, Object message) {
-        Future<Object> future = executeOperationAsync(actor, message);
-
-        try {
-            return Await.result(future, operationDuration);
-        } catch (Exception e) {
-            throw new TimeoutException("Sending message " + message.getClass().toString() +
-                    " to actor " + actor.toString() + " failed. Try again later.", e);
-        }
-    }
-
     /**
      * Execute an operation on a remote actor asynchronously.
      *
@@ -489,18 +452,28 @@ public class ActorContext {
     }
 
     /**
-     * Get the current transaction creation rate limit
+     * Get the transaction rate the datastore currently sustains, estimated from the credit windows of the shards
+     * and the mean commit latency. Before any commit has been timed this is the configured initial rate limit.
      * @return
      */
     public double getTxCreationLimit(){
-        return txRateLimiter.getTxCreationLimit();
+        double meanCommitLatencyInSeconds = getOperationTimer(COMMIT).getSnapshot().getMean() /
+                TimeUnit.SECONDS.toNanos(1);
+        int creditWindows = shardCreditLimiter.getTotalWindow();
+        if(meanCommitLatencyInSeconds <= 0 || creditWindows == 0) {
+            return datastoreContext.getTransactionCreationInitialRateLimit();
+        }
+
+        // The credits bound the commits in flight, so at the mean latency this is the rate they allow
+        return creditWindows / meanCommitLatencyInSeconds;
     }
 
     /**
-     * Try to acquire a transaction creation permit. Will block if no permits are available.
+     * Get the limiter applying per-shard flow control to write transactions
+     * @return
      */
-    public void acquireTxCreationPermit(){
-        txRateLimiter.acquire();
+    public ShardCreditLimiter getShardCreditLimiter(){
+        return shardCreditLimiter;
     }
 
     /**
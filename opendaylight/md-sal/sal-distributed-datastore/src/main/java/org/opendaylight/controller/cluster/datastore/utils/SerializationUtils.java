@@ -9,6 +9,7 @@ package org.opendaylight.controller.cluster.datastore.utils;
 
 import com.google.common.base.Preconditions;
 import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
@@ -16,10 +17,12 @@ import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import org.opendaylight.controller.cluster.datastore.node.NormalizedNodeToNodeCodec;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.InvalidNormalizedNodeStreamException;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputStreamReader;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeOutputStreamWriter;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.protobuff.messages.common.NormalizedNodeMessages;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -93,6 +96,24 @@ public final class SerializationUtils {
         }
     }
 
+    /**
+     * Serializes a NormalizedNode using the compact stream version. The reader must be at least
+     * {@link org.opendaylight.controller.cluster.datastore.DataStoreVersions#BERYLLIUM_VERSION} and
+     * must have registered the given dictionary. The result is read by {@link #deserializeNormalizedNode(DataInput)}.
+     */
+    public static void serializeNormalizedNode(NormalizedNode<?, ?> node, DataOutput out,
+            QNameDictionary dictionary) {
+        try {
+            out.writeBoolean(node != null);
+            if(node != null) {
+                new NormalizedNodeOutputStreamWriter(out, dictionary).writeNormalizedNode(node);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("Error serializing NormalizedNode %s",
+                    node), e);
+        }
+    }
+
     public static NormalizedNode<?, ?> deserializeNormalizedNode(DataInput in) {
         try {
             return tryDeserializeNormalizedNode(in);
@@ -130,6 +151,25 @@ public final class SerializationUtils {
         return node;
     }
 
+    /**
+     * Reads a NormalizedNode serialized either way {@link #deserializeNormalizedNode(byte[])} accepts from a
+     * stream, without reading the whole serialized node into memory first.
+     */
+    public static NormalizedNode<?, ?> readNormalizedNode(InputStream in) throws IOException {
+        InputStream buffered = in.markSupported() ? in : new BufferedInputStream(in);
+
+        // The stream format starts with a boolean whereas a legacy protobuf message starts with a field tag.
+        buffered.mark(1);
+        int first = buffered.read();
+        buffered.reset();
+        if(first == 0 || first == 1) {
+            return tryDeserializeNormalizedNode(new DataInputStream(buffered));
+        }
+
+        NormalizedNodeMessages.Node serializedNode = NormalizedNodeMessages.Node.parseFrom(buffered);
+        return new NormalizedNodeToNodeCodec(null).decode(serializedNode);
+    }
+
     public static byte [] serializeNormalizedNode(NormalizedNode<?, ?> node) {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
         serializeNormalizedNode(node, new DataOutputStream(bos));
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import akka.dispatch.OnComplete;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedModificationsReply;
+import org.opendaylight.controller.cluster.datastore.messages.ReadyTransactionReply;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies credit-based flow control to the commits the front-end sends to each shard. A write transaction takes a
+ * credit from its shard's window when it is readied and gives it back when its commit completes or fails, so the
+ * window bounds the commits in flight to the shard rather than the open transactions. Once a shard's window is
+ * used up, readying further transactions for that shard blocks until a credit is returned, while transactions for
+ * other shards are unaffected.
+ * <p>
+ * The size of a shard's window starts at the configured maximum and is adjusted from the load the shard
+ * advertises in its replies, ie its commit queue depth plus replication lag. The window is halved when the shard's
+ * backlog exceeds it, and grown by one credit at a time, up to the maximum, while the backlog is below half of it.
+ */
+public class ShardCreditLimiter {
+    private static final Logger LOG = LoggerFactory.getLogger(ShardCreditLimiter.class);
+
+    private final ConcurrentMap<String, ShardCredits> shardCredits = new ConcurrentHashMap<>();
+
+    private volatile int maxCredits;
+    private volatile long acquireTimeoutInNanos;
+
+    public ShardCreditLimiter(int maxCredits, long acquireTimeout, TimeUnit unit) {
+        setLimits(maxCredits, acquireTimeout, unit);
+    }
+
+    /**
+     * Updates the maximum window size and how long acquiring a credit may block.
+     */
+    public void setLimits(int maxCredits, long acquireTimeout, TimeUnit unit) {
+        Preconditions.checkArgument(maxCredits > 0, "maxCredits must be positive");
+        Preconditions.checkArgument(acquireTimeout >= 0, "acquireTimeout must not be negative");
+        this.maxCredits = maxCredits;
+        this.acquireTimeoutInNanos = unit.toNanos(acquireTimeout);
+
+        for(ShardCredits credits: shardCredits.values()) {
+            credits.onMaxCreditsChanged();
+        }
+    }
+
+    public int getMaxCredits() {
+        return maxCredits;
+    }
+
+    /**
+     * Returns the credits for the given shard, creating them on first use.
+     */
+    public ShardCredits forShard(String shardName) {
+        ShardCredits credits = shardCredits.get(shardName);
+        if(credits == null) {
+            ShardCredits newCredits = new ShardCredits(shardName);
+            credits = shardCredits.putIfAbsent(shardName, newCredits);
+            if(credits == null) {
+                credits = newCredits;
+            }
+        }
+
+        return credits;
+    }
+
+    /**
+     * Returns the sum of the credit windows of the shards used so far.
+     */
+    public int getTotalWindow() {
+        int total = 0;
+        for(ShardCredits credits: shardCredits.values()) {
+            total += credits.getWindow();
+        }
+
+        return total;
+    }
+
+    /**
+     * Returns the credit window of each shard used so far keyed by shard name, eg "12/50 (max 100)" for 12
+     * credits in use out of a window of 50.
+     */
+    public Map<String, String> getShardCreditInfo() {
+        Map<String, String> info = new TreeMap<>();
+        for(ShardCredits credits: shardCredits.values()) {
+            info.put(credits.shardName, credits.toString());
+        }
+
+        return info;
+    }
+
+    /**
+     * The credit window of one shard. It extends {@link OnComplete} so it can be plugged into the Futures of the
+     * messages sent to the shard to pick up the load the shard advertises in its replies.
+     */
+    public final class ShardCredits extends OnComplete<Object> {
+        private final String shardName;
+
+        @GuardedBy("this")
+        private int window;
+
+        @GuardedBy("this")
+        private int inUse;
+
+        // The number of load reports received since the window was last shrunk - it is shrunk at most once per
+        // window's worth of reports so a burst of replies reporting the same backlog doesn't collapse it.
+        @GuardedBy("this")
+        private int reportsSinceShrink;
+
+        private ShardCredits(String shardName) {
+            this.shardName = shardName;
+            this.window = maxCredits;
+            this.reportsSinceShrink = window;
+        }
+
+        /**
+         * Takes a credit, blocking while the window is used up. If no credit becomes available within the
+         * acquire timeout, no credit is taken and the caller proceeds without one so the transaction isn't
+         * failed - the shard will reject it if its commit queue is full.
+         *
+         * @return true if a credit was taken, in which case it must be given back with {@link #release},
+         *         false otherwise
+         */
+        public synchronized boolean acquire() {
+            long remaining = acquireTimeoutInNanos;
+            long deadline = System.nanoTime() + remaining;
+            try {
+                while(inUse >= window) {
+                    if(remaining <= 0) {
+                        LOG.warn("Timed out waiting for a transaction credit for shard {} - {}", shardName, this);
+                        return false;
+                    }
+
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    remaining = deadline - System.nanoTime();
+                }
+            } catch (InterruptedException e) {
+                LOG.warn("Interrupted while waiting for a transaction credit for shard {}", shardName);
+                Thread.currentThread().interrupt();
+                return false;
+            }
+
+            inUse++;
+            return true;
+        }
+
+        /**
+         * Returns a credit taken by a successful {@link #acquire}.
+         */
+        public synchronized void release() {
+            Preconditions.checkState(inUse > 0, "No credits in use for shard %s", shardName);
+            inUse--;
+            notifyAll();
+        }
+
+        /**
+         * Adjusts the window from the load advertised by the shard. Negative values mean the shard did not
+         * advertise its load and are ignored.
+         */
+        public synchronized void onShardLoad(int commitQueueSize, long replicationLag) {
+            if(commitQueueSize < 0 || replicationLag < 0) {
+                return;
+            }
+
+            reportsSinceShrink++;
+
+            long backlog = commitQueueSize + replicationLag;
+            if(backlog > window) {
+                if(reportsSinceShrink >= window && window > 1) {
+                    window = Math.max(1, window / 2);
+                    reportsSinceShrink = 0;
+                    LOG.debug("Shard {} backlog {} - credit window shrunk to {}", shardName, backlog, window);
+                }
+            } else if(backlog < window / 2 && window < maxCredits) {
+                window++;
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void onComplete(Throwable failure, Object reply) {
+            if(reply instanceof ReadyTransactionReply) {
+                ReadyTransactionReply readyReply = (ReadyTransactionReply) reply;
+                onShardLoad(readyReply.getCommitQueueSize(), readyReply.getReplicationLag());
+            } else if(reply instanceof BatchedModificationsReply) {
+                BatchedModificationsReply batchedReply = (BatchedModificationsReply) reply;
+                onShardLoad(batchedReply.getCommitQueueSize(), batchedReply.getReplicationLag());
+            }
+        }
+
+        private synchronized void onMaxCreditsChanged() {
+            window = Math.min(window, maxCredits);
+            if(window < 1) {
+                window = 1;
+            }
+
+            notifyAll();
+        }
+
+        public String getShardName() {
+            return shardName;
+        }
+
+        public synchronized int getWindow() {
+            return window;
+        }
+
+        @VisibleForTesting
+        public synchronized int getInUse() {
+            return inUse;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%d/%d (max %d)", inUse, window, maxCredits);
+        }
+    }
+}
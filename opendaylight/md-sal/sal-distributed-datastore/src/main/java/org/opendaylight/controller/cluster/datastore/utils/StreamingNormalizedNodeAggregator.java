@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import com.google.common.base.Optional;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+
+/**
+ * Merges the data read from several shards at the same path into one node, as each shard's data arrives. The
+ * data isn't copied into a data tree to merge it: a subtree held by only one shard is passed through as is, and
+ * only the nodes which several shards hold part of, eg the root or a container whose list is partitioned across
+ * shards, are rebuilt, once, when the result is taken.
+ * <p>
+ * Containers, list entries, augmentations and lists are merged by their children. The entries of an ordered list
+ * keep the order in which they were first added. For any other node,
+ * eg a leaf, the data last added wins - the shards hold disjoint data, so the shards' leaves don't overlap.
+ * This class is thread-safe.
+ */
+public final class StreamingNormalizedNodeAggregator {
+    @GuardedBy("this")
+    private MergedNode root;
+
+    /**
+     * Merges the data read from a shard into the result.
+     */
+    public synchronized void add(final Optional<NormalizedNode<?, ?>> data) {
+        if (!data.isPresent()) {
+            return;
+        }
+
+        if (root == null) {
+            root = new MergedNode(data.get());
+        } else {
+            root.merge(data.get());
+        }
+    }
+
+    /**
+     * Returns the merged data added so far, absent if no data was added.
+     */
+    public synchronized Optional<NormalizedNode<?, ?>> getResult() {
+        return root == null ? Optional.<NormalizedNode<?, ?>>absent() : Optional.<NormalizedNode<?, ?>>of(root.build());
+    }
+
+    private static boolean isMergeable(final NormalizedNode<?, ?> node) {
+        return node instanceof ContainerNode || node instanceof MapEntryNode || node instanceof AugmentationNode ||
+                node instanceof MapNode;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Iterable<NormalizedNode<?, ?>> childrenOf(final NormalizedNode<?, ?> node) {
+        return ((NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) node).getValue();
+    }
+
+    /**
+     * A node of the result. It holds the added data as is until data from a second shard is merged into it, at
+     * which point it tracks its children separately.
+     */
+    private static final class MergedNode {
+        private NormalizedNode<?, ?> data;
+        private Map<PathArgument, MergedNode> children;
+
+        MergedNode(final NormalizedNode<?, ?> data) {
+            this.data = data;
+        }
+
+        void merge(final NormalizedNode<?, ?> other) {
+            if (!isMergeable(data) || !isMergeable(other) || !sameKind(data, other)) {
+                data = other;
+                children = null;
+                return;
+            }
+
+            if (children == null) {
+                children = new LinkedHashMap<>();
+                for (NormalizedNode<?, ?> child : childrenOf(data)) {
+                    children.put(child.getIdentifier(), new MergedNode(child));
+                }
+            }
+
+            for (NormalizedNode<?, ?> child : childrenOf(other)) {
+                MergedNode existing = children.get(child.getIdentifier());
+                if (existing == null) {
+                    children.put(child.getIdentifier(), new MergedNode(child));
+                } else {
+                    existing.merge(child);
+                }
+            }
+        }
+
+        private static boolean sameKind(final NormalizedNode<?, ?> node, final NormalizedNode<?, ?> other) {
+            return node instanceof ContainerNode && other instanceof ContainerNode ||
+                    node instanceof MapEntryNode && other instanceof MapEntryNode ||
+                    node instanceof AugmentationNode && other instanceof AugmentationNode ||
+                    node instanceof OrderedMapNode && other instanceof OrderedMapNode ||
+                    node instanceof MapNode && !(node instanceof OrderedMapNode) &&
+                            other instanceof MapNode && !(other instanceof OrderedMapNode);
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        NormalizedNode<?, ?> build() {
+            if (children == null) {
+                return data;
+            }
+
+            if (data instanceof OrderedMapNode) {
+                CollectionNodeBuilder<MapEntryNode, OrderedMapNode> builder =
+                        Builders.orderedMapBuilder().withNodeIdentifier((NodeIdentifier) data.getIdentifier());
+                for (MergedNode child : children.values()) {
+                    builder.withChild((MapEntryNode) child.build());
+                }
+                return builder.build();
+            }
+
+            if (data instanceof MapNode) {
+                CollectionNodeBuilder<MapEntryNode, MapNode> builder = Builders.mapBuilder().withNodeIdentifier(
+                        (NodeIdentifier) data.getIdentifier());
+                for (MergedNode child : children.values()) {
+                    builder.withChild((MapEntryNode) child.build());
+                }
+                return builder.build();
+            }
+
+            final DataContainerNodeBuilder builder;
+            if (data instanceof ContainerNode) {
+                builder = Builders.containerBuilder().withNodeIdentifier((NodeIdentifier) data.getIdentifier());
+            } else if (data instanceof MapEntryNode) {
+                builder = Builders.mapEntryBuilder().withNodeIdentifier(
+                        (NodeIdentifierWithPredicates) data.getIdentifier());
+            } else {
+                builder = Builders.augmentationBuilder().withNodeIdentifier(
+                        (AugmentationIdentifier) data.getIdentifier());
+            }
+
+            for (MergedNode child : children.values()) {
+                builder.withChild((DataContainerChild<?, ?>) child.build());
+            }
+            return (NormalizedNode<?, ?>) builder.build();
+        }
+    }
+}
@@ -63,8 +63,18 @@ public class DistributedOperationalDataStoreProviderModule extends
                 .shardIsolatedLeaderCheckIntervalInMillis(
                     props.getShardIsolatedLeaderCheckIntervalInMillis().getValue())
                 .shardElectionTimeoutFactor(props.getShardElectionTimeoutFactor().getValue())
+                .shardMaxInFlightAppendEntries(props.getShardMaxInFlightAppendEntries().getValue().intValue())
+                .shardJournalPersistBatchSize(props.getShardJournalPersistBatchSize().getValue().intValue())
+                .shardJournalPersistBatchWindowInMillis(props.getShardJournalPersistBatchWindowInMillis())
                 .transactionCreationInitialRateLimit(props.getTransactionCreationInitialRateLimit().getValue())
+                .transactionCreditsPerShard(props.getTransactionCreditsPerShard().getValue().intValue())
                 .shardBatchedModificationCount(props.getShardBatchedModificationCount().getValue().intValue())
+                .shardIncrementalSnapshotCompactionCount(
+                        props.getShardIncrementalSnapshotCompactionCount().intValue())
+                .shardCommitPipelineDepth(props.getShardCommitPipelineDepth().getValue().intValue())
+                .followerReadMaxStalenessInMillis(props.getFollowerReadMaxStalenessInMillis())
+                .followerReadMaxCommitIndexLag(props.getFollowerReadMaxCommitIndexLag())
+                .shardLeaderBalancingIntervalInSeconds(props.getShardLeaderBalancingIntervalInSeconds())
                 .shardCommitQueueExpiryTimeoutInSeconds(
                         props.getShardCommitQueueExpiryTimeoutInSeconds().getValue().intValue())
                 .transactionDebugContextEnabled(props.getTransactionDebugContextEnabled())
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+/**
+ * Fails if a call which blocks the calling thread on an akka Future is added to the main sources. The data store
+ * is used from application threads and akka dispatcher threads, neither of which should be blocked waiting on
+ * an actor - use the Future variants, eg ActorContext.executeOperationAsync, and complete asynchronously.
+ */
+public class BlockingCallLintTest {
+    private static final File SOURCE_DIR = new File("src/main/java");
+
+    private static final Pattern BLOCKING_CALL = Pattern.compile(
+            "\\bAwait\\s*\\.\\s*(result|ready)\\s*\\(|\\.executeOperation\\s*\\(|\\.findLocalShard\\s*\\(");
+
+    // Files allowed to block, with the reason.
+    private static final Set<String> ALLOWED = ImmutableSet.of(
+            // The JMX attribute getters run on JMX threads and must return a value.
+            "ShardStats.java");
+
+    @Test
+    public void testNoBlockingCalls() throws IOException {
+        assertTrue("Source directory " + SOURCE_DIR.getAbsolutePath() + " not found", SOURCE_DIR.isDirectory());
+
+        List<String> violations = new ArrayList<>();
+        checkDirectory(SOURCE_DIR, violations);
+
+        if(!violations.isEmpty()) {
+            fail("Blocking calls found - use the Future variants instead:\n" + violations);
+        }
+    }
+
+    private static void checkDirectory(File dir, List<String> violations) throws IOException {
+        File[] files = dir.listFiles();
+        if(files == null) {
+            return;
+        }
+
+        for(File file: files) {
+            if(file.isDirectory()) {
+                checkDirectory(file, violations);
+            } else if(file.getName().endsWith(".java") && !ALLOWED.contains(file.getName())) {
+                checkFile(file, violations);
+            }
+        }
+    }
+
+    private static void checkFile(File file, List<String> violations) throws IOException {
+        List<String> lines = Files.readLines(file, Charsets.UTF_8);
+        for(int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            String trimmed = line.trim();
+            if(trimmed.startsWith("//") || trimmed.startsWith("*")) {
+                continue;
+            }
+
+            if(BLOCKING_CALL.matcher(line).find()) {
+                violations.add(String.format("%s:%d: %s", file.getPath(), i + 1, trimmed));
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import akka.actor.ActorRef;
+import akka.testkit.JavaTestKit;
+import akka.util.Timeout;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
+import org.opendaylight.controller.cluster.datastore.messages.DataTreeChanged;
+import org.opendaylight.controller.cluster.datastore.messages.DataTreeChangedReply;
+import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.DefaultDataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import scala.concurrent.duration.FiniteDuration;
+
+public class CoalescingForwardingDataTreeChangeListenerTest extends AbstractActorTest {
+    private static final FiniteDuration TIMEOUT = FiniteDuration.create(5, TimeUnit.SECONDS);
+
+    private final ShardStats shardStats = new ShardStats("shard-member-1-cars", "DistributedConfigDatastore");
+
+    private CoalescingForwardingDataTreeChangeListener newListener(final ActorRef actor, final int maxBatchSize,
+            final long maxDelayInMillis, final boolean mergeChanges) {
+        return new CoalescingForwardingDataTreeChangeListener(getSystem().actorSelection(actor.path()),
+                DataTreeChangeCoalescingPolicy.create(maxBatchSize, maxDelayInMillis, mergeChanges),
+                getSystem().scheduler(), getSystem().dispatcher(), new Timeout(TIMEOUT), shardStats);
+    }
+
+    private static DataTreeCandidate mockCandidate() {
+        return Mockito.mock(DataTreeCandidate.class);
+    }
+
+    @Test
+    public void testChangesCoalescedWhileBusy() {
+        new JavaTestKit(getSystem()) {{
+            CoalescingForwardingDataTreeChangeListener listener = newListener(getRef(), 10, 0, false);
+
+            DataTreeCandidate change1 = mockCandidate();
+            listener.onDataTreeChanged(Arrays.asList(change1));
+            assertEquals(Arrays.asList(change1), expectMsgClass(TIMEOUT, DataTreeChanged.class).getChanges());
+
+            DataTreeCandidate change2 = mockCandidate();
+            DataTreeCandidate change3 = mockCandidate();
+            listener.onDataTreeChanged(Arrays.asList(change2));
+            listener.onDataTreeChanged(Arrays.asList(change3));
+
+            expectNoMsg(duration("200 milliseconds"));
+            assertEquals("Queue depth", 2, shardStats.getDataTreeChangeQueueDepth());
+
+            reply(DataTreeChangedReply.getInstance());
+            assertEquals(Arrays.asList(change2, change3),
+                    expectMsgClass(TIMEOUT, DataTreeChanged.class).getChanges());
+
+            assertEquals("Queue depth", 0, shardStats.getDataTreeChangeQueueDepth());
+            assertEquals("Coalescing ratio", 1.5, shardStats.getDataTreeChangeCoalescingRatio(), 0.001);
+        }};
+    }
+
+    @Test
+    public void testMaxBatchSize() {
+        new JavaTestKit(getSystem()) {{
+            CoalescingForwardingDataTreeChangeListener listener = newListener(getRef(), 2, 0, false);
+
+            listener.onDataTreeChanged(Arrays.asList(mockCandidate()));
+            expectMsgClass(TIMEOUT, DataTreeChanged.class);
+
+            DataTreeCandidate change2 = mockCandidate();
+            DataTreeCandidate change3 = mockCandidate();
+            DataTreeCandidate change4 = mockCandidate();
+            listener.onDataTreeChanged(Arrays.asList(change2, change3, change4));
+
+            reply(DataTreeChangedReply.getInstance());
+            assertEquals(Arrays.asList(change2, change3),
+                    expectMsgClass(TIMEOUT, DataTreeChanged.class).getChanges());
+
+            reply(DataTreeChangedReply.getInstance());
+            assertEquals(Arrays.asList(change4), expectMsgClass(TIMEOUT, DataTreeChanged.class).getChanges());
+
+            reply(DataTreeChangedReply.getInstance());
+            expectNoMsg(duration("200 milliseconds"));
+            assertEquals(0, listener.getPendingCount());
+        }};
+    }
+
+    @Test
+    public void testMaxDelay() {
+        new JavaTestKit(getSystem()) {{
+            CoalescingForwardingDataTreeChangeListener listener = newListener(getRef(), 3, 500, false);
+
+            DataTreeCandidate change1 = mockCandidate();
+            DataTreeCandidate change2 = mockCandidate();
+            listener.onDataTreeChanged(Arrays.asList(change1));
+            listener.onDataTreeChanged(Arrays.asList(change2));
+
+            expectNoMsg(duration("200 milliseconds"));
+            assertEquals(Arrays.asList(change1, change2),
+                    expectMsgClass(TIMEOUT, DataTreeChanged.class).getChanges());
+            reply(DataTreeChangedReply.getInstance());
+
+            // A full batch is sent without waiting for the delay.
+            listener.onDataTreeChanged(Arrays.asList(mockCandidate(), mockCandidate(), mockCandidate()));
+            assertEquals(3, expectMsgClass(duration("300 milliseconds"), DataTreeChanged.class).getChanges().size());
+        }};
+    }
+
+    @Test
+    public void testNextBatchSentWhenAckTimesOut() {
+        new JavaTestKit(getSystem()) {{
+            CoalescingForwardingDataTreeChangeListener listener = new CoalescingForwardingDataTreeChangeListener(
+                    getSystem().actorSelection(getRef().path()), DataTreeChangeCoalescingPolicy.create(10, 0, false),
+                    getSystem().scheduler(), getSystem().dispatcher(),
+                    new Timeout(100, TimeUnit.MILLISECONDS), shardStats);
+
+            listener.onDataTreeChanged(Arrays.asList(mockCandidate()));
+            expectMsgClass(TIMEOUT, DataTreeChanged.class);
+
+            listener.onDataTreeChanged(Arrays.asList(mockCandidate()));
+            expectMsgClass(TIMEOUT, DataTreeChanged.class);
+        }};
+    }
+
+    @Test
+    public void testMergeChanges() {
+        MapEntryNode car1 = CarsModel.newCarEntry("car1", BigInteger.ONE);
+        MapEntryNode car2 = CarsModel.newCarEntry("car2", BigInteger.TEN);
+
+        NormalizedNode<?, ?> version0 = cars(car1);
+        NormalizedNode<?, ?> version1 = cars(car1, car2);
+        NormalizedNode<?, ?> version2 = cars(car2);
+
+        Collection<DataTreeCandidate> merged = CoalescingForwardingDataTreeChangeListener.mergeChanges(
+                ImmutableList.of(candidate(version0, version1), candidate(version1, version2)));
+
+        assertEquals("Merged size", 1, merged.size());
+        DataTreeCandidate candidate = merged.iterator().next();
+        assertEquals(CarsModel.BASE_PATH, candidate.getRootPath());
+
+        DataTreeCandidateNode root = candidate.getRootNode();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, root.getModificationType());
+        assertSame(version0, root.getDataBefore().get());
+        assertSame(version2, root.getDataAfter().get());
+
+        DataTreeCandidateNode carList = Iterables.getOnlyElement(root.getChildNodes());
+        assertEquals(new NodeIdentifier(CarsModel.CAR_QNAME), carList.getIdentifier());
+        assertEquals(ModificationType.SUBTREE_MODIFIED, carList.getModificationType());
+        assertEquals("Changed cars", 2, carList.getChildNodes().size());
+        assertEquals(ModificationType.DELETE, carList.getModifiedChild(car1.getIdentifier()).getModificationType());
+        assertEquals(ModificationType.WRITE, carList.getModifiedChild(car2.getIdentifier()).getModificationType());
+    }
+
+    @Test
+    public void testMergeChangesWhichCancelOut() {
+        MapEntryNode car1 = CarsModel.newCarEntry("car1", BigInteger.ONE);
+        NormalizedNode<?, ?> version0 = cars(car1);
+        NormalizedNode<?, ?> version1 = cars(car1, CarsModel.newCarEntry("car2", BigInteger.TEN));
+
+        DataTreeCandidate other = new DefaultDataTreeCandidate(CarsModel.CAR_LIST_PATH, NetDataTreeCandidateNode.create(
+                null, Optional.<NormalizedNode<?, ?>>absent(),
+                Optional.<NormalizedNode<?, ?>>of(CarsModel.newCarMapNode())));
+
+        Collection<DataTreeCandidate> merged = CoalescingForwardingDataTreeChangeListener.mergeChanges(
+                ImmutableList.of(candidate(version0, version1), candidate(version1, version0), other));
+
+        assertEquals(ImmutableList.of(other), ImmutableList.copyOf(merged));
+    }
+
+    @Test
+    public void testMergeChangesWithoutImages() {
+        DataTreeCandidate change1 = mockCandidate();
+        DataTreeCandidate change2 = mockCandidate();
+        DataTreeCandidateNode node = Mockito.mock(DataTreeCandidateNode.class);
+        Mockito.doThrow(new UnsupportedOperationException("mock")).when(node).getDataBefore();
+        for(DataTreeCandidate change: Arrays.asList(change1, change2)) {
+            Mockito.doReturn(CarsModel.BASE_PATH).when(change).getRootPath();
+            Mockito.doReturn(node).when(change).getRootNode();
+        }
+
+        Collection<DataTreeCandidate> merged = CoalescingForwardingDataTreeChangeListener.mergeChanges(
+                ImmutableList.of(change1, change2));
+        assertEquals(ImmutableList.of(change1, change2), ImmutableList.copyOf(merged));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPolicy() {
+        DataTreeChangeCoalescingPolicy.create(0, 0, false);
+    }
+
+    private static NormalizedNode<?, ?> cars(final MapEntryNode... entries) {
+        CollectionNodeBuilder<MapEntryNode, MapNode> carList = ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME);
+        for(MapEntryNode entry: entries) {
+            carList.withChild(entry);
+        }
+
+        return ImmutableContainerNodeBuilder.create().withNodeIdentifier(new NodeIdentifier(CarsModel.BASE_QNAME))
+                .withChild(carList.build()).build();
+    }
+
+    private static DataTreeCandidate candidate(final NormalizedNode<?, ?> before, final NormalizedNode<?, ?> after) {
+        DataTreeCandidateNode node = NetDataTreeCandidateNode.create(null,
+                Optional.<NormalizedNode<?, ?>>of(before), Optional.<NormalizedNode<?, ?>>of(after));
+        assertTrue(node.getModificationType() != ModificationType.UNMODIFIED);
+        return new DefaultDataTreeCandidate(CarsModel.BASE_PATH, node);
+    }
+}
@@ -63,7 +63,8 @@ public class DataTreeChangeListenerActorTest extends AbstractActorTest {
             new Within(duration("1 seconds")) {
                 @Override
                 protected void run() {
-                    expectNoMsg();
+                    // The dropped notification is still acknowledged so a coalescing sender isn't stalled.
+                    expectMsgClass(DataTreeChangedReply.class);
 
                     Mockito.verify(mockListener, Mockito.never()).onDataTreeChanged(
                             Matchers.anyCollectionOf(DataTreeCandidate.class));
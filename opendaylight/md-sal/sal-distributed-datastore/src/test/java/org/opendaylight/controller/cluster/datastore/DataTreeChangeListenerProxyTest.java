@@ -74,6 +74,8 @@ public class DataTreeChangeListenerProxyTest extends AbstractActorTest {
 
             RegisterDataTreeChangeListener registerMsg = expectMsgClass(timeout, RegisterDataTreeChangeListener.class);
             Assert.assertEquals("getPath", path, registerMsg.getPath());
+            Assert.assertNull("getCoalescingPolicy", registerMsg.getCoalescingPolicy());
+            Assert.assertFalse("isLocalReplica", registerMsg.isLocalReplica());
 
             reply(new RegisterDataTreeChangeListenerReply(getRef()));
 
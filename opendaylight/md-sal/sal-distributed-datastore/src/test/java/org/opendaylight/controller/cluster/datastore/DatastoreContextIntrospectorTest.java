@@ -45,7 +45,7 @@ public class DatastoreContextIntrospectorTest {
         properties.put("shard-snapshot-data-threshold-percentage", "100");
         properties.put("shard-election-timeout-factor", "21");
         properties.put("shard-batched-modification-count", "901");
-        properties.put("transactionCreationInitialRateLimit", "200");
+        properties.put("transactionCreditsPerShard", "200");
         properties.put("MaxShardDataChangeExecutorPoolSize", "41");
         properties.put("Max-Shard-Data-Change Executor-Queue Size", "1111");
         properties.put(" max shard data change listener queue size", "2222");
@@ -69,7 +69,7 @@ public class DatastoreContextIntrospectorTest {
         assertEquals(100, context.getShardRaftConfig().getSnapshotDataThresholdPercentage());
         assertEquals(21, context.getShardRaftConfig().getElectionTimeoutFactor());
         assertEquals(901, context.getShardBatchedModificationCount());
-        assertEquals(200, context.getTransactionCreationInitialRateLimit());
+        assertEquals(200, context.getTransactionCreditsPerShard());
         assertEquals(41, context.getDataStoreProperties().getMaxDataChangeExecutorPoolSize());
         assertEquals(1111, context.getDataStoreProperties().getMaxDataChangeExecutorQueueSize());
         assertEquals(2222, context.getDataStoreProperties().getMaxDataChangeListenerQueueSize());
@@ -100,7 +100,7 @@ public class DatastoreContextIntrospectorTest {
         assertEquals(123, context.getShardRaftConfig().getIsolatedCheckIntervalInMillis());
         assertEquals(100, context.getShardRaftConfig().getSnapshotDataThresholdPercentage());
         assertEquals(22, context.getShardRaftConfig().getElectionTimeoutFactor());
-        assertEquals(200, context.getTransactionCreationInitialRateLimit());
+        assertEquals(200, context.getTransactionCreditsPerShard());
         assertEquals(42, context.getDataStoreProperties().getMaxDataChangeExecutorPoolSize());
         assertEquals(1111, context.getDataStoreProperties().getMaxDataChangeExecutorQueueSize());
         assertEquals(2222, context.getDataStoreProperties().getMaxDataChangeListenerQueueSize());
@@ -16,6 +16,7 @@ import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEF
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_SHARD_TX_COMMIT_QUEUE_CAPACITY;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_SHARD_TX_COMMIT_TIMEOUT_IN_SECONDS;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_SNAPSHOT_BATCH_COUNT;
+import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_TRANSACTION_CREDITS_PER_SHARD;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_TX_CREATION_INITIAL_RATE_LIMIT;
 import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
@@ -45,7 +46,24 @@ public class DatastoreContextTest {
         assertEquals(DEFAULT_SHARD_SNAPSHOT_DATA_THRESHOLD_PERCENTAGE, context.getShardRaftConfig().getSnapshotDataThresholdPercentage());
         assertEquals(DEFAULT_SHARD_ELECTION_TIMEOUT_FACTOR, context.getShardRaftConfig().getElectionTimeoutFactor());
         assertEquals(DEFAULT_TX_CREATION_INITIAL_RATE_LIMIT, context.getTransactionCreationInitialRateLimit());
+        assertEquals(DEFAULT_TRANSACTION_CREDITS_PER_SHARD, context.getTransactionCreditsPerShard());
         assertEquals(DatastoreContext.DEFAULT_SHARD_BATCHED_MODIFICATION_COUNT, context.getShardBatchedModificationCount());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_MAX_IN_FLIGHT_APPEND_ENTRIES,
+                context.getShardRaftConfig().getMaxInFlightAppendEntries());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_JOURNAL_PERSIST_BATCH_SIZE,
+                context.getShardRaftConfig().getJournalPersistBatchSize());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_JOURNAL_PERSIST_BATCH_WINDOW_IN_MILLIS,
+                context.getShardRaftConfig().getJournalPersistBatchWindowInMillis());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_INCREMENTAL_SNAPSHOT_COMPACTION_COUNT,
+                context.getShardIncrementalSnapshotCompactionCount());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_COMMIT_PIPELINE_DEPTH, context.getShardCommitPipelineDepth());
+        assertEquals(DatastoreContext.DEFAULT_FOLLOWER_READ_MAX_STALENESS_IN_MILLIS,
+                context.getFollowerReadMaxStalenessInMillis());
+        assertEquals(DatastoreContext.DEFAULT_FOLLOWER_READ_MAX_COMMIT_INDEX_LAG,
+                context.getFollowerReadMaxCommitIndexLag());
+        assertEquals(false, context.isFollowerReadsEnabled());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_LEADER_BALANCING_INTERVAL_IN_SECONDS,
+                context.getShardLeaderBalancingIntervalInSeconds());
         assertEquals(InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_CHANGE_EXECUTOR_POOL_SIZE,
                 context.getDataStoreProperties().getMaxDataChangeExecutorPoolSize());
         assertEquals(InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_CHANGE_EXECUTOR_QUEUE_SIZE,
@@ -79,7 +97,19 @@ public class DatastoreContextTest {
         builder.shardSnapshotDataThresholdPercentage(DEFAULT_SHARD_SNAPSHOT_DATA_THRESHOLD_PERCENTAGE + 1);
         builder.shardElectionTimeoutFactor(DEFAULT_SHARD_ELECTION_TIMEOUT_FACTOR + 1);
         builder.transactionCreationInitialRateLimit(DEFAULT_TX_CREATION_INITIAL_RATE_LIMIT + 1);
+        builder.transactionCreditsPerShard(DEFAULT_TRANSACTION_CREDITS_PER_SHARD + 1);
         builder.shardBatchedModificationCount(DEFAULT_SHARD_BATCHED_MODIFICATION_COUNT + 1);
+        builder.shardMaxInFlightAppendEntries(DatastoreContext.DEFAULT_SHARD_MAX_IN_FLIGHT_APPEND_ENTRIES + 1);
+        builder.shardJournalPersistBatchSize(DatastoreContext.DEFAULT_SHARD_JOURNAL_PERSIST_BATCH_SIZE + 1);
+        builder.shardJournalPersistBatchWindowInMillis(
+                DatastoreContext.DEFAULT_SHARD_JOURNAL_PERSIST_BATCH_WINDOW_IN_MILLIS + 1);
+        builder.shardIncrementalSnapshotCompactionCount(
+                DatastoreContext.DEFAULT_SHARD_INCREMENTAL_SNAPSHOT_COMPACTION_COUNT + 1);
+        builder.shardCommitPipelineDepth(DatastoreContext.DEFAULT_SHARD_COMMIT_PIPELINE_DEPTH + 1);
+        builder.followerReadMaxStalenessInMillis(DatastoreContext.DEFAULT_FOLLOWER_READ_MAX_STALENESS_IN_MILLIS + 1);
+        builder.followerReadMaxCommitIndexLag(DatastoreContext.DEFAULT_FOLLOWER_READ_MAX_COMMIT_INDEX_LAG + 1);
+        builder.shardLeaderBalancingIntervalInSeconds(
+                DatastoreContext.DEFAULT_SHARD_LEADER_BALANCING_INTERVAL_IN_SECONDS + 1);
         builder.maxShardDataChangeExecutorPoolSize(
                 InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_CHANGE_EXECUTOR_POOL_SIZE + 1);
         builder.maxShardDataChangeExecutorQueueSize(
@@ -126,8 +156,25 @@ public class DatastoreContextTest {
                 context.getShardRaftConfig().getSnapshotDataThresholdPercentage());
         assertEquals(DEFAULT_SHARD_ELECTION_TIMEOUT_FACTOR + 1, context.getShardRaftConfig().getElectionTimeoutFactor());
         assertEquals(DEFAULT_TX_CREATION_INITIAL_RATE_LIMIT + 1, context.getTransactionCreationInitialRateLimit());
+        assertEquals(DEFAULT_TRANSACTION_CREDITS_PER_SHARD + 1, context.getTransactionCreditsPerShard());
         assertEquals(DatastoreContext.DEFAULT_SHARD_BATCHED_MODIFICATION_COUNT + 1,
                 context.getShardBatchedModificationCount());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_MAX_IN_FLIGHT_APPEND_ENTRIES + 1,
+                context.getShardRaftConfig().getMaxInFlightAppendEntries());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_JOURNAL_PERSIST_BATCH_SIZE + 1,
+                context.getShardRaftConfig().getJournalPersistBatchSize());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_JOURNAL_PERSIST_BATCH_WINDOW_IN_MILLIS + 1,
+                context.getShardRaftConfig().getJournalPersistBatchWindowInMillis());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_INCREMENTAL_SNAPSHOT_COMPACTION_COUNT + 1,
+                context.getShardIncrementalSnapshotCompactionCount());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_COMMIT_PIPELINE_DEPTH + 1, context.getShardCommitPipelineDepth());
+        assertEquals(DatastoreContext.DEFAULT_FOLLOWER_READ_MAX_STALENESS_IN_MILLIS + 1,
+                context.getFollowerReadMaxStalenessInMillis());
+        assertEquals(DatastoreContext.DEFAULT_FOLLOWER_READ_MAX_COMMIT_INDEX_LAG + 1,
+                context.getFollowerReadMaxCommitIndexLag());
+        assertEquals(true, context.isFollowerReadsEnabled());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_LEADER_BALANCING_INTERVAL_IN_SECONDS + 1,
+                context.getShardLeaderBalancingIntervalInSeconds());
         assertEquals(InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_CHANGE_EXECUTOR_POOL_SIZE + 1,
                 context.getDataStoreProperties().getMaxDataChangeExecutorPoolSize());
         assertEquals(InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_CHANGE_EXECUTOR_QUEUE_SIZE + 1,
@@ -45,6 +45,8 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import scala.concurrent.Await;
+import scala.concurrent.duration.Duration;
 
 /**
  * End-to-end distributed data store tests that exercise remote shards and transactions.
@@ -413,8 +415,9 @@ public class DistributedDataStoreRemotingIntegrationTest {
     public void testReadyLocalTransactionForwardedToLeader() throws Exception {
         initDatastores("testReadyLocalTransactionForwardedToLeader");
 
-        Optional<ActorRef> carsFollowerShard = followerDistributedDataStore.getActorContext().findLocalShard("cars");
-        assertEquals("Cars follower shard found", true, carsFollowerShard.isPresent());
+        ActorRef carsFollowerShard = Await.result(
+                followerDistributedDataStore.getActorContext().findLocalShardAsync("cars"),
+                Duration.create(5, TimeUnit.SECONDS));
 
         TipProducingDataTree dataTree = InMemoryDataTreeFactory.getInstance().create();
         dataTree.setSchemaContext(SchemaContextHelper.full());
@@ -429,7 +432,7 @@ public class DistributedDataStoreRemotingIntegrationTest {
         String transactionID = "tx-1";
         ReadyLocalTransaction readyLocal = new ReadyLocalTransaction(transactionID , modification, true);
 
-        carsFollowerShard.get().tell(readyLocal, followerTestKit.getRef());
+        carsFollowerShard.tell(readyLocal, followerTestKit.getRef());
         followerTestKit.expectMsgClass(CommitTransactionReply.SERIALIZABLE_CLASS);
 
         verifyCars(leaderDistributedDataStore.newReadOnlyTransaction(), car);
@@ -2,8 +2,6 @@ package org.opendaylight.controller.cluster.datastore;
 
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
 import akka.util.Timeout;
 import com.google.common.util.concurrent.Uninterruptibles;
 import java.util.concurrent.Executors;
@@ -40,36 +38,6 @@ public class DistributedDataStoreTest extends AbstractActorTest {
         doReturn(DatastoreContext.newBuilder().build()).when(actorContext).getDatastoreContext();
     }
 
-    @Test
-    public void testRateLimitingUsedInReadWriteTxCreation(){
-        DistributedDataStore distributedDataStore = new DistributedDataStore(actorContext);
-
-        distributedDataStore.newReadWriteTransaction();
-
-        verify(actorContext, times(1)).acquireTxCreationPermit();
-    }
-
-    @Test
-    public void testRateLimitingUsedInWriteOnlyTxCreation(){
-        DistributedDataStore distributedDataStore = new DistributedDataStore(actorContext);
-
-        distributedDataStore.newWriteOnlyTransaction();
-
-        verify(actorContext, times(1)).acquireTxCreationPermit();
-    }
-
-
-    @Test
-    public void testRateLimitingNotUsedInReadOnlyTxCreation(){
-        DistributedDataStore distributedDataStore = new DistributedDataStore(actorContext);
-
-        distributedDataStore.newReadOnlyTransaction();
-        distributedDataStore.newReadOnlyTransaction();
-        distributedDataStore.newReadOnlyTransaction();
-
-        verify(actorContext, times(0)).acquireTxCreationPermit();
-    }
-
     @Test
     public void testWaitTillReadyBlocking(){
         doReturn(datastoreContext).when(actorContext).getDatastoreContext();
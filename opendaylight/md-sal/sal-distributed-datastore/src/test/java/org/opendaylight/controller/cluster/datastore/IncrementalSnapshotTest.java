@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import com.google.common.base.Optional;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.controller.cluster.datastore.utils.SerializationUtils;
+import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
+import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Unit tests for IncrementalSnapshot.
+ */
+public class IncrementalSnapshotTest {
+    private static final YangInstanceIdentifier ROOT = YangInstanceIdentifier.builder().build();
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private SchemaContext schemaContext;
+    private TipProducingDataTree dataTree;
+    private SnapshotBaseStore baseStore;
+
+    @Before
+    public void setUp() throws Exception {
+        baseStore = new SnapshotBaseStore(new File(tempFolder.getRoot(), "bases"));
+        schemaContext = SchemaContextHelper.select(SchemaContextHelper.CARS_YANG);
+        dataTree = newDataTree();
+
+        DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(CarsModel.BASE_PATH, CarsModel.emptyContainer());
+        modification.write(CarsModel.CAR_LIST_PATH, CarsModel.newCarMapNode());
+        commit(dataTree, modification);
+    }
+
+    private TipProducingDataTree newDataTree() {
+        TipProducingDataTree tree = InMemoryDataTreeFactory.getInstance().create();
+        tree.setSchemaContext(schemaContext);
+        return tree;
+    }
+
+    private static DataTreeCandidate commit(TipProducingDataTree tree, DataTreeModification modification)
+            throws Exception {
+        modification.ready();
+        tree.validate(modification);
+        DataTreeCandidate candidate = tree.prepare(modification);
+        tree.commit(candidate);
+        return candidate;
+    }
+
+    private NormalizedNode<?, ?> readRoot(TipProducingDataTree tree) {
+        Optional<NormalizedNode<?, ?>> root = tree.takeSnapshot().readNode(ROOT);
+        assertEquals("Root present", true, root.isPresent());
+        return root.get();
+    }
+
+    private NormalizedNode<?, ?> applySnapshot(byte[] snapshotBytes) throws Exception {
+        TipProducingDataTree tree = newDataTree();
+        DataTreeModification modification = tree.takeSnapshot().newModification();
+        IncrementalSnapshot.fromBytes(snapshotBytes).applyTo(modification, baseStore);
+        commit(tree, modification);
+        return readRoot(tree);
+    }
+
+    @Test
+    public void testFullSnapshot() throws Exception {
+        byte[] snapshotBytes = SerializationUtils.serializeNormalizedNode(readRoot(dataTree));
+
+        assertEquals("isIncremental", false, IncrementalSnapshot.isIncremental(snapshotBytes));
+
+        IncrementalSnapshot snapshot = IncrementalSnapshot.fromBytes(snapshotBytes);
+        assertArrayEquals("Base", snapshotBytes, snapshot.getBase());
+        assertEquals("Delta count", 0, snapshot.getDeltas().size());
+
+        assertEquals("Root", readRoot(dataTree), applySnapshot(snapshotBytes));
+    }
+
+    private List<DataTreeCandidatePayload> commitDeltas() throws Exception {
+        List<DataTreeCandidatePayload> deltas = new ArrayList<>();
+        for(int i = 0; i < 5; i++) {
+            DataTreeModification modification = dataTree.takeSnapshot().newModification();
+            modification.write(CarsModel.newCarPath("car" + i), CarsModel.newCarEntry("car" + i,
+                    BigInteger.valueOf(i)));
+            deltas.add(DataTreeCandidatePayload.create(commit(dataTree, modification)));
+        }
+
+        DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.delete(CarsModel.newCarPath("car2"));
+        modification.merge(CarsModel.newCarPath("car3"), CarsModel.newCarEntry("car3", BigInteger.TEN));
+        deltas.add(DataTreeCandidatePayload.create(commit(dataTree, modification)));
+        return deltas;
+    }
+
+    @Test
+    public void testIncrementalSnapshot() throws Exception {
+        byte[] base = SerializationUtils.serializeNormalizedNode(readRoot(dataTree));
+        List<DataTreeCandidatePayload> deltas = commitDeltas();
+
+        byte[] snapshotBytes = new IncrementalSnapshot(base, deltas).toBytes();
+
+        assertEquals("isIncremental", true, IncrementalSnapshot.isIncremental(snapshotBytes));
+
+        IncrementalSnapshot snapshot = IncrementalSnapshot.fromBytes(snapshotBytes);
+        assertArrayEquals("Base", base, snapshot.getBase());
+        assertEquals("Delta count", deltas.size(), snapshot.getDeltas().size());
+
+        assertEquals("Root", readRoot(dataTree), applySnapshot(snapshotBytes));
+    }
+
+    @Test
+    public void testIncrementalSnapshotWithReferencedBase() throws Exception {
+        byte[] base = SerializationUtils.serializeNormalizedNode(readRoot(dataTree));
+        long baseId = baseStore.write(base);
+        assertEquals("Base size", base.length, baseStore.size(baseId));
+
+        List<DataTreeCandidatePayload> deltas = commitDeltas();
+
+        byte[] snapshotBytes = new IncrementalSnapshot(baseId, deltas).toBytes();
+
+        assertEquals("isIncremental", true, IncrementalSnapshot.isIncremental(snapshotBytes));
+        assertEquals("Base copied into the snapshot", base.length - 4,
+                new IncrementalSnapshot(base, deltas).toBytes().length - snapshotBytes.length);
+
+        IncrementalSnapshot snapshot = IncrementalSnapshot.fromBytes(snapshotBytes);
+        assertEquals("isBaseReferenced", true, snapshot.isBaseReferenced());
+        assertEquals("Base id", baseId, snapshot.getBaseId());
+        assertEquals("Delta count", deltas.size(), snapshot.getDeltas().size());
+
+        assertEquals("Root", readRoot(dataTree), applySnapshot(snapshotBytes));
+    }
+
+    private NormalizedNode<?, ?> applySnapshotFrom(byte[] snapshotBytes, boolean storeBase,
+            List<IncrementalSnapshot> applied) throws Exception {
+        TipProducingDataTree tree = newDataTree();
+        DataTreeModification modification = tree.takeSnapshot().newModification();
+        applied.add(IncrementalSnapshot.applyFrom(new ByteArrayInputStream(snapshotBytes), modification, baseStore,
+                storeBase));
+        commit(tree, modification);
+        return readRoot(tree);
+    }
+
+    @Test
+    public void testApplyFromStream() throws Exception {
+        byte[] base = SerializationUtils.serializeNormalizedNode(readRoot(dataTree));
+        assertEquals("Full snapshot root", readRoot(dataTree), applySnapshotFrom(base, false,
+                new ArrayList<IncrementalSnapshot>()));
+
+        List<DataTreeCandidatePayload> deltas = commitDeltas();
+        byte[] snapshotBytes = new IncrementalSnapshot(base, deltas).toBytes();
+
+        List<IncrementalSnapshot> applied = new ArrayList<>();
+        assertEquals("Root", readRoot(dataTree), applySnapshotFrom(snapshotBytes, false, applied));
+        assertEquals("Base not stored", null, applied.get(0));
+
+        applied.clear();
+        assertEquals("Root", readRoot(dataTree), applySnapshotFrom(snapshotBytes, true, applied));
+        IncrementalSnapshot snapshot = applied.get(0);
+        assertEquals("isBaseReferenced", true, snapshot.isBaseReferenced());
+        assertEquals("Base id", baseStore.write(base), snapshot.getBaseId());
+        assertEquals("Base size", base.length, baseStore.size(snapshot.getBaseId()));
+        assertEquals("Delta count", deltas.size(), snapshot.getDeltas().size());
+
+        applied.clear();
+        assertEquals("Root", readRoot(dataTree), applySnapshotFrom(snapshot.toBytes(), false, applied));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReferencedBaseWithoutStore() throws Exception {
+        byte[] base = SerializationUtils.serializeNormalizedNode(readRoot(dataTree));
+        byte[] snapshotBytes = new IncrementalSnapshot(baseStore.write(base), commitDeltas()).toBytes();
+
+        IncrementalSnapshot.fromBytes(snapshotBytes).applyTo(newDataTree().takeSnapshot().newModification(), null);
+    }
+
+    @Test
+    public void testSnapshotBaseStoreRemovesBasesOnlyOnceSaved() throws Exception {
+        long firstId = baseStore.write(SerializationUtils.serializeNormalizedNode(readRoot(dataTree)));
+        commitDeltas();
+        long secondId = baseStore.write(SerializationUtils.serializeNormalizedNode(readRoot(dataTree)));
+
+        DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.delete(CarsModel.newCarPath("car0"));
+        commit(dataTree, modification);
+        long thirdId = baseStore.write(SerializationUtils.serializeNormalizedNode(readRoot(dataTree)));
+
+        // Nothing is removed until a snapshot referencing a base is saved.
+        assertEquals("First base retained", true, baseStore.size(firstId) > 0);
+        assertEquals("Second base retained", true, baseStore.size(secondId) > 0);
+
+        // The saved snapshot's base and the last one written are kept.
+        baseStore.onSnapshotSaved(secondId);
+        assertEquals("First base removed", 0, baseStore.size(firstId));
+        assertEquals("Second base", true, baseStore.size(secondId) > 0);
+        assertEquals("Third base", readRoot(dataTree), baseStore.readNode(thirdId));
+
+        baseStore.onSnapshotSaved(thirdId);
+        assertEquals("Second base removed", 0, baseStore.size(secondId));
+        assertEquals("Third base", readRoot(dataTree), baseStore.readNode(thirdId));
+    }
+}
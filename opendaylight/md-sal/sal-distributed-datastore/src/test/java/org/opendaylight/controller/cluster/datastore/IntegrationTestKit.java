@@ -29,6 +29,7 @@ import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import scala.concurrent.Await;
 
 class IntegrationTestKit extends ShardTestKit {
 
@@ -93,9 +94,10 @@ class IntegrationTestKit extends ShardTestKit {
         ActorRef shard = null;
         for(int i = 0; i < 20 * 5 && shard == null; i++) {
             Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
-            Optional<ActorRef> shardReply = actorContext.findLocalShard(shardName);
-            if(shardReply.isPresent()) {
-                shard = shardReply.get();
+            try {
+                shard = Await.result(actorContext.findLocalShardAsync(shardName), duration("5 seconds"));
+            } catch (Exception e) {
+                // Not found yet - retry.
             }
         }
         return shard;
@@ -96,7 +96,7 @@ public class LocalTransactionContextTest {
         final ActorContext mockContext = mock(ActorContext.class);
         doReturn(mockContext).when(mockCohort).getActorContext();
         doReturn(ExecutionContexts.fromExecutor(MoreExecutors.directExecutor())).when(mockContext).getClientDispatcher();
-        doReturn(akka.dispatch.Futures.successful(null)).when(mockCohort).initiateCoordinatedCommit();
+        doReturn(akka.dispatch.Futures.successful(null)).when(mockCohort).initiateCoordinatedCommit(null);
         doReturn(mockCohort).when(readWriteTransaction).ready();
         localTransactionContext.readyTransaction();
         verify(readWriteTransaction).ready();
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import akka.testkit.JavaTestKit;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.ShardCommitCoordinator.CohortEntry;
+import org.opendaylight.controller.cluster.datastore.messages.ReadyLocalTransaction;
+import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
+import org.opendaylight.controller.md.cluster.datastore.model.PeopleModel;
+import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for ShardCommitCoordinator with a commit pipeline depth greater than 1.
+ */
+public class ShardCommitCoordinatorTest extends AbstractActorTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ShardCommitCoordinatorTest.class);
+
+    private ShardDataTree dataTree;
+    private ShardCommitCoordinator commitCoordinator;
+    private Shard mockShard;
+    private JavaTestKit replyProbe;
+
+    @Before
+    public void setUp() {
+        dataTree = new ShardDataTree(SchemaContextHelper.full());
+        commitCoordinator = new ShardCommitCoordinator(dataTree, 30000, 10, 2, null, LOG, "test");
+
+        // The mock shard doesn't replicate so committed transactions stay in the pipeline awaiting consensus.
+        mockShard = mock(Shard.class);
+        replyProbe = new JavaTestKit(getSystem());
+    }
+
+    private void readyTransaction(String transactionID, YangInstanceIdentifier path, NormalizedNode<?, ?> data) {
+        DataTreeModification modification = dataTree.getDataTree().takeSnapshot().newModification();
+        modification.write(path, data);
+        modification.ready();
+
+        commitCoordinator.handleReadyLocalTransaction(new ReadyLocalTransaction(transactionID, modification, true),
+                replyProbe.getRef(), mockShard);
+    }
+
+    private CohortEntry pipelinedEntry(String transactionID) {
+        CohortEntry cohortEntry = commitCoordinator.getCohortEntryIfCommitting(transactionID);
+        assertNotNull(transactionID + " not committing", cohortEntry);
+        return cohortEntry;
+    }
+
+    @Test
+    public void testPipelinedTransactionPreparedAgainstTip() throws Exception {
+        readyTransaction("tx1", CarsModel.BASE_PATH, CarsModel.emptyContainer());
+
+        assertEquals("Pipelined transaction count", 1, commitCoordinator.getPipelinedTransactionCount());
+        assertNull("Current cohort entry", commitCoordinator.getCurrentCohortEntry());
+        assertSame("Tip", pipelinedEntry("tx1").getCohort().getCandidate(), dataTree.getTip());
+
+        // The 2nd transaction depends on the 1st so it can only be validated against the 1st candidate.
+        readyTransaction("tx2", CarsModel.CAR_LIST_PATH, CarsModel.newCarMapNode());
+
+        assertEquals("Pipelined transaction count", 2, commitCoordinator.getPipelinedTransactionCount());
+        assertSame("Tip", pipelinedEntry("tx2").getCohort().getCandidate(), dataTree.getTip());
+        assertEquals("Cars present in the data tree", false,
+                dataTree.getDataTree().takeSnapshot().readNode(CarsModel.BASE_PATH).isPresent());
+
+        // The pipeline is full so the 3rd transaction is queued.
+        readyTransaction("tx3", PeopleModel.BASE_PATH, PeopleModel.emptyContainer());
+
+        assertEquals("Queue size", 1, commitCoordinator.getQueueSize());
+        assertEquals("Commit queue size", 3, commitCoordinator.getCommitQueueSize());
+        verify(mockShard, times(2)).continueCommit(any(CohortEntry.class));
+
+        // Consensus for the 1st transaction frees up a slot in the pipeline for the 3rd.
+        pipelinedEntry("tx1").getCohort().commit().get();
+        commitCoordinator.currentTransactionComplete("tx1", true);
+
+        assertEquals("Queue size", 0, commitCoordinator.getQueueSize());
+        assertEquals("Pipelined transaction count", 2, commitCoordinator.getPipelinedTransactionCount());
+        assertSame("Tip", pipelinedEntry("tx3").getCohort().getCandidate(), dataTree.getTip());
+        verify(mockShard, times(3)).continueCommit(any(CohortEntry.class));
+
+        pipelinedEntry("tx2").getCohort().commit().get();
+        commitCoordinator.currentTransactionComplete("tx2", true);
+        pipelinedEntry("tx3").getCohort().commit().get();
+        commitCoordinator.currentTransactionComplete("tx3", true);
+
+        assertEquals("Pipelined transaction count", 0, commitCoordinator.getPipelinedTransactionCount());
+        assertSame("Tip", dataTree.getDataTree(), dataTree.getTip());
+        assertEquals("Car list present in the data tree", true,
+                dataTree.getDataTree().takeSnapshot().readNode(CarsModel.CAR_LIST_PATH).isPresent());
+
+        replyProbe.expectNoMsg(JavaTestKit.duration("100 milliseconds"));
+    }
+
+    @Test
+    public void testAbortPipelinedTransactions() throws Exception {
+        readyTransaction("tx1", CarsModel.BASE_PATH, CarsModel.emptyContainer());
+        readyTransaction("tx2", CarsModel.CAR_LIST_PATH, CarsModel.newCarMapNode());
+        readyTransaction("tx3", PeopleModel.BASE_PATH, PeopleModel.emptyContainer());
+
+        assertEquals("Pipelined transaction count", 2, commitCoordinator.getPipelinedTransactionCount());
+        assertEquals("Queue size", 1, commitCoordinator.getQueueSize());
+
+        commitCoordinator.abortPipelinedTransactions();
+
+        assertEquals("Pipelined transaction count", 0, commitCoordinator.getPipelinedTransactionCount());
+        assertSame("Tip", dataTree.getDataTree(), dataTree.getTip());
+        assertNull("tx1 committing", commitCoordinator.getCohortEntryIfCommitting("tx1"));
+        assertNull("tx2 committing", commitCoordinator.getCohortEntryIfCommitting("tx2"));
+
+        // The aborted entries stay cached so a late consensus still commits them.
+        assertNotNull("tx1 cached", commitCoordinator.getAndRemoveCohortEntry("tx1"));
+
+        // The queued transaction proceeds against the data tree.
+        commitCoordinator.cleanupExpiredCohortEntries();
+
+        assertEquals("Queue size", 0, commitCoordinator.getQueueSize());
+        assertEquals("Pipelined transaction count", 1, commitCoordinator.getPipelinedTransactionCount());
+        assertSame("Tip", pipelinedEntry("tx3").getCohort().getCandidate(), dataTree.getTip());
+
+        replyProbe.expectNoMsg(JavaTestKit.duration("100 milliseconds"));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.ShardCreditLimiter;
+
+public class ShardCreditReleasingCohortTest {
+
+    @Mock
+    private TransactionIdentifier identifier;
+
+    @Mock
+    private ActorContext actorContext;
+
+    @Mock
+    private AbstractThreePhaseCommitCohort<Object> delegate;
+
+    private ShardCreditLimiter limiter;
+    private TransactionContextWrapper carsWrapper;
+    private TransactionContextWrapper peopleWrapper;
+    private ShardCreditReleasingCohort<Object> cohort;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        limiter = new ShardCreditLimiter(2, 0, TimeUnit.SECONDS);
+        doReturn(DatastoreContext.newBuilder().build()).when(actorContext).getDatastoreContext();
+        doReturn(limiter).when(actorContext).getShardCreditLimiter();
+
+        carsWrapper = new TransactionContextWrapper(identifier, actorContext, "cars");
+        peopleWrapper = new TransactionContextWrapper(identifier, actorContext, "people");
+        carsWrapper.acquireShardCredit();
+        peopleWrapper.acquireShardCredit();
+
+        cohort = new ShardCreditReleasingCohort<>(delegate, ImmutableMap.of("cars", carsWrapper,
+                "people", peopleWrapper).entrySet());
+    }
+
+    @Test
+    public void testCreditsHeldUntilCommitCompletes() throws Exception {
+        SettableFuture<Void> commitFuture = SettableFuture.create();
+        doReturn(Futures.immediateFuture(Boolean.TRUE)).when(delegate).canCommit();
+        doReturn(commitFuture).when(delegate).commit();
+
+        cohort.canCommit().get();
+        cohort.commit();
+        assertEquals(1, limiter.forShard("cars").getInUse());
+        assertEquals(1, limiter.forShard("people").getInUse());
+
+        commitFuture.set(null);
+        assertEquals(0, limiter.forShard("cars").getInUse());
+        assertEquals(0, limiter.forShard("people").getInUse());
+    }
+
+    @Test
+    public void testCreditsReleasedOnCommitFailure() {
+        doReturn(Futures.immediateFailedFuture(new RuntimeException("mock"))).when(delegate).commit();
+
+        cohort.commit();
+        assertEquals(0, limiter.forShard("cars").getInUse());
+        assertEquals(0, limiter.forShard("people").getInUse());
+    }
+
+    @Test
+    public void testCreditsReleasedOnAbort() {
+        doReturn(Futures.immediateFuture(null)).when(delegate).abort();
+
+        cohort.abort();
+        assertEquals(0, limiter.forShard("cars").getInUse());
+        assertEquals(0, limiter.forShard("people").getInUse());
+    }
+}
@@ -2,6 +2,7 @@ package org.opendaylight.controller.cluster.datastore;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import com.google.common.base.Optional;
 import java.util.concurrent.ExecutionException;
 import org.junit.Before;
@@ -10,6 +11,7 @@ import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
 import org.opendaylight.controller.md.cluster.datastore.model.PeopleModel;
 import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -33,6 +35,37 @@ public class ShardDataTreeTest {
         modify(new ShardDataTree(fullSchema), true, true, true);
     }
 
+    @Test
+    public void testPipelinedCommits() throws ExecutionException, InterruptedException {
+        ShardDataTree shardDataTree = new ShardDataTree(fullSchema);
+
+        ReadWriteShardDataTreeTransaction transaction1 = shardDataTree.newReadWriteTransaction("txn-1", null);
+        transaction1.getSnapshot().write(CarsModel.BASE_PATH, CarsModel.emptyContainer());
+        ShardDataTreeCohort cohort1 = shardDataTree.finishTransaction(transaction1);
+
+        // The 2nd transaction depends on the 1st so it can only be validated against the 1st candidate.
+        ReadWriteShardDataTreeTransaction transaction2 = shardDataTree.newReadWriteTransaction("txn-2", null);
+        transaction2.getSnapshot().write(CarsModel.CAR_LIST_PATH, CarsModel.newCarMapNode());
+        ShardDataTreeCohort cohort2 = shardDataTree.finishTransaction(transaction2);
+
+        assertEquals("canCommit", true, cohort1.canCommit().get());
+        cohort1.preCommit().get();
+        shardDataTree.setTip(cohort1.getCandidate());
+
+        assertEquals("canCommit", true, cohort2.canCommit().get());
+        cohort2.preCommit().get();
+        DataTreeCandidateTip candidate2 = cohort2.getCandidate();
+        shardDataTree.setTip(candidate2);
+
+        cohort1.commit().get();
+        assertSame("Tip", candidate2, shardDataTree.getTip());
+
+        cohort2.commit().get();
+        assertSame("Tip", shardDataTree.getDataTree(), shardDataTree.getTip());
+
+        DataTreeSnapshot snapshot = shardDataTree.newReadOnlyTransaction("txn-3", null).getSnapshot();
+        assertEquals("Car list present", true, snapshot.readNode(CarsModel.CAR_LIST_PATH).isPresent());
+    }
 
     private void modify(ShardDataTree shardDataTree, boolean merge, boolean expectedCarsPresent, boolean expectedPeoplePresent) throws ExecutionException, InterruptedException {
 
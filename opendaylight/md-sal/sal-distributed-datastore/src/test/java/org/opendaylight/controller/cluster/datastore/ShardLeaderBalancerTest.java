@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+
+public class ShardLeaderBalancerTest {
+    private static final List<String> ALL_MEMBERS = Arrays.asList("member-1", "member-2", "member-3");
+    private static final Set<String> AVAILABLE = ImmutableSet.copyOf(ALL_MEMBERS);
+
+    private final ShardLeaderBalancer balancer = new ShardLeaderBalancer("member-1");
+
+    private static Map<String, List<String>> shardMembers(String... shardNames) {
+        Map<String, List<String>> shardMembers = new HashMap<>();
+        for(String shardName: shardNames) {
+            shardMembers.put(shardName, ALL_MEMBERS);
+        }
+
+        return shardMembers;
+    }
+
+    @Test
+    public void testLeaderCounts() {
+        Map<String, String> shardLeaders = new HashMap<>();
+        shardLeaders.put("cars", "member-1");
+        shardLeaders.put("people", "member-1");
+        shardLeaders.put("default", null);
+
+        assertEquals(ImmutableMap.of("member-1", 2, "member-2", 0, "member-3", 0), balancer.leaderCounts(
+                shardLeaders, shardMembers("cars", "people", "default")));
+    }
+
+    @Test
+    public void testNextTransfer() {
+        Map<String, String> shardLeaders = ImmutableMap.of("cars", "member-1", "people", "member-1",
+                "default", "member-2");
+
+        ShardLeaderBalancer.Transfer transfer = balancer.nextTransfer(shardLeaders,
+                shardMembers("cars", "people", "default"), AVAILABLE);
+
+        assertNotNull("Expected a transfer", transfer);
+        assertEquals("getShardName", "cars", transfer.getShardName());
+        assertEquals("getFromMemberName", "member-1", transfer.getFromMemberName());
+        assertEquals("getToMemberName", "member-3", transfer.getToMemberName());
+    }
+
+    @Test
+    public void testNoTransferWhenBalanced() {
+        Map<String, String> shardLeaders = ImmutableMap.of("cars", "member-1", "people", "member-1",
+                "default", "member-2", "topology", "member-3");
+
+        assertNull(balancer.nextTransfer(shardLeaders, shardMembers("cars", "people", "default", "topology"),
+                AVAILABLE));
+    }
+
+    @Test
+    public void testNoTransferWhenNotTheLeader() {
+        Map<String, String> shardLeaders = ImmutableMap.of("cars", "member-2", "people", "member-2",
+                "default", "member-2");
+
+        assertNull(balancer.nextTransfer(shardLeaders, shardMembers("cars", "people", "default"), AVAILABLE));
+    }
+
+    @Test
+    public void testUnavailableAndNonReplicaMembersSkipped() {
+        Map<String, String> shardLeaders = ImmutableMap.of("cars", "member-1", "people", "member-1");
+
+        Map<String, List<String>> shardMembers = new HashMap<>();
+        shardMembers.put("cars", Arrays.asList("member-1", "member-2"));
+        shardMembers.put("people", ALL_MEMBERS);
+
+        ShardLeaderBalancer.Transfer transfer = balancer.nextTransfer(shardLeaders, shardMembers,
+                ImmutableSet.of("member-1", "member-3"));
+
+        assertNotNull("Expected a transfer", transfer);
+        assertEquals("getShardName", "people", transfer.getShardName());
+        assertEquals("getToMemberName", "member-3", transfer.getToMemberName());
+
+        assertNull(balancer.nextTransfer(shardLeaders, shardMembers, ImmutableSet.of("member-1")));
+    }
+}
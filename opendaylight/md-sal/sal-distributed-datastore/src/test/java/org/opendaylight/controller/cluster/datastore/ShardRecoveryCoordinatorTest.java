@@ -13,6 +13,7 @@ import static org.junit.Assert.fail;
 
 import com.google.common.base.Optional;
 import java.io.IOException;
+import java.math.BigInteger;
 import org.junit.Before;
 import org.junit.Test;
 import org.opendaylight.controller.cluster.datastore.modification.ModificationPayload;
@@ -127,6 +128,46 @@ public class ShardRecoveryCoordinatorTest {
         }
     }
 
+    @Test
+    public void testAppendRecoveredLogEntriesAppliedInOrder() {
+        final ShardDataTree carsDataTree = new ShardDataTree(carsSchemaContext);
+        final ShardRecoveryCoordinator coordinator = new ShardRecoveryCoordinator(carsDataTree, carsSchemaContext,
+                "foobar", LoggerFactory.getLogger("foo"));
+
+        final TipProducingDataTree dataTree = InMemoryDataTreeFactory.getInstance().create();
+        dataTree.setSchemaContext(carsSchemaContext);
+
+        // Enough entries to exceed the decode-ahead window, each overwriting the previous one.
+        final int count = Runtime.getRuntime().availableProcessors() * 32;
+        coordinator.startLogRecoveryBatch(count + 1);
+
+        DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(CarsModel.BASE_PATH, CarsModel.emptyContainer());
+        modification.write(CarsModel.CAR_LIST_PATH, CarsModel.newCarMapNode());
+        coordinator.appendRecoveredLogEntry(DataTreeCandidatePayload.create(commit(dataTree, modification)));
+
+        for(int i = 0; i < count; i++) {
+            modification = dataTree.takeSnapshot().newModification();
+            modification.write(CarsModel.newCarPath("car"), CarsModel.newCarEntry("car", BigInteger.valueOf(i)));
+            coordinator.appendRecoveredLogEntry(DataTreeCandidatePayload.create(commit(dataTree, modification)));
+        }
+
+        coordinator.applyCurrentLogRecoveryBatch();
+
+        final Optional<NormalizedNode<?, ?>> car = carsDataTree.getDataTree().takeSnapshot().readNode(
+                CarsModel.newCarPath("car"));
+        assertEquals("Car present", true, car.isPresent());
+        assertEquals("Car", CarsModel.newCarEntry("car", BigInteger.valueOf(count - 1)), car.get());
+    }
+
+    private static DataTreeCandidateTip commit(final TipProducingDataTree dataTree,
+            final DataTreeModification modification) {
+        modification.ready();
+        final DataTreeCandidateTip candidate = dataTree.prepare(modification);
+        dataTree.commit(candidate);
+        return candidate;
+    }
+
     private DataTreeCandidateTip createCar(){
         final TipProducingDataTree dataTree = InMemoryDataTreeFactory.getInstance().create();
         dataTree.setSchemaContext(carsSchemaContext);
@@ -29,6 +29,7 @@ import com.google.common.base.Optional;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
@@ -385,6 +386,44 @@ public class ShardTest extends AbstractShardTest {
         }};
     }
 
+    @Test
+    public void testLocalReplicaDataTreeChangeListenerNotifiedWhenNotTheLeader() throws Exception {
+        new ShardTestKit(getSystem()) {{
+            // The peer doesn't exist so the shard can't become the leader.
+            final String peerId = ShardIdentifier.builder().memberName("member-2").shardName("inventory").
+                    type(shardID.getType()).build().toString();
+            final TestActorRef<Shard> shard = TestActorRef.create(getSystem(), Shard.props(shardID,
+                    Collections.singletonMap(peerId, "akka://test/user/nonexistent"), newDatastoreContext(),
+                    SCHEMA_CONTEXT), "testLocalReplicaDataTreeChangeListenerNotifiedWhenNotTheLeader");
+
+            final MockDataTreeChangeListener localReplicaListener = new MockDataTreeChangeListener(1);
+            final ActorRef localReplicaActor = getSystem().actorOf(DataTreeChangeListenerActor.props(
+                    localReplicaListener), "testLocalReplicaDataTreeChangeListener-LocalReplicaListener");
+            shard.tell(new RegisterDataTreeChangeListener(TestModel.TEST_PATH, localReplicaActor, null, true),
+                    getRef());
+            expectMsgClass(duration("5 seconds"), RegisterDataTreeChangeListenerReply.class);
+
+            final MockDataTreeChangeListener leaderListener = new MockDataTreeChangeListener(0);
+            final ActorRef leaderActor = getSystem().actorOf(DataTreeChangeListenerActor.props(leaderListener),
+                    "testLocalReplicaDataTreeChangeListener-LeaderListener");
+            shard.tell(new RegisterDataTreeChangeListener(TestModel.TEST_PATH, leaderActor), getRef());
+            expectMsgClass(duration("5 seconds"), RegisterDataTreeChangeListenerReply.class);
+
+            shard.tell(new FindLeader(), getRef());
+            assertNull("Expected the shard not to be the leader",
+                    expectMsgClass(duration("5 seconds"), FindLeaderReply.class).getLeaderActor());
+
+            writeToStore(shard, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+
+            localReplicaListener.waitForChangeEvents();
+            leaderListener.expectNoMoreChanges("Leader-only listener notified");
+
+            localReplicaActor.tell(PoisonPill.getInstance(), ActorRef.noSender());
+            leaderActor.tell(PoisonPill.getInstance(), ActorRef.noSender());
+            shard.tell(PoisonPill.getInstance(), ActorRef.noSender());
+        }};
+    }
+
     @Test
     public void testCreateTransaction(){
         new ShardTestKit(getSystem()) {{
@@ -498,7 +537,8 @@ public class ShardTest extends AbstractShardTest {
         final Snapshot snapshot = Snapshot.create(SerializationUtils.serializeNormalizedNode(expected),
                 Collections.<ReplicatedLogEntry>emptyList(), 1, 2, 3, 4);
 
-        shard.underlyingActor().getRaftActorSnapshotCohort().applySnapshot(snapshot.getState());
+        shard.underlyingActor().getRaftActorSnapshotCohort().applySnapshot(
+                new ByteArrayInputStream(snapshot.getState()));
 
         final NormalizedNode<?,?> actual = readStore(shard, root);
 
@@ -1957,6 +1997,53 @@ public class ShardTest extends AbstractShardTest {
         }};
     }
 
+    @Test
+    public void testCommitPipelineAbortedOnLeadershipLoss() throws Throwable {
+        dataStoreContextBuilder.shardCommitPipelineDepth(2);
+
+        new ShardTestKit(getSystem()) {{
+            // The peer doesn't exist so replication consensus can't be reached and the commits stay pipelined.
+            final String peerId = ShardIdentifier.builder().memberName("member-2").shardName("inventory").
+                    type(shardID.getType()).build().toString();
+            final TestActorRef<Shard> shard = TestActorRef.create(getSystem(), Shard.props(shardID,
+                    Collections.singletonMap(peerId, "akka://test/user/nonexistent"), newDatastoreContext(),
+                    SCHEMA_CONTEXT), "testCommitPipelineAbortedOnLeadershipLoss");
+
+            final Shard underlyingShard = shard.underlyingActor();
+            final ShardDataTree dataStore = underlyingShard.getDataStore();
+            final ShardCommitCoordinator commitCoordinator = underlyingShard.getCommitCoordinator();
+
+            // Drive the commits through the coordinator directly as the shard forwards ready transactions
+            // to the leader when it isn't the leader. The 2nd Tx depends on the 1st.
+
+            final DataTreeModification modification1 = dataStore.getDataTree().takeSnapshot().newModification();
+            new WriteModification(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME))
+                    .apply(modification1);
+            modification1.ready();
+            commitCoordinator.handleReadyLocalTransaction(new ReadyLocalTransaction("tx1", modification1, true),
+                    getRef(), underlyingShard);
+
+            final DataTreeModification modification2 = dataStore.getDataTree().takeSnapshot().newModification();
+            new WriteModification(TestModel.OUTER_LIST_PATH,
+                    ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build()).apply(modification2);
+            modification2.ready();
+            commitCoordinator.handleReadyLocalTransaction(new ReadyLocalTransaction("tx2", modification2, true),
+                    getRef(), underlyingShard);
+
+            assertEquals("Pipelined transaction count", 2, commitCoordinator.getPipelinedTransactionCount());
+            assertSame("Tip", commitCoordinator.getCohortEntryIfCommitting("tx2").getCohort().getCandidate(),
+                    dataStore.getTip());
+
+            underlyingShard.onStateChanged();
+
+            assertEquals("Pipelined transaction count", 0, commitCoordinator.getPipelinedTransactionCount());
+            assertNull("Current cohort entry", commitCoordinator.getCurrentCohortEntry());
+            assertSame("Tip", dataStore.getDataTree(), dataStore.getTip());
+
+            shard.tell(PoisonPill.getInstance(), ActorRef.noSender());
+        }};
+    }
+
     @Test
     public void testTransactionCommitWithPriorExpiredCohortEntries() throws Throwable {
         dataStoreContextBuilder.shardCommitQueueExpiryTimeoutInMillis(1300).shardTransactionCommitTimeoutInSeconds(1);
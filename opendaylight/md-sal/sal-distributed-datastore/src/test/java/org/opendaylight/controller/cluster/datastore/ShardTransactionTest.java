@@ -137,6 +137,22 @@ public class ShardTransactionTest extends AbstractActorTest {
         }};
     }
 
+    @Test
+    public void testOnReceiveReadDataWithUnknownDictionary() throws Exception {
+        new JavaTestKit(getSystem()) {{
+            final ActorRef transaction = newTransactionActor(RO, readOnlyTransaction(), createShard(),
+                    "testReadDataWithUnknownDictionary");
+
+            // The reader advertises a dictionary the shard doesn't know so the reply must not use it.
+            transaction.tell(new ReadData(YangInstanceIdentifier.builder().build(), 0x1234L), getRef());
+
+            ReadDataReply reply = expectMsgClass(duration("5 seconds"), ReadDataReply.class);
+
+            ReadDataReply cloned = (ReadDataReply) org.apache.commons.lang.SerializationUtils.clone(reply);
+            assertEquals("getNormalizedNode", reply.getNormalizedNode(), cloned.getNormalizedNode());
+        }};
+    }
+
     @Test
     public void testOnReceiveReadDataWhenDataNotFound() throws Exception {
         new JavaTestKit(getSystem()) {{
@@ -53,6 +53,7 @@ public class SimpleShardDataTreeCohortTest {
         MockitoAnnotations.initMocks(this);
 
         doReturn(mockDataTree).when(mockShardDataTree).getDataTree();
+        doReturn(mockDataTree).when(mockShardDataTree).getTip();
 
         cohort = new SimpleShardDataTreeCohort(mockShardDataTree, mockModification, "tx");
     }
@@ -113,6 +114,7 @@ public class SimpleShardDataTreeCohortTest {
         assertNotNull("Future is null", future);
         future.get();
         verify(mockDataTree).commit(mockCandidate);
+        verify(mockShardDataTree).onCandidateCommitted(mockCandidate);
     }
 
     @Test(expected=IllegalArgumentException.class)
@@ -75,7 +75,6 @@ public class ThreePhaseCommitCohortProxyTest extends AbstractActorTest {
             // percentile. Essentially this would be 1ms for the 10th percentile, 2ms for 20th percentile and so on.
             doReturn(TimeUnit.MILLISECONDS.toNanos(i) * 1D).when(commitSnapshot).getValue(i * 0.1);
         }
-        doReturn(10.0).when(actorContext).getTxCreationLimit();
     }
 
     private Future<ActorSelection> newCohort() {
@@ -329,8 +328,6 @@ public class ThreePhaseCommitCohortProxyTest extends AbstractActorTest {
         setupMockActorContext(CommitTransaction.SERIALIZABLE_CLASS,
                 new CommitTransactionReply(), new CommitTransactionReply());
 
-        assertEquals(10.0, actorContext.getTxCreationLimit(), 1e-15);
-
         proxy.canCommit().get(5, TimeUnit.SECONDS);
         proxy.preCommit().get(5, TimeUnit.SECONDS);
         proxy.commit().get(5, TimeUnit.SECONDS);
@@ -341,12 +338,10 @@ public class ThreePhaseCommitCohortProxyTest extends AbstractActorTest {
     }
 
     @Test
-    public void testDoNotChangeTxCreationLimitWhenCommittingEmptyTxn() throws Exception {
+    public void testCommitWithEmptyTxn() throws Exception {
 
         ThreePhaseCommitCohortProxy proxy = setupProxy(0);
 
-        assertEquals(10.0, actorContext.getTxCreationLimit(), 1e-15);
-
         proxy.canCommit().get(5, TimeUnit.SECONDS);
         proxy.preCommit().get(5, TimeUnit.SECONDS);
         proxy.commit().get(5, TimeUnit.SECONDS);
@@ -82,34 +82,6 @@ public class TransactionChainProxyTest extends AbstractTransactionProxyTest {
         Assert.assertNotEquals(one.getTransactionChainId(), two.getTransactionChainId());
     }
 
-    @Test
-    public void testRateLimitingUsedInReadWriteTxCreation(){
-        TransactionChainProxy txChainProxy = new TransactionChainProxy(mockComponentFactory);
-
-        txChainProxy.newReadWriteTransaction();
-
-        verify(mockActorContext, times(1)).acquireTxCreationPermit();
-    }
-
-    @Test
-    public void testRateLimitingUsedInWriteOnlyTxCreation(){
-        TransactionChainProxy txChainProxy = new TransactionChainProxy(mockComponentFactory);
-
-        txChainProxy.newWriteOnlyTransaction();
-
-        verify(mockActorContext, times(1)).acquireTxCreationPermit();
-    }
-
-
-    @Test
-    public void testRateLimitingNotUsedInReadOnlyTxCreation(){
-        TransactionChainProxy txChainProxy = new TransactionChainProxy(mockComponentFactory);
-
-        txChainProxy.newReadOnlyTransaction();
-
-        verify(mockActorContext, times(0)).acquireTxCreationPermit();
-    }
-
     /**
      * Tests 2 successive chained write-only transactions and verifies the second transaction isn't
      * initiated until the first one completes its read future.
@@ -3,12 +3,14 @@ package org.opendaylight.controller.cluster.datastore;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.ShardCreditLimiter;
 
 public class TransactionContextWrapperTest {
 
@@ -27,7 +29,8 @@ public class TransactionContextWrapperTest {
     public void setUp(){
         MockitoAnnotations.initMocks(this);
         doReturn(DatastoreContext.newBuilder().build()).when(actorContext).getDatastoreContext();
-        transactionContextWrapper = new TransactionContextWrapper(identifier, actorContext);
+        doReturn(new ShardCreditLimiter(1, 5, TimeUnit.SECONDS)).when(actorContext).getShardCreditLimiter();
+        transactionContextWrapper = new TransactionContextWrapper(identifier, actorContext, "inventory");
     }
 
     @Test
@@ -41,4 +44,36 @@ public class TransactionContextWrapperTest {
 
         assertEquals(1001, transactionContextWrapper.getLimiter().availablePermits());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testShardCredit() {
+        ShardCreditLimiter.ShardCredits credits = transactionContextWrapper.getShardCredits();
+        assertEquals("inventory", credits.getShardName());
+
+        transactionContextWrapper.acquireShardCredit();
+        transactionContextWrapper.acquireShardCredit();
+        assertEquals(1, credits.getInUse());
+
+        transactionContextWrapper.releaseShardCredit();
+        transactionContextWrapper.releaseShardCredit();
+        assertEquals(0, credits.getInUse());
+    }
+
+    @Test
+    public void testShardCreditNotHeldAfterAcquireTimeout() {
+        doReturn(new ShardCreditLimiter(1, 0, TimeUnit.SECONDS)).when(actorContext).getShardCreditLimiter();
+        TransactionContextWrapper first = new TransactionContextWrapper(identifier, actorContext, "inventory");
+        TransactionContextWrapper second = new TransactionContextWrapper(identifier, actorContext, "inventory");
+
+        first.acquireShardCredit();
+        second.acquireShardCredit();
+        assertEquals(1, first.getShardCredits().getInUse());
+
+        // The second wrapper proceeded without a credit so releasing it must not give one back
+        second.releaseShardCredit();
+        assertEquals(1, first.getShardCredits().getInUse());
+
+        first.releaseShardCredit();
+        assertEquals(0, first.getShardCredits().getInUse());
+    }
+}
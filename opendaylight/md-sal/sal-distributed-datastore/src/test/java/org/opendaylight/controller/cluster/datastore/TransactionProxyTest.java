@@ -28,6 +28,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Assert;
@@ -48,13 +49,16 @@ import org.opendaylight.controller.cluster.datastore.modification.MergeModificat
 import org.opendaylight.controller.cluster.datastore.modification.WriteModification;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.DefaultShardStrategy;
 import org.opendaylight.controller.cluster.datastore.utils.DoNothingActor;
-import org.opendaylight.controller.cluster.datastore.utils.NormalizedNodeAggregatorTest;
 import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
 import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
 import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStore;
 import org.opendaylight.controller.protobuff.messages.transaction.ShardTransactionMessages.CreateTransactionReply;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -102,6 +106,62 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
         assertEquals("Response NormalizedNode", expectedNode, readOptional.get());
     }
 
+    @Test
+    public void testReadFromLocalFollowerReplica() throws Exception {
+        doReturn(dataStoreContextBuilder.followerReadMaxStalenessInMillis(10000).build()).
+                when(mockActorContext).getDatastoreContext();
+
+        NormalizedNode<?, ?> expectedNode = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+        LocalShardReplica replica = newLocalShardReplica(expectedNode);
+        replica.onLeaderContact(0);
+
+        ActorRef shardActorRef = setupActorContextWithoutInitialCreateTransaction(getSystem());
+        doReturn(Futures.successful(newPrimaryShardInfo(shardActorRef, replica))).
+                when(mockActorContext).findPrimaryShardAsync(eq(DefaultShardStrategy.DEFAULT_SHARD));
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockComponentFactory, READ_ONLY);
+
+        Optional<NormalizedNode<?, ?>> readOptional = transactionProxy.read(
+                TestModel.TEST_PATH).get(5, TimeUnit.SECONDS);
+
+        assertEquals("NormalizedNode isPresent", true, readOptional.isPresent());
+        assertEquals("Response NormalizedNode", expectedNode, readOptional.get());
+
+        verify(mockActorContext, never()).executeOperationAsync(eq(actorSelection(shardActorRef)),
+                eqCreateTransaction(memberName, READ_ONLY));
+    }
+
+    @Test
+    public void testReadWithStaleLocalFollowerReplica() throws Exception {
+        doReturn(dataStoreContextBuilder.followerReadMaxStalenessInMillis(10000).build()).
+                when(mockActorContext).getDatastoreContext();
+
+        // The replica has not heard from the leader so the read should go to the leader.
+        LocalShardReplica replica = newLocalShardReplica(ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+
+        ActorRef actorRef = setupActorContextWithInitialCreateTransaction(getSystem(), READ_ONLY);
+        doReturn(Futures.successful(newPrimaryShardInfo(actorRef, replica))).
+                when(mockActorContext).findPrimaryShardAsync(eq(DefaultShardStrategy.DEFAULT_SHARD));
+
+        doReturn(readSerializedDataReply(null)).when(mockActorContext).executeOperationAsync(
+                eq(actorSelection(actorRef)), eqSerializedReadData());
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockComponentFactory, READ_ONLY);
+
+        Optional<NormalizedNode<?, ?>> readOptional = transactionProxy.read(
+                TestModel.TEST_PATH).get(5, TimeUnit.SECONDS);
+
+        assertEquals("NormalizedNode isPresent", false, readOptional.isPresent());
+    }
+
+    private static LocalShardReplica newLocalShardReplica(NormalizedNode<?, ?> readResponse) {
+        DataTree dataTree = mock(DataTree.class);
+        DataTreeSnapshot dataTreeSnapshot = mock(DataTreeSnapshot.class);
+        doReturn(dataTreeSnapshot).when(dataTree).takeSnapshot();
+        doReturn(Optional.of(readResponse)).when(dataTreeSnapshot).readNode(any(YangInstanceIdentifier.class));
+        return new LocalShardReplica(dataTree);
+    }
+
     @Test(expected = ReadFailedException.class)
     public void testReadWithInvalidReplyMessageType() throws Exception {
         ActorRef actorRef = setupActorContextWithInitialCreateTransaction(getSystem(), READ_ONLY);
@@ -527,9 +587,9 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
 
         DOMStoreThreePhaseCommitCohort ready = transactionProxy.ready();
 
-        assertTrue(ready instanceof ThreePhaseCommitCohortProxy);
+        assertTrue(ready instanceof ShardCreditReleasingCohort);
 
-        verifyCohortFutures((ThreePhaseCommitCohortProxy)ready, actorSelection(actorRef1),
+        verifyCohortFutures((ShardCreditReleasingCohort<?>)ready, actorSelection(actorRef1),
                 actorSelection(actorRef2));
     }
 
@@ -688,9 +748,9 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
 
         DOMStoreThreePhaseCommitCohort ready = transactionProxy.ready();
 
-        assertTrue(ready instanceof ThreePhaseCommitCohortProxy);
+        assertTrue(ready instanceof ShardCreditReleasingCohort);
 
-        verifyCohortFutures((ThreePhaseCommitCohortProxy)ready, actorSelection(actorRef2),
+        verifyCohortFutures((ShardCreditReleasingCohort<?>)ready, actorSelection(actorRef2),
                 IllegalArgumentException.class);
     }
 
@@ -812,6 +872,11 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
                 dataTreeOptional);
     }
 
+    private PrimaryShardInfo newPrimaryShardInfo(ActorRef actorRef, LocalShardReplica replica){
+        return new PrimaryShardInfo(getSystem().actorSelection(actorRef.path()), DataStoreVersions.CURRENT_VERSION,
+                Optional.<DataTree>absent(), Optional.of(replica));
+    }
+
 
     private void throttleOperation(TransactionProxyOperation operation, int outstandingOpsLimit, boolean shardFound, long expectedCompletionTime){
         ActorSystem actorSystem = getSystem();
@@ -1518,8 +1583,8 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
         NormalizedNode<?, ?> expectedNode1 = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
         NormalizedNode<?, ?> expectedNode2 = ImmutableNodes.containerNode(CarsModel.CARS_QNAME);
 
-        setUpReadData("test", NormalizedNodeAggregatorTest.getRootNode(expectedNode1, schemaContext));
-        setUpReadData("cars", NormalizedNodeAggregatorTest.getRootNode(expectedNode2, schemaContext));
+        setUpReadData("test", getRootNode(expectedNode1, schemaContext));
+        setUpReadData("cars", getRootNode(expectedNode2, schemaContext));
 
         doReturn(memberName).when(mockActorContext).getCurrentMemberName();
 
@@ -1543,14 +1608,47 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
         }
 
         assertTrue("Child with QName = " + TestModel.TEST_QNAME + " not found",
-                NormalizedNodeAggregatorTest.findChildWithQName(collection, TestModel.TEST_QNAME) != null);
+                findChildWithQName(collection, TestModel.TEST_QNAME) != null);
 
-        assertEquals(expectedNode1, NormalizedNodeAggregatorTest.findChildWithQName(collection, TestModel.TEST_QNAME));
+        assertEquals(expectedNode1, findChildWithQName(collection, TestModel.TEST_QNAME));
 
         assertTrue("Child with QName = " + CarsModel.BASE_QNAME + " not found",
-                NormalizedNodeAggregatorTest.findChildWithQName(collection, CarsModel.BASE_QNAME) != null);
+                findChildWithQName(collection, CarsModel.BASE_QNAME) != null);
+
+        assertEquals(expectedNode2, findChildWithQName(collection, CarsModel.BASE_QNAME));
+    }
+
+    private static NormalizedNode<?,?> getRootNode(NormalizedNode<?, ?> moduleNode, SchemaContext schemaContext) throws ReadFailedException, ExecutionException, InterruptedException {
+        InMemoryDOMDataStore store = new InMemoryDOMDataStore("test", Executors.newSingleThreadExecutor());
+        store.onGlobalContextUpdated(schemaContext);
+
+        DOMStoreWriteTransaction writeTransaction = store.newWriteOnlyTransaction();
+
+        writeTransaction.merge(YangInstanceIdentifier.builder().node(moduleNode.getNodeType()).build(), moduleNode);
+
+        DOMStoreThreePhaseCommitCohort ready = writeTransaction.ready();
+
+        ready.canCommit().get();
+        ready.preCommit().get();
+        ready.commit().get();
+
+        DOMStoreReadTransaction readTransaction = store.newReadOnlyTransaction();
+
+        CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read = readTransaction.read(YangInstanceIdentifier.builder().build());
+
+        Optional<NormalizedNode<?, ?>> nodeOptional = read.checkedGet();
+
+        return nodeOptional.get();
+    }
+
+    private static NormalizedNode<?,?> findChildWithQName(Collection<NormalizedNode<?, ?>> collection, QName qName) {
+        for(NormalizedNode<?,?> node : collection){
+            if(node.getNodeType().equals(qName)){
+                return node;
+            }
+        }
 
-        assertEquals(expectedNode2, NormalizedNodeAggregatorTest.findChildWithQName(collection, CarsModel.BASE_QNAME));
+        return null;
     }
 
 
@@ -20,6 +20,7 @@ import akka.pattern.Patterns;
 import akka.testkit.TestActorRef;
 import akka.util.Timeout;
 import com.google.common.base.Optional;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
@@ -122,7 +123,8 @@ public class PreLithiumShardTest extends AbstractShardTest {
         Snapshot snapshot = Snapshot.create(encode.getNormalizedNode().toByteString().toByteArray(),
                 Collections.<ReplicatedLogEntry>emptyList(), 1, 2, 3, 4);
 
-        shard.underlyingActor().getRaftActorSnapshotCohort().applySnapshot(snapshot.getState());
+        shard.underlyingActor().getRaftActorSnapshotCohort().applySnapshot(
+                new ByteArrayInputStream(snapshot.getState()));
 
         NormalizedNode<?,?> actual = readStore(shard, root);
 
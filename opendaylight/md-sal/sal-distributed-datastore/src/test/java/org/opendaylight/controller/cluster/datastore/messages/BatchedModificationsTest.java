@@ -93,5 +93,12 @@ public class BatchedModificationsTest {
         BatchedModificationsReply clone = (BatchedModificationsReply) SerializationUtils.clone(
                 (Serializable) new BatchedModificationsReply(100).toSerializable());
         assertEquals("getNumBatched", 100, clone.getNumBatched());
+        assertEquals("getCommitQueueSize", -1, clone.getCommitQueueSize());
+
+        clone = (BatchedModificationsReply) SerializationUtils.clone(
+                (Serializable) new BatchedModificationsReply(100, 5, 10L).toSerializable());
+        assertEquals("getNumBatched", 100, clone.getNumBatched());
+        assertEquals("getCommitQueueSize", 5, clone.getCommitQueueSize());
+        assertEquals("getReplicationLag", 10L, clone.getReplicationLag());
     }
 }
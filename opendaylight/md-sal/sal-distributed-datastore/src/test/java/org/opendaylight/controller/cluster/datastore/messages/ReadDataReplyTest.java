@@ -8,10 +8,12 @@
 package org.opendaylight.controller.cluster.datastore.messages;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import java.io.Serializable;
 import org.apache.commons.lang.SerializationUtils;
 import org.junit.Test;
 import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
 import org.opendaylight.controller.protobuff.messages.transaction.ShardTransactionMessages;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -43,6 +45,23 @@ public class ReadDataReplyTest {
         assertEquals("getNormalizedNode", expected.getNormalizedNode(), actual.getNormalizedNode());
     }
 
+    @Test
+    public void testSerializationWithDictionary() {
+        NormalizedNode<?, ?> data = ImmutableContainerNodeBuilder.create().withNodeIdentifier(
+                new YangInstanceIdentifier.NodeIdentifier(TestModel.TEST_QNAME)).
+                withChild(ImmutableNodes.leafNode(TestModel.DESC_QNAME, "foo")).build();
+
+        QNameDictionary dictionary = QNameDictionary.create(TestModel.createTestContext());
+        byte[] plain = SerializationUtils.serialize(new ReadDataReply(data, DataStoreVersions.CURRENT_VERSION));
+        byte[] withDictionary = SerializationUtils.serialize(new ReadDataReply(data,
+                DataStoreVersions.CURRENT_VERSION, dictionary));
+
+        assertTrue("Expected the dictionary to shrink the reply", withDictionary.length < plain.length);
+
+        ReadDataReply actual = (ReadDataReply) SerializationUtils.deserialize(withDictionary);
+        assertEquals("getNormalizedNode", data, actual.getNormalizedNode());
+    }
+
     @Test
     public void testIsSerializedType() {
         assertEquals("isSerializedType", true, ReadDataReply.isSerializedType(
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+import static org.junit.Assert.assertEquals;
+import java.io.Serializable;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.controller.protobuff.messages.transaction.ShardTransactionMessages;
+
+/**
+ * Unit tests for ReadData.
+ */
+public class ReadDataTest {
+
+    @Test
+    public void testSerialization() {
+        ReadData expected = new ReadData(TestModel.TEST_PATH);
+
+        Object serialized = expected.toSerializable();
+        assertEquals("Serialized type", ShardTransactionMessages.ReadData.class, serialized.getClass());
+
+        ReadData actual = ReadData.fromSerializable(SerializationUtils.clone((Serializable) serialized));
+        assertEquals("getPath", TestModel.TEST_PATH, actual.getPath());
+        assertEquals("getDictionaryFingerprint", 0, actual.getDictionaryFingerprint());
+    }
+
+    @Test
+    public void testSerializationWithDictionaryFingerprint() {
+        ReadData expected = new ReadData(TestModel.TEST_PATH, 0x1234L);
+
+        Object serialized = expected.toSerializable();
+        assertEquals("Serialized type", ReadData.class, serialized.getClass());
+
+        ReadData actual = (ReadData) SerializationUtils.clone((Serializable) serialized);
+        assertEquals("getPath", TestModel.TEST_PATH, actual.getPath());
+        assertEquals("getDictionaryFingerprint", 0x1234L, actual.getDictionaryFingerprint());
+    }
+}
@@ -33,6 +33,19 @@ public class ReadyTransactionReplyTest {
                 (Serializable) serialized));
         assertEquals("getVersion", DataStoreVersions.CURRENT_VERSION, actual.getVersion());
         assertEquals("getCohortPath", cohortPath, actual.getCohortPath());
+        assertEquals("getCommitQueueSize", -1, actual.getCommitQueueSize());
+        assertEquals("getReplicationLag", -1, actual.getReplicationLag());
+    }
+
+    @Test
+    public void testSerializationWithShardLoad() {
+        ReadyTransactionReply expected = new ReadyTransactionReply("cohort path", 5, 10L);
+
+        ReadyTransactionReply actual = ReadyTransactionReply.fromSerializable(SerializationUtils.clone(
+                (Serializable) expected.toSerializable()));
+        assertEquals("getCohortPath", "cohort path", actual.getCohortPath());
+        assertEquals("getCommitQueueSize", 5, actual.getCommitQueueSize());
+        assertEquals("getReplicationLag", 10L, actual.getReplicationLag());
     }
 
     @Test
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import akka.actor.ActorRef;
+import akka.actor.ExtendedActorSystem;
+import akka.serialization.JavaSerializer;
+import java.util.concurrent.Callable;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.AbstractActorTest;
+import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
+import org.opendaylight.controller.cluster.datastore.DataTreeChangeCoalescingPolicy;
+import org.opendaylight.controller.cluster.raft.utils.MessageCollectorActor;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+
+/**
+ * Unit tests for RegisterDataTreeChangeListener.
+ */
+public class RegisterDataTreeChangeListenerTest extends AbstractActorTest {
+
+    private RegisterDataTreeChangeListener clone(final RegisterDataTreeChangeListener message) throws Exception {
+        return JavaSerializer.currentSystem().withValue((ExtendedActorSystem) getSystem(),
+                new Callable<RegisterDataTreeChangeListener>() {
+                    @Override
+                    public RegisterDataTreeChangeListener call() {
+                        return (RegisterDataTreeChangeListener) SerializationUtils.clone(message);
+                    }
+                });
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        ActorRef listener = getSystem().actorOf(MessageCollectorActor.props());
+        DataTreeChangeCoalescingPolicy policy = DataTreeChangeCoalescingPolicy.create(10, 100, true);
+
+        RegisterDataTreeChangeListener actual = clone(new RegisterDataTreeChangeListener(TestModel.TEST_PATH,
+                listener, policy, true));
+        assertEquals("getVersion", DataStoreVersions.CURRENT_VERSION, actual.getVersion());
+        assertEquals("getPath", TestModel.TEST_PATH, actual.getPath());
+        assertEquals("getDataTreeChangeListenerPath", listener, actual.getDataTreeChangeListenerPath());
+        assertEquals("getMaxBatchSize", 10, actual.getCoalescingPolicy().getMaxBatchSize());
+        assertEquals("getMaxDelayInMillis", 100, actual.getCoalescingPolicy().getMaxDelayInMillis());
+        assertEquals("isMergeChanges", true, actual.getCoalescingPolicy().isMergeChanges());
+        assertTrue("isLocalReplica", actual.isLocalReplica());
+    }
+
+    @Test
+    public void testSerializationWithPreBerylliumVersion() throws Exception {
+        ActorRef listener = getSystem().actorOf(MessageCollectorActor.props());
+
+        // Written as a member before BERYLLIUM would, ie ending with the path
+        RegisterDataTreeChangeListener actual = clone(new RegisterDataTreeChangeListener(TestModel.TEST_PATH,
+                listener, DataTreeChangeCoalescingPolicy.create(10, 100, true), true,
+                DataStoreVersions.LITHIUM_VERSION));
+        assertEquals("getVersion", DataStoreVersions.LITHIUM_VERSION, actual.getVersion());
+        assertEquals("getPath", TestModel.TEST_PATH, actual.getPath());
+        assertEquals("getDataTreeChangeListenerPath", listener, actual.getDataTreeChangeListenerPath());
+        assertNull("getCoalescingPolicy", actual.getCoalescingPolicy());
+        assertFalse("isLocalReplica", actual.isLocalReplica());
+    }
+}
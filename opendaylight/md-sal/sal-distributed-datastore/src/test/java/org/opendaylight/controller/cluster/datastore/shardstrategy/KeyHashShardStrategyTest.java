@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.shardstrategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.Configuration;
+import org.opendaylight.controller.cluster.datastore.ConfigurationImpl;
+import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class KeyHashShardStrategyTest {
+    private static final int CAR_COUNT = 30;
+
+    private static Configuration configuration;
+
+    @BeforeClass
+    public static void setUpClass(){
+        configuration = new ConfigurationImpl("module-shards-partitioned.conf", "modules-partitioned.conf");
+    }
+
+    private static KeyHashShardStrategy strategy() {
+        ShardStrategy strategy = configuration.getModuleNameToShardStrategyMap().get("cars");
+        assertTrue("Expected KeyHashShardStrategy but was " + strategy, strategy instanceof KeyHashShardStrategy);
+        return (KeyHashShardStrategy) strategy;
+    }
+
+    @Test
+    public void testFindShard() {
+        KeyHashShardStrategy strategy = strategy();
+
+        assertEquals("cars-1", strategy.findShard(CarsModel.BASE_PATH));
+        assertEquals("cars-1", strategy.findShard(CarsModel.CAR_LIST_PATH));
+
+        Set<String> shardNames = new HashSet<>();
+        for(int i = 0; i < CAR_COUNT; i++) {
+            String shardName = strategy.findShard(CarsModel.newCarPath("car" + i));
+            assertEquals("Shard of car" + i, shardName, strategy.findShard(
+                    CarsModel.newCarPath("car" + i).node(CarsModel.CAR_PRICE_QNAME)));
+            shardNames.add(shardName);
+        }
+
+        assertEquals("Shards used", new HashSet<>(Arrays.asList("cars-1", "cars-2", "cars-3")), shardNames);
+    }
+
+    @Test
+    public void testFindShardIsIndependentOfKeyOrder() {
+        KeyHashShardStrategy strategy = strategy();
+
+        for(int i = 0; i < CAR_COUNT; i++) {
+            Map<QName, Object> keys = new LinkedHashMap<>();
+            keys.put(CarsModel.CAR_NAME_QNAME, "car" + i);
+            keys.put(CarsModel.CAR_PRICE_QNAME, BigInteger.valueOf(i));
+
+            Map<QName, Object> reversed = new LinkedHashMap<>();
+            reversed.put(CarsModel.CAR_PRICE_QNAME, BigInteger.valueOf(i));
+            reversed.put(CarsModel.CAR_NAME_QNAME, "car" + i);
+
+            assertEquals("Shard of car" + i,
+                    strategy.findShard(CarsModel.CAR_LIST_PATH.node(new NodeIdentifierWithPredicates(
+                            CarsModel.CAR_QNAME, keys))),
+                    strategy.findShard(CarsModel.CAR_LIST_PATH.node(new NodeIdentifierWithPredicates(
+                            CarsModel.CAR_QNAME, reversed))));
+        }
+    }
+
+    @Test
+    public void testFindShardWithSingleShard() {
+        KeyHashShardStrategy strategy = new KeyHashShardStrategy("cars", CarsModel.BASE_QNAME.getNamespace().toString(),
+                "cars/car", new ConfigurationImpl("module-shards.conf", "modules.conf"));
+
+        assertEquals("cars-1", strategy.findShard(CarsModel.newCarPath("car1")));
+        assertFalse(strategy.spansShards(CarsModel.BASE_PATH));
+    }
+
+    @Test
+    public void testSpansShards() {
+        KeyHashShardStrategy strategy = strategy();
+
+        assertTrue(strategy.spansShards(CarsModel.BASE_PATH));
+        assertTrue(strategy.spansShards(CarsModel.CAR_LIST_PATH));
+        assertFalse(strategy.spansShards(CarsModel.newCarPath("car1")));
+        assertFalse(strategy.spansShards(CarsModel.BASE_PATH.node(CarsModel.CAR_PRICE_QNAME)));
+    }
+
+    @Test
+    public void testPartitionData() {
+        KeyHashShardStrategy strategy = strategy();
+
+        ContainerNode cars = (ContainerNode) CarsModel.create();
+        Map<String, NormalizedNode<?, ?>> partitions = strategy.partitionData(CarsModel.BASE_PATH, cars);
+        assertEquals("Partitions", strategy.getShardNames(), Arrays.asList(partitions.keySet().toArray()));
+
+        int carCount = 0;
+        for(Map.Entry<String, NormalizedNode<?, ?>> e: partitions.entrySet()) {
+            ContainerNode partition = (ContainerNode) e.getValue();
+            assertEquals(cars.getIdentifier(), partition.getIdentifier());
+
+            assertTrue("Car list present in " + e.getKey(), partition.getChild(
+                    new NodeIdentifier(CarsModel.CAR_QNAME)).isPresent());
+            MapNode carList = (MapNode) partition.getChild(new NodeIdentifier(CarsModel.CAR_QNAME)).get();
+            for(NormalizedNode<?, ?> car: carList.getValue()) {
+                assertEquals("Shard of " + car.getIdentifier(), e.getKey(), strategy.findShard(
+                        CarsModel.CAR_LIST_PATH.node(car.getIdentifier())));
+                carCount++;
+            }
+        }
+
+        assertEquals("Car count", ((MapNode) cars.getChild(new NodeIdentifier(CarsModel.CAR_QNAME)).get())
+                .getValue().size(), carCount);
+    }
+
+    @Test
+    public void testPartitionListData() {
+        KeyHashShardStrategy strategy = strategy();
+
+        MapNode carList = ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME).
+                withChild(CarsModel.newCarEntry("car1", BigInteger.ONE)).build();
+        Map<String, NormalizedNode<?, ?>> partitions = strategy.partitionData(CarsModel.CAR_LIST_PATH, carList);
+
+        assertEquals("Partitions", 3, partitions.size());
+        for(Map.Entry<String, NormalizedNode<?, ?>> e: partitions.entrySet()) {
+            int expSize = e.getKey().equals(strategy.findShard(CarsModel.newCarPath("car1"))) ? 1 : 0;
+            assertEquals("Cars in " + e.getKey(), expSize, ((MapNode) e.getValue()).getValue().size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPartitionOrderedListData() {
+        strategy().partitionData(CarsModel.CAR_LIST_PATH, Builders.orderedMapBuilder().withNodeIdentifier(
+                new NodeIdentifier(CarsModel.CAR_QNAME)).withChild(CarsModel.newCarEntry("car1", BigInteger.ONE)).
+                build());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPartitionDataWithNonSpanningPath() {
+        strategy().partitionData(CarsModel.newCarPath("car1"), CarsModel.newCarEntry("car1", BigInteger.ONE));
+    }
+}
@@ -20,7 +20,6 @@ import akka.japi.Creator;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestActorRef;
 import akka.util.Timeout;
-import com.google.common.base.Optional;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Uninterruptibles;
@@ -36,6 +35,7 @@ import org.opendaylight.controller.cluster.datastore.ClusterWrapper;
 import org.opendaylight.controller.cluster.datastore.Configuration;
 import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
 import org.opendaylight.controller.cluster.datastore.DatastoreContext;
+import org.opendaylight.controller.cluster.datastore.exceptions.LocalShardNotFoundException;
 import org.opendaylight.controller.cluster.datastore.exceptions.NoShardLeaderException;
 import org.opendaylight.controller.cluster.datastore.exceptions.NotInitializedException;
 import org.opendaylight.controller.cluster.datastore.exceptions.PrimaryNotFoundException;
@@ -144,9 +144,13 @@ public class ActorContextTest extends AbstractActorTest{
                         new ActorContext(getSystem(), shardManagerActorRef , mock(ClusterWrapper.class),
                             mock(Configuration.class));
 
-                    Optional<ActorRef> out = actorContext.findLocalShard("default");
+                    Future<ActorRef> out = actorContext.findLocalShardAsync("default");
 
-                    assertEquals(shardActorRef, out.get());
+                    try {
+                        assertEquals(shardActorRef, Await.result(out, duration("1 seconds")));
+                    } catch (Exception e) {
+                        throw new AssertionError(e);
+                    }
 
 
                     expectNoMsg();
@@ -156,8 +160,8 @@ public class ActorContextTest extends AbstractActorTest{
 
     }
 
-    @Test
-    public void testFindLocalShardWithShardNotFound(){
+    @Test(expected = LocalShardNotFoundException.class)
+    public void testFindLocalShardWithShardNotFound() throws Exception {
         new JavaTestKit(getSystem()) {{
             ActorRef shardManagerActorRef = getSystem()
                     .actorOf(MockShardManager.props(false, null));
@@ -166,32 +170,12 @@ public class ActorContextTest extends AbstractActorTest{
                     new ActorContext(getSystem(), shardManagerActorRef , mock(ClusterWrapper.class),
                             mock(Configuration.class));
 
-            Optional<ActorRef> out = actorContext.findLocalShard("default");
-            assertTrue(!out.isPresent());
+            Future<ActorRef> out = actorContext.findLocalShardAsync("default");
+            Await.result(out, duration("1 seconds"));
         }};
 
     }
 
-    @Test
-    public void testExecuteRemoteOperation() {
-        new JavaTestKit(getSystem()) {{
-            ActorRef shardActorRef = getSystem().actorOf(Props.create(EchoActor.class));
-
-            ActorRef shardManagerActorRef = getSystem()
-                    .actorOf(MockShardManager.props(true, shardActorRef));
-
-            ActorContext actorContext =
-                    new ActorContext(getSystem(), shardManagerActorRef , mock(ClusterWrapper.class),
-                            mock(Configuration.class));
-
-            ActorSelection actor = actorContext.actorSelection(shardActorRef.path());
-
-            Object out = actorContext.executeOperation(actor, "hello");
-
-            assertEquals("hello", out);
-        }};
-    }
-
     @Test
     public void testExecuteRemoteOperationAsync() {
         new JavaTestKit(getSystem()) {{
@@ -534,6 +518,24 @@ public class ActorContextTest extends AbstractActorTest{
         }};
     }
 
+    @Test
+    public void testGetTxCreationLimit() {
+        ActorContext actorContext = new ActorContext(getSystem(), mock(ActorRef.class), mock(ClusterWrapper.class),
+                mock(Configuration.class), DatastoreContext.newBuilder().dataStoreType("tx-creation-limit-test").
+                        transactionCreationInitialRateLimit(50).transactionCreditsPerShard(10).build(),
+                new PrimaryShardInfoFutureCache());
+
+        // Nothing measured yet
+        assertEquals(50, actorContext.getTxCreationLimit(), 0);
+
+        actorContext.getShardCreditLimiter().forShard("cars");
+        actorContext.getShardCreditLimiter().forShard("people");
+        actorContext.getOperationTimer(ActorContext.COMMIT).update(100, TimeUnit.MILLISECONDS);
+
+        // 20 commits in flight at 100ms each
+        assertEquals(200, actorContext.getTxCreationLimit(), 0.001);
+    }
+
     private <T> T expectFirstMatching(ActorRef actor, Class<T> clazz) {
         int count = 5000 / 50;
         for(int i = 0; i < count; i++) {
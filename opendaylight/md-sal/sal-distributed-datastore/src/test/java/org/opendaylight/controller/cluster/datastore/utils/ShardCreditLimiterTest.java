@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedModificationsReply;
+import org.opendaylight.controller.cluster.datastore.messages.ReadyTransactionReply;
+import org.opendaylight.controller.cluster.datastore.utils.ShardCreditLimiter.ShardCredits;
+
+public class ShardCreditLimiterTest {
+
+    @Test
+    public void testAcquireTimesOutWhenWindowUsedUp() {
+        ShardCredits credits = new ShardCreditLimiter(2, 100, TimeUnit.MILLISECONDS).forShard("cars");
+
+        assertTrue(credits.acquire());
+        assertTrue(credits.acquire());
+
+        long start = System.nanoTime();
+        assertFalse(credits.acquire());
+        assertTrue("Did not block", System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90));
+
+        // No credit is taken after a timeout so the credits in use never exceed the window.
+        assertEquals(2, credits.getInUse());
+    }
+
+    @Test
+    public void testReleaseUnblocksAcquire() throws Exception {
+        final ShardCredits credits = new ShardCreditLimiter(1, 10, TimeUnit.SECONDS).forShard("cars");
+        assertTrue(credits.acquire());
+
+        final CountDownLatch acquired = new CountDownLatch(1);
+        final AtomicBoolean result = new AtomicBoolean();
+        new Thread() {
+            @Override
+            public void run() {
+                result.set(credits.acquire());
+                acquired.countDown();
+            }
+        }.start();
+
+        assertFalse("Acquire did not block", acquired.await(100, TimeUnit.MILLISECONDS));
+
+        credits.release();
+
+        assertTrue("Acquire not unblocked", acquired.await(5, TimeUnit.SECONDS));
+        assertTrue(result.get());
+        assertEquals(1, credits.getInUse());
+    }
+
+    @Test
+    public void testShardsAreIndependent() {
+        ShardCreditLimiter limiter = new ShardCreditLimiter(1, 0, TimeUnit.MILLISECONDS);
+
+        assertTrue(limiter.forShard("cars").acquire());
+        assertFalse(limiter.forShard("cars").acquire());
+        assertTrue(limiter.forShard("people").acquire());
+
+        assertEquals("1/1 (max 1)", limiter.getShardCreditInfo().get("cars"));
+        assertEquals("1/1 (max 1)", limiter.getShardCreditInfo().get("people"));
+    }
+
+    @Test
+    public void testWindowShrinksAndGrowsWithShardLoad() {
+        ShardCredits credits = new ShardCreditLimiter(8, 0, TimeUnit.MILLISECONDS).forShard("cars");
+        assertEquals(8, credits.getWindow());
+
+        credits.onShardLoad(15, 5);
+        assertEquals(4, credits.getWindow());
+
+        // The window isn't shrunk again until a window's worth of further reports have been received.
+        credits.onShardLoad(15, 5);
+        credits.onShardLoad(15, 5);
+        credits.onShardLoad(15, 5);
+        assertEquals(4, credits.getWindow());
+
+        credits.onShardLoad(15, 5);
+        assertEquals(2, credits.getWindow());
+
+        // A backlog of at least half the window holds it steady.
+        credits.onShardLoad(1, 1);
+        assertEquals(2, credits.getWindow());
+
+        for(int i = 0; i < 20; i++) {
+            credits.onShardLoad(0, 0);
+        }
+
+        assertEquals(8, credits.getWindow());
+    }
+
+    @Test
+    public void testUnadvertisedShardLoadIgnored() {
+        ShardCredits credits = new ShardCreditLimiter(8, 0, TimeUnit.MILLISECONDS).forShard("cars");
+
+        credits.onComplete(null, new ReadyTransactionReply("cohort path"));
+        credits.onComplete(null, new BatchedModificationsReply(1));
+        credits.onComplete(new Exception("mock"), null);
+
+        assertEquals(8, credits.getWindow());
+    }
+
+    @Test
+    public void testShardLoadFromReplies() {
+        ShardCredits credits = new ShardCreditLimiter(8, 0, TimeUnit.MILLISECONDS).forShard("cars");
+
+        credits.onComplete(null, new ReadyTransactionReply("cohort path", 20, 0));
+        assertEquals(4, credits.getWindow());
+
+        for(int i = 0; i < 4; i++) {
+            credits.onComplete(null, new BatchedModificationsReply(1, 0, 20));
+        }
+
+        assertEquals(2, credits.getWindow());
+    }
+
+    @Test
+    public void testSetLimits() {
+        ShardCreditLimiter limiter = new ShardCreditLimiter(8, 0, TimeUnit.MILLISECONDS);
+        ShardCredits credits = limiter.forShard("cars");
+
+        limiter.setLimits(3, 0, TimeUnit.MILLISECONDS);
+        assertEquals(3, limiter.getMaxCredits());
+        assertEquals(3, credits.getWindow());
+        assertEquals(3, limiter.forShard("people").getWindow());
+    }
+}
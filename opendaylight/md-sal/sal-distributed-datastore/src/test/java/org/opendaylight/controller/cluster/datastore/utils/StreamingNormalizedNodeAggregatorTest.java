@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import com.google.common.base.Optional;
+import java.math.BigInteger;
+import org.junit.Test;
+import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class StreamingNormalizedNodeAggregatorTest {
+    private static final NodeIdentifier ROOT_ID = new NodeIdentifier(SchemaContext.NAME);
+
+    @Test
+    public void testAggregateRoot() {
+        ContainerNode test = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+        ContainerNode cars = (ContainerNode) CarsModel.create();
+
+        StreamingNormalizedNodeAggregator aggregator = new StreamingNormalizedNodeAggregator();
+        aggregator.add(Optional.<NormalizedNode<?, ?>>of(root(test)));
+        aggregator.add(Optional.<NormalizedNode<?, ?>>absent());
+        aggregator.add(Optional.<NormalizedNode<?, ?>>of(root(cars)));
+
+        ContainerNode root = (ContainerNode) aggregator.getResult().get();
+        assertEquals(ROOT_ID, root.getIdentifier());
+        assertEquals("Child count", 2, root.getValue().size());
+
+        // Each shard's subtree is passed through as is.
+        assertSame(test, root.getChild(test.getIdentifier()).get());
+        assertSame(cars, root.getChild(cars.getIdentifier()).get());
+    }
+
+    @Test
+    public void testAggregatePartitionedList() {
+        MapEntryNode car1 = CarsModel.newCarEntry("car1", BigInteger.ONE);
+        MapEntryNode car2 = CarsModel.newCarEntry("car2", BigInteger.TEN);
+        MapEntryNode car3 = CarsModel.newCarEntry("car3", BigInteger.ZERO);
+
+        StreamingNormalizedNodeAggregator aggregator = new StreamingNormalizedNodeAggregator();
+        aggregator.add(Optional.<NormalizedNode<?, ?>>of(root(cars(car1, car3))));
+        aggregator.add(Optional.<NormalizedNode<?, ?>>of(root(cars(car2))));
+        aggregator.add(Optional.<NormalizedNode<?, ?>>of(root(cars())));
+
+        assertEquals(root(cars(car1, car3, car2)), aggregator.getResult().get());
+    }
+
+    @Test
+    public void testAggregateBelowRoot() {
+        MapEntryNode car1 = CarsModel.newCarEntry("car1", BigInteger.ONE);
+        MapEntryNode car2 = CarsModel.newCarEntry("car2", BigInteger.TEN);
+
+        StreamingNormalizedNodeAggregator aggregator = new StreamingNormalizedNodeAggregator();
+        aggregator.add(Optional.<NormalizedNode<?, ?>>of(ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME).
+                withChild(car1).build()));
+        aggregator.add(Optional.<NormalizedNode<?, ?>>of(ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME).
+                withChild(car2).build()));
+
+        assertEquals(ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME).withChild(car1).withChild(car2).build(),
+                aggregator.getResult().get());
+    }
+
+    @Test
+    public void testAggregateOrderedList() {
+        MapEntryNode car1 = CarsModel.newCarEntry("car1", BigInteger.ONE);
+        MapEntryNode car2 = CarsModel.newCarEntry("car2", BigInteger.TEN);
+        MapEntryNode car3 = CarsModel.newCarEntry("car3", BigInteger.ZERO);
+
+        StreamingNormalizedNodeAggregator aggregator = new StreamingNormalizedNodeAggregator();
+        aggregator.add(Optional.<NormalizedNode<?, ?>>of(orderedCars(car3, car1)));
+        aggregator.add(Optional.<NormalizedNode<?, ?>>of(orderedCars(car2)));
+
+        OrderedMapNode result = (OrderedMapNode) aggregator.getResult().get();
+        assertEquals(orderedCars(car3, car1, car2), result);
+        assertEquals(car3, result.getChild(0));
+        assertEquals(car1, result.getChild(1));
+        assertEquals(car2, result.getChild(2));
+    }
+
+    @Test
+    public void testAggregateSingleOrNone() {
+        StreamingNormalizedNodeAggregator aggregator = new StreamingNormalizedNodeAggregator();
+        assertFalse("Expected absent", aggregator.getResult().isPresent());
+
+        aggregator.add(Optional.<NormalizedNode<?, ?>>absent());
+        assertFalse("Expected absent", aggregator.getResult().isPresent());
+
+        NormalizedNode<?, ?> cars = CarsModel.create();
+        aggregator.add(Optional.<NormalizedNode<?, ?>>of(cars));
+        assertSame(cars, aggregator.getResult().get());
+    }
+
+    private static ContainerNode root(final ContainerNode... children) {
+        DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> builder =
+                Builders.containerBuilder().withNodeIdentifier(ROOT_ID);
+        for(ContainerNode child: children) {
+            builder.withChild(child);
+        }
+
+        return builder.build();
+    }
+
+    private static OrderedMapNode orderedCars(final MapEntryNode... entries) {
+        CollectionNodeBuilder<MapEntryNode, OrderedMapNode> carList = Builders.orderedMapBuilder().
+                withNodeIdentifier(new NodeIdentifier(CarsModel.CAR_QNAME));
+        for(MapEntryNode entry: entries) {
+            carList.withChild(entry);
+        }
+
+        return carList.build();
+    }
+
+    private static ContainerNode cars(final MapEntryNode... entries) {
+        CollectionNodeBuilder<MapEntryNode, MapNode> carList = ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME);
+        for(MapEntryNode entry: entries) {
+            carList.withChild(entry);
+        }
+
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(CarsModel.BASE_QNAME)).
+                withChild(carList.build()).build();
+    }
+}
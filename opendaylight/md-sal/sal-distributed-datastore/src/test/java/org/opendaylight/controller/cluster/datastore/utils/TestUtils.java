@@ -11,16 +11,23 @@ package org.opendaylight.controller.cluster.datastore.utils;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.actor.Props;
+import akka.util.Timeout;
 import java.util.List;
 import org.junit.Assert;
+import scala.concurrent.Await;
 
 public class TestUtils {
 
     public static void assertFirstSentMessage(final ActorSystem actorSystem, final ActorRef actorRef, final Class<?> clazz){
         ActorContext testContext = new ActorContext(actorSystem, actorSystem.actorOf(
             Props.create(DoNothingActor.class)), new MockClusterWrapper(), new MockConfiguration());
-        Object messages = testContext
-            .executeOperation(actorRef, "messages");
+        Object messages;
+        try {
+            messages = Await.result(testContext.executeOperationAsync(actorRef, "messages",
+                    new Timeout(testContext.getOperationDuration())), testContext.getOperationDuration());
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
 
         Assert.assertNotNull(messages);
 
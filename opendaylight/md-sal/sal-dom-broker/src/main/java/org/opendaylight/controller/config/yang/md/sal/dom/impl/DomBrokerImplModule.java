@@ -19,6 +19,8 @@ import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.controller.md.sal.dom.broker.impl.DOMNotificationRouter;
 import org.opendaylight.controller.md.sal.dom.broker.impl.DOMRpcRouter;
+import org.opendaylight.controller.md.sal.dom.broker.impl.NotificationOverflowPolicy;
+import org.opendaylight.controller.md.sal.dom.broker.impl.jmx.NotificationRouterStatsMXBeanImpl;
 import org.opendaylight.controller.md.sal.dom.broker.impl.mount.DOMMountPointServiceImpl;
 import org.opendaylight.controller.sal.core.api.BrokerService;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
@@ -27,6 +29,7 @@ import org.opendaylight.controller.sal.dom.broker.GlobalBundleScanningSchemaServ
 
 public final class DomBrokerImplModule extends org.opendaylight.controller.config.yang.md.sal.dom.impl.AbstractDomBrokerImplModule
 {
+    private static final String JMX_BEAN_TYPE = "DOMNotificationRouter";
 
     public DomBrokerImplModule(final org.opendaylight.controller.config.api.ModuleIdentifier identifier, final org.opendaylight.controller.config.api.DependencyResolver dependencyResolver) {
         super(identifier, dependencyResolver);
@@ -41,6 +44,9 @@ public final class DomBrokerImplModule extends org.opendaylight.controller.confi
         super.validate();
         final long depth = getNotificationQueueDepth().getValue();
         Preconditions.checkArgument(Long.lowestOneBit(depth) == Long.highestOneBit(depth), "Queue depth %s is not power-of-two", depth);
+        Preconditions.checkArgument(getNotificationSubscriberQueueDepth() <= Integer.MAX_VALUE, "Subscriber queue depth %s is too large",
+            getNotificationSubscriberQueueDepth());
+        NotificationOverflowPolicy.forName(getNotificationOverflowPolicy());
     }
 
     @Override
@@ -50,7 +56,8 @@ public final class DomBrokerImplModule extends org.opendaylight.controller.confi
         final ClassToInstanceMap<BrokerService> services = MutableClassToInstanceMap.create();
 
         final DOMNotificationRouter domNotificationRouter = DOMNotificationRouter.create(getNotificationQueueDepth().getValue().intValue(),
-            getNotificationQueueSpin().longValue(), getNotificationQueuePark().longValue(), TimeUnit.MILLISECONDS);
+            getNotificationQueueSpin().longValue(), getNotificationQueuePark().longValue(), TimeUnit.MILLISECONDS,
+            getNotificationSubscriberQueueDepth().intValue(), NotificationOverflowPolicy.forName(getNotificationOverflowPolicy()));
         services.putInstance(DOMNotificationService.class, domNotificationRouter);
         services.putInstance(DOMNotificationPublishService.class, domNotificationRouter);
 
@@ -67,7 +74,22 @@ public final class DomBrokerImplModule extends org.opendaylight.controller.confi
         final DOMMountPointService mountService = new DOMMountPointServiceImpl();
         services.putInstance(DOMMountPointService.class, mountService);
 
-        return new BrokerImpl(rpcRouter, services);
+        final BrokerImpl broker = new BrokerImpl(rpcRouter, services);
+
+        // Subscriber queues only exist, and thus only have stats to report, with a positive queue depth
+        if (getNotificationSubscriberQueueDepth() > 0) {
+            final NotificationRouterStatsMXBeanImpl notificationStatsMXBean = new NotificationRouterStatsMXBeanImpl(
+                domNotificationRouter, JMX_BEAN_TYPE);
+            notificationStatsMXBean.registerMBean();
+            broker.setDeactivator(new AutoCloseable() {
+                @Override
+                public void close() {
+                    notificationStatsMXBean.unregisterMBean();
+                }
+            });
+        }
+
+        return broker;
     }
 
     private SchemaService getSchemaServiceImpl() {
@@ -8,14 +8,14 @@
 package org.opendaylight.controller.md.sal.dom.broker.impl;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.CheckedFuture;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
@@ -23,11 +23,16 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
+/**
+ * The implementations of one RPC, indexed by context reference. The index is updated in place, so that a
+ * registration only costs as much as the contexts it registers rather than a copy of the whole index, and each
+ * value is replaced rather than modified so lookups need no locking. Updates must be serialized by the caller.
+ */
 abstract class AbstractDOMRpcRoutingTableEntry {
-    private final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls;
+    private final ConcurrentMap<YangInstanceIdentifier, List<DOMRpcImplementation>> impls;
     private final SchemaPath schemaPath;
 
-    protected AbstractDOMRpcRoutingTableEntry(final SchemaPath schemaPath, final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls) {
+    protected AbstractDOMRpcRoutingTableEntry(final SchemaPath schemaPath, final ConcurrentMap<YangInstanceIdentifier, List<DOMRpcImplementation>> impls) {
         this.schemaPath = Preconditions.checkNotNull(schemaPath);
         this.impls = Preconditions.checkNotNull(impls);
     }
@@ -37,10 +42,10 @@ abstract class AbstractDOMRpcRoutingTableEntry {
     }
 
     protected final List<DOMRpcImplementation> getImplementations(final YangInstanceIdentifier context) {
-        return impls.get(context);
+        return context == null ? null : impls.get(context);
     }
 
-    final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> getImplementations() {
+    final ConcurrentMap<YangInstanceIdentifier, List<DOMRpcImplementation>> getImplementations() {
         return impls;
     }
 
@@ -53,52 +58,45 @@ abstract class AbstractDOMRpcRoutingTableEntry {
     }
 
     /**
+     * Adds an implementation for the given contexts.
      *
-     * @param implementation
-     * @param newRpcs List of new RPCs, must be mutable
-     * @return
+     * @param implementation the implementation
+     * @param newRpcs the contexts it implements the RPC for
      */
-    final AbstractDOMRpcRoutingTableEntry add(final DOMRpcImplementation implementation, final List<YangInstanceIdentifier> newRpcs) {
-        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-        for (final Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : impls.entrySet()) {
-            if (newRpcs.remove(ve.getKey())) {
-                final ArrayList<DOMRpcImplementation> i = new ArrayList<>(ve.getValue().size() + 1);
-                i.addAll(ve.getValue());
-                i.add(implementation);
-                vb.put(ve.getKey(), i);
+    final void add(final DOMRpcImplementation implementation, final Collection<YangInstanceIdentifier> newRpcs) {
+        for (final YangInstanceIdentifier ii : newRpcs) {
+            final List<DOMRpcImplementation> existing = impls.get(ii);
+            if (existing == null) {
+                impls.put(ii, ImmutableList.of(implementation));
             } else {
-                vb.put(ve);
+                impls.put(ii, ImmutableList.<DOMRpcImplementation>builder().addAll(existing).add(implementation).build());
             }
         }
-        for(final YangInstanceIdentifier ii : newRpcs) {
-            final ArrayList<DOMRpcImplementation> impl = new ArrayList<>(1);
-            impl.add(implementation);
-            vb.put(ii,impl);
-        }
-
-        return newInstance(vb.build());
     }
 
-    final AbstractDOMRpcRoutingTableEntry remove(final DOMRpcImplementation implementation, final List<YangInstanceIdentifier> removed) {
-        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-        for (final Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : impls.entrySet()) {
-            if (removed.remove(ve.getKey())) {
-                final ArrayList<DOMRpcImplementation> i = new ArrayList<>(ve.getValue());
+    /**
+     * Removes an implementation for the given contexts.
+     *
+     * @param implementation the implementation
+     * @param removed the contexts it no longer implements the RPC for
+     * @return true if the entry has no implementations left
+     */
+    final boolean remove(final DOMRpcImplementation implementation, final Collection<YangInstanceIdentifier> removed) {
+        for (final YangInstanceIdentifier ii : removed) {
+            final List<DOMRpcImplementation> existing = impls.get(ii);
+            if (existing != null) {
+                final List<DOMRpcImplementation> i = new ArrayList<>(existing);
                 i.remove(implementation);
-                // We could trimToSize(), but that may perform another copy just to get rid
-                // of a single element. That is probably not worth the trouble.
-                if (!i.isEmpty()) {
-                    vb.put(ve.getKey(), i);
+                if (i.isEmpty()) {
+                    impls.remove(ii);
+                } else {
+                    impls.put(ii, ImmutableList.copyOf(i));
                 }
-            } else {
-                vb.put(ve);
             }
         }
 
-        final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> v = vb.build();
-        return v.isEmpty() ? null : newInstance(v);
+        return impls.isEmpty();
     }
 
     protected abstract CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final NormalizedNode<?, ?> input);
-    protected abstract AbstractDOMRpcRoutingTableEntry newInstance(final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls);
 }
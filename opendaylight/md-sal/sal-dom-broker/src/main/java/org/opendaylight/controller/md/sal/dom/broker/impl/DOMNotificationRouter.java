@@ -22,8 +22,10 @@ import com.lmax.disruptor.PhasedBackoffWaitStrategy;
 import com.lmax.disruptor.WaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
@@ -33,6 +35,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationPublishService;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationService;
+import org.opendaylight.controller.md.sal.dom.broker.impl.jmx.NotificationSubscriberStats;
 import org.opendaylight.controller.md.sal.dom.spi.DOMNotificationSubscriptionListener;
 import org.opendaylight.controller.md.sal.dom.spi.DOMNotificationSubscriptionListenerRegistry;
 import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
@@ -55,6 +58,12 @@ import org.slf4j.LoggerFactory;
  * The fully-blocking {@link #publish(long, DOMNotification, Collection)} and non-blocking {@link #offerNotification(DOMNotification)}
  * are realized using the Disruptor's native operations. The bounded-blocking {@link #offerNotification(DOMNotification, long, TimeUnit)}
  * is realized by arming a background wakeup interrupt.
+ *
+ * Optionally each subscriber gets its own bounded queue, drained by a task on the router's executor. The
+ * Disruptor then remains the ingest stage, only handing notifications over to the subscriber queues, so that a
+ * slow subscriber does not delay delivery to the others. What happens when a subscriber's queue is full is
+ * governed by a {@link NotificationOverflowPolicy}. In this mode the futures returned by the publish methods
+ * complete once the notification has been queued for all its subscribers, not when they have been invoked.
  */
 public final class DOMNotificationRouter implements AutoCloseable, DOMNotificationPublishService,
         DOMNotificationService, DOMNotificationSubscriptionListenerRegistry {
@@ -80,10 +89,16 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
     private final ExecutorService executor;
     private volatile Multimap<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> listeners = ImmutableMultimap.of();
     private final ListenerRegistry<DOMNotificationSubscriptionListener> subscriptionListeners = ListenerRegistry.create();
+    private final int subscriberQueueSize;
+    private final NotificationOverflowPolicy overflowPolicy;
 
     @SuppressWarnings("unchecked")
-    private DOMNotificationRouter(final ExecutorService executor, final int queueDepth, final WaitStrategy strategy) {
+    private DOMNotificationRouter(final ExecutorService executor, final int queueDepth, final WaitStrategy strategy,
+            final int subscriberQueueSize, final NotificationOverflowPolicy overflowPolicy) {
+        Preconditions.checkArgument(subscriberQueueSize >= 0, "subscriberQueueSize must not be negative");
         this.executor = Preconditions.checkNotNull(executor);
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.overflowPolicy = Preconditions.checkNotNull(overflowPolicy);
 
         disruptor = new Disruptor<>(DOMNotificationRouterEvent.FACTORY, queueDepth, executor, ProducerType.MULTI, strategy);
         disruptor.handleEventsWith(DISPATCH_NOTIFICATIONS);
@@ -94,22 +109,49 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
     public static DOMNotificationRouter create(final int queueDepth) {
         final ExecutorService executor = Executors.newCachedThreadPool();
 
-        return new DOMNotificationRouter(executor, queueDepth, DEFAULT_STRATEGY);
+        return new DOMNotificationRouter(executor, queueDepth, DEFAULT_STRATEGY, 0, NotificationOverflowPolicy.BLOCK);
     }
 
     public static DOMNotificationRouter create(final int queueDepth, final long spinTime, final long parkTime, final TimeUnit unit) {
+        return create(queueDepth, spinTime, parkTime, unit, 0, NotificationOverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Creates a router which queues notifications separately for each subscriber.
+     *
+     * @param subscriberQueueSize maximum number of notifications queued for a subscriber, 0 to deliver notifications
+     *        to subscribers directly from the Disruptor
+     * @param overflowPolicy what to do when a subscriber's queue is full
+     */
+    public static DOMNotificationRouter create(final int queueDepth, final long spinTime, final long parkTime, final TimeUnit unit,
+            final int subscriberQueueSize, final NotificationOverflowPolicy overflowPolicy) {
         final ExecutorService executor = Executors.newCachedThreadPool();
         final WaitStrategy strategy = PhasedBackoffWaitStrategy.withLock(spinTime, parkTime, unit);
 
-        return new DOMNotificationRouter(executor, queueDepth, strategy);
+        return new DOMNotificationRouter(executor, queueDepth, strategy, subscriberQueueSize, overflowPolicy);
     }
 
     @Override
     public synchronized <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(final T listener, final Collection<SchemaPath> types) {
+        final DOMNotificationSubscriberQueue queue;
+        final ListenerRegistration<DOMNotificationListener> queueReg;
+        if (subscriberQueueSize > 0) {
+            queue = new DOMNotificationSubscriberQueue(listener, subscriberQueueSize, overflowPolicy, executor);
+            queueReg = new AbstractListenerRegistration<DOMNotificationListener>(queue) {
+                @Override
+                protected void removeRegistration() {
+                    // Only ever routed to, removed via the registration handed out below
+                }
+            };
+        } else {
+            queue = null;
+            queueReg = null;
+        }
+
         final ListenerRegistration<T> reg = new AbstractListenerRegistration<T>(listener) {
             @Override
             protected void removeRegistration() {
-                final ListenerRegistration<T> me = this;
+                final ListenerRegistration<?> me = queueReg != null ? queueReg : this;
 
                 synchronized (DOMNotificationRouter.this) {
                     replaceListeners(ImmutableMultimap.copyOf(Multimaps.filterValues(listeners, new Predicate<ListenerRegistration<? extends DOMNotificationListener>>() {
@@ -119,6 +161,10 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
                         }
                     })));
                 }
+
+                if (queue != null) {
+                    queue.close();
+                }
             }
         };
 
@@ -126,8 +172,9 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
             final Builder<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> b = ImmutableMultimap.builder();
             b.putAll(listeners);
 
+            final ListenerRegistration<? extends DOMNotificationListener> routed = queueReg != null ? queueReg : reg;
             for (final SchemaPath t : types) {
-                b.put(t, reg);
+                b.put(t, routed);
             }
 
             replaceListeners(b.build());
@@ -243,8 +290,42 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
         throw new UnsupportedOperationException("Not implemented yet");
     }
 
+    public int getSubscriberQueueSize() {
+        return subscriberQueueSize;
+    }
+
+    public NotificationOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Returns the queue statistics of each current subscriber, empty if subscribers are not queued separately.
+     */
+    public List<NotificationSubscriberStats> getSubscriberStats() {
+        final Set<DOMNotificationSubscriberQueue> queues = subscriberQueues();
+        final List<NotificationSubscriberStats> stats = new ArrayList<>(queues.size());
+        for (final DOMNotificationSubscriberQueue queue : queues) {
+            stats.add(queue.getStats());
+        }
+        return stats;
+    }
+
+    private Set<DOMNotificationSubscriberQueue> subscriberQueues() {
+        final Set<DOMNotificationSubscriberQueue> queues = new LinkedHashSet<>();
+        for (final ListenerRegistration<? extends DOMNotificationListener> reg : listeners.values()) {
+            if (reg.getInstance() instanceof DOMNotificationSubscriberQueue) {
+                queues.add((DOMNotificationSubscriberQueue) reg.getInstance());
+            }
+        }
+        return queues;
+    }
+
     @Override
     public void close() {
+        // Release the dispatch thread should it be blocked on a full subscriber queue
+        for (final DOMNotificationSubscriberQueue queue : subscriberQueues()) {
+            queue.close();
+        }
         disruptor.shutdown();
         executor.shutdown();
     }
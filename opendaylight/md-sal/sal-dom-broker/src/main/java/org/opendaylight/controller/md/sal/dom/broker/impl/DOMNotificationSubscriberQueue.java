@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.controller.md.sal.dom.broker.impl.jmx.NotificationSubscriberStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded queue in front of a single subscriber of {@link DOMNotificationRouter}. The router's dispatch stage
+ * only enqueues here, while a task on the router's executor drains the queue into the subscriber, so a slow
+ * subscriber delays only its own notifications. When the queue is full the configured
+ * {@link NotificationOverflowPolicy} decides what happens to the new notification.
+ */
+final class DOMNotificationSubscriberQueue implements DOMNotificationListener {
+    private static final Logger LOG = LoggerFactory.getLogger(DOMNotificationSubscriberQueue.class);
+
+    private static final class Entry {
+        private final long enqueuedNanos = System.nanoTime();
+        private DOMNotification notification;
+
+        Entry(final DOMNotification notification) {
+            this.notification = notification;
+        }
+    }
+
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    private final DOMNotificationListener listener;
+    private final int capacity;
+    private final NotificationOverflowPolicy policy;
+    private final Executor executor;
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    @GuardedBy("this")
+    private final Deque<Entry> queue = new ArrayDeque<>();
+    @GuardedBy("this")
+    private boolean draining;
+    @GuardedBy("this")
+    private boolean closed;
+
+    DOMNotificationSubscriberQueue(final DOMNotificationListener listener, final int capacity,
+            final NotificationOverflowPolicy policy, final Executor executor) {
+        Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+        this.listener = Preconditions.checkNotNull(listener);
+        this.capacity = capacity;
+        this.policy = Preconditions.checkNotNull(policy);
+        this.executor = Preconditions.checkNotNull(executor);
+    }
+
+    @Override
+    public synchronized void onNotification(final DOMNotification notification) {
+        if (closed) {
+            return;
+        }
+
+        if (queue.size() >= capacity && !makeRoom(notification)) {
+            return;
+        }
+
+        queue.add(new Entry(notification));
+        if (!draining) {
+            scheduleDrain();
+        }
+    }
+
+    @GuardedBy("this")
+    private void scheduleDrain() {
+        try {
+            executor.execute(drainTask);
+            draining = true;
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Executor rejected delivery to {}, router is shutting down", listener, e);
+        }
+    }
+
+    /**
+     * Applies the overflow policy to a full queue.
+     *
+     * @return true if the notification should be enqueued, false if it has been dealt with
+     */
+    @GuardedBy("this")
+    private boolean makeRoom(final DOMNotification notification) {
+        switch (policy) {
+        case BLOCK:
+            try {
+                while (queue.size() >= capacity && !closed) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                LOG.warn("Interrupted while waiting to queue notification for {}, dropping it", listener);
+                Thread.currentThread().interrupt();
+                droppedCount.incrementAndGet();
+                return false;
+            }
+
+            return !closed;
+        case COALESCE:
+            for (Entry e : queue) {
+                if (notification.getType().equals(e.notification.getType())) {
+                    e.notification = notification;
+                    coalescedCount.incrementAndGet();
+                    return false;
+                }
+            }
+
+            // Nothing to coalesce with - make room as for DROP_OLDEST
+            //$FALL-THROUGH$
+        case DROP_OLDEST:
+        default:
+            queue.poll();
+            droppedCount.incrementAndGet();
+            return true;
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                final DOMNotification notification;
+                synchronized (this) {
+                    final Entry e = queue.poll();
+                    if (e == null) {
+                        return;
+                    }
+
+                    notification = e.notification;
+                    notifyAll();
+                }
+
+                try {
+                    listener.onNotification(notification);
+                    deliveredCount.incrementAndGet();
+                } catch (Exception e) {
+                    LOG.warn("Uncaught exception delivering notification {} to {}", notification, listener, e);
+                }
+            }
+        } finally {
+            // Also reached if the listener throws an Error. Notifications queued since the last poll would not
+            // schedule a drain while we were still draining, so pick them up with a new task.
+            synchronized (this) {
+                draining = false;
+                if (!queue.isEmpty() && !closed) {
+                    scheduleDrain();
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards the queued notifications and releases any publisher blocked on this queue.
+     */
+    synchronized void close() {
+        closed = true;
+        queue.clear();
+        notifyAll();
+    }
+
+    synchronized NotificationSubscriberStats getStats() {
+        final Entry head = queue.peek();
+        final long lagMillis = head == null ? 0 :
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - head.enqueuedNanos);
+        return new NotificationSubscriberStats(listener.getClass().getName(), queue.size(), lagMillis,
+                deliveredCount.get(), droppedCount.get(), coalescedCount.get());
+    }
+
+    @Override
+    public String toString() {
+        return "DOMNotificationSubscriberQueue [listener=" + listener + ", capacity=" + capacity + ", policy="
+                + policy + "]";
+    }
+}
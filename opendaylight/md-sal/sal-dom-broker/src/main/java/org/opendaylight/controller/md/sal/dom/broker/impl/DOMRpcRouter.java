@@ -15,8 +15,10 @@ import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -48,6 +50,11 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
     private Collection<ListenerRegistration<? extends DOMRpcAvailabilityListener>> listeners = Collections.emptyList();
     private volatile DOMRpcRoutingTable routingTable = DOMRpcRoutingTable.EMPTY;
 
+    // The availability notification still open for further changes, if any. Changes made while the listener
+    // notifier is busy are thus delivered in one batch rather than one task per registration.
+    @GuardedBy("this")
+    private AvailabilityNotification pendingNotification;
+
     @Override
     public <T extends DOMRpcImplementation> DOMRpcImplementationRegistration<T> registerRpcImplementation(final T implementation, final DOMRpcIdentifier... rpcs) {
         return registerRpcImplementation(implementation, ImmutableSet.copyOf(rpcs));
@@ -69,46 +76,22 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         final Collection<DOMRpcIdentifier> removedRpcs = notPresentRpcs(newTable, rpcs);
         routingTable = newTable;
         if(!removedRpcs.isEmpty()) {
-            final Collection<ListenerRegistration<? extends DOMRpcAvailabilityListener>> capturedListeners = listeners;
-            listenerNotifier.execute(new Runnable() {
-                @Override
-                public void run() {
-                    for (final ListenerRegistration<? extends DOMRpcAvailabilityListener> l : capturedListeners) {
-                        // Need to ensure removed listeners do not get notified
-                        synchronized (DOMRpcRouter.this) {
-                            if (listeners.contains(l)) {
-                                l.getInstance().onRpcUnavailable(removedRpcs);
-                            }
-                        }
-                    }
-                }
-            });
+            notifyListeners(false, removedRpcs);
         }
     }
 
     @Override
     public synchronized <T extends DOMRpcImplementation> DOMRpcImplementationRegistration<T> registerRpcImplementation(final T implementation, final Set<DOMRpcIdentifier> rpcs) {
         final DOMRpcRoutingTable oldTable = routingTable;
-        final DOMRpcRoutingTable newTable = oldTable.add(implementation, rpcs);
 
+        // The table is updated in place, so this has to be worked out beforehand
         final Collection<DOMRpcIdentifier> addedRpcs = notPresentRpcs(oldTable, rpcs);
+
+        final DOMRpcRoutingTable newTable = oldTable.add(implementation, rpcs);
         routingTable = newTable;
 
         if(!addedRpcs.isEmpty()) {
-            final Collection<ListenerRegistration<? extends DOMRpcAvailabilityListener>> capturedListeners = listeners;
-            listenerNotifier.execute(new Runnable() {
-                @Override
-                public void run() {
-                    for (final ListenerRegistration<? extends DOMRpcAvailabilityListener> l : capturedListeners) {
-                        // Need to ensure removed listeners do not get notified
-                        synchronized (DOMRpcRouter.this) {
-                            if (listeners.contains(l)) {
-                                l.getInstance().onRpcAvailable(addedRpcs);
-                            }
-                        }
-                    }
-                }
-            });
+            notifyListeners(true, addedRpcs);
         }
 
         return new AbstractDOMRpcImplementationRegistration<T>(implementation) {
@@ -119,12 +102,24 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         };
     }
 
+    @GuardedBy("this")
+    private void notifyListeners(final boolean available, final Collection<DOMRpcIdentifier> rpcs) {
+        if (pendingNotification == null) {
+            pendingNotification = new AvailabilityNotification(listeners);
+            listenerNotifier.execute(pendingNotification);
+        }
+
+        pendingNotification.addChange(available, rpcs);
+    }
+
     @Override
     public CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final SchemaPath type, final NormalizedNode<?, ?> input) {
         return routingTable.invokeRpc(type, input);
     }
 
     private synchronized void removeListener(final ListenerRegistration<? extends DOMRpcAvailabilityListener> reg) {
+        // Changes made from now on must not be delivered to the removed listener
+        pendingNotification = null;
         listeners = ImmutableList.copyOf(Collections2.filter(listeners, new Predicate<Object>() {
             @Override
             public boolean apply(final Object input) {
@@ -142,6 +137,9 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
             }
         };
 
+        // Changes made before now are covered by the initial notification of the new listener
+        pendingNotification = null;
+
         final Builder<ListenerRegistration<? extends DOMRpcAvailabilityListener>> b = ImmutableList.builder();
         b.addAll(listeners);
         b.add(ret);
@@ -177,4 +175,63 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         listenerNotifier.shutdown();
     }
 
+    /**
+     * A batch of RPC availability changes delivered to the listeners registered when it was created. Consecutive
+     * changes of the same kind are merged so each listener is called once per run of additions or removals.
+     */
+    private final class AvailabilityNotification implements Runnable {
+        private final Collection<ListenerRegistration<? extends DOMRpcAvailabilityListener>> capturedListeners;
+        private final List<AvailabilityChange> changes = new ArrayList<>();
+
+        AvailabilityNotification(final Collection<ListenerRegistration<? extends DOMRpcAvailabilityListener>> capturedListeners) {
+            this.capturedListeners = capturedListeners;
+        }
+
+        @GuardedBy("DOMRpcRouter.this")
+        void addChange(final boolean available, final Collection<DOMRpcIdentifier> rpcs) {
+            final AvailabilityChange last = changes.isEmpty() ? null : changes.get(changes.size() - 1);
+            if (last != null && last.available == available) {
+                last.rpcs.addAll(rpcs);
+            } else {
+                changes.add(new AvailabilityChange(available, rpcs));
+            }
+        }
+
+        @Override
+        public void run() {
+            synchronized (DOMRpcRouter.this) {
+                // Close the batch - any further changes go into a new one
+                if (pendingNotification == this) {
+                    pendingNotification = null;
+                }
+            }
+
+            for (final AvailabilityChange change : changes) {
+                final Collection<DOMRpcIdentifier> rpcs = Collections.unmodifiableCollection(change.rpcs);
+                for (final ListenerRegistration<? extends DOMRpcAvailabilityListener> l : capturedListeners) {
+                    // Need to ensure removed listeners do not get notified
+                    synchronized (DOMRpcRouter.this) {
+                        if (listeners.contains(l)) {
+                            if (change.available) {
+                                l.getInstance().onRpcAvailable(rpcs);
+                            } else {
+                                l.getInstance().onRpcUnavailable(rpcs);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class AvailabilityChange {
+        final boolean available;
+        final Collection<DOMRpcIdentifier> rpcs;
+
+        AvailabilityChange(final boolean available, final Collection<DOMRpcIdentifier> rpcs) {
+            this.available = available;
+            this.rpcs = new ArrayList<>(rpcs);
+        }
+    }
+
 }
@@ -7,22 +7,24 @@
  */
 package org.opendaylight.controller.md.sal.dom.broker.impl;
 
-import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
-import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
@@ -39,17 +41,18 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.opendaylight.yangtools.yang.model.api.UnknownSchemaNode;
 
+/**
+ * The RPC routing table. The map of RPC types is immutable and only copied when an RPC type gains its first or
+ * loses its last implementation, while the contexts of each type are indexed by an entry updated in place - see
+ * {@link AbstractDOMRpcRoutingTableEntry}. Registering a routed RPC for one more context therefore doesn't copy
+ * the table and lookups need no locking. Updates must be serialized by the caller, and {@link #add} and
+ * {@link #remove} may return this table updated rather than a new one.
+ */
 final class DOMRpcRoutingTable {
     private static final QName CONTEXT_REFERENCE = QName.cachedReference(QName.create("urn:opendaylight:yang:extension:yang-ext", "2013-07-09", "context-reference"));
 
     static final DOMRpcRoutingTable EMPTY = new DOMRpcRoutingTable();
-    private static final Function<AbstractDOMRpcRoutingTableEntry, Set<YangInstanceIdentifier>> EXTRACT_IDENTIFIERS =
-            new Function<AbstractDOMRpcRoutingTableEntry, Set<YangInstanceIdentifier>>() {
-                @Override
-                public Set<YangInstanceIdentifier> apply(final AbstractDOMRpcRoutingTableEntry input) {
-                    return input.registeredIdentifiers();
-                }
-    };
+
     private final Map<SchemaPath, AbstractDOMRpcRoutingTableEntry> rpcs;
     private final SchemaContext schemaContext;
 
@@ -79,27 +82,32 @@ final class DOMRpcRoutingTable {
         // First decompose the identifiers to a multimap
         final ListMultimap<SchemaPath, YangInstanceIdentifier> toAdd = decomposeIdentifiers(rpcs);
 
-        // Now iterate over existing entries, modifying them as appropriate...
-        final Builder<SchemaPath, AbstractDOMRpcRoutingTableEntry> mb = ImmutableMap.builder();
-        for (Entry<SchemaPath, AbstractDOMRpcRoutingTableEntry> re : this.rpcs.entrySet()) {
-            List<YangInstanceIdentifier> newRpcs = new ArrayList<>(toAdd.removeAll(re.getKey()));
-            if (!newRpcs.isEmpty()) {
-                final AbstractDOMRpcRoutingTableEntry ne = re.getValue().add(implementation, newRpcs);
-                mb.put(re.getKey(), ne);
+        // Now add to the existing entries in place, collecting the types we do not have an entry for
+        final List<Entry<SchemaPath, Collection<YangInstanceIdentifier>>> newTypes = new ArrayList<>();
+        for (Entry<SchemaPath, Collection<YangInstanceIdentifier>> e : toAdd.asMap().entrySet()) {
+            final AbstractDOMRpcRoutingTableEntry re = this.rpcs.get(e.getKey());
+            if (re != null) {
+                re.add(implementation, e.getValue());
             } else {
-                mb.put(re);
+                newTypes.add(e);
             }
         }
 
-        // Finally add whatever is left in the decomposed multimap
-        for (Entry<SchemaPath, Collection<YangInstanceIdentifier>> e : toAdd.asMap().entrySet()) {
-            final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
+        if (newTypes.isEmpty()) {
+            return this;
+        }
+
+        // Finally create entries for the new types
+        final Builder<SchemaPath, AbstractDOMRpcRoutingTableEntry> mb = ImmutableMap.builder();
+        mb.putAll(this.rpcs);
+        for (Entry<SchemaPath, Collection<YangInstanceIdentifier>> e : newTypes) {
+            final ConcurrentMap<YangInstanceIdentifier, List<DOMRpcImplementation>> impls = new ConcurrentHashMap<>();
             final List<DOMRpcImplementation> v = Collections.singletonList(implementation);
             for (YangInstanceIdentifier i : e.getValue()) {
-                vb.put(i, v);
+                impls.put(i, v);
             }
 
-            mb.put(e.getKey(), createRpcEntry(schemaContext, e.getKey(), vb.build()));
+            mb.put(e.getKey(), createRpcEntry(schemaContext, e.getKey(), impls));
         }
 
         return new DOMRpcRoutingTable(mb.build(), schemaContext);
@@ -113,21 +121,27 @@ final class DOMRpcRoutingTable {
         // First decompose the identifiers to a multimap
         final ListMultimap<SchemaPath, YangInstanceIdentifier> toRemove = decomposeIdentifiers(rpcs);
 
-        // Now iterate over existing entries, modifying them as appropriate...
+        // Now remove from the entries in place, collecting the ones left empty. Whatever has no entry was not
+        // there in the first place.
+        final Set<SchemaPath> emptied = new HashSet<>();
+        for (Entry<SchemaPath, Collection<YangInstanceIdentifier>> e : toRemove.asMap().entrySet()) {
+            final AbstractDOMRpcRoutingTableEntry re = this.rpcs.get(e.getKey());
+            if (re != null && re.remove(implementation, e.getValue())) {
+                emptied.add(e.getKey());
+            }
+        }
+
+        if (emptied.isEmpty()) {
+            return this;
+        }
+
         final Builder<SchemaPath, AbstractDOMRpcRoutingTableEntry> b = ImmutableMap.builder();
         for (Entry<SchemaPath, AbstractDOMRpcRoutingTableEntry> e : this.rpcs.entrySet()) {
-            final List<YangInstanceIdentifier> removed = new ArrayList<>(toRemove.removeAll(e.getKey()));
-            if (!removed.isEmpty()) {
-                final AbstractDOMRpcRoutingTableEntry ne = e.getValue().remove(implementation, removed);
-                if (ne != null) {
-                    b.put(e.getKey(), ne);
-                }
-            } else {
+            if (!emptied.contains(e.getKey())) {
                 b.put(e);
             }
         }
 
-        // All done, whatever is in toRemove, was not there in the first place
         return new DOMRpcRoutingTable(b.build(), schemaContext);
     }
 
@@ -136,8 +150,16 @@ final class DOMRpcRoutingTable {
         return contexts != null && contexts.containsContext(input.getContextReference());
     }
 
+    /**
+     * Returns a snapshot of the registered RPCs.
+     */
     Map<SchemaPath, Set<YangInstanceIdentifier>> getRpcs() {
-        return Maps.transformValues(rpcs, EXTRACT_IDENTIFIERS);
+        final Builder<SchemaPath, Set<YangInstanceIdentifier>> b = ImmutableMap.builder();
+        for (Entry<SchemaPath, AbstractDOMRpcRoutingTableEntry> e : rpcs.entrySet()) {
+            b.put(e.getKey(), ImmutableSet.copyOf(e.getValue().registeredIdentifiers()));
+        }
+
+        return b.build();
     }
 
     private static RpcDefinition findRpcDefinition(final SchemaContext context, final SchemaPath schemaPath) {
@@ -156,7 +178,7 @@ final class DOMRpcRoutingTable {
         return null;
     }
 
-    private static AbstractDOMRpcRoutingTableEntry createRpcEntry(final SchemaContext context, final SchemaPath key, final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> implementations) {
+    private static AbstractDOMRpcRoutingTableEntry createRpcEntry(final SchemaContext context, final SchemaPath key, final ConcurrentMap<YangInstanceIdentifier, List<DOMRpcImplementation>> implementations) {
         final RpcDefinition rpcDef = findRpcDefinition(context, key);
         if (rpcDef != null) {
             final ContainerSchemaNode input = rpcDef.getInput();
@@ -190,6 +212,7 @@ final class DOMRpcRoutingTable {
         final Builder<SchemaPath, AbstractDOMRpcRoutingTableEntry> b = ImmutableMap.builder();
 
         for (Entry<SchemaPath, AbstractDOMRpcRoutingTableEntry> e : rpcs.entrySet()) {
+            // The new entries share the context index of the old ones.
             b.put(e.getKey(), createRpcEntry(context, e.getKey(), e.getValue().getImplementations()));
         }
 
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+/**
+ * What {@link DOMNotificationRouter} does when a notification is routed to a subscriber whose queue is full.
+ */
+public enum NotificationOverflowPolicy {
+    /**
+     * Wait for the subscriber to make room. This stalls delivery to all subscribers and eventually pushes back
+     * on publishers once the router's ring buffer fills up.
+     */
+    BLOCK,
+    /**
+     * Drop the oldest queued notification to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * Replace a queued notification of the same type with the new one, so the subscriber only sees the latest.
+     * If none of the queued notifications is of the same type, the oldest one is dropped.
+     */
+    COALESCE;
+
+    /**
+     * Parses a policy from its configuration name, eg "drop-oldest".
+     *
+     * @throws IllegalArgumentException if the name does not match a policy
+     */
+    public static NotificationOverflowPolicy forName(final String name) {
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+}
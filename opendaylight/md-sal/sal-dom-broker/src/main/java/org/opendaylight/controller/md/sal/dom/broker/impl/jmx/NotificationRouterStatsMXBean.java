@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl.jmx;
+
+import java.util.List;
+
+/**
+ * MXBean interface for retrieving the per-subscriber queue statistics of the DOMNotificationRouter.
+ */
+public interface NotificationRouterStatsMXBean {
+
+    /**
+     * Returns the configured maximum size of each subscriber's queue, 0 if notifications are delivered to
+     * subscribers directly.
+     */
+    int getMaxSubscriberQueueSize();
+
+    /**
+     * Returns the configured policy applied when a subscriber's queue is full.
+     */
+    String getOverflowPolicy();
+
+    /**
+     * Returns the queue statistics of each current subscriber.
+     */
+    List<NotificationSubscriberStats> getSubscriberStats();
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl.jmx;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Statistics of the queue of one subscriber of the DOMNotificationRouter.
+ */
+public class NotificationSubscriberStats {
+    private final String listenerClassName;
+    private final int queueSize;
+    private final long lagMillis;
+    private final long deliveredCount;
+    private final long droppedCount;
+    private final long coalescedCount;
+
+    @ConstructorProperties({"listenerClassName", "queueSize", "lagMillis", "deliveredCount", "droppedCount",
+        "coalescedCount"})
+    public NotificationSubscriberStats(final String listenerClassName, final int queueSize, final long lagMillis,
+            final long deliveredCount, final long droppedCount, final long coalescedCount) {
+        this.listenerClassName = listenerClassName;
+        this.queueSize = queueSize;
+        this.lagMillis = lagMillis;
+        this.deliveredCount = deliveredCount;
+        this.droppedCount = droppedCount;
+        this.coalescedCount = coalescedCount;
+    }
+
+    public String getListenerClassName() {
+        return listenerClassName;
+    }
+
+    /**
+     * Returns the number of notifications waiting to be delivered.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Returns how long the oldest queued notification has been waiting, in milliseconds.
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+}
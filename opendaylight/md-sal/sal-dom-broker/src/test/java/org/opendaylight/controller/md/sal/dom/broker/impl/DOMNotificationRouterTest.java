@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.controller.md.sal.dom.broker.impl.jmx.NotificationSubscriberStats;
+import org.opendaylight.controller.md.sal.dom.store.impl.TestModel;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMNotificationRouterTest {
+    private static final SchemaPath TYPE = SchemaPath.create(true, TestModel.TEST_QNAME);
+    private static final SchemaPath OTHER_TYPE = SchemaPath.create(true, TestModel.OUTER_LIST_QNAME);
+
+    private DOMNotificationRouter router;
+
+    @After
+    public void tearDown() {
+        if (router != null) {
+            router.close();
+        }
+    }
+
+    @Test
+    public void testSlowSubscriberDoesNotDelayOthers() throws Exception {
+        router = DOMNotificationRouter.create(16, 1, 30, TimeUnit.MILLISECONDS, 4, NotificationOverflowPolicy.DROP_OLDEST);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingListener slow = new BlockingListener(release);
+        final CollectingListener fast = new CollectingListener(3);
+        router.registerNotificationListener(slow, TYPE);
+        router.registerNotificationListener(fast, TYPE);
+
+        for (int i = 0; i < 3; i++) {
+            router.putNotification(notification(TYPE));
+        }
+
+        assertTrue("Fast listener not notified", fast.latch.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        router = DOMNotificationRouter.create(16, 1, 30, TimeUnit.MILLISECONDS, 2, NotificationOverflowPolicy.DROP_OLDEST);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingListener slow = new BlockingListener(release);
+        router.registerNotificationListener(slow, TYPE);
+
+        // The first notification is taken by the listener, the next two fill its queue
+        final List<DOMNotification> sent = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            sent.add(notification(TYPE));
+            router.putNotification(sent.get(i)).get(5, TimeUnit.SECONDS);
+            if (i == 0) {
+                assertTrue("Listener not invoked", slow.entered.await(5, TimeUnit.SECONDS));
+            }
+        }
+
+        NotificationSubscriberStats stats = router.getSubscriberStats().get(0);
+        assertEquals("Queue size", 2, stats.getQueueSize());
+        assertEquals("Dropped", 2, stats.getDroppedCount());
+
+        release.countDown();
+        waitForDelivered(3);
+
+        assertEquals("Received", sent.subList(0, 1), slow.received.subList(0, 1));
+        assertEquals("Received", sent.subList(3, 5), slow.received.subList(1, 3));
+    }
+
+    @Test
+    public void testCoalesce() throws Exception {
+        router = DOMNotificationRouter.create(16, 1, 30, TimeUnit.MILLISECONDS, 2, NotificationOverflowPolicy.COALESCE);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingListener slow = new BlockingListener(release);
+        router.registerNotificationListener(slow, TYPE, OTHER_TYPE);
+
+        router.putNotification(notification(TYPE)).get(5, TimeUnit.SECONDS);
+        assertTrue("Listener not invoked", slow.entered.await(5, TimeUnit.SECONDS));
+
+        router.putNotification(notification(TYPE)).get(5, TimeUnit.SECONDS);
+        router.putNotification(notification(OTHER_TYPE)).get(5, TimeUnit.SECONDS);
+        final DOMNotification latest = notification(TYPE);
+        router.putNotification(latest).get(5, TimeUnit.SECONDS);
+
+        final NotificationSubscriberStats stats = router.getSubscriberStats().get(0);
+        assertEquals("Coalesced", 1, stats.getCoalescedCount());
+        assertEquals("Dropped", 0, stats.getDroppedCount());
+
+        release.countDown();
+        waitForDelivered(3);
+        assertSame(latest, slow.received.get(1));
+        assertSame(OTHER_TYPE, slow.received.get(2).getType());
+    }
+
+    @Test
+    public void testCloseRegistration() throws Exception {
+        router = DOMNotificationRouter.create(16, 1, 30, TimeUnit.MILLISECONDS, 2, NotificationOverflowPolicy.BLOCK);
+
+        final ListenerRegistration<CollectingListener> reg = router.registerNotificationListener(
+                new CollectingListener(1), TYPE);
+        assertEquals(1, router.getSubscriberStats().size());
+
+        reg.close();
+        assertEquals(Collections.emptyList(), router.getSubscriberStats());
+    }
+
+    private void waitForDelivered(final long expected) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (router.getSubscriberStats().get(0).getDeliveredCount() < expected) {
+            assertTrue("Notifications not delivered", System.nanoTime() < deadline);
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static DOMNotification notification(final SchemaPath type) {
+        final DOMNotification notification = mock(DOMNotification.class);
+        doReturn(type).when(notification).getType();
+        return notification;
+    }
+
+    private static final class CollectingListener implements DOMNotificationListener {
+        private final CountDownLatch latch;
+
+        CollectingListener(final int expected) {
+            latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onNotification(final DOMNotification notification) {
+            latch.countDown();
+        }
+    }
+
+    private static final class BlockingListener implements DOMNotificationListener {
+        private final List<DOMNotification> received = Collections.synchronizedList(new ArrayList<DOMNotification>());
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        BlockingListener(final CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onNotification(final DOMNotification notification) {
+            received.add(notification);
+            entered.countDown();
+            Uninterruptibles.awaitUninterruptibly(release, 5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcAvailabilityListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationNotAvailableException;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistration;
+import org.opendaylight.controller.md.sal.dom.store.impl.TestModel;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMRpcRouterTest {
+    private static final SchemaPath RPC_TYPE = SchemaPath.create(true, TestModel.TWO_QNAME);
+    private static final SchemaPath OTHER_RPC_TYPE = SchemaPath.create(true, TestModel.THREE_QNAME);
+
+    private final DOMRpcRouter router = new DOMRpcRouter();
+
+    @After
+    public void tearDown() {
+        router.close();
+    }
+
+    private static DOMRpcIdentifier routedRpc(final SchemaPath type, final int context) {
+        return DOMRpcIdentifier.create(type, YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, context).build());
+    }
+
+    @Test
+    public void testRoutingTableAddAndRemoveInPlace() {
+        final DOMRpcImplementation impl = mock(DOMRpcImplementation.class);
+
+        DOMRpcRoutingTable table = DOMRpcRoutingTable.EMPTY.add(impl, ImmutableSet.of(routedRpc(RPC_TYPE, 1)));
+        assertTrue(table.contains(routedRpc(RPC_TYPE, 1)));
+
+        // A further context of a known type is added to the existing table
+        assertSame(table, table.add(impl, ImmutableSet.of(routedRpc(RPC_TYPE, 2))));
+        assertTrue(table.contains(routedRpc(RPC_TYPE, 2)));
+
+        final DOMRpcRoutingTable withOther = table.add(impl, ImmutableSet.of(routedRpc(OTHER_RPC_TYPE, 1)));
+        assertEquals(ImmutableSet.of(RPC_TYPE, OTHER_RPC_TYPE), withOther.getRpcs().keySet());
+
+        assertSame(withOther, withOther.remove(impl, ImmutableSet.of(routedRpc(RPC_TYPE, 1))));
+        assertFalse(withOther.contains(routedRpc(RPC_TYPE, 1)));
+        assertTrue(withOther.contains(routedRpc(RPC_TYPE, 2)));
+
+        final DOMRpcRoutingTable removed = withOther.remove(impl, ImmutableSet.of(routedRpc(RPC_TYPE, 2)));
+        assertEquals(ImmutableSet.of(OTHER_RPC_TYPE), removed.getRpcs().keySet());
+    }
+
+    @Test
+    public void testRoutingTableWithMultipleImplementations() {
+        final DOMRpcImplementation impl1 = mock(DOMRpcImplementation.class);
+        final DOMRpcImplementation impl2 = mock(DOMRpcImplementation.class);
+
+        DOMRpcRoutingTable table = DOMRpcRoutingTable.EMPTY.add(impl1, ImmutableSet.of(routedRpc(RPC_TYPE, 1)));
+        table = table.add(impl2, ImmutableSet.of(routedRpc(RPC_TYPE, 1)));
+
+        table = table.remove(impl1, ImmutableSet.of(routedRpc(RPC_TYPE, 1)));
+        assertTrue(table.contains(routedRpc(RPC_TYPE, 1)));
+
+        table = table.remove(impl2, ImmutableSet.of(routedRpc(RPC_TYPE, 1)));
+        assertFalse(table.contains(routedRpc(RPC_TYPE, 1)));
+        assertTrue(table.getRpcs().isEmpty());
+    }
+
+    @Test
+    public void testAvailabilityNotifications() throws Exception {
+        final TestListener listener = new TestListener();
+        router.registerRpcListener(listener);
+
+        final DOMRpcImplementation impl = mock(DOMRpcImplementation.class);
+        final Set<DOMRpcImplementationRegistration<?>> regs = new HashSet<>();
+        final Set<DOMRpcIdentifier> expected = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            final DOMRpcIdentifier rpc = routedRpc(RPC_TYPE, i);
+            expected.add(rpc);
+            regs.add(router.registerRpcImplementation(impl, rpc));
+        }
+
+        listener.waitForAvailable(expected);
+
+        for (DOMRpcImplementationRegistration<?> reg : regs) {
+            reg.close();
+        }
+
+        listener.waitForUnavailable(expected);
+    }
+
+    @Test
+    public void testInvokeUnknownRpc() throws Exception {
+        try {
+            router.invokeRpc(RPC_TYPE, null).checkedGet(5, TimeUnit.SECONDS);
+            fail("Expected DOMRpcImplementationNotAvailableException");
+        } catch (DOMRpcImplementationNotAvailableException e) {
+            // Expected
+        }
+    }
+
+    private static class TestListener implements DOMRpcAvailabilityListener {
+        private final Set<DOMRpcIdentifier> available = new HashSet<>();
+        private final Set<DOMRpcIdentifier> unavailable = new HashSet<>();
+
+        @Override
+        public synchronized void onRpcAvailable(final Collection<DOMRpcIdentifier> rpcs) {
+            available.addAll(rpcs);
+        }
+
+        @Override
+        public synchronized void onRpcUnavailable(final Collection<DOMRpcIdentifier> rpcs) {
+            unavailable.addAll(rpcs);
+        }
+
+        void waitForAvailable(final Set<DOMRpcIdentifier> expected) {
+            waitFor(available, expected, "available");
+        }
+
+        void waitForUnavailable(final Set<DOMRpcIdentifier> expected) {
+            waitFor(unavailable, expected, "unavailable");
+        }
+
+        private void waitFor(final Set<DOMRpcIdentifier> actual, final Set<DOMRpcIdentifier> expected,
+                final String what) {
+            for (int i = 0; i < 100; i++) {
+                synchronized (this) {
+                    if (actual.containsAll(expected)) {
+                        return;
+                    }
+                }
+
+                Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+            }
+
+            synchronized (this) {
+                fail("Expected " + expected.size() + " " + what + " RPCs, got " + actual.size());
+            }
+        }
+    }
+}
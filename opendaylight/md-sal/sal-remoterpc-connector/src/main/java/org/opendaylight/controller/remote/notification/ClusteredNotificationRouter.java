@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.notification;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationPublishService;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationService;
+import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers the notifications received from other members to the listeners registered through
+ * {@link RemoteNotificationService} on this member. It is kept apart from the local DOMNotificationService, so
+ * that listeners registered only there don't get other members' notifications.
+ * <p/>
+ * Notifications are delivered in the order published by a single thread. A notification offered while the queue
+ * of notifications waiting to be delivered is full is rejected.
+ */
+public final class ClusteredNotificationRouter implements AutoCloseable, DOMNotificationService,
+        DOMNotificationPublishService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClusteredNotificationRouter.class);
+    private static final ListenableFuture<Void> NO_LISTENERS = Futures.immediateFuture(null);
+
+    public static final int DEFAULT_QUEUE_DEPTH = 65536;
+
+    private final ListeningExecutorService executor;
+
+    @GuardedBy("this")
+    private volatile Multimap<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> listeners =
+            ImmutableMultimap.of();
+
+    public ClusteredNotificationRouter() {
+        this(DEFAULT_QUEUE_DEPTH);
+    }
+
+    ClusteredNotificationRouter(final int queueDepth) {
+        Preconditions.checkArgument(queueDepth > 0, "queueDepth must be positive");
+        executor = MoreExecutors.listeningDecorator(new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(queueDepth),
+                new ThreadFactoryBuilder().setNameFormat("clustered-notification-%d").setDaemon(true).build()));
+    }
+
+    @Override
+    public synchronized <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(
+            final T listener, final Collection<SchemaPath> types) {
+        final ListenerRegistration<T> reg = new AbstractListenerRegistration<T>(listener) {
+            @Override
+            protected void removeRegistration() {
+                removeListener(this);
+            }
+        };
+
+        final ImmutableMultimap.Builder<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> b =
+                ImmutableMultimap.builder();
+        b.putAll(listeners);
+        for (SchemaPath type : types) {
+            b.put(type, reg);
+        }
+        listeners = b.build();
+        return reg;
+    }
+
+    @Override
+    public <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(final T listener,
+            final SchemaPath... types) {
+        return registerNotificationListener(listener, Arrays.asList(types));
+    }
+
+    private synchronized void removeListener(final ListenerRegistration<? extends DOMNotificationListener> reg) {
+        final ImmutableMultimap.Builder<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> b =
+                ImmutableMultimap.builder();
+        for (Map.Entry<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> e :
+                listeners.entries()) {
+            if (e.getValue() != reg) {
+                b.put(e);
+            }
+        }
+        listeners = b.build();
+    }
+
+    @Override
+    public ListenableFuture<? extends Object> putNotification(final DOMNotification notification) {
+        return offerNotification(notification);
+    }
+
+    @Override
+    public ListenableFuture<? extends Object> offerNotification(final DOMNotification notification) {
+        final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers =
+                listeners.get(notification.getType());
+        if (subscribers.isEmpty()) {
+            return NO_LISTENERS;
+        }
+
+        try {
+            return executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    deliver(notification, subscribers);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Notification {} rejected", notification.getType(), e);
+            return REJECTED;
+        }
+    }
+
+    @Override
+    public ListenableFuture<? extends Object> offerNotification(final DOMNotification notification,
+            final long timeout, final TimeUnit unit) {
+        return offerNotification(notification);
+    }
+
+    private static void deliver(final DOMNotification notification,
+            final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+        for (ListenerRegistration<? extends DOMNotificationListener> reg : subscribers) {
+            final DOMNotificationListener listener = reg.getInstance();
+            if (listener == null) {
+                continue;
+            }
+
+            // A failing listener must not keep the notification from the others
+            try {
+                listener.onNotification(notification);
+            } catch (RuntimeException e) {
+                LOG.warn("Listener {} failed on notification {}", listener, notification.getType(), e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
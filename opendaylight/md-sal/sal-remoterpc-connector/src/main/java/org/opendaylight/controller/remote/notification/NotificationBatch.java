@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.notification;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputStreamReader;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeOutputStreamWriter;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.remote.rpc.RemoteRpcVersions;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+
+/**
+ * Notifications published on one member for the subscribers of another member, sent between their
+ * {@link NotificationBroker}s. The bodies are written by a single NormalizedNodeOutputStreamWriter.
+ */
+public class NotificationBatch implements Externalizable {
+    private static final long serialVersionUID = 1L;
+
+    private List<DOMNotification> notifications;
+
+    public NotificationBatch() {
+        // For Externalizable
+    }
+
+    public NotificationBatch(final List<? extends DOMNotification> notifications) {
+        Preconditions.checkArgument(!notifications.isEmpty(), "Batch must not be empty");
+        this.notifications = new ArrayList<>(notifications);
+    }
+
+    public List<DOMNotification> getNotifications() {
+        return Collections.unmodifiableList(notifications);
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        out.writeShort(RemoteRpcVersions.CURRENT_VERSION);
+        out.writeInt(notifications.size());
+
+        final NormalizedNodeOutputStreamWriter streamWriter = new NormalizedNodeOutputStreamWriter(out);
+        for (DOMNotification notification : notifications) {
+            streamWriter.writeYangInstanceIdentifier(
+                    YangInstanceIdentifier.of(notification.getType().getLastComponent()));
+            streamWriter.writeNormalizedNode(notification.getBody());
+        }
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        in.readShort(); // Read the version
+        final int size = in.readInt();
+
+        final NormalizedNodeInputStreamReader streamReader = new NormalizedNodeInputStreamReader(in);
+        notifications = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final YangInstanceIdentifier type = streamReader.readYangInstanceIdentifier();
+            final ContainerNode body = (ContainerNode) streamReader.readNormalizedNode();
+            notifications.add(new RemoteDOMNotification(type.getLastPathArgument().getNodeType(), body));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("size", notifications.size()).toString();
+    }
+}
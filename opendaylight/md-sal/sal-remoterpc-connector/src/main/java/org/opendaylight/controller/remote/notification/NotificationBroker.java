@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.notification;
+
+import akka.actor.ActorRef;
+import akka.actor.Props;
+import akka.japi.Creator;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationPublishService;
+import org.opendaylight.controller.remote.notification.NotificationRegistry.Messages.RemoteSubscribers;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Actor which sends notifications published on this member to the members which have subscribers for them, and
+ * publishes notifications received from other members to the {@link ClusteredNotificationRouter} of this member,
+ * which delivers them to the listeners registered through {@link RemoteNotificationService} only.
+ * <p/>
+ * Outgoing notifications are batched per destination member. A batch is sent when it reaches the maximum batch
+ * size, or once the notifications queued in the mailbox at the time the first one arrived have been processed,
+ * so batching adds no delay when the traffic is light.
+ */
+public class NotificationBroker extends AbstractUntypedActor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationBroker.class);
+
+    private static final Object FLUSH = new Object() {
+        @Override
+        public String toString() {
+            return "FLUSH";
+        }
+    };
+
+    private final DOMNotificationPublishService publishService;
+    private final int maxBatchSize;
+    private final Map<ActorRef, List<DOMNotification>> pending = new HashMap<>();
+    private Map<QName, Set<ActorRef>> subscribers = Collections.emptyMap();
+    private boolean flushScheduled;
+
+    NotificationBroker(final DOMNotificationPublishService publishService, final int maxBatchSize) {
+        this.publishService = publishService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public static Props props(final DOMNotificationPublishService publishService, final int maxBatchSize) {
+        Preconditions.checkNotNull(publishService, "DOMNotificationPublishService can not be null");
+        Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+        return Props.create(new NotificationBrokerCreator(publishService, maxBatchSize));
+    }
+
+    @Override
+    protected void handleReceive(final Object message) throws Exception {
+        if (message instanceof DOMNotification) {
+            forwardNotification((DOMNotification) message);
+        } else if (message == FLUSH) {
+            flush();
+        } else if (message instanceof NotificationBatch) {
+            publishNotifications((NotificationBatch) message);
+        } else if (message instanceof RemoteSubscribers) {
+            subscribers = ((RemoteSubscribers) message).getSubscribers();
+            LOG.debug("Remote subscribers updated to {}", subscribers);
+        } else {
+            unknownMessage(message);
+        }
+    }
+
+    /**
+     * Queues a locally published notification for every member with a subscriber for it.
+     */
+    private void forwardNotification(final DOMNotification notification) {
+        final Set<ActorRef> routers = subscribers.get(notification.getType().getLastComponent());
+        if (routers == null) {
+            return;
+        }
+
+        for (ActorRef router : routers) {
+            List<DOMNotification> batch = pending.get(router);
+            if (batch == null) {
+                batch = new ArrayList<>();
+                pending.put(router, batch);
+            }
+
+            batch.add(notification);
+            if (batch.size() >= maxBatchSize) {
+                pending.remove(router);
+                router.tell(new NotificationBatch(batch), getSelf());
+            }
+        }
+
+        // Anything already in the mailbox is processed before the flush, and gets into the same batches
+        if (!flushScheduled && !pending.isEmpty()) {
+            getSelf().tell(FLUSH, ActorRef.noSender());
+            flushScheduled = true;
+        }
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        for (Map.Entry<ActorRef, List<DOMNotification>> e : pending.entrySet()) {
+            e.getKey().tell(new NotificationBatch(e.getValue()), getSelf());
+        }
+        pending.clear();
+    }
+
+    private void publishNotifications(final NotificationBatch batch) {
+        LOG.debug("Publishing {} from {}", batch, getSender());
+
+        for (DOMNotification notification : batch.getNotifications()) {
+            if (publishService.offerNotification(notification) == DOMNotificationPublishService.REJECTED) {
+                LOG.warn("Notification {} from {} was rejected for delivery to local listeners", notification.getType(),
+                        getSender());
+            }
+        }
+    }
+
+    private static class NotificationBrokerCreator implements Creator<NotificationBroker> {
+        private static final long serialVersionUID = 1L;
+
+        final DOMNotificationPublishService publishService;
+        final int maxBatchSize;
+
+        NotificationBrokerCreator(final DOMNotificationPublishService publishService, final int maxBatchSize) {
+            this.publishService = publishService;
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        @Override
+        public NotificationBroker create() throws Exception {
+            return new NotificationBroker(publishService, maxBatchSize);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.notification;
+
+import akka.actor.ActorRef;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.opendaylight.controller.remote.rpc.registry.gossip.DeltaCopier;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * The notification types a member has clustered subscribers for, together with the {@link NotificationBroker}
+ * to send them to. This is the data of the member's bucket in {@link NotificationRegistry}.
+ */
+public class NotificationInterest implements DeltaCopier<NotificationInterest, NotificationInterest.Delta>,
+        Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Types added to or removed from the interest of a member.
+     */
+    public static final class Delta implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final ActorRef router;
+        private final HashSet<QName> added = new HashSet<>();
+        private final HashSet<QName> removed = new HashSet<>();
+
+        Delta(ActorRef router) {
+            this.router = router;
+        }
+
+        @Override
+        public String toString() {
+            return "Delta{" +
+                    "added=" + added +
+                    ", removed=" + removed +
+                    ", router=" + router +
+                    '}';
+        }
+    }
+
+    private final HashSet<QName> types = new HashSet<>();
+    private ActorRef router;
+
+    @Override
+    public NotificationInterest copy() {
+        NotificationInterest copy = new NotificationInterest();
+        copy.types.addAll(types);
+        copy.router = router;
+
+        return copy;
+    }
+
+    @Override
+    public Delta diff(NotificationInterest older) {
+        Delta delta = new Delta(router);
+        for (QName type : types) {
+            if (!older.types.contains(type)) {
+                delta.added.add(type);
+            }
+        }
+        for (QName type : older.types) {
+            if (!types.contains(type)) {
+                delta.removed.add(type);
+            }
+        }
+
+        return delta;
+    }
+
+    @Override
+    public NotificationInterest applyDelta(Delta delta) {
+        NotificationInterest copy = copy();
+        copy.types.removeAll(delta.removed);
+        copy.types.addAll(delta.added);
+        copy.router = delta.router;
+
+        return copy;
+    }
+
+    /**
+     * Returns the notification types, identified by the notification's QName.
+     */
+    public Set<QName> getTypes() {
+        return Collections.unmodifiableSet(types);
+    }
+
+    public void setTypes(Set<QName> types) {
+        this.types.clear();
+        this.types.addAll(types);
+    }
+
+    public ActorRef getRouter() {
+        return router;
+    }
+
+    public void setRouter(ActorRef router) {
+        this.router = router;
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationInterest{" +
+                "types=" + types +
+                ", router=" + router +
+                '}';
+    }
+}
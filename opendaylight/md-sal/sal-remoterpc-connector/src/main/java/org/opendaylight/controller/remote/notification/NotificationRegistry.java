@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.notification;
+
+import akka.actor.ActorRef;
+import akka.actor.Address;
+import akka.actor.Props;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.opendaylight.controller.remote.notification.NotificationRegistry.Messages.SetLocalRouter;
+import org.opendaylight.controller.remote.notification.NotificationRegistry.Messages.UpdateLocalInterest;
+import org.opendaylight.controller.remote.rpc.registry.gossip.Bucket;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketStore;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * Registry of the notification types each member of the cluster has clustered subscribers for.
+ * <p/>
+ * Like {@link org.opendaylight.controller.remote.rpc.registry.RpcRegistry}, it uses
+ * {@link org.opendaylight.controller.remote.rpc.registry.gossip.BucketStore} to share this information. Whenever
+ * the interest of a remote member changes, the local {@link NotificationBroker} is sent the brokers of the
+ * remote members interested in each type.
+ */
+public class NotificationRegistry extends BucketStore<NotificationInterest> {
+
+    private ActorRef localRouter;
+
+    public NotificationRegistry() {
+        getLocalBucket().setData(new NotificationInterest());
+    }
+
+    public static Props props() {
+        return Props.create(NotificationRegistry.class);
+    }
+
+    @Override
+    protected void handleReceive(Object message) throws Exception {
+        if (message instanceof SetLocalRouter) {
+            receiveSetLocalRouter((SetLocalRouter) message);
+        } else if (message instanceof UpdateLocalInterest) {
+            receiveUpdateLocalInterest((UpdateLocalInterest) message);
+        } else {
+            super.handleReceive(message);
+        }
+    }
+
+    private void receiveSetLocalRouter(SetLocalRouter message) {
+        localRouter = message.getRouter();
+        getLocalBucket().getData().setRouter(localRouter);
+        sendRemoteSubscribers();
+    }
+
+    private void receiveUpdateLocalInterest(UpdateLocalInterest message) {
+        log.debug("UpdateLocalInterest: {}", message.getTypes());
+
+        if (message.getTypes().equals(getLocalBucket().getData().getTypes())) {
+            return;
+        }
+
+        NotificationInterest interest = getLocalBucket().getData().copy();
+        interest.setTypes(message.getTypes());
+        updateLocalBucket(interest);
+    }
+
+    @Override
+    protected void onRemoteBucketUpdated(Address address, Bucket<NotificationInterest> previous,
+            Bucket<NotificationInterest> current) {
+        sendRemoteSubscribers();
+    }
+
+    /**
+     * Sends the brokers of the remote members, by the notification types they are interested in, to the local
+     * broker.
+     */
+    private void sendRemoteSubscribers() {
+        if (localRouter == null) {
+            return;
+        }
+
+        Map<QName, Set<ActorRef>> subscribers = new HashMap<>();
+        for (Bucket<NotificationInterest> bucket : getRemoteBuckets().values()) {
+            NotificationInterest interest = bucket.getData();
+            if (interest == null || interest.getRouter() == null) {
+                continue;
+            }
+
+            for (QName type : interest.getTypes()) {
+                Set<ActorRef> routers = subscribers.get(type);
+                if (routers == null) {
+                    routers = new HashSet<>();
+                    subscribers.put(type, routers);
+                }
+                routers.add(interest.getRouter());
+            }
+        }
+
+        localRouter.tell(new Messages.RemoteSubscribers(subscribers), getSelf());
+    }
+
+    /**
+     * All messages used by the NotificationRegistry
+     */
+    public static class Messages {
+
+        public static class SetLocalRouter {
+            private final ActorRef router;
+
+            public SetLocalRouter(ActorRef router) {
+                Preconditions.checkArgument(router != null, "Router must not be null");
+                this.router = router;
+            }
+
+            public ActorRef getRouter() {
+                return this.router;
+            }
+
+            @Override
+            public String toString() {
+                return "SetLocalRouter{" +
+                        "router=" + router +
+                        '}';
+            }
+        }
+
+        /**
+         * Replaces the notification types this member has clustered subscribers for.
+         */
+        public static class UpdateLocalInterest {
+            private final Set<QName> types;
+
+            public UpdateLocalInterest(Set<QName> types) {
+                Preconditions.checkArgument(types != null, "Types must not be null");
+                this.types = ImmutableSet.copyOf(types);
+            }
+
+            public Set<QName> getTypes() {
+                return types;
+            }
+
+            @Override
+            public String toString() {
+                return "UpdateLocalInterest{" +
+                        "types=" + types +
+                        '}';
+            }
+        }
+
+        /**
+         * Brokers of the remote members, by the notification types they are interested in.
+         */
+        public static class RemoteSubscribers {
+            private final Map<QName, Set<ActorRef>> subscribers;
+
+            public RemoteSubscribers(Map<QName, Set<ActorRef>> subscribers) {
+                Preconditions.checkArgument(subscribers != null, "Subscribers must not be null");
+                ImmutableMap.Builder<QName, Set<ActorRef>> builder = ImmutableMap.builder();
+                for (Map.Entry<QName, Set<ActorRef>> e : subscribers.entrySet()) {
+                    builder.put(e.getKey(), ImmutableSet.copyOf(e.getValue()));
+                }
+                this.subscribers = builder.build();
+            }
+
+            public Map<QName, Set<ActorRef>> getSubscribers() {
+                return subscribers;
+            }
+
+            @Override
+            public String toString() {
+                return "RemoteSubscribers{" +
+                        "subscribers=" + subscribers +
+                        '}';
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.notification;
+
+import akka.actor.ActorRef;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multiset;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationPublishService;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationService;
+import org.opendaylight.controller.remote.notification.NotificationRegistry.Messages.UpdateLocalInterest;
+import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * Notification service spanning the cluster. Listeners registered here receive the notifications published
+ * through this service on any member, while notifications published here also reach the listeners of the local
+ * DOMNotificationService.
+ * <p/>
+ * The notification types listened for are gossiped through {@link NotificationRegistry}, so a published
+ * notification is sent only to the members which have a listener for it. Members deliver the notifications they
+ * receive through a {@link ClusteredNotificationRouter} to the listeners registered here only - listeners
+ * registered with the local DOMNotificationService alone never see other members' notifications.
+ */
+public class RemoteNotificationService implements DOMNotificationService, DOMNotificationPublishService {
+
+    private final DOMNotificationService localService;
+    private final DOMNotificationPublishService localPublishService;
+    private final DOMNotificationService remoteService;
+    private final ActorRef notificationBroker;
+    private final ActorRef notificationRegistry;
+
+    @GuardedBy("this")
+    private final Multiset<QName> interest = HashMultiset.create();
+
+    /**
+     * @param localService the notification service of this member
+     * @param localPublishService the publish service of this member
+     * @param remoteService the service delivering the notifications of other members, which the
+     *        notificationBroker publishes them to
+     * @param notificationBroker the {@link NotificationBroker} of this member
+     * @param notificationRegistry the {@link NotificationRegistry} of this member
+     */
+    public RemoteNotificationService(final DOMNotificationService localService,
+            final DOMNotificationPublishService localPublishService, final DOMNotificationService remoteService,
+            final ActorRef notificationBroker, final ActorRef notificationRegistry) {
+        this.localService = Preconditions.checkNotNull(localService);
+        this.localPublishService = Preconditions.checkNotNull(localPublishService);
+        this.remoteService = Preconditions.checkNotNull(remoteService);
+        this.notificationBroker = Preconditions.checkNotNull(notificationBroker);
+        this.notificationRegistry = Preconditions.checkNotNull(notificationRegistry);
+    }
+
+    @Override
+    public <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(final T listener,
+            final Collection<SchemaPath> types) {
+        final ListenerRegistration<T> localReg = localService.registerNotificationListener(listener, types);
+        final ListenerRegistration<T> remoteReg = remoteService.registerNotificationListener(listener, types);
+
+        final List<QName> qnames = new ArrayList<>(types.size());
+        for (SchemaPath type : types) {
+            qnames.add(type.getLastComponent());
+        }
+        updateInterest(qnames, true);
+
+        return new AbstractListenerRegistration<T>(listener) {
+            @Override
+            protected void removeRegistration() {
+                localReg.close();
+                remoteReg.close();
+                updateInterest(qnames, false);
+            }
+        };
+    }
+
+    @Override
+    public <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(final T listener,
+            final SchemaPath... types) {
+        return registerNotificationListener(listener, Arrays.asList(types));
+    }
+
+    private synchronized void updateInterest(final Collection<QName> types, final boolean add) {
+        final int before = interest.elementSet().size();
+        for (QName type : types) {
+            if (add) {
+                interest.add(type);
+            } else {
+                interest.remove(type);
+            }
+        }
+
+        // Sent while holding the lock, so that the registry sees the updates in order
+        if (interest.elementSet().size() != before) {
+            notificationRegistry.tell(new UpdateLocalInterest(ImmutableSet.copyOf(interest.elementSet())),
+                    ActorRef.noSender());
+        }
+    }
+
+    @Override
+    public ListenableFuture<? extends Object> putNotification(final DOMNotification notification)
+            throws InterruptedException {
+        final ListenableFuture<? extends Object> ret = localPublishService.putNotification(notification);
+        notificationBroker.tell(notification, ActorRef.noSender());
+        return ret;
+    }
+
+    @Override
+    public ListenableFuture<? extends Object> offerNotification(final DOMNotification notification) {
+        final ListenableFuture<? extends Object> ret = localPublishService.offerNotification(notification);
+        if (ret != REJECTED) {
+            notificationBroker.tell(notification, ActorRef.noSender());
+        }
+        return ret;
+    }
+
+    @Override
+    public ListenableFuture<? extends Object> offerNotification(final DOMNotification notification,
+            final long timeout, final TimeUnit unit) throws InterruptedException {
+        final ListenableFuture<? extends Object> ret = localPublishService.offerNotification(notification, timeout,
+                unit);
+        if (ret != REJECTED) {
+            notificationBroker.tell(notification, ActorRef.noSender());
+        }
+        return ret;
+    }
+}
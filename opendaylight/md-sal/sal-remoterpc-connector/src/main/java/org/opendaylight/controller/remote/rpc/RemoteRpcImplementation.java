@@ -8,16 +8,27 @@ import akka.japi.Pair;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationNotAvailableException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.StreamedExecuteRpc;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.FindRoutersReply;
+import org.opendaylight.controller.remote.rpc.utils.ConsistentHashRoutingLogic;
 import org.opendaylight.controller.remote.rpc.utils.LatestEntryRoutingLogic;
+import org.opendaylight.controller.remote.rpc.utils.LeastOutstandingRoutingLogic;
+import org.opendaylight.controller.remote.rpc.utils.LocalFirstRoutingLogic;
+import org.opendaylight.controller.remote.rpc.utils.OutstandingRequests;
+import org.opendaylight.controller.remote.rpc.utils.RoundRobinRoutingLogic;
+import org.opendaylight.controller.remote.rpc.utils.RoutingLogic;
 import org.opendaylight.controller.sal.connector.api.RpcRouter;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +40,8 @@ public class RemoteRpcImplementation implements DOMRpcImplementation {
 
     private final ActorRef rpcRegistry;
     private final RemoteRpcProviderConfig config;
+    private final OutstandingRequests outstandingRequests = new OutstandingRequests();
+    private final ConcurrentMap<QName, AtomicLong> roundRobinCounters = new ConcurrentHashMap<>();
 
     public RemoteRpcImplementation(final ActorRef rpcRegistry, final RemoteRpcProviderConfig config) {
         this.config = config;
@@ -57,10 +70,23 @@ public class RemoteRpcImplementation implements DOMRpcImplementation {
                         frontEndFuture.failNow(new DOMRpcImplementationNotAvailableException(
                                 "No local or remote implementation available for rpc %s", rpc.getType(), error));
                     } else {
-                        final ActorRef remoteImplRef = new LatestEntryRoutingLogic(routePairs).select();
-                        final Object executeRpcMessage = ExecuteRpc.from(rpc, input);
+                        final ActorRef remoteImplRef = routingLogic(rpc, input, routePairs).select();
+                        final Object executeRpcMessage;
+                        if (routes.getRouterVersion(remoteImplRef) >= RemoteRpcVersions.STREAMING_VERSION) {
+                            executeRpcMessage = new StreamedExecuteRpc(rpc.getType().getLastComponent(), input);
+                        } else {
+                            executeRpcMessage = ExecuteRpc.from(rpc, input);
+                        }
                         LOG.debug("Found remote actor {} for rpc {} - sending {}", remoteImplRef, rpc.getType(), executeRpcMessage);
-                        frontEndFuture.completeWith(ask(remoteImplRef, executeRpcMessage, config.getAskDuration()));
+                        outstandingRequests.increment(remoteImplRef);
+                        final Future<Object> future = ask(remoteImplRef, executeRpcMessage, config.getAskDuration());
+                        future.onComplete(new OnComplete<Object>() {
+                            @Override
+                            public void onComplete(final Throwable failure, final Object reply) {
+                                outstandingRequests.decrement(remoteImplRef);
+                            }
+                        }, ExecutionContext.Implicits$.MODULE$.global());
+                        frontEndFuture.completeWith(future);
                     }
                 }
             }
@@ -68,6 +94,37 @@ public class RemoteRpcImplementation implements DOMRpcImplementation {
         return frontEndFuture;
     }
 
+    private RoutingLogic routingLogic(final DOMRpcIdentifier rpc, final NormalizedNode<?, ?> input,
+            final List<Pair<ActorRef, Long>> routePairs) {
+        final QName rpcName = rpc.getType().getLastComponent();
+        switch (config.getRoutingStrategy(rpcName)) {
+            case LOCAL_FIRST:
+                return new LocalFirstRoutingLogic(routePairs);
+            case ROUND_ROBIN:
+                return new RoundRobinRoutingLogic(routePairs, roundRobinCounter(rpcName));
+            case LEAST_OUTSTANDING:
+                return new LeastOutstandingRoutingLogic(routePairs, outstandingRequests);
+            case CONSISTENT_HASH:
+                return new ConsistentHashRoutingLogic(routePairs, rpc.getContextReference(), input);
+            case LATEST_ENTRY:
+            default:
+                return new LatestEntryRoutingLogic(routePairs);
+        }
+    }
+
+    private AtomicLong roundRobinCounter(final QName rpcName) {
+        AtomicLong counter = roundRobinCounters.get(rpcName);
+        if (counter == null) {
+            final AtomicLong newCounter = new AtomicLong();
+            counter = roundRobinCounters.putIfAbsent(rpcName, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+
+        return counter;
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private Future<FindRoutersReply> findRouteAsync(final DOMRpcIdentifier rpc) {
         // FIXME: Refactor routeId and message to use DOMRpcIdentifier directly.
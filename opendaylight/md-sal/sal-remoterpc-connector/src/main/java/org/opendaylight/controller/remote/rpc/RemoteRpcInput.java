@@ -32,9 +32,15 @@ class RemoteRpcInput implements ContainerNode {
         if(node == null) {
             return null;
         }
-        final NormalizedNode<?, ?> deserialized = NormalizedNodeSerializer.deSerialize(node);
-        Preconditions.checkArgument(deserialized instanceof ContainerNode);
-        return new RemoteRpcInput((ContainerNode) deserialized);
+        return from(NormalizedNodeSerializer.deSerialize(node));
+    }
+
+    protected static RemoteRpcInput from(final NormalizedNode<?, ?> node) {
+        if(node == null) {
+            return null;
+        }
+        Preconditions.checkArgument(node instanceof ContainerNode);
+        return new RemoteRpcInput((ContainerNode) node);
     }
 
     ContainerNode delegate() {
@@ -12,8 +12,14 @@ package org.opendaylight.controller.remote.rpc;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import java.util.Collection;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationPublishService;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationService;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.controller.remote.notification.ClusteredNotificationRouter;
+import org.opendaylight.controller.remote.notification.NotificationBroker;
+import org.opendaylight.controller.remote.notification.NotificationRegistry;
+import org.opendaylight.controller.remote.notification.RemoteNotificationService;
 import org.opendaylight.controller.remote.rpc.messages.UpdateSchemaContext;
 import org.opendaylight.controller.sal.core.api.Broker;
 import org.opendaylight.controller.sal.core.api.Provider;
@@ -21,12 +27,17 @@ import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * This is the base class which initialize all the actors, listeners and
  * default RPc implementation so remote invocation of rpcs.
+ *
+ * It also starts the cluster-wide {@link RemoteNotificationService}, which is registered as an OSGi service
+ * when a bundle context is available.
  */
 public class RemoteRpcProvider implements AutoCloseable, Provider, SchemaContextListener {
 
@@ -40,20 +51,38 @@ public class RemoteRpcProvider implements AutoCloseable, Provider, SchemaContext
   private SchemaContext schemaContext;
   private ActorRef rpcManager;
   private final RemoteRpcProviderConfig config;
+  private final BundleContext bundleContext;
+  private ClusteredNotificationRouter notificationRouter;
+  private RemoteNotificationService notificationService;
+  private ServiceRegistration<RemoteNotificationService> notificationServiceRegistration;
 
 
   public RemoteRpcProvider(final ActorSystem actorSystem, final DOMRpcProviderService rpcProvisionRegistry) {
+    this(actorSystem, rpcProvisionRegistry, null);
+  }
+
+  public RemoteRpcProvider(final ActorSystem actorSystem, final DOMRpcProviderService rpcProvisionRegistry,
+          final BundleContext bundleContext) {
     this.actorSystem = actorSystem;
     this.rpcProvisionRegistry = rpcProvisionRegistry;
+    this.bundleContext = bundleContext;
     config = new RemoteRpcProviderConfig(actorSystem.settings().config());
   }
 
   @Override
   public void close() throws Exception {
+    if (notificationServiceRegistration != null) {
+        notificationServiceRegistration.unregister();
+        notificationServiceRegistration = null;
+    }
     if (actorSystem != null) {
         actorSystem.shutdown();
         actorSystem = null;
     }
+    if (notificationRouter != null) {
+        notificationRouter.close();
+        notificationRouter = null;
+    }
     if (schemaListenerRegistration != null) {
         schemaListenerRegistration.close();
         schemaListenerRegistration = null;
@@ -81,6 +110,42 @@ public class RemoteRpcProvider implements AutoCloseable, Provider, SchemaContext
             rpcProvisionRegistry, rpcService), config.getRpcManagerName());
     schemaListenerRegistration = schemaService.registerSchemaContextListener(this);
     LOG.debug("rpc manager started");
+
+    startNotificationService();
+  }
+
+  private void startNotificationService() {
+    final DOMNotificationService localService = brokerSession.getService(DOMNotificationService.class);
+    final DOMNotificationPublishService localPublishService =
+            brokerSession.getService(DOMNotificationPublishService.class);
+    if (localService == null || localPublishService == null) {
+        LOG.info("Notification services not available, remote notification service not started");
+        return;
+    }
+
+    final ActorRef notificationRegistry = actorSystem.actorOf(NotificationRegistry.props()
+            .withMailbox(config.getMailBoxName()), config.getNotificationRegistryName());
+    // Notifications from other members only go to the listeners of the remote notification service
+    notificationRouter = new ClusteredNotificationRouter();
+    final ActorRef notificationBroker = actorSystem.actorOf(NotificationBroker.props(notificationRouter,
+            config.getNotificationBatchSize()).withMailbox(config.getMailBoxName()), config.getNotificationBrokerName());
+    notificationRegistry.tell(new NotificationRegistry.Messages.SetLocalRouter(notificationBroker),
+            ActorRef.noSender());
+
+    notificationService = new RemoteNotificationService(localService, localPublishService, notificationRouter,
+            notificationBroker, notificationRegistry);
+    if (bundleContext != null) {
+        notificationServiceRegistration = bundleContext.registerService(RemoteNotificationService.class,
+                notificationService, null);
+    }
+    LOG.debug("remote notification service started");
+  }
+
+  /**
+   * Returns the cluster-wide notification service, null if it has not been started.
+   */
+  public RemoteNotificationService getNotificationService() {
+    return notificationService;
   }
 
   @Override
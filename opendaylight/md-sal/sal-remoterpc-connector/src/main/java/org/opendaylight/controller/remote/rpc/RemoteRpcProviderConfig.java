@@ -8,8 +8,15 @@
 package org.opendaylight.controller.remote.rpc;
 
 import akka.util.Timeout;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
 import com.typesafe.config.Config;
+import com.typesafe.config.ConfigValue;
+import java.util.HashMap;
+import java.util.Map;
 import org.opendaylight.controller.cluster.common.actor.CommonConfig;
+import org.opendaylight.controller.remote.rpc.utils.RoutingStrategy;
+import org.opendaylight.yangtools.yang.common.QName;
 import scala.concurrent.duration.FiniteDuration;
 
 import java.util.concurrent.TimeUnit;
@@ -26,10 +33,18 @@ public class RemoteRpcProviderConfig extends CommonConfig {
     protected static final String TAG_RPC_MGR_PATH = "rpc-manager-path";
     protected static final String TAG_ASK_DURATION = "ask-duration";
     private static final String TAG_GOSSIP_TICK_INTERVAL = "gossip-tick-interval";
+    private static final String TAG_ROUTING_STRATEGY = "routing-strategy";
+    private static final String TAG_RPC_ROUTING_STRATEGIES = "rpc-routing-strategies";
+    private static final String TAG_NOTIFICATION_BROKER_NAME = "notification-broker-name";
+    private static final String TAG_NOTIFICATION_REGISTRY_NAME = "notification-registry-name";
+    private static final String TAG_NOTIFICATION_BATCH_SIZE = "notification-batch-size";
+    private static final int DEFAULT_NOTIFICATION_BATCH_SIZE = 100;
 
     //locally cached values
     private Timeout cachedAskDuration;
     private FiniteDuration cachedGossipTickInterval;
+    private RoutingStrategy cachedRoutingStrategy;
+    private Map<String, RoutingStrategy> cachedRpcRoutingStrategies;
 
     public RemoteRpcProviderConfig(Config config){
         super(config);
@@ -47,6 +62,24 @@ public class RemoteRpcProviderConfig extends CommonConfig {
         return get().getString(TAG_RPC_MGR_NAME);
     }
 
+    public String getNotificationBrokerName(){
+        return get().hasPath(TAG_NOTIFICATION_BROKER_NAME) ? get().getString(TAG_NOTIFICATION_BROKER_NAME)
+                : "notification-broker";
+    }
+
+    public String getNotificationRegistryName(){
+        return get().hasPath(TAG_NOTIFICATION_REGISTRY_NAME) ? get().getString(TAG_NOTIFICATION_REGISTRY_NAME)
+                : "notification-registry";
+    }
+
+    /**
+     * Returns the maximum number of notifications sent to another member in a single message.
+     */
+    public int getNotificationBatchSize(){
+        return get().hasPath(TAG_NOTIFICATION_BATCH_SIZE) ? get().getInt(TAG_NOTIFICATION_BATCH_SIZE)
+                : DEFAULT_NOTIFICATION_BATCH_SIZE;
+    }
+
     public String getRpcBrokerPath(){
         return get().getString(TAG_RPC_BROKER_PATH);
     }
@@ -83,6 +116,42 @@ public class RemoteRpcProviderConfig extends CommonConfig {
         return cachedGossipTickInterval;
     }
 
+    /**
+     * Returns the strategy used to route an RPC which has more than one router in the cluster. An RPC can be
+     * given its own strategy in rpc-routing-strategies, keyed either by its QName, eg
+     * "(urn:example?revision=2015-06-12)do-it", or just by its local name. RPCs without one use the default
+     * routing-strategy.
+     */
+    public RoutingStrategy getRoutingStrategy(QName rpc) {
+        if (cachedRpcRoutingStrategies == null) {
+            Map<String, RoutingStrategy> strategies = new HashMap<>();
+            if (get().hasPath(TAG_RPC_ROUTING_STRATEGIES)) {
+                for (Map.Entry<String, ConfigValue> e : get().getObject(TAG_RPC_ROUTING_STRATEGIES).entrySet()) {
+                    strategies.put(e.getKey(), RoutingStrategy.forName(e.getValue().unwrapped().toString()));
+                }
+            }
+
+            cachedRpcRoutingStrategies = ImmutableMap.copyOf(strategies);
+        }
+
+        RoutingStrategy strategy = cachedRpcRoutingStrategies.get(rpc.toString());
+        if (strategy == null) {
+            strategy = cachedRpcRoutingStrategies.get(rpc.getLocalName());
+        }
+
+        return strategy != null ? strategy : getDefaultRoutingStrategy();
+    }
+
+    private RoutingStrategy getDefaultRoutingStrategy() {
+        if (cachedRoutingStrategy == null) {
+            cachedRoutingStrategy = get().hasPath(TAG_ROUTING_STRATEGY)
+                    ? RoutingStrategy.forName(get().getString(TAG_ROUTING_STRATEGY))
+                    : RoutingStrategy.LATEST_ENTRY;
+        }
+
+        return cachedRoutingStrategy;
+    }
+
     public static class Builder extends CommonConfig.Builder<Builder>{
 
         public Builder(String actorSystemName){
@@ -92,6 +161,8 @@ public class RemoteRpcProviderConfig extends CommonConfig {
             configHolder.put(TAG_RPC_BROKER_NAME, "broker");
             configHolder.put(TAG_RPC_REGISTRY_NAME, "registry");
             configHolder.put(TAG_RPC_MGR_NAME, "rpc");
+            configHolder.put(TAG_NOTIFICATION_BROKER_NAME, "notification-broker");
+            configHolder.put(TAG_NOTIFICATION_REGISTRY_NAME, "notification-registry");
 
             //Actor paths
             configHolder.put(TAG_RPC_BROKER_PATH, "/user/rpc/broker");
@@ -104,6 +175,35 @@ public class RemoteRpcProviderConfig extends CommonConfig {
 
         }
 
+        public Builder notificationBatchSize(int batchSize) {
+            Preconditions.checkArgument(batchSize > 0, "Notification batch size must be positive");
+            configHolder.put(TAG_NOTIFICATION_BATCH_SIZE, batchSize);
+            return this;
+        }
+
+        public Builder routingStrategy(String strategy) {
+            RoutingStrategy.forName(strategy);
+            configHolder.put(TAG_ROUTING_STRATEGY, strategy);
+            return this;
+        }
+
+        /**
+         * Sets the routing strategy of the RPC with the given local name.
+         */
+        @SuppressWarnings("unchecked")
+        public Builder rpcRoutingStrategy(String rpcName, String strategy) {
+            RoutingStrategy.forName(strategy);
+
+            Map<String, Object> strategies = (Map<String, Object>) configHolder.get(TAG_RPC_ROUTING_STRATEGIES);
+            if (strategies == null) {
+                strategies = new HashMap<>();
+                configHolder.put(TAG_RPC_ROUTING_STRATEGIES, strategies);
+            }
+
+            strategies.put(rpcName, strategy);
+            return this;
+        }
+
         public RemoteRpcProviderConfig build(){
             return new RemoteRpcProviderConfig(merge());
         }
@@ -24,7 +24,8 @@ public class RemoteRpcProviderFactory {
             final Broker broker, final BundleContext bundleContext, final RemoteRpcProviderConfig config){
 
       final RemoteRpcProvider rpcProvider =
-          new RemoteRpcProvider(createActorSystem(bundleContext, config), (DOMRpcProviderService) broker);
+          new RemoteRpcProvider(createActorSystem(bundleContext, config), (DOMRpcProviderService) broker,
+                  bundleContext);
 
       broker.registerProvider(rpcProvider);
       return rpcProvider;
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+/**
+ * Defines version numbers of the messages exchanged by the remote RPC brokers of the members of the cluster. Each
+ * member advertises its version in its routing table, so that the RPC messages sent to it can be in a format
+ * it understands.
+ */
+public final class RemoteRpcVersions {
+    /**
+     * RPC input and output are carried as protobuf NormalizedNodeMessages, see ExecuteRpc and RpcResponse. This
+     * is also the version of members which don't advertise one.
+     */
+    public static final short LEGACY_VERSION = 0;
+
+    /**
+     * RPC input and output are streamed by NormalizedNodeOutputStreamWriter, see StreamedExecuteRpc and
+     * StreamedRpcResponse.
+     */
+    public static final short STREAMING_VERSION = 1;
+
+    public static final short CURRENT_VERSION = STREAMING_VERSION;
+
+    private RemoteRpcVersions() {
+    }
+}
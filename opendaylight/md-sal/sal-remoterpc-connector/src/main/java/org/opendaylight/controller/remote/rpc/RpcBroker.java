@@ -26,6 +26,9 @@ import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.controller.protobuff.messages.common.NormalizedNodeMessages.Node;
 import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
 import org.opendaylight.controller.remote.rpc.messages.RpcResponse;
+import org.opendaylight.controller.remote.rpc.messages.StreamedExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.StreamedRpcResponse;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.RpcError;
 import org.opendaylight.yangtools.yang.common.RpcError.ErrorType;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
@@ -54,15 +57,22 @@ public class RpcBroker extends AbstractUntypedActor {
 
     @Override
     protected void handleReceive(final Object message) throws Exception {
-        if (message instanceof ExecuteRpc) {
-            executeRpc((ExecuteRpc) message);
+        if (message instanceof StreamedExecuteRpc) {
+            final StreamedExecuteRpc msg = (StreamedExecuteRpc) message;
+            executeRpc(msg.getRpc(), RemoteRpcInput.from(msg.getInput()), true);
+        } else if (message instanceof ExecuteRpc) {
+            final ExecuteRpc msg = (ExecuteRpc) message;
+            executeRpc(msg.getRpc(), RemoteRpcInput.from(msg.getInputNormalizedNode()), false);
         }
     }
 
-    private void executeRpc(final ExecuteRpc msg) {
-        LOG.debug("Executing rpc {}", msg.getRpc());
-        final NormalizedNode<?, ?> input = RemoteRpcInput.from(msg.getInputNormalizedNode());
-        final SchemaPath schemaPath = SchemaPath.create(true, msg.getRpc());
+    /**
+     * Executes an RPC, replying in the format the request came in - a member which sends a legacy
+     * {@link ExecuteRpc} would not understand a {@link StreamedRpcResponse}.
+     */
+    private void executeRpc(final QName rpc, final NormalizedNode<?, ?> input, final boolean streamed) {
+        LOG.debug("Executing rpc {}", rpc);
+        final SchemaPath schemaPath = SchemaPath.create(true, rpc);
         final ActorRef sender = getSender();
         final ActorRef self = self();
 
@@ -73,13 +83,17 @@ public class RpcBroker extends AbstractUntypedActor {
                 @Override
                 public void onSuccess(final DOMRpcResult result) {
                     if (result.getErrors() != null && (!result.getErrors().isEmpty())) {
-                        final String message = String.format("Execution of RPC %s failed", msg.getRpc());
+                        final String message = String.format("Execution of RPC %s failed", rpc);
                         Collection<RpcError> errors = result.getErrors();
                         if (errors == null || errors.size() == 0) {
                             errors = Arrays.asList(RpcResultBuilder.newError(ErrorType.RPC, null, message));
                         }
 
                         sender.tell(new akka.actor.Status.Failure(new RpcErrorsException(message, errors)), self);
+                    } else if (streamed) {
+                        LOG.debug("Sending response for execute rpc : {}", rpc);
+
+                        sender.tell(new StreamedRpcResponse(result.getResult()), self);
                     } else {
                         final Node serializedResultNode;
                         if (result.getResult() == null) {
@@ -88,7 +102,7 @@ public class RpcBroker extends AbstractUntypedActor {
                             serializedResultNode = NormalizedNodeSerializer.serialize(result.getResult());
                         }
 
-                        LOG.debug("Sending response for execute rpc : {}", msg.getRpc());
+                        LOG.debug("Sending response for execute rpc : {}", rpc);
 
                         sender.tell(new RpcResponse(serializedResultNode), self);
                     }
@@ -97,7 +111,7 @@ public class RpcBroker extends AbstractUntypedActor {
                 @Override
                 public void onFailure(final Throwable t) {
                     LOG.error("executeRpc for {} failed with root cause: {}. For exception details, enable Debug logging.",
-                        msg.getRpc(), Throwables.getRootCause(t));
+                        rpc, Throwables.getRootCause(t));
                     if(LOG.isDebugEnabled()) {
                         LOG.debug("Detailed exception for execute RPC failure :{}", t);
                     }
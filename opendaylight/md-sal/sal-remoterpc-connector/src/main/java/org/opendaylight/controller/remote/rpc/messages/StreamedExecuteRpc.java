@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputStreamReader;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeOutputStreamWriter;
+import org.opendaylight.controller.remote.rpc.RemoteRpcVersions;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Requests execution of an RPC by a member of {@link RemoteRpcVersions#STREAMING_VERSION} or later. Unlike
+ * {@link ExecuteRpc}, the input is written straight to the wire by a NormalizedNodeOutputStreamWriter instead of
+ * being converted to an intermediate protobuf message first.
+ */
+public class StreamedExecuteRpc implements Externalizable {
+    private static final long serialVersionUID = 1L;
+
+    private QName rpc;
+    private NormalizedNode<?, ?> input;
+
+    public StreamedExecuteRpc() {
+        // For Externalizable
+    }
+
+    public StreamedExecuteRpc(final QName rpc, final NormalizedNode<?, ?> input) {
+        this.rpc = Preconditions.checkNotNull(rpc, "rpc Qname should not be null");
+        this.input = input;
+    }
+
+    public QName getRpc() {
+        return rpc;
+    }
+
+    /**
+     * Returns the input of the RPC, null if it has none.
+     */
+    public NormalizedNode<?, ?> getInput() {
+        return input;
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        out.writeShort(RemoteRpcVersions.CURRENT_VERSION);
+
+        final NormalizedNodeOutputStreamWriter streamWriter = new NormalizedNodeOutputStreamWriter(out);
+        streamWriter.writeYangInstanceIdentifier(YangInstanceIdentifier.of(rpc));
+
+        out.writeBoolean(input != null);
+        if (input != null) {
+            streamWriter.writeNormalizedNode(input);
+        }
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        in.readShort(); // Read the version
+
+        final NormalizedNodeInputStreamReader streamReader = new NormalizedNodeInputStreamReader(in);
+        rpc = streamReader.readYangInstanceIdentifier().getLastPathArgument().getNodeType();
+
+        if (in.readBoolean()) {
+            input = streamReader.readNormalizedNode();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("rpc", rpc).add("input", input).toString();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputStreamReader;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeOutputStreamWriter;
+import org.opendaylight.controller.remote.rpc.RemoteRpcVersions;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * The successful reply to a {@link StreamedExecuteRpc}, carrying the output of the RPC streamed like its input.
+ */
+public class StreamedRpcResponse implements Externalizable {
+    private static final long serialVersionUID = 1L;
+
+    private NormalizedNode<?, ?> result;
+
+    public StreamedRpcResponse() {
+        // For Externalizable
+    }
+
+    public StreamedRpcResponse(final NormalizedNode<?, ?> result) {
+        this.result = result;
+    }
+
+    /**
+     * Returns the output of the RPC, null if it has none.
+     */
+    public NormalizedNode<?, ?> getResult() {
+        return result;
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        out.writeShort(RemoteRpcVersions.CURRENT_VERSION);
+
+        out.writeBoolean(result != null);
+        if (result != null) {
+            new NormalizedNodeOutputStreamWriter(out).writeNormalizedNode(result);
+        }
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        in.readShort(); // Read the version
+
+        if (in.readBoolean()) {
+            result = new NormalizedNodeInputStreamReader(in).readNormalizedNode();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry;
+
+import akka.actor.Address;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.opendaylight.controller.sal.connector.api.RpcRouter.RouteIdentifier;
+
+/**
+ * Inverted index of remote {@link RoutingTable}s, from a route to the members which have registered it. It lets
+ * {@link RpcRegistry} resolve a route by looking at the members which can serve it, instead of at every bucket.
+ * The index is updated incrementally as buckets arrive from gossip. It is not thread-safe, it is owned by the
+ * registry actor.
+ */
+final class RouteIndex {
+    private final Map<RouteIdentifier<?, ?, ?>, Set<Address>> members = new HashMap<>();
+
+    /**
+     * Updates the index for a change of a member's routing table.
+     *
+     * @param member the member owning the table
+     * @param older previous routing table of the member, null if it was not known
+     * @param newer current routing table of the member, null if it is no longer known
+     */
+    void update(Address member, RoutingTable older, RoutingTable newer) {
+        final RoutingTable.Delta delta = older != null && newer != null ? newer.diff(older) : null;
+        if (delta != null) {
+            for (RouteIdentifier<?, ?, ?> routeId : delta.getRemoved()) {
+                remove(member, routeId);
+            }
+            // Re-added routes only have a new update time, which the index does not care about
+            for (RouteIdentifier<?, ?, ?> routeId : delta.getAdded()) {
+                add(member, routeId);
+            }
+            return;
+        }
+
+        if (older != null) {
+            for (RouteIdentifier<?, ?, ?> routeId : older.getRoutes()) {
+                remove(member, routeId);
+            }
+        }
+        if (newer != null) {
+            for (RouteIdentifier<?, ?, ?> routeId : newer.getRoutes()) {
+                add(member, routeId);
+            }
+        }
+    }
+
+    /**
+     * Returns the members which have registered the route.
+     */
+    Set<Address> getMembers(RouteIdentifier<?, ?, ?> routeId) {
+        final Set<Address> ret = members.get(routeId);
+        return ret != null ? Collections.unmodifiableSet(ret) : Collections.<Address>emptySet();
+    }
+
+    /**
+     * Returns the number of distinct routes indexed.
+     */
+    int size() {
+        return members.size();
+    }
+
+    private void add(Address member, RouteIdentifier<?, ?, ?> routeId) {
+        Set<Address> routeMembers = members.get(routeId);
+        if (routeMembers == null) {
+            // Most routes are registered by a handful of members
+            routeMembers = new HashSet<>(4);
+            members.put(routeId, routeMembers);
+        }
+        routeMembers.add(member);
+    }
+
+    private void remove(Address member, RouteIdentifier<?, ?, ?> routeId) {
+        final Set<Address> routeMembers = members.get(routeId);
+        if (routeMembers != null && routeMembers.remove(member) && routeMembers.isEmpty()) {
+            members.remove(routeId);
+        }
+    }
+}
@@ -12,23 +12,97 @@ import akka.japi.Option;
 import akka.japi.Pair;
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-import org.opendaylight.controller.remote.rpc.registry.gossip.Copier;
+import org.opendaylight.controller.remote.rpc.RemoteRpcVersions;
+import org.opendaylight.controller.remote.rpc.registry.gossip.DeltaCopier;
 import org.opendaylight.controller.sal.connector.api.RpcRouter;
 
-public class RoutingTable implements Copier<RoutingTable>, Serializable {
+public class RoutingTable implements DeltaCopier<RoutingTable, RoutingTable.Delta>, Serializable {
     private static final long serialVersionUID = 5592610415175278760L;
 
+    /**
+     * Routes added or removed between two versions of a routing table. The router is always included, as it
+     * may have been set on the older table in place.
+     */
+    public static final class Delta implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final ActorRef router;
+        private final HashMap<RpcRouter.RouteIdentifier<?, ?, ?>, Long> added = new HashMap<>();
+        private final HashSet<RpcRouter.RouteIdentifier<?, ?, ?>> removed = new HashSet<>();
+
+        Delta(ActorRef router) {
+            this.router = router;
+        }
+
+        /**
+         * Returns the routes which were added or whose update time changed.
+         */
+        Set<RpcRouter.RouteIdentifier<?, ?, ?>> getAdded() {
+            return added.keySet();
+        }
+
+        Set<RpcRouter.RouteIdentifier<?, ?, ?>> getRemoved() {
+            return removed;
+        }
+
+        @Override
+        public String toString() {
+            return "Delta{" +
+                    "added=" + added.keySet() +
+                    ", removed=" + removed +
+                    ", router=" + router +
+                    '}';
+        }
+    }
+
     private final Map<RpcRouter.RouteIdentifier<?, ?, ?>, Long> table = new HashMap<>();
     private ActorRef router;
 
+    // Not set when deserialized from a member which predates it, leaving the legacy version.
+    private short version = RemoteRpcVersions.CURRENT_VERSION;
+
     @Override
     public RoutingTable copy() {
         RoutingTable copy = new RoutingTable();
         copy.table.putAll(table);
         copy.setRouter(this.getRouter());
+        copy.version = version;
+
+        return copy;
+    }
+
+    @Override
+    public Delta diff(RoutingTable older) {
+        // The version is fixed for the lifetime of a member, a change means the table is not comparable
+        if (older.version != version) {
+            return null;
+        }
+
+        Delta delta = new Delta(router);
+        for (Map.Entry<RpcRouter.RouteIdentifier<?, ?, ?>, Long> entry : table.entrySet()) {
+            if (!entry.getValue().equals(older.table.get(entry.getKey()))) {
+                delta.added.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (RpcRouter.RouteIdentifier<?, ?, ?> routeId : older.table.keySet()) {
+            if (!table.containsKey(routeId)) {
+                delta.removed.add(routeId);
+            }
+        }
+
+        return delta;
+    }
+
+    @Override
+    public RoutingTable applyDelta(Delta delta) {
+        RoutingTable copy = copy();
+        copy.table.keySet().removeAll(delta.removed);
+        copy.table.putAll(delta.added);
+        copy.setRouter(delta.router);
 
         return copy;
     }
@@ -75,6 +149,13 @@ public class RoutingTable implements Copier<RoutingTable>, Serializable {
         this.router = router;
     }
 
+    /**
+     * Returns the version of the remote RPC messages understood by the router, see {@link RemoteRpcVersions}.
+     */
+    public short getVersion() {
+        return version;
+    }
+
     @Override
     public String toString() {
         return "RoutingTable{" +
@@ -8,13 +8,18 @@
 package org.opendaylight.controller.remote.rpc.registry;
 
 import akka.actor.ActorRef;
+import akka.actor.Address;
 import akka.actor.Props;
 import akka.japi.Creator;
 import akka.japi.Option;
 import akka.japi.Pair;
 import com.google.common.base.Preconditions;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import org.opendaylight.controller.remote.rpc.RemoteRpcVersions;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.AddOrUpdateRoutes;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.FindRouters;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.RemoveRoutes;
@@ -30,10 +35,13 @@ import org.opendaylight.controller.sal.connector.api.RpcRouter.RouteIdentifier;
  * Registry to look up cluster nodes that have registered for a given rpc.
  * <p/>
  * It uses {@link org.opendaylight.controller.remote.rpc.registry.gossip.BucketStore} to maintain this
- * cluster wide information.
+ * cluster wide information. Remote routes are indexed as buckets are updated, so that a lookup only
+ * looks at the members which have registered the route.
  */
 public class RpcRegistry extends BucketStore<RoutingTable> {
 
+    private final RouteIndex remoteRouteIndex = new RouteIndex();
+
     public RpcRegistry() {
         getLocalBucket().setData(new RoutingTable());
     }
@@ -103,19 +111,23 @@ public class RpcRegistry extends BucketStore<RoutingTable> {
      */
     private void receiveGetRouter(FindRouters msg) {
         List<Pair<ActorRef, Long>> routers = new ArrayList<>();
+        Map<ActorRef, Short> routerVersions = new HashMap<>();
 
         RouteIdentifier<?, ?, ?> routeId = msg.getRouteIdentifier();
-        findRoutes(getLocalBucket().getData(), routeId, routers);
+        findRoutes(getLocalBucket().getData(), routeId, routers, routerVersions);
 
-        for(Bucket<RoutingTable> bucket : getRemoteBuckets().values()) {
-            findRoutes(bucket.getData(), routeId, routers);
+        for(Address member : remoteRouteIndex.getMembers(routeId)) {
+            Bucket<RoutingTable> bucket = getRemoteBuckets().get(member);
+            if (bucket != null) {
+                findRoutes(bucket.getData(), routeId, routers, routerVersions);
+            }
         }
 
-        getSender().tell(new Messages.FindRoutersReply(routers), getSelf());
+        getSender().tell(new Messages.FindRoutersReply(routers, routerVersions), getSelf());
     }
 
     private void findRoutes(RoutingTable table, RpcRouter.RouteIdentifier<?, ?, ?> routeId,
-            List<Pair<ActorRef, Long>> routers) {
+            List<Pair<ActorRef, Long>> routers, Map<ActorRef, Short> routerVersions) {
         if (table == null) {
             return;
         }
@@ -123,9 +135,20 @@ public class RpcRegistry extends BucketStore<RoutingTable> {
         Option<Pair<ActorRef, Long>> routerWithUpdateTime = table.getRouterFor(routeId);
         if(!routerWithUpdateTime.isEmpty()) {
             routers.add(routerWithUpdateTime.get());
+            routerVersions.put(routerWithUpdateTime.get().first(), table.getVersion());
         }
     }
 
+    @Override
+    protected void onRemoteBucketUpdated(Address address, Bucket<RoutingTable> previous,
+            Bucket<RoutingTable> current) {
+        remoteRouteIndex.update(address, previous != null ? previous.getData() : null, current.getData());
+    }
+
+    RouteIndex getRemoteRouteIndex() {
+        return remoteRouteIndex;
+    }
+
     /**
      * All messages used by the RpcRegistry
      */
@@ -210,16 +233,33 @@ public class RpcRegistry extends BucketStore<RoutingTable> {
 
         public static class FindRoutersReply {
             final List<Pair<ActorRef, Long>> routerWithUpdateTime;
+            final Map<ActorRef, Short> routerVersions;
 
             public FindRoutersReply(List<Pair<ActorRef, Long>> routerWithUpdateTime) {
+                this(routerWithUpdateTime, Collections.<ActorRef, Short>emptyMap());
+            }
+
+            public FindRoutersReply(List<Pair<ActorRef, Long>> routerWithUpdateTime,
+                    Map<ActorRef, Short> routerVersions) {
                 Preconditions.checkArgument(routerWithUpdateTime != null, "List of routers found must not be null");
+                Preconditions.checkArgument(routerVersions != null, "Router versions must not be null");
                 this.routerWithUpdateTime = routerWithUpdateTime;
+                this.routerVersions = routerVersions;
             }
 
             public List<Pair<ActorRef, Long>> getRouterWithUpdateTime() {
                 return routerWithUpdateTime;
             }
 
+            /**
+             * Returns the version of the remote RPC messages understood by the given router, the legacy version
+             * if it is not known.
+             */
+            public short getRouterVersion(ActorRef router) {
+                Short version = routerVersions.get(router);
+                return version != null ? version : RemoteRpcVersions.LEGACY_VERSION;
+            }
+
             @Override
             public String toString() {
                 return "FindRoutersReply{" +
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import com.google.common.base.Preconditions;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A chain of deltas which moves a {@link Bucket} from one version to another. It is sent in place of the
+ * whole bucket to members which already hold the bucket at {@link #getFromVersion()}.
+ */
+public final class BucketDelta implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long fromVersion;
+    private final long toVersion;
+    private final ArrayList<Serializable> changes;
+
+    public BucketDelta(long fromVersion, long toVersion, List<? extends Serializable> changes) {
+        Preconditions.checkArgument(fromVersion < toVersion, "fromVersion %s is not older than toVersion %s",
+                fromVersion, toVersion);
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.changes = new ArrayList<>(changes);
+    }
+
+    public long getFromVersion() {
+        return fromVersion;
+    }
+
+    public long getToVersion() {
+        return toVersion;
+    }
+
+    /**
+     * Returns the deltas to apply, oldest first.
+     */
+    public List<Serializable> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    @Override
+    public String toString() {
+        return "BucketDelta{" +
+                "fromVersion=" + fromVersion +
+                ", toVersion=" + toVersion +
+                ", changes=" + changes +
+                '}';
+    }
+}
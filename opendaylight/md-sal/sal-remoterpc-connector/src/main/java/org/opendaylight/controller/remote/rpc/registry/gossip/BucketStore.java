@@ -13,7 +13,14 @@ import akka.actor.ActorRefProvider;
 import akka.actor.Address;
 import akka.actor.Props;
 import akka.cluster.ClusterActorRefProvider;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActorWithMetering;
@@ -36,12 +43,20 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Buckets are sync'ed across nodes using Gossip protocol (http://en.wikipedia.org/wiki/Gossip_protocol)<p>
  * This store uses a {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}.
+ * <p>
+ * If the data is a {@link DeltaCopier}, the store keeps a short log of recent changes to each bucket. A member
+ * which already holds an older version of a bucket is then sent only the changes since that version.
  *
  */
 public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMetering {
 
     private static final Long NO_VERSION = -1L;
 
+    /**
+     * Maximum number of changes logged per bucket. Members further behind receive the whole bucket.
+     */
+    private static final int MAX_CHANGE_LOG_SIZE = 100;
+
     protected final Logger log = LoggerFactory.getLogger(getClass());
 
     /**
@@ -59,6 +74,13 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
      */
     private final Map<Address, Long> versions = new HashMap<>();
 
+    /**
+     * Recent contiguous changes for every known bucket, oldest first, ending at the bucket's current version
+     */
+    private final Map<Address, Deque<BucketDelta>> changeLogs = new HashMap<>();
+
+    private final GossipStats gossipStats = new GossipStats();
+
     /**
      * Cluster address for this node
      */
@@ -78,7 +100,7 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
         selfAddress = provider.getDefaultAddress();
 
         if ( provider instanceof ClusterActorRefProvider) {
-            getContext().actorOf(Props.create(Gossiper.class).withMailbox(config.getMailBoxName()), "gossiper");
+            getContext().actorOf(Props.create(Gossiper.class, gossipStats).withMailbox(config.getMailBoxName()), "gossiper");
         }
     }
 
@@ -97,11 +119,13 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
         } else if (message instanceof GetAllBuckets) {
             receiveGetAllBuckets();
         } else if (message instanceof GetBucketsByMembers) {
-            receiveGetBucketsByMembers(((GetBucketsByMembers) message).getMembers());
+            GetBucketsByMembers request = (GetBucketsByMembers) message;
+            receiveGetBucketsByMembers(request.getMembers(), request.getKnownVersions());
         } else if (message instanceof GetBucketVersions) {
             receiveGetBucketVersions();
         } else if (message instanceof UpdateRemoteBuckets) {
-            receiveUpdateRemoteBuckets(((UpdateRemoteBuckets) message).getBuckets());
+            UpdateRemoteBuckets update = (UpdateRemoteBuckets) message;
+            receiveUpdateRemoteBuckets(update.getBuckets(), update.getDeltas());
         } else {
             if(log.isDebugEnabled()) {
                 log.debug("Unhandled message [{}]", message);
@@ -141,11 +165,27 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
      *
      * @param members requested members
      */
-    @SuppressWarnings("rawtypes")
     void receiveGetBucketsByMembers(Set<Address> members){
+        receiveGetBucketsByMembers(members, Collections.<Address, Long>emptyMap());
+    }
+
+    /**
+     * Returns buckets for requested members that this node knows about. Where the requester already has a
+     * version of a bucket which is still in the change log, only the changes since that version are returned.
+     *
+     * @param members requested members
+     * @param knownVersions bucket versions known to the requester
+     */
+    @SuppressWarnings("rawtypes")
+    void receiveGetBucketsByMembers(Set<Address> members, Map<Address, Long> knownVersions){
         final ActorRef sender = getSender();
-        Map<Address, Bucket> buckets = getBucketsByMembers(members);
-        sender.tell(new GetBucketsByMembersReply(buckets), getSelf());
+        Map<Address, BucketDelta> deltas = getDeltasByMembers(members, knownVersions);
+
+        Set<Address> remaining = new HashSet<>(members);
+        remaining.removeAll(deltas.keySet());
+        Map<Address, Bucket> buckets = getBucketsByMembers(remaining);
+
+        sender.tell(new GetBucketsByMembersReply(buckets, deltas), getSelf());
     }
 
     /**
@@ -173,6 +213,48 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
         return buckets;
     }
 
+    /**
+     * Helper to collect changes for requested members since the given versions
+     *
+     * @param members requested members
+     * @param knownVersions versions to collect changes from
+     * @return a delta for each member whose changes since its known version are all still logged
+     */
+    Map<Address, BucketDelta> getDeltasByMembers(Set<Address> members, Map<Address, Long> knownVersions) {
+        Map<Address, BucketDelta> deltas = new HashMap<>();
+
+        for (Address address : members){
+            Long knownVersion = knownVersions.get(address);
+            Deque<BucketDelta> changeLog = changeLogs.get(address);
+            if (knownVersion == null || changeLog == null || changeLog.isEmpty()) {
+                continue;
+            }
+
+            // The log must end at the current version, otherwise the whole bucket is needed
+            Long currentVersion = versions.get(address);
+            if (currentVersion == null || changeLog.peekLast().getToVersion() != currentVersion.longValue()) {
+                continue;
+            }
+
+            List<Serializable> changes = new ArrayList<>();
+            boolean found = false;
+            for (BucketDelta logged : changeLog){
+                if (!found && logged.getFromVersion() == knownVersion.longValue()) {
+                    found = true;
+                }
+                if (found) {
+                    changes.addAll(logged.getChanges());
+                }
+            }
+
+            if (found) {
+                deltas.put(address, new BucketDelta(knownVersion, currentVersion, changes));
+            }
+        }
+
+        return deltas;
+    }
+
     /**
      * Returns versions for all buckets known
      */
@@ -188,9 +270,28 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
      * @param receivedBuckets buckets sent by remote
      *                        {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @SuppressWarnings("rawtypes")
     void receiveUpdateRemoteBuckets(Map<Address, Bucket> receivedBuckets){
-        log.debug("{}: receiveUpdateRemoteBuckets: {}", selfAddress, receivedBuckets);
+        receiveUpdateRemoteBuckets(receivedBuckets, Collections.<Address, BucketDelta>emptyMap());
+    }
+
+    /**
+     * Update local copy of remote buckets where local copy's version is older, either by replacing them with
+     * the received buckets or by applying the received deltas.
+     *
+     * @param receivedBuckets buckets sent by remote
+     *                        {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}
+     * @param receivedDeltas changes to buckets sent by remote
+     *                       {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void receiveUpdateRemoteBuckets(Map<Address, Bucket> receivedBuckets, Map<Address, BucketDelta> receivedDeltas){
+        log.debug("{}: receiveUpdateRemoteBuckets: {} deltas: {}", selfAddress, receivedBuckets, receivedDeltas);
+
+        if (receivedDeltas != null) {
+            applyRemoteDeltas(receivedDeltas);
+        }
+
         if (receivedBuckets == null || receivedBuckets.isEmpty())
          {
             return; //nothing to do
@@ -219,8 +320,18 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
 
             //update only if remote version is newer
             if ( remoteVersion.longValue() > localVersion.longValue() ) {
-                remoteBuckets.put(entry.getKey(), receivedBucket);
+                Bucket<T> previous = remoteBuckets.put(entry.getKey(), receivedBucket);
                 versions.put(entry.getKey(), remoteVersion);
+                gossipStats.bucketConverged(remoteVersion);
+
+                // Log the change too, so that this node can pass it on as a delta
+                if (previous != null) {
+                    logChange(entry.getKey(), previous, receivedBucket);
+                } else {
+                    changeLogs.remove(entry.getKey());
+                }
+
+                onRemoteBucketUpdated(entry.getKey(), previous, receivedBucket);
             }
         }
 
@@ -229,13 +340,104 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
         }
     }
 
+    /**
+     * Applies deltas to remote buckets held at the delta's starting version. Others are skipped, a later gossip
+     * round brings them up to date with whole buckets.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void applyRemoteDeltas(Map<Address, BucketDelta> receivedDeltas) {
+        for (Map.Entry<Address, BucketDelta> entry : receivedDeltas.entrySet()){
+            Address address = entry.getKey();
+            BucketDelta delta = entry.getValue();
+            Bucket<T> current = remoteBuckets.get(address);
+
+            //Remote cant update self's bucket
+            if (selfAddress.equals(address) || current == null || current.getVersion() == null
+                    || current.getVersion().longValue() != delta.getFromVersion()
+                    || !(current.getData() instanceof DeltaCopier)) {
+                log.debug("{}: ignoring delta {} for bucket {} of {}", selfAddress, delta, current, address);
+                continue;
+            }
+
+            DeltaCopier data = (DeltaCopier) current.getData();
+            for (Serializable change : delta.getChanges()){
+                data = (DeltaCopier) data.applyDelta(change);
+            }
+
+            Bucket<T> updated = new BucketImpl<>(delta.getToVersion(), (T) data);
+            remoteBuckets.put(address, updated);
+            versions.put(address, delta.getToVersion());
+            appendChange(address, delta);
+            gossipStats.bucketConverged(delta.getToVersion());
+
+            onRemoteBucketUpdated(address, current, updated);
+        }
+    }
+
+    /**
+     * Invoked after a remote bucket has been replaced with a newer version. Subclasses can override this to keep
+     * derived state in sync with the remote buckets.
+     *
+     * @param address owner of the bucket
+     * @param previous previous version of the bucket, null if the bucket was not known
+     * @param current current version of the bucket
+     */
+    protected void onRemoteBucketUpdated(Address address, Bucket<T> previous, Bucket<T> current) {
+        // No-op by default
+    }
+
+    /**
+     * Records the change between two versions of a bucket in its change log. If the change cannot be expressed
+     * as a delta, the log is dropped and members which are behind receive the whole bucket.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void logChange(Address address, Bucket<T> from, Bucket<T> to) {
+        Serializable delta = null;
+        if (from.getData() instanceof DeltaCopier && to.getData() instanceof DeltaCopier
+                && from.getVersion() != null && to.getVersion() != null) {
+            delta = ((DeltaCopier) to.getData()).diff((DeltaCopier) from.getData());
+        }
+
+        if (delta == null) {
+            changeLogs.remove(address);
+        } else {
+            appendChange(address, new BucketDelta(from.getVersion(), to.getVersion(),
+                    Collections.singletonList(delta)));
+        }
+    }
+
+    private void appendChange(Address address, BucketDelta delta) {
+        Deque<BucketDelta> changeLog = changeLogs.get(address);
+        if (changeLog == null) {
+            changeLog = new ArrayDeque<>();
+            changeLogs.put(address, changeLog);
+        } else if (!changeLog.isEmpty() && changeLog.peekLast().getToVersion() != delta.getFromVersion()) {
+            // Not contiguous, the older changes cannot be chained with this one
+            changeLog.clear();
+        }
+
+        changeLog.addLast(delta);
+        while (changeLog.size() > MAX_CHANGE_LOG_SIZE) {
+            changeLog.removeFirst();
+        }
+    }
+
     public BucketImpl<T> getLocalBucket() {
         return localBucket;
     }
 
     protected void updateLocalBucket(T data) {
+        BucketImpl<T> previous = new BucketImpl<>(localBucket);
         localBucket.setData(data);
         versions.put(selfAddress, localBucket.getVersion());
+
+        if (previous.getData() != null) {
+            logChange(selfAddress, previous, localBucket);
+        }
+    }
+
+    public GossipStats getGossipStats() {
+        return gossipStats;
     }
 
     public Map<Address, Bucket<T>> getRemoteBuckets() {
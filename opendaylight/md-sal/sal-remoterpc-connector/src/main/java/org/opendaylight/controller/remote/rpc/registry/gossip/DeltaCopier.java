@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import java.io.Serializable;
+
+/**
+ * Type of data that goes in {@link org.opendaylight.controller.remote.rpc.registry.gossip.Bucket} and which
+ * can describe its changes as a delta. {@link BucketStore} keeps a short log of these deltas so that peers
+ * which are only a few versions behind receive the changes instead of the whole bucket.
+ *
+ * @param <T> the data type
+ * @param <D> the delta type, which is sent to remote members
+ */
+public interface DeltaCopier<T extends DeltaCopier<T, D>, D extends Serializable> extends Copier<T> {
+    /**
+     * Returns the changes which turn older into this instance.
+     *
+     * @param older previous state of the data
+     * @return the delta, or null if the changes cannot be expressed as a delta
+     */
+    D diff(T older);
+
+    /**
+     * Returns a copy of this instance with the delta applied. This instance is not modified.
+     *
+     * @param delta delta previously returned by {@link #diff(DeltaCopier)}
+     */
+    T applyDelta(D delta);
+}
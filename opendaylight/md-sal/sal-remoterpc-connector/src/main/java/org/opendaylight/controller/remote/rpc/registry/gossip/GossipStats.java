@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gossip counters shared by a {@link BucketStore} and its {@link Gossiper}. They are updated from the actors
+ * and read from JMX, hence the atomics.
+ */
+public final class GossipStats {
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong bucketsSent = new AtomicLong();
+    private final AtomicLong deltasSent = new AtomicLong();
+    private final AtomicLong convergenceCount = new AtomicLong();
+    private final AtomicLong convergenceTotalMillis = new AtomicLong();
+    private final AtomicLong lastConvergenceMillis = new AtomicLong();
+    private final AtomicLong maxConvergenceMillis = new AtomicLong();
+
+    // Versions older than this were made before this member started, so they measure nothing about gossip
+    private final long startMillis = System.currentTimeMillis();
+
+    void envelopeSent(long bytes, int buckets, int deltas) {
+        bytesSent.addAndGet(bytes);
+        bucketsSent.addAndGet(buckets);
+        deltasSent.addAndGet(deltas);
+    }
+
+    /**
+     * Records the time between a member updating its bucket and this member applying that update. Versions made
+     * before these stats were created, eg the buckets this member gets when it joins the cluster, are ignored -
+     * their age is not the time the update took to spread.
+     *
+     * @param version the bucket version applied, which is the owner's wall clock time of the update
+     */
+    void bucketConverged(long version) {
+        if (version < startMillis) {
+            return;
+        }
+
+        // Clock skew between members can make this negative, such samples are meaningless
+        final long latency = System.currentTimeMillis() - version;
+        if (latency < 0) {
+            return;
+        }
+
+        convergenceCount.incrementAndGet();
+        convergenceTotalMillis.addAndGet(latency);
+        lastConvergenceMillis.set(latency);
+
+        long max;
+        do {
+            max = maxConvergenceMillis.get();
+        } while (latency > max && !maxConvergenceMillis.compareAndSet(max, latency));
+    }
+
+    /**
+     * Returns the java serialized size of the gossip envelopes sent.
+     */
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getBucketsSent() {
+        return bucketsSent.get();
+    }
+
+    public long getDeltasSent() {
+        return deltasSent.get();
+    }
+
+    public long getLastConvergenceMillis() {
+        return lastConvergenceMillis.get();
+    }
+
+    public long getMaxConvergenceMillis() {
+        return maxConvergenceMillis.get();
+    }
+
+    public long getAverageConvergenceMillis() {
+        final long count = convergenceCount.get();
+        return count == 0 ? 0 : convergenceTotalMillis.get() / count;
+    }
+}
@@ -18,7 +18,13 @@ import akka.cluster.ClusterEvent;
 import akka.cluster.Member;
 import akka.dispatch.Mapper;
 import akka.pattern.Patterns;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +60,9 @@ import scala.concurrent.duration.FiniteDuration;
  * <p/>
  * When a bucket is received from a remote gossiper, its sent to the bucket store
  * for update.
+ * <p/>
+ * Remote gossipers which accept deltas are sent only the changes to buckets they
+ * already hold, as long as the bucket store still has them logged.
  *
  */
 
@@ -79,10 +88,20 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
 
     private RemoteRpcProviderConfig config;
 
+    private GossipStats gossipStats = new GossipStats();
+
     public Gossiper(){
         config = new RemoteRpcProviderConfig(getContext().system().settings().config());
     }
 
+    /**
+     * @param gossipStats statistics to update, shared with the parent bucket store
+     */
+    public Gossiper(GossipStats gossipStats){
+        this();
+        this.gossipStats = gossipStats;
+    }
+
     /**
      * Helpful for testing
      * @param autoStartGossipTicks used for turning off gossip ticks during testing.
@@ -257,7 +276,7 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
             return;
         }
 
-        updateRemoteBuckets(envelope.getBuckets());
+        updateRemoteBuckets(envelope.getBuckets(), envelope.getDeltas());
 
     }
 
@@ -267,8 +286,18 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
      * @param buckets
      */
     void updateRemoteBuckets(Map<Address, Bucket> buckets) {
+        updateRemoteBuckets(buckets, Collections.<Address, BucketDelta>emptyMap());
+    }
 
-        UpdateRemoteBuckets updateRemoteBuckets = new UpdateRemoteBuckets(buckets);
+    /**
+     * Helper to send received buckets and deltas to bucket store
+     *
+     * @param buckets
+     * @param deltas
+     */
+    void updateRemoteBuckets(Map<Address, Bucket> buckets, Map<Address, BucketDelta> deltas) {
+
+        UpdateRemoteBuckets updateRemoteBuckets = new UpdateRemoteBuckets(buckets, deltas);
         getContext().parent().tell(updateRemoteBuckets, getSelf());
     }
 
@@ -279,9 +308,21 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
      * @param addresses  node addresses whose buckets needs to be sent
      */
     void sendGossipTo(final ActorRef remote, final Set<Address> addresses){
+        sendGossipTo(remote, addresses, Collections.<Address, Long>emptyMap());
+    }
 
-        Future<Object> futureReply =
-                Patterns.ask(getContext().parent(), new GetBucketsByMembers(addresses), config.getAskDuration());
+    /**
+     * Gets the buckets, or changes to them, from bucket store for the given node addresses and sends them to
+     * remote gossiper
+     *
+     * @param remote         remote node to send Buckets to
+     * @param addresses      node addresses whose buckets needs to be sent
+     * @param remoteVersions bucket versions held by the remote node, used to send changes only
+     */
+    void sendGossipTo(final ActorRef remote, final Set<Address> addresses, final Map<Address, Long> remoteVersions){
+
+        Future<Object> futureReply = Patterns.ask(getContext().parent(),
+                new GetBucketsByMembers(addresses, remoteVersions), config.getAskDuration());
         futureReply.map(getMapperToSendGossip(remote), getContext().dispatcher());
     }
 
@@ -403,7 +444,12 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
                     }
 
                     if (!localIsNewer.isEmpty()) {
-                        sendGossipTo(sender, localIsNewer);//send newer buckets to remote
+                        //send newer buckets to remote, as deltas where possible
+                        if (status.acceptsDeltas()) {
+                            sendGossipTo(sender, localIsNewer, new HashMap<>(remoteVersions));
+                        } else {
+                            sendGossipTo(sender, localIsNewer);
+                        }
                     }
 
                 }
@@ -430,11 +476,18 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
             @Override
             public Void apply(Object msg) {
                 if (msg instanceof GetBucketsByMembersReply) {
-                    Map<Address, Bucket> buckets = ((GetBucketsByMembersReply) msg).getBuckets();
+                    GetBucketsByMembersReply reply = (GetBucketsByMembersReply) msg;
+                    Map<Address, Bucket> buckets = reply.getBuckets();
+                    Map<Address, BucketDelta> deltas = reply.getDeltas();
                     if(log.isTraceEnabled()) {
-                        log.trace("Buckets to send from {}: {}", selfAddress, buckets);
+                        log.trace("Buckets to send from {}: {} deltas: {}", selfAddress, buckets, deltas);
                     }
-                    GossipEnvelope envelope = new GossipEnvelope(selfAddress, sender.path().address(), buckets);
+                    GossipEnvelope envelope = new GossipEnvelope(selfAddress, sender.path().address(), buckets,
+                            deltas);
+                    long bytes = serializedSize(envelope);
+                    log.debug("Sending gossip of {} bytes to {}", bytes, sender.path().address());
+
+                    gossipStats.envelopeSent(bytes, buckets.size(), deltas.size());
                     sender.tell(envelope, getSelf());
                 }
                 return null;
@@ -442,6 +495,21 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
         };
     }
 
+    /**
+     * Returns the number of bytes the envelope takes with java serialization, which is what the remote
+     * transport uses for it. The envelope is written once to a stream which only counts the bytes, nothing is
+     * buffered.
+     */
+    private long serializedSize(GossipEnvelope envelope) {
+        CountingOutputStream counter = new CountingOutputStream(ByteStreams.nullOutputStream());
+        try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+            out.writeObject(envelope);
+        } catch (IOException e) {
+            log.debug("Failed to determine size of {}", envelope, e);
+        }
+        return counter.getCount();
+    }
+
     ///
     ///Getter Setters
     ///
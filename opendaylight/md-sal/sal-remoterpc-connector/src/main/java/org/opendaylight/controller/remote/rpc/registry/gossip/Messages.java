@@ -34,15 +34,31 @@ public class Messages {
         public static class GetBucketsByMembers implements Serializable{
             private static final long serialVersionUID = 1L;
             private final Set<Address> members;
+            private final Map<Address, Long> knownVersions;
 
             public GetBucketsByMembers(Set<Address> members){
+                this(members, Collections.<Address, Long>emptyMap());
+            }
+
+            /**
+             * @param members requested members
+             * @param knownVersions bucket versions the recipient already has, for which deltas may be
+             *                      returned instead of whole buckets
+             */
+            public GetBucketsByMembers(Set<Address> members, Map<Address, Long> knownVersions){
                 Preconditions.checkArgument(members != null, "members can not be null");
+                Preconditions.checkArgument(knownVersions != null, "knownVersions can not be null");
                 this.members = members;
+                this.knownVersions = knownVersions;
             }
 
             public Set<Address> getMembers() {
                 return new HashSet<>(members);
             }
+
+            public Map<Address, Long> getKnownVersions() {
+                return Collections.unmodifiableMap(knownVersions);
+            }
         }
 
         public static class ContainsBuckets implements Serializable{
@@ -50,9 +66,18 @@ public class Messages {
 
             private final Map<Address, Bucket> buckets;
 
+            // Null when deserialized from a member which predates deltas
+            private final Map<Address, BucketDelta> deltas;
+
             public ContainsBuckets(Map<Address, Bucket> buckets){
+                this(buckets, Collections.<Address, BucketDelta>emptyMap());
+            }
+
+            public ContainsBuckets(Map<Address, Bucket> buckets, Map<Address, BucketDelta> deltas){
                 Preconditions.checkArgument(buckets != null, "buckets can not be null");
+                Preconditions.checkArgument(deltas != null, "deltas can not be null");
                 this.buckets = buckets;
+                this.deltas = deltas;
             }
 
             public Map<Address, Bucket> getBuckets() {
@@ -67,6 +92,20 @@ public class Messages {
                 }
                 return copy;
             }
+
+            public Map<Address, BucketDelta> getDeltas() {
+                if (deltas == null) {
+                    return Collections.emptyMap();
+                }
+
+                Map<Address, BucketDelta> copy = new HashMap<>(deltas.size());
+                for (Map.Entry<Address, BucketDelta> entry : deltas.entrySet()){
+                    if ( (entry.getKey() != null) && (entry.getValue() != null) ) {
+                        copy.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                return copy;
+            }
         }
 
         public static class GetAllBucketsReply extends ContainsBuckets implements Serializable{
@@ -81,6 +120,10 @@ public class Messages {
             public GetBucketsByMembersReply(Map<Address, Bucket> buckets) {
                 super(buckets);
             }
+
+            public GetBucketsByMembersReply(Map<Address, Bucket> buckets, Map<Address, BucketDelta> deltas) {
+                super(buckets, deltas);
+            }
         }
 
         public static class GetBucketVersions implements Serializable {
@@ -116,6 +159,10 @@ public class Messages {
             public UpdateRemoteBuckets(Map<Address, Bucket> buckets) {
                 super(buckets);
             }
+
+            public UpdateRemoteBuckets(Map<Address, Bucket> buckets, Map<Address, BucketDelta> deltas) {
+                super(buckets, deltas);
+            }
         }
     }
 
@@ -133,14 +180,25 @@ public class Messages {
 
             private final Address from;
 
+            // False when deserialized from a member which predates deltas
+            private final boolean acceptsDeltas;
+
             public GossipStatus(Address from, Map<Address, Long> versions) {
                 super(versions);
                 this.from = from;
+                this.acceptsDeltas = true;
             }
 
             public Address from() {
                 return from;
             }
+
+            /**
+             * Returns true if the sender can apply {@link BucketDelta}s in a {@link GossipEnvelope}.
+             */
+            public boolean acceptsDeltas() {
+                return acceptsDeltas;
+            }
         }
 
         public static final class GossipEnvelope extends ContainsBuckets implements Serializable {
@@ -150,7 +208,12 @@ public class Messages {
             private final Address to;
 
             public GossipEnvelope(Address from, Address to, Map<Address, Bucket> buckets) {
-                super(buckets);
+                this(from, to, buckets, Collections.<Address, BucketDelta>emptyMap());
+            }
+
+            public GossipEnvelope(Address from, Address to, Map<Address, Bucket> buckets,
+                    Map<Address, BucketDelta> deltas) {
+                super(buckets, deltas);
                 Preconditions.checkArgument(to != null, "Recipient of message must not be null");
                 this.to = to;
                 this.from = from;
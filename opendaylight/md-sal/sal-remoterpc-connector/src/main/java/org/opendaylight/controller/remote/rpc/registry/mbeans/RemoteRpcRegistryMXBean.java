@@ -19,4 +19,16 @@ public interface RemoteRpcRegistryMXBean {
     Map<String,String> findRpcByName(String name);
 
     Map<String,String> findRpcByRoute(String route);
+
+    long getGossipBytesSent();
+
+    long getGossipBucketsSent();
+
+    long getGossipDeltasSent();
+
+    long getLastConvergenceLatencyMillis();
+
+    long getAverageConvergenceLatencyMillis();
+
+    long getMaxConvergenceLatencyMillis();
 }
@@ -153,4 +153,34 @@ public class RemoteRpcRegistryMXBeanImpl extends AbstractMXBean implements Remot
         return rpcRegistry.getVersions().toString();
     }
 
+    @Override
+    public long getGossipBytesSent() {
+        return rpcRegistry.getGossipStats().getBytesSent();
+    }
+
+    @Override
+    public long getGossipBucketsSent() {
+        return rpcRegistry.getGossipStats().getBucketsSent();
+    }
+
+    @Override
+    public long getGossipDeltasSent() {
+        return rpcRegistry.getGossipStats().getDeltasSent();
+    }
+
+    @Override
+    public long getLastConvergenceLatencyMillis() {
+        return rpcRegistry.getGossipStats().getLastConvergenceMillis();
+    }
+
+    @Override
+    public long getAverageConvergenceLatencyMillis() {
+        return rpcRegistry.getGossipStats().getAverageConvergenceMillis();
+    }
+
+    @Override
+    public long getMaxConvergenceLatencyMillis() {
+        return rpcRegistry.getGossipStats().getMaxConvergenceMillis();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.utils;
+
+import akka.actor.ActorRef;
+import akka.japi.Pair;
+import com.google.common.base.Charsets;
+import com.google.common.base.Throwables;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeOutputStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * RoutingLogic which picks the router by consistent hashing of the RPC input, so that invocations with the same
+ * input go to the same member. Each router is placed on a hash ring at a number of points derived from its path
+ * and an input goes to the router at the first point following the input's hash. When a member leaves or joins,
+ * only the inputs hashing next to its points move, to or from that member. Invocations without input all go to
+ * the same member.
+ * <p>
+ * The hash is taken of the input as serialized by NormalizedNodeOutputStreamWriter, not of its hashCode(), which
+ * isn't stable across members for eg binary leaf values. A routed RPC is hashed by its routing context instead,
+ * so that all the invocations for the same context go to the same member whatever else their input holds.
+ */
+public class ConsistentHashRoutingLogic implements RoutingLogic {
+    private static final HashFunction HASH = Hashing.murmur3_32();
+
+    // Points on the ring per router, spreading the inputs evenly among a few routers
+    private static final int VIRTUAL_NODES = 32;
+
+    private final NavigableMap<Integer, ActorRef> ring = new TreeMap<>();
+    private final YangInstanceIdentifier contextReference;
+    private final NormalizedNode<?, ?> input;
+
+    /**
+     * @param entries the routers and their update times
+     * @param contextReference the routing context of a routed RPC, empty for a global RPC
+     * @param input the RPC input, may be null
+     */
+    public ConsistentHashRoutingLogic(Collection<Pair<ActorRef, Long>> entries,
+            YangInstanceIdentifier contextReference, NormalizedNode<?, ?> input) {
+        // Sorting makes the owner of a point deterministic should the points of two routers collide.
+        for(ActorRef router: RoutingLogics.sortedRouters(entries)) {
+            String path = router.path().toString();
+            for(int i = 0; i < VIRTUAL_NODES; i++) {
+                Integer point = HASH.hashString(path + '#' + i, Charsets.UTF_8).asInt();
+                if(!ring.containsKey(point)) {
+                    ring.put(point, router);
+                }
+            }
+        }
+
+        this.contextReference = contextReference;
+        this.input = input;
+    }
+
+    @Override
+    public ActorRef select() {
+        int hash = hashKey();
+        Map.Entry<Integer, ActorRef> entry = ring.ceilingEntry(hash);
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    private int hashKey() {
+        Hasher hasher = HASH.newHasher();
+        try {
+            NormalizedNodeOutputStreamWriter writer = new NormalizedNodeOutputStreamWriter(
+                    Funnels.asOutputStream(hasher));
+            if(contextReference != null && !contextReference.getPathArguments().isEmpty()) {
+                writer.writeYangInstanceIdentifier(contextReference);
+            } else if(input != null) {
+                writer.writeNormalizedNode(input);
+            }
+            writer.flush();
+        } catch(IOException e) {
+            // Writing to a Hasher doesn't fail.
+            throw Throwables.propagate(e);
+        }
+
+        return hasher.hash().asInt();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.utils;
+
+import akka.actor.ActorRef;
+import akka.japi.Pair;
+import com.google.common.base.Preconditions;
+import java.util.Collection;
+
+/**
+ * RoutingLogic which picks the router with the fewest RPC requests sent to it by this member which have not
+ * completed yet. Ties go to the most recently registered router.
+ */
+public class LeastOutstandingRoutingLogic implements RoutingLogic {
+
+    private final Collection<Pair<ActorRef, Long>> entries;
+    private final OutstandingRequests outstandingRequests;
+
+    public LeastOutstandingRoutingLogic(Collection<Pair<ActorRef, Long>> entries,
+            OutstandingRequests outstandingRequests) {
+        Preconditions.checkArgument(!entries.isEmpty(), "Entries collection should not be empty");
+        this.entries = entries;
+        this.outstandingRequests = Preconditions.checkNotNull(outstandingRequests);
+    }
+
+    @Override
+    public ActorRef select() {
+        Pair<ActorRef, Long> selected = null;
+        int selectedCount = Integer.MAX_VALUE;
+        for(Pair<ActorRef, Long> entry: entries) {
+            int count = outstandingRequests.get(entry.first());
+            if(count < selectedCount || count == selectedCount && entry.second() > selected.second()) {
+                selected = entry;
+                selectedCount = count;
+            }
+        }
+
+        return selected.first();
+    }
+}
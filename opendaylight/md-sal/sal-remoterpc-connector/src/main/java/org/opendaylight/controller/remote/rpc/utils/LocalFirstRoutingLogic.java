@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.utils;
+
+import akka.actor.ActorRef;
+import akka.japi.Pair;
+import java.util.Collection;
+
+/**
+ * RoutingLogic which picks the router of the local member, saving the network hop, and falls back to the most
+ * recently registered router if the local member has none.
+ */
+public class LocalFirstRoutingLogic implements RoutingLogic {
+
+    private final Collection<Pair<ActorRef, Long>> entries;
+
+    public LocalFirstRoutingLogic(Collection<Pair<ActorRef, Long>> entries) {
+        this.entries = entries;
+    }
+
+    @Override
+    public ActorRef select() {
+        for(Pair<ActorRef, Long> entry: entries) {
+            if(entry.first().path().address().hasLocalScope()) {
+                return entry.first();
+            }
+        }
+
+        return new LatestEntryRoutingLogic(entries).select();
+    }
+}
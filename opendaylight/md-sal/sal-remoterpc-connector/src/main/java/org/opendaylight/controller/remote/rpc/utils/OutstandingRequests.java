@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.utils;
+
+import akka.actor.ActorRef;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the RPC requests in flight to each router, for {@link LeastOutstandingRoutingLogic}.
+ */
+public class OutstandingRequests {
+
+    private final ConcurrentMap<ActorRef, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+    public void increment(ActorRef router) {
+        AtomicInteger count = counts.get(router);
+        if(count == null) {
+            AtomicInteger newCount = new AtomicInteger();
+            count = counts.putIfAbsent(router, newCount);
+            if(count == null) {
+                count = newCount;
+            }
+        }
+
+        count.incrementAndGet();
+    }
+
+    public void decrement(ActorRef router) {
+        AtomicInteger count = counts.get(router);
+        if(count != null) {
+            count.decrementAndGet();
+        }
+    }
+
+    public int get(ActorRef router) {
+        AtomicInteger count = counts.get(router);
+        return count == null ? 0 : count.get();
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.utils;
+
+import akka.actor.ActorRef;
+import akka.japi.Pair;
+import com.google.common.base.Preconditions;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RoutingLogic which cycles through the routers of an RPC. The position in the cycle is kept by the caller, one
+ * counter per RPC, and the routers are ordered by path so that the cycle is stable while the set of routers is.
+ */
+public class RoundRobinRoutingLogic implements RoutingLogic {
+
+    private final List<ActorRef> routers;
+    private final AtomicLong counter;
+
+    public RoundRobinRoutingLogic(Collection<Pair<ActorRef, Long>> entries, AtomicLong counter) {
+        this.routers = RoutingLogics.sortedRouters(entries);
+        this.counter = Preconditions.checkNotNull(counter);
+    }
+
+    @Override
+    public ActorRef select() {
+        return routers.get((int) ((counter.getAndIncrement() & Long.MAX_VALUE) % routers.size()));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.utils;
+
+import akka.actor.ActorRef;
+import akka.japi.Pair;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Helpers shared by the RoutingLogic implementations.
+ */
+final class RoutingLogics {
+    private static final Comparator<ActorRef> PATH_ORDER = new Comparator<ActorRef>() {
+        @Override
+        public int compare(ActorRef r1, ActorRef r2) {
+            return r1.path().toString().compareTo(r2.path().toString());
+        }
+    };
+
+    private RoutingLogics() {
+    }
+
+    /**
+     * Returns the routers of the given entries ordered by path, so that the order is stable for a given set of routers.
+     */
+    static List<ActorRef> sortedRouters(Collection<Pair<ActorRef, Long>> entries) {
+        Preconditions.checkNotNull(entries, "Entries should not be null");
+        Preconditions.checkArgument(!entries.isEmpty(), "Entries collection should not be empty");
+
+        List<ActorRef> routers = new ArrayList<>(entries.size());
+        for(Pair<ActorRef, Long> entry: entries) {
+            routers.add(entry.first());
+        }
+
+        Collections.sort(routers, PATH_ORDER);
+        return routers;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.utils;
+
+/**
+ * The ways an RPC registered by more than one member of the cluster can be routed, each implemented by a
+ * {@link RoutingLogic}. The strategy is configured per RPC in RemoteRpcProviderConfig.
+ */
+public enum RoutingStrategy {
+    /**
+     * Picks the most recently registered router, see {@link LatestEntryRoutingLogic}.
+     */
+    LATEST_ENTRY,
+    /**
+     * Picks the router of the local member if it has one, see {@link LocalFirstRoutingLogic}.
+     */
+    LOCAL_FIRST,
+    /**
+     * Cycles through the routers, see {@link RoundRobinRoutingLogic}.
+     */
+    ROUND_ROBIN,
+    /**
+     * Picks the router with the fewest requests in flight, see {@link LeastOutstandingRoutingLogic}.
+     */
+    LEAST_OUTSTANDING,
+    /**
+     * Picks the router by hashing the routing context or RPC input, see {@link ConsistentHashRoutingLogic}.
+     */
+    CONSISTENT_HASH;
+
+    /**
+     * Parses a strategy from its configuration name, eg "round-robin".
+     *
+     * @throws IllegalArgumentException if the name does not match a strategy
+     */
+    public static RoutingStrategy forName(String name) {
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+}
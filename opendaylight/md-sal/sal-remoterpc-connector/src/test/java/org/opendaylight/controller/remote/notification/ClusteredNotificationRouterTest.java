@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.notification;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.opendaylight.controller.remote.notification.NotificationBatchTest.NOTIFICATION;
+import static org.opendaylight.controller.remote.notification.NotificationBatchTest.OTHER_NOTIFICATION;
+import static org.opendaylight.controller.remote.notification.NotificationBatchTest.makeNotification;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationPublishService;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class ClusteredNotificationRouterTest {
+    private static final SchemaPath NOTIFICATION_PATH = SchemaPath.create(true, NOTIFICATION);
+    private static final SchemaPath OTHER_NOTIFICATION_PATH = SchemaPath.create(true, OTHER_NOTIFICATION);
+
+    private ClusteredNotificationRouter router;
+
+    @Before
+    public void setUp() {
+        router = new ClusteredNotificationRouter();
+    }
+
+    @After
+    public void tearDown() {
+        router.close();
+    }
+
+    @Test
+    public void testDeliverToListenersOfType() throws Exception {
+        DOMNotificationListener listener = mock(DOMNotificationListener.class);
+        DOMNotificationListener otherListener = mock(DOMNotificationListener.class);
+        router.registerNotificationListener(listener, NOTIFICATION_PATH);
+        router.registerNotificationListener(otherListener, OTHER_NOTIFICATION_PATH);
+
+        DOMNotification first = makeNotification(NOTIFICATION, "foo");
+        DOMNotification second = makeNotification(NOTIFICATION, "bar");
+        router.offerNotification(first);
+        router.offerNotification(second).get(5, TimeUnit.SECONDS);
+
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).onNotification(first);
+        inOrder.verify(listener).onNotification(second);
+        verify(otherListener, never()).onNotification(any(DOMNotification.class));
+    }
+
+    @Test
+    public void testClosedRegistration() throws Exception {
+        DOMNotificationListener listener = mock(DOMNotificationListener.class);
+        ListenerRegistration<?> reg = router.registerNotificationListener(listener, NOTIFICATION_PATH);
+        reg.close();
+
+        router.offerNotification(makeNotification(NOTIFICATION, "foo")).get(5, TimeUnit.SECONDS);
+        verify(listener, never()).onNotification(any(DOMNotification.class));
+    }
+
+    @Test
+    public void testFailingListener() {
+        DOMNotificationListener failing = mock(DOMNotificationListener.class);
+        DOMNotificationListener listener = mock(DOMNotificationListener.class);
+        DOMNotification notification = makeNotification(NOTIFICATION, "foo");
+        doThrow(new IllegalStateException("mock")).when(failing).onNotification(notification);
+        router.registerNotificationListener(failing, NOTIFICATION_PATH);
+        router.registerNotificationListener(listener, NOTIFICATION_PATH);
+
+        router.offerNotification(notification);
+        verify(listener, timeout(5000)).onNotification(notification);
+    }
+
+    @Test
+    public void testRejectedWhenClosed() {
+        router.registerNotificationListener(mock(DOMNotificationListener.class), NOTIFICATION_PATH);
+        router.close();
+
+        assertSame(DOMNotificationPublishService.REJECTED, router.offerNotification(
+                makeNotification(NOTIFICATION, "foo")));
+    }
+}
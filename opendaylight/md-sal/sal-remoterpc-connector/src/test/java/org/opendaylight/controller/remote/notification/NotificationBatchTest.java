@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.notification;
+
+import static org.junit.Assert.assertEquals;
+import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class NotificationBatchTest {
+    static final QName NOTIFICATION = QName.create("urn:test", "2015-06-12", "test-notification");
+    static final QName OTHER_NOTIFICATION = QName.create(NOTIFICATION, "other-notification");
+    static final QName LEAF = QName.create(NOTIFICATION, "data");
+
+    static DOMNotification makeNotification(final QName type, final String value) {
+        final ContainerNode body = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(type))
+                .withChild(ImmutableNodes.leafNode(LEAF, value)).build();
+        return new RemoteDOMNotification(type, body);
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        final List<DOMNotification> notifications = Arrays.asList(makeNotification(NOTIFICATION, "foo"),
+                makeNotification(OTHER_NOTIFICATION, "bar"));
+
+        final NotificationBatch cloned = roundTrip(new NotificationBatch(notifications));
+        assertEquals(notifications.size(), cloned.getNotifications().size());
+        for (int i = 0; i < notifications.size(); i++) {
+            assertEquals(notifications.get(i).getType(), cloned.getNotifications().get(i).getType());
+            assertEquals(notifications.get(i).getBody(), cloned.getNotifications().get(i).getBody());
+        }
+    }
+
+    @Test
+    public void testSerializedType() throws Exception {
+        final NotificationBatch cloned = roundTrip(new NotificationBatch(
+                Arrays.asList(makeNotification(NOTIFICATION, "foo"))));
+        assertEquals(SchemaPath.create(true, NOTIFICATION), cloned.getNotifications().get(0).getType());
+    }
+
+    @Test
+    public void testInterestDelta() {
+        final NotificationInterest older = new NotificationInterest();
+        older.setTypes(ImmutableSet.of(NOTIFICATION));
+
+        final NotificationInterest newer = older.copy();
+        newer.setTypes(ImmutableSet.of(OTHER_NOTIFICATION));
+
+        final NotificationInterest applied = older.applyDelta(newer.diff(older));
+        assertEquals(ImmutableSet.of(OTHER_NOTIFICATION), applied.getTypes());
+        assertEquals(ImmutableSet.of(NOTIFICATION), older.getTypes());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(final T message) throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(message);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.opendaylight.controller.remote.notification.NotificationBatchTest.NOTIFICATION;
+import static org.opendaylight.controller.remote.notification.NotificationBatchTest.OTHER_NOTIFICATION;
+import static org.opendaylight.controller.remote.notification.NotificationBatchTest.makeNotification;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.japi.Creator;
+import akka.testkit.JavaTestKit;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationPublishService;
+import org.opendaylight.controller.remote.notification.NotificationRegistry.Messages.RemoteSubscribers;
+import org.opendaylight.yangtools.yang.common.QName;
+
+public class NotificationBrokerTest {
+    private static ActorSystem system;
+
+    @BeforeClass
+    public static void setup() {
+        system = ActorSystem.create("opendaylight-notification");
+    }
+
+    @AfterClass
+    public static void teardown() {
+        JavaTestKit.shutdownActorSystem(system);
+        system = null;
+    }
+
+    /**
+     * Creates the broker only once released, so that the messages sent to it until then are all in its mailbox
+     * when it starts.
+     */
+    private static final class DelayedCreator implements Creator<NotificationBroker> {
+        private static final long serialVersionUID = 1L;
+
+        private final CountDownLatch release;
+
+        DelayedCreator(final CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public NotificationBroker create() throws Exception {
+            release.await(5, TimeUnit.SECONDS);
+            return new NotificationBroker(mock(DOMNotificationPublishService.class), 2);
+        }
+    }
+
+    @Test
+    public void testForwardToSubscribers() {
+        new JavaTestKit(system) {
+            {
+                final CountDownLatch release = new CountDownLatch(1);
+                final ActorRef broker = system.actorOf(Props.create(new DelayedCreator(release)));
+                final JavaTestKit subscriber = new JavaTestKit(system);
+                broker.tell(new RemoteSubscribers(ImmutableMap.<QName, Set<ActorRef>>of(
+                        NOTIFICATION, ImmutableSet.of(subscriber.getRef()))), getRef());
+
+                final DOMNotification first = makeNotification(NOTIFICATION, "foo");
+                final DOMNotification second = makeNotification(NOTIFICATION, "bar");
+                final DOMNotification third = makeNotification(NOTIFICATION, "baz");
+
+                // Not subscribed to, never sent
+                broker.tell(makeNotification(OTHER_NOTIFICATION, "foo"), getRef());
+                broker.tell(first, getRef());
+                broker.tell(second, getRef());
+                broker.tell(third, getRef());
+                release.countDown();
+
+                // The first two fill a batch, the last one is sent when the mailbox is drained
+                NotificationBatch batch = subscriber.expectMsgClass(duration("5 seconds"), NotificationBatch.class);
+                assertEquals(Arrays.asList(first, second), batch.getNotifications());
+
+                batch = subscriber.expectMsgClass(duration("5 seconds"), NotificationBatch.class);
+                assertEquals(Arrays.asList(third), batch.getNotifications());
+
+                subscriber.expectNoMsg(duration("200 milliseconds"));
+            }
+        };
+    }
+
+    @Test
+    public void testNoSubscribers() {
+        new JavaTestKit(system) {
+            {
+                final ActorRef broker = system.actorOf(NotificationBroker.props(
+                        mock(DOMNotificationPublishService.class), 2));
+                final JavaTestKit subscriber = new JavaTestKit(system);
+                broker.tell(new RemoteSubscribers(ImmutableMap.<QName, Set<ActorRef>>of(
+                        NOTIFICATION, ImmutableSet.of(subscriber.getRef()))), getRef());
+                broker.tell(new RemoteSubscribers(Collections.<QName, Set<ActorRef>>emptyMap()), getRef());
+
+                broker.tell(makeNotification(NOTIFICATION, "foo"), getRef());
+                subscriber.expectNoMsg(duration("200 milliseconds"));
+            }
+        };
+    }
+
+    @Test
+    public void testPublishReceivedBatch() {
+        new JavaTestKit(system) {
+            {
+                final DOMNotificationPublishService publishService = mock(DOMNotificationPublishService.class);
+                final ActorRef broker = system.actorOf(NotificationBroker.props(publishService, 2));
+
+                final DOMNotification first = makeNotification(NOTIFICATION, "foo");
+                final DOMNotification second = makeNotification(OTHER_NOTIFICATION, "bar");
+                broker.tell(new NotificationBatch(Arrays.asList(first, second)), getRef());
+
+                verify(publishService, timeout(5000)).offerNotification(first);
+                verify(publishService, timeout(5000)).offerNotification(second);
+            }
+        };
+    }
+}
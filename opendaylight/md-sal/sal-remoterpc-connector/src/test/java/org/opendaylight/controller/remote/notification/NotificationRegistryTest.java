@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.opendaylight.controller.remote.notification.NotificationBatchTest.NOTIFICATION;
+import static org.opendaylight.controller.remote.notification.NotificationBatchTest.OTHER_NOTIFICATION;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Address;
+import akka.testkit.JavaTestKit;
+import akka.testkit.TestActorRef;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.typesafe.config.ConfigFactory;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.controller.remote.notification.NotificationRegistry.Messages.RemoteSubscribers;
+import org.opendaylight.controller.remote.notification.NotificationRegistry.Messages.SetLocalRouter;
+import org.opendaylight.controller.remote.rpc.registry.gossip.Bucket;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketDelta;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketImpl;
+import org.opendaylight.controller.remote.rpc.registry.gossip.Messages.BucketStoreMessages.UpdateRemoteBuckets;
+import org.opendaylight.yangtools.yang.common.QName;
+
+public class NotificationRegistryTest {
+    private static final Address MEMBER1 = new Address("akka.tcp", "member1");
+    private static final Address MEMBER2 = new Address("akka.tcp", "member2");
+
+    private static ActorSystem system;
+
+    private TestActorRef<NotificationRegistry> registry;
+    private JavaTestKit localBroker;
+    private ActorRef broker1;
+    private ActorRef broker2;
+
+    @BeforeClass
+    public static void setup() {
+        system = ActorSystem.create("opendaylight-rpc", ConfigFactory.load().getConfig("unit-test"));
+    }
+
+    @AfterClass
+    public static void teardown() {
+        JavaTestKit.shutdownActorSystem(system);
+        system = null;
+    }
+
+    @Before
+    public void setUp() {
+        registry = TestActorRef.create(system, NotificationRegistry.props());
+        localBroker = new JavaTestKit(system);
+        broker1 = new JavaTestKit(system).getRef();
+        broker2 = new JavaTestKit(system).getRef();
+
+        registry.tell(new SetLocalRouter(localBroker.getRef()), ActorRef.noSender());
+        assertEquals("Initial subscribers", Collections.emptyMap(), expectSubscribers());
+    }
+
+    private static NotificationInterest interest(ActorRef router, QName... types) {
+        NotificationInterest interest = new NotificationInterest();
+        interest.setRouter(router);
+        interest.setTypes(ImmutableSet.copyOf(types));
+        return interest;
+    }
+
+    private Map<QName, Set<ActorRef>> expectSubscribers() {
+        return localBroker.expectMsgClass(JavaTestKit.duration("5 seconds"),
+                RemoteSubscribers.class).getSubscribers();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void gossipBuckets(Map<Address, Bucket> buckets) {
+        registry.tell(new UpdateRemoteBuckets(buckets), ActorRef.noSender());
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void testRemoteInterestGossip() {
+        Map<Address, Bucket> buckets = new HashMap<>();
+        buckets.put(MEMBER1, new BucketImpl<>(1L, interest(broker1, NOTIFICATION)));
+        gossipBuckets(buckets);
+
+        assertEquals("Subscribers", ImmutableMap.of(NOTIFICATION, ImmutableSet.of(broker1)), expectSubscribers());
+
+        buckets.clear();
+        buckets.put(MEMBER2, new BucketImpl<>(1L, interest(broker2, NOTIFICATION, OTHER_NOTIFICATION)));
+        gossipBuckets(buckets);
+
+        assertEquals("Subscribers", ImmutableMap.of(NOTIFICATION, ImmutableSet.of(broker1, broker2),
+                OTHER_NOTIFICATION, ImmutableSet.of(broker2)), expectSubscribers());
+
+        // A stale bucket changes nothing
+        buckets.clear();
+        buckets.put(MEMBER2, new BucketImpl<>(1L, interest(broker2)));
+        gossipBuckets(buckets);
+
+        localBroker.expectNoMsg(JavaTestKit.duration("100 milliseconds"));
+
+        // Member 2 loses interest in the notification
+        buckets.clear();
+        buckets.put(MEMBER2, new BucketImpl<>(2L, interest(broker2, OTHER_NOTIFICATION)));
+        gossipBuckets(buckets);
+
+        assertEquals("Subscribers", ImmutableMap.of(NOTIFICATION, ImmutableSet.of(broker1),
+                OTHER_NOTIFICATION, ImmutableSet.of(broker2)), expectSubscribers());
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void testRemoteInterestDeltaGossip() {
+        NotificationInterest older = interest(broker1, NOTIFICATION);
+        Map<Address, Bucket> buckets = new HashMap<>();
+        buckets.put(MEMBER1, new BucketImpl<>(1L, older));
+        gossipBuckets(buckets);
+
+        assertEquals("Subscribers", ImmutableMap.of(NOTIFICATION, ImmutableSet.of(broker1)), expectSubscribers());
+
+        NotificationInterest newer = interest(broker1, OTHER_NOTIFICATION);
+        BucketDelta delta = new BucketDelta(1L, 2L, Collections.<Serializable>singletonList(newer.diff(older)));
+        registry.tell(new UpdateRemoteBuckets(Collections.<Address, Bucket>emptyMap(),
+                Collections.singletonMap(MEMBER1, delta)), ActorRef.noSender());
+
+        assertEquals("Subscribers", ImmutableMap.of(OTHER_NOTIFICATION, ImmutableSet.of(broker1)),
+                expectSubscribers());
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void testRemoteBucketWithoutRouter() {
+        Map<Address, Bucket> buckets = new HashMap<>();
+        buckets.put(MEMBER1, new BucketImpl<>(1L, interest(null, NOTIFICATION)));
+        gossipBuckets(buckets);
+
+        assertEquals("Subscribers", Collections.emptyMap(), expectSubscribers());
+    }
+}
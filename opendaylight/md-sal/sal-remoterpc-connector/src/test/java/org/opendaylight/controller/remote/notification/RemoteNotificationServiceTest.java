@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.opendaylight.controller.remote.notification.NotificationBatchTest.NOTIFICATION;
+import static org.opendaylight.controller.remote.notification.NotificationBatchTest.OTHER_NOTIFICATION;
+import static org.opendaylight.controller.remote.notification.NotificationBatchTest.makeNotification;
+import akka.actor.ActorSystem;
+import akka.testkit.JavaTestKit;
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationPublishService;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationService;
+import org.opendaylight.controller.remote.notification.NotificationRegistry.Messages.UpdateLocalInterest;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class RemoteNotificationServiceTest {
+    private static final SchemaPath NOTIFICATION_PATH = SchemaPath.create(true, NOTIFICATION);
+    private static final SchemaPath OTHER_NOTIFICATION_PATH = SchemaPath.create(true, OTHER_NOTIFICATION);
+
+    private static ActorSystem system;
+
+    private JavaTestKit registry;
+    private DOMNotificationPublishService localPublishService;
+    private ClusteredNotificationRouter remoteRouter;
+    private RemoteNotificationService service;
+
+    @BeforeClass
+    public static void setup() {
+        system = ActorSystem.create("opendaylight-notification");
+    }
+
+    @AfterClass
+    public static void teardown() {
+        JavaTestKit.shutdownActorSystem(system);
+        system = null;
+    }
+
+    @Before
+    public void setUp() {
+        DOMNotificationService localService = mock(DOMNotificationService.class);
+        doReturn(mock(ListenerRegistration.class)).when(localService).registerNotificationListener(
+                any(DOMNotificationListener.class), anyCollectionOf(SchemaPath.class));
+
+        registry = new JavaTestKit(system);
+        localPublishService = mock(DOMNotificationPublishService.class);
+        remoteRouter = new ClusteredNotificationRouter();
+        service = new RemoteNotificationService(localService, localPublishService, remoteRouter,
+                new JavaTestKit(system).getRef(), registry.getRef());
+    }
+
+    @After
+    public void tearDown() {
+        remoteRouter.close();
+    }
+
+    private void expectInterest(QName... types) {
+        Set<QName> interest = registry.expectMsgClass(JavaTestKit.duration("5 seconds"),
+                UpdateLocalInterest.class).getTypes();
+        assertEquals("Interest", ImmutableSet.copyOf(types), interest);
+    }
+
+    private void expectNoInterestUpdate() {
+        registry.expectNoMsg(JavaTestKit.duration("100 milliseconds"));
+    }
+
+    @Test
+    public void testInterestCounting() {
+        ListenerRegistration<?> reg1 = service.registerNotificationListener(mock(DOMNotificationListener.class),
+                NOTIFICATION_PATH);
+        expectInterest(NOTIFICATION);
+
+        // A second listener for the same type doesn't change the interest
+        ListenerRegistration<?> reg2 = service.registerNotificationListener(mock(DOMNotificationListener.class),
+                NOTIFICATION_PATH);
+        expectNoInterestUpdate();
+
+        ListenerRegistration<?> reg3 = service.registerNotificationListener(mock(DOMNotificationListener.class),
+                NOTIFICATION_PATH, OTHER_NOTIFICATION_PATH);
+        expectInterest(NOTIFICATION, OTHER_NOTIFICATION);
+
+        // Other listeners for the type remain
+        reg2.close();
+        expectNoInterestUpdate();
+
+        reg1.close();
+        expectNoInterestUpdate();
+
+        reg3.close();
+        expectInterest();
+    }
+
+    @Test
+    public void testRemoteNotificationsReachClusteredListenersOnly() throws InterruptedException {
+        DOMNotificationListener listener = mock(DOMNotificationListener.class);
+        ListenerRegistration<?> reg = service.registerNotificationListener(listener, NOTIFICATION_PATH);
+        expectInterest(NOTIFICATION);
+
+        // The broker publishes the notifications of other members to the remote router, not to the local service
+        DOMNotification notification = makeNotification(NOTIFICATION, "foo");
+        remoteRouter.offerNotification(notification);
+        verify(listener, timeout(5000)).onNotification(notification);
+        verify(localPublishService, never()).offerNotification(notification);
+        verify(localPublishService, never()).putNotification(notification);
+
+        // Nor does it reach the listener once closed
+        reg.close();
+        expectInterest();
+        DOMNotification other = makeNotification(NOTIFICATION, "bar");
+        remoteRouter.offerNotification(other);
+        verify(listener, never()).onNotification(other);
+    }
+}
@@ -88,6 +88,34 @@ public class RemoteRpcImplementationTest extends AbstractRpcTest {
         assertEquals(rpcOutput, result.getResult());
     }
 
+    /**
+     * This test method invokes and executes the remote rpc on a router which understands the streamed messages
+     */
+    @Test
+    public void testInvokeRpcStreamed() throws Exception {
+        final ContainerNode rpcOutput = makeRPCOutput("bar");
+        final DOMRpcResult rpcResult = new DefaultDOMRpcResult(rpcOutput);
+
+        final NormalizedNode<?, ?> invokeRpcInput = makeRPCInput("foo");
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final ArgumentCaptor<NormalizedNode<?, ?>> inputCaptor =
+                (ArgumentCaptor) ArgumentCaptor.forClass(NormalizedNode.class);
+
+        when(domRpcService2.invokeRpc(eq(TEST_RPC_TYPE), inputCaptor.capture())).thenReturn(
+                Futures.<DOMRpcResult, DOMRpcException>immediateCheckedFuture(rpcResult));
+
+        final CheckedFuture<DOMRpcResult, DOMRpcException> frontEndFuture =
+                remoteRpcImpl1.invokeRpc(TEST_RPC_ID, invokeRpcInput);
+        rpcRegistry1Probe.expectMsgClass(RpcRegistry.Messages.FindRouters.class);
+
+        rpcRegistry1Probe.reply(new RpcRegistry.Messages.FindRoutersReply(Arrays.asList(new Pair<ActorRef, Long>(
+                rpcBroker2, 200L)), Collections.singletonMap(rpcBroker2, RemoteRpcVersions.STREAMING_VERSION)));
+
+        final DOMRpcResult result = frontEndFuture.checkedGet(5, TimeUnit.SECONDS);
+        assertEquals(rpcOutput, result.getResult());
+        assertEquals(invokeRpcInput, inputCaptor.getValue());
+    }
+
     /**
      * This test method invokes and executes the remote rpc
      */
@@ -16,6 +16,8 @@ import com.typesafe.config.ConfigFactory;
 import org.junit.Assert;
 import org.junit.Test;
 import org.opendaylight.controller.cluster.common.actor.AkkaConfigurationReader;
+import org.opendaylight.controller.remote.rpc.utils.RoutingStrategy;
+import org.opendaylight.yangtools.yang.common.QName;
 import scala.concurrent.duration.FiniteDuration;
 
 import java.io.File;
@@ -85,6 +87,26 @@ public class RemoteRpcProviderConfigTest {
         Assert.assertEquals(expectedTimeout.toMillis(), config.getMailBoxPushTimeout().toMillis());
     }
 
+    @Test
+    public void testRoutingStrategies() {
+        RemoteRpcProviderConfig config = new RemoteRpcProviderConfig.Builder("unit-test").build();
+        Assert.assertEquals(RoutingStrategy.LATEST_ENTRY, config.getRoutingStrategy(QName.create("urn:test", "rpc")));
+
+        config = new RemoteRpcProviderConfig.Builder("unit-test")
+                .routingStrategy("local-first")
+                .rpcRoutingStrategy("balanced-rpc", "round-robin")
+                .build();
+
+        Assert.assertEquals(RoutingStrategy.LOCAL_FIRST, config.getRoutingStrategy(QName.create("urn:test", "rpc")));
+        Assert.assertEquals(RoutingStrategy.ROUND_ROBIN, config.getRoutingStrategy(
+                QName.create("urn:test", "balanced-rpc")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRoutingStrategy() {
+        new RemoteRpcProviderConfig.Builder("unit-test").routingStrategy("random");
+    }
+
     public static class ConfigTestActor extends UntypedActor {
 
         private Config actorSystemConfig;
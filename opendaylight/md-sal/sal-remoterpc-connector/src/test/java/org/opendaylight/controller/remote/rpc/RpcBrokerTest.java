@@ -26,6 +26,8 @@ import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
 import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
 import org.opendaylight.controller.remote.rpc.messages.RpcResponse;
+import org.opendaylight.controller.remote.rpc.messages.StreamedExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.StreamedRpcResponse;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
@@ -53,6 +55,26 @@ public class RpcBrokerTest extends AbstractRpcTest {
         };
     }
 
+    @Test
+    public void testExecuteStreamedRpc() {
+        new JavaTestKit(node1) {
+            {
+
+                final ContainerNode invokeRpcResult = makeRPCOutput("bar");
+                final DOMRpcResult rpcResult = new DefaultDOMRpcResult(invokeRpcResult);
+                when(domRpcService1.invokeRpc(eq(TEST_RPC_TYPE), Mockito.<NormalizedNode<?, ?>>any())).thenReturn(
+                        Futures.<DOMRpcResult, DOMRpcException>immediateCheckedFuture(rpcResult));
+
+                rpcBroker1.tell(new StreamedExecuteRpc(TEST_RPC, makeRPCInput("foo")), getRef());
+
+                final StreamedRpcResponse rpcResponse = expectMsgClass(duration("5 seconds"),
+                        StreamedRpcResponse.class);
+
+                assertEquals(rpcResult.getResult(), rpcResponse.getResult());
+            }
+        };
+    }
+
     @Test
     public void testExecuteRpcFailureWithException() {
 
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class StreamedExecuteRpcTest {
+    private static final QName RPC = QName.create("urn:test", "2015-06-12", "test-rpc");
+    private static final QName INPUT = QName.create(RPC, "input");
+    private static final QName LEAF = QName.create(RPC, "input-data");
+
+    @Test
+    public void testSerialization() throws Exception {
+        final ContainerNode input = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(INPUT))
+                .withChild(ImmutableNodes.leafNode(LEAF, "foo")).build();
+
+        final StreamedExecuteRpc cloned = roundTrip(new StreamedExecuteRpc(RPC, input));
+        assertEquals(RPC, cloned.getRpc());
+        assertEquals(input, cloned.getInput());
+
+        final StreamedRpcResponse clonedResponse = roundTrip(new StreamedRpcResponse(input));
+        assertEquals(input, clonedResponse.getResult());
+    }
+
+    @Test
+    public void testSerializationWithNullNodes() throws Exception {
+        final StreamedExecuteRpc cloned = roundTrip(new StreamedExecuteRpc(RPC, null));
+        assertEquals(RPC, cloned.getRpc());
+        assertNull(cloned.getInput());
+
+        assertNull(roundTrip(new StreamedRpcResponse(null)).getResult());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(final T message) throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(message);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+}
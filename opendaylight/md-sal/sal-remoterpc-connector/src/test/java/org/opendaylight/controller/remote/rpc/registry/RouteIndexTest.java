@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry;
+
+import static org.junit.Assert.assertEquals;
+import akka.actor.Address;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collections;
+import org.junit.Test;
+import org.opendaylight.controller.remote.rpc.RouteIdentifierImpl;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+public class RouteIndexTest {
+    private static final QName RPC = QName.create("test", "2015-06-04", "rpc");
+    private static final RouteIdentifierImpl ROUTE1 = new RouteIdentifierImpl(null, RPC,
+            YangInstanceIdentifier.of(QName.create(RPC, "node1")));
+    private static final RouteIdentifierImpl ROUTE2 = new RouteIdentifierImpl(null, RPC,
+            YangInstanceIdentifier.of(QName.create(RPC, "node2")));
+    private static final Address MEMBER1 = new Address("akka.tcp", "member1");
+    private static final Address MEMBER2 = new Address("akka.tcp", "member2");
+
+    @Test
+    public void testUpdate() {
+        final RouteIndex index = new RouteIndex();
+
+        final RoutingTable table1 = new RoutingTable();
+        table1.addRoute(ROUTE1);
+        index.update(MEMBER1, null, table1);
+
+        final RoutingTable table2 = new RoutingTable();
+        table2.addRoute(ROUTE1);
+        table2.addRoute(ROUTE2);
+        index.update(MEMBER2, null, table2);
+
+        assertEquals(ImmutableSet.of(MEMBER1, MEMBER2), index.getMembers(ROUTE1));
+        assertEquals(Collections.singleton(MEMBER2), index.getMembers(ROUTE2));
+        assertEquals(2, index.size());
+
+        // Member 1 moves from route 1 to route 2
+        final RoutingTable newTable1 = table1.copy();
+        newTable1.removeRoute(ROUTE1);
+        newTable1.addRoute(ROUTE2);
+        index.update(MEMBER1, table1, newTable1);
+
+        assertEquals(Collections.singleton(MEMBER2), index.getMembers(ROUTE1));
+        assertEquals(ImmutableSet.of(MEMBER1, MEMBER2), index.getMembers(ROUTE2));
+
+        // Member 2 drops all routes
+        index.update(MEMBER2, table2, new RoutingTable());
+
+        assertEquals(Collections.emptySet(), index.getMembers(ROUTE1));
+        assertEquals(Collections.singleton(MEMBER1), index.getMembers(ROUTE2));
+        assertEquals(1, index.size());
+    }
+}
@@ -12,13 +12,17 @@ import akka.actor.Address;
 import akka.actor.Props;
 import akka.testkit.TestActorRef;
 import com.typesafe.config.ConfigFactory;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.opendaylight.controller.remote.rpc.RouteIdentifierImpl;
 import org.opendaylight.controller.remote.rpc.TerminationMonitor;
+import org.opendaylight.controller.remote.rpc.registry.RoutingTable;
+import org.opendaylight.yangtools.yang.common.QName;
 
 public class BucketStoreTest {
 
@@ -125,14 +129,103 @@ public class BucketStoreTest {
 
     }
 
+    /**
+     * Given a store with logged changes to its bucket
+     * Should return the changes since a logged version and apply them on a remote copy of the bucket
+     */
+    @Test
+    public void testBucketDeltas(){
+
+        BucketStore<RoutingTable> owner = createStore("deltaOwner");
+        BucketStore<RoutingTable> receiver = createStore("deltaReceiver");
+        Address ownerAddress = system.provider().getDefaultAddress();
+        Address remoteAddress = new Address("tcp", "system1");
+
+        RouteIdentifierImpl route1 = new RouteIdentifierImpl(null, QName.create("test", "2015-06-04", "rpc1"), null);
+        RouteIdentifierImpl route2 = new RouteIdentifierImpl(null, QName.create("test", "2015-06-04", "rpc2"), null);
+
+        owner.getLocalBucket().setData(new RoutingTable());
+        RoutingTable table = owner.getLocalBucket().getData().copy();
+        table.addRoute(route1);
+        owner.updateLocalBucket(table);
+        Bucket<RoutingTable> initial = new BucketImpl<>(owner.getLocalBucket());
+
+        table = table.copy();
+        table.addRoute(route2);
+        owner.updateLocalBucket(table);
+        table = table.copy();
+        table.removeRoute(route1);
+        owner.updateLocalBucket(table);
+        Long latest = owner.getLocalBucket().getVersion();
+
+        //Should return a delta from a logged version only
+        Map<Address, BucketDelta> deltas = owner.getDeltasByMembers(Collections.singleton(ownerAddress),
+                Collections.singletonMap(ownerAddress, initial.getVersion()));
+        BucketDelta delta = deltas.get(ownerAddress);
+        Assert.assertNotNull("Missing delta", delta);
+        Assert.assertEquals(initial.getVersion().longValue(), delta.getFromVersion());
+        Assert.assertEquals(latest.longValue(), delta.getToVersion());
+        Assert.assertEquals(2, delta.getChanges().size());
+        Assert.assertTrue(owner.getDeltasByMembers(Collections.singleton(ownerAddress),
+                Collections.singletonMap(ownerAddress, 1L)).isEmpty());
+
+        //Should apply the delta on top of the initial bucket
+        Map<Address, Bucket> buckets = new HashMap<>();
+        buckets.put(remoteAddress, initial);
+        receiver.receiveUpdateRemoteBuckets(buckets);
+        receiver.receiveUpdateRemoteBuckets(new HashMap<Address, Bucket>(),
+                Collections.singletonMap(remoteAddress, delta));
+
+        Bucket<RoutingTable> updated = receiver.getRemoteBuckets().get(remoteAddress);
+        Assert.assertEquals(latest, updated.getVersion());
+        Assert.assertEquals(latest, receiver.getVersions().get(remoteAddress));
+        Assert.assertEquals(Collections.singleton(route2), updated.getData().getRoutes());
+
+        //Should ignore a delta which does not start at the held version
+        receiver.receiveUpdateRemoteBuckets(new HashMap<Address, Bucket>(),
+                Collections.singletonMap(remoteAddress, delta));
+        Assert.assertSame(updated, receiver.getRemoteBuckets().get(remoteAddress));
+    }
+
+    /**
+     * Given remote buckets made before and after the store started
+     * Should only record the convergence of the bucket made after
+     */
+    @Test
+    public void testConvergenceOfNewVersionsOnly() throws InterruptedException {
+
+        BucketStore store = createStore("convergenceStore");
+        long started = System.currentTimeMillis();
+        Thread.sleep(20);
+
+        //A bucket this member gets on joining is not a converging update
+        Map<Address, Bucket> remoteBuckets = new HashMap<>();
+        remoteBuckets.put(new Address("tcp", "system1"), new BucketImpl<>(started - 60000, null));
+        store.receiveUpdateRemoteBuckets(remoteBuckets);
+
+        GossipStats stats = store.getGossipStats();
+        Assert.assertEquals(0, stats.getMaxConvergenceMillis());
+
+        remoteBuckets = new HashMap<>();
+        remoteBuckets.put(new Address("tcp", "system2"), new BucketImpl<>(started, null));
+        store.receiveUpdateRemoteBuckets(remoteBuckets);
+
+        Assert.assertTrue("Convergence " + stats.getLastConvergenceMillis(), stats.getLastConvergenceMillis() >= 20);
+        Assert.assertEquals(stats.getLastConvergenceMillis(), stats.getMaxConvergenceMillis());
+    }
+
     /**
      * Create BucketStore actor and returns the underlying instance of BucketStore class.
      *
      * @return instance of BucketStore class
      */
     private static BucketStore createStore(){
+        return createStore("testStore");
+    }
+
+    private static BucketStore createStore(String name){
         final Props props = Props.create(BucketStore.class);
-        final TestActorRef<BucketStore> testRef = TestActorRef.create(system, props, "testStore");
+        final TestActorRef<BucketStore> testRef = TestActorRef.create(system, props, name);
         return testRef.underlyingActor();
     }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.japi.Pair;
+import akka.testkit.JavaTestKit;
+import akka.testkit.TestProbe;
+import com.google.common.base.Charsets;
+import com.typesafe.config.ConfigFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class RoutingLogicsTest {
+
+    static ActorSystem system;
+
+    @BeforeClass
+    public static void setup() {
+        system = ActorSystem.create("opendaylight-rpc", ConfigFactory.load().getConfig("odl-cluster-rpc"));
+    }
+
+    @AfterClass
+    public static void teardown() {
+        JavaTestKit.shutdownActorSystem(system);
+        system = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Pair<ActorRef, Long>> entries(ActorRef... routers) {
+        Pair<ActorRef, Long>[] pairs = new Pair[routers.length];
+        for(int i = 0; i < routers.length; i++) {
+            pairs[i] = new Pair<>(routers[i], 1000L * (i + 1));
+        }
+
+        return Arrays.asList(pairs);
+    }
+
+    @Test
+    public void testRoundRobin() {
+        ActorRef actor1 = new TestProbe(system).ref();
+        ActorRef actor2 = new TestProbe(system).ref();
+        ActorRef actor3 = new TestProbe(system).ref();
+        List<Pair<ActorRef, Long>> entries = entries(actor1, actor2, actor3);
+
+        AtomicLong counter = new AtomicLong();
+        Map<ActorRef, Integer> counts = new HashMap<>();
+        for(int i = 0; i < 30; i++) {
+            ActorRef selected = new RoundRobinRoutingLogic(entries, counter).select();
+            counts.put(selected, counts.containsKey(selected) ? counts.get(selected) + 1 : 1);
+        }
+
+        assertEquals("Routers used", new HashSet<>(Arrays.asList(actor1, actor2, actor3)), counts.keySet());
+        for(Integer count: counts.values()) {
+            assertEquals(10, count.intValue());
+        }
+    }
+
+    @Test
+    public void testLeastOutstanding() {
+        ActorRef actor1 = new TestProbe(system).ref();
+        ActorRef actor2 = new TestProbe(system).ref();
+        List<Pair<ActorRef, Long>> entries = entries(actor1, actor2);
+
+        OutstandingRequests outstanding = new OutstandingRequests();
+
+        // Ties go to the latest entry
+        assertEquals(actor2, new LeastOutstandingRoutingLogic(entries, outstanding).select());
+
+        outstanding.increment(actor2);
+        assertEquals(actor1, new LeastOutstandingRoutingLogic(entries, outstanding).select());
+
+        outstanding.increment(actor1);
+        outstanding.increment(actor1);
+        assertEquals(actor2, new LeastOutstandingRoutingLogic(entries, outstanding).select());
+
+        outstanding.decrement(actor1);
+        outstanding.decrement(actor1);
+        assertEquals(actor1, new LeastOutstandingRoutingLogic(entries, outstanding).select());
+    }
+
+    @Test
+    public void testConsistentHash() {
+        ActorRef actor1 = new TestProbe(system).ref();
+        ActorRef actor2 = new TestProbe(system).ref();
+        ActorRef actor3 = new TestProbe(system).ref();
+
+        QName leaf = QName.create("urn:test", "key");
+        for(int i = 0; i < 10; i++) {
+            // The same input goes to the same router regardless of the order of the entries
+            ActorRef selected = new ConsistentHashRoutingLogic(entries(actor1, actor2, actor3),
+                    YangInstanceIdentifier.EMPTY, ImmutableNodes.leafNode(leaf, "value" + i)).select();
+            assertEquals("Router for value" + i, selected, new ConsistentHashRoutingLogic(
+                    entries(actor3, actor1, actor2), YangInstanceIdentifier.EMPTY,
+                    ImmutableNodes.leafNode(leaf, "value" + i)).select());
+        }
+    }
+
+    @Test
+    public void testConsistentHashMinimalMovement() {
+        ActorRef actor1 = new TestProbe(system).ref();
+        ActorRef actor2 = new TestProbe(system).ref();
+        ActorRef actor3 = new TestProbe(system).ref();
+        ActorRef actor4 = new TestProbe(system).ref();
+
+        QName leaf = QName.create("urn:test", "key");
+        int moved = 0;
+        for(int i = 0; i < 1000; i++) {
+            ActorRef before = new ConsistentHashRoutingLogic(entries(actor1, actor2, actor3),
+                    YangInstanceIdentifier.EMPTY, ImmutableNodes.leafNode(leaf, "value" + i)).select();
+            ActorRef after = new ConsistentHashRoutingLogic(entries(actor1, actor2, actor3, actor4),
+                    YangInstanceIdentifier.EMPTY, ImmutableNodes.leafNode(leaf, "value" + i)).select();
+
+            // An input only moves if it moves to the router which joined
+            if(!before.equals(after)) {
+                assertEquals("Router for value" + i, actor4, after);
+                moved++;
+            }
+
+            // and moves back to where it was when that router leaves again.
+            assertEquals("Router for value" + i, before, new ConsistentHashRoutingLogic(
+                    entries(actor1, actor2, actor3), YangInstanceIdentifier.EMPTY,
+                    ImmutableNodes.leafNode(leaf, "value" + i)).select());
+        }
+
+        assertTrue("Inputs moved to the new router: " + moved, moved > 0 && moved < 500);
+    }
+
+    @Test
+    public void testConsistentHashOfBinaryInput() {
+        ActorRef actor1 = new TestProbe(system).ref();
+        ActorRef actor2 = new TestProbe(system).ref();
+        ActorRef actor3 = new TestProbe(system).ref();
+
+        // Inputs with equal binary values go to the same router although the arrays aren't the same.
+        QName leaf = QName.create("urn:test", "key");
+        for(int i = 0; i < 20; i++) {
+            byte[] value = ("value" + i).getBytes(Charsets.UTF_8);
+            assertEquals("Router for value" + i, new ConsistentHashRoutingLogic(entries(actor1, actor2, actor3),
+                    YangInstanceIdentifier.EMPTY, ImmutableNodes.leafNode(leaf, value)).select(),
+                    new ConsistentHashRoutingLogic(entries(actor1, actor2, actor3), YangInstanceIdentifier.EMPTY,
+                            ImmutableNodes.leafNode(leaf, value.clone())).select());
+        }
+    }
+
+    @Test
+    public void testConsistentHashOfRoutedRpc() {
+        ActorRef actor1 = new TestProbe(system).ref();
+        ActorRef actor2 = new TestProbe(system).ref();
+        ActorRef actor3 = new TestProbe(system).ref();
+
+        // A routed RPC goes to the router of its context whatever its input.
+        QName leaf = QName.create("urn:test", "key");
+        for(int i = 0; i < 10; i++) {
+            YangInstanceIdentifier context = YangInstanceIdentifier.of(QName.create("urn:test", "node" + i));
+            ActorRef selected = new ConsistentHashRoutingLogic(entries(actor1, actor2, actor3), context,
+                    ImmutableNodes.leafNode(leaf, "value")).select();
+            for(int j = 0; j < 10; j++) {
+                assertEquals("Router for node" + i, selected, new ConsistentHashRoutingLogic(
+                        entries(actor1, actor2, actor3), context, ImmutableNodes.leafNode(leaf, "value" + j)).select());
+            }
+        }
+    }
+
+    private static ActorRef remoteRouter(String host) {
+        return ((ExtendedActorSystem) system).provider().resolveActorRef(
+                "akka.tcp://opendaylight-rpc@" + host + ":2550/user/rpc/broker");
+    }
+
+    @Test
+    public void testLocalFirst() {
+        ActorRef local = new TestProbe(system).ref();
+        ActorRef other = remoteRouter("127.0.0.2");
+
+        assertFalse("Remote router has local scope", other.path().address().hasLocalScope());
+        assertEquals(local, new LocalFirstRoutingLogic(entries(local, other)).select());
+        assertEquals(local, new LocalFirstRoutingLogic(entries(other, local)).select());
+    }
+
+    @Test
+    public void testLocalFirstWithoutLocalRouter() {
+        ActorRef remote1 = remoteRouter("127.0.0.2");
+        ActorRef remote2 = remoteRouter("127.0.0.3");
+
+        // Falls back to the latest entry
+        assertEquals(remote2, new LocalFirstRoutingLogic(entries(remote1, remote2)).select());
+        assertEquals(remote1, new LocalFirstRoutingLogic(entries(remote2, remote1)).select());
+    }
+
+    @Test
+    public void testRoutingStrategyForName() {
+        assertEquals(RoutingStrategy.LEAST_OUTSTANDING, RoutingStrategy.forName("least-outstanding"));
+        assertEquals(RoutingStrategy.CONSISTENT_HASH, RoutingStrategy.forName(" consistent-hash "));
+    }
+}